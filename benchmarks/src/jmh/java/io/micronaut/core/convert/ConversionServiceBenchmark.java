@@ -25,6 +25,8 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @State(Scope.Benchmark)
 public class ConversionServiceBenchmark {
@@ -46,6 +48,51 @@ public class ConversionServiceBenchmark {
         conversionService.convert(URI.create("http://test.com"), Integer.class);
     }
 
+    @Benchmark
+    public Object convertLong() {
+        return conversionService.convert("1234567890123", Long.class);
+    }
+
+    @Benchmark
+    public Object convertBoolean() {
+        return conversionService.convert("true", Boolean.class);
+    }
+
+    @Benchmark
+    public Object convertUUID() {
+        return conversionService.convert("1a9f3c2e-7d5b-4e8a-9c0f-2b6d4e8a1c3f", UUID.class);
+    }
+
+    @Benchmark
+    public Object convertEnum() {
+        return conversionService.convert("SECONDS", TimeUnit.class);
+    }
+
+    @Benchmark
+    public int scalarInt() {
+        return ScalarConversions.parseInt("10");
+    }
+
+    @Benchmark
+    public long scalarLong() {
+        return ScalarConversions.parseLong("1234567890123");
+    }
+
+    @Benchmark
+    public boolean scalarBoolean() {
+        return ScalarConversions.parseBoolean("true");
+    }
+
+    @Benchmark
+    public Object scalarUUID() {
+        return ScalarConversions.parseUUID("1a9f3c2e-7d5b-4e8a-9c0f-2b6d4e8a1c3f");
+    }
+
+    @Benchmark
+    public Object scalarEnum() {
+        return ScalarConversions.convert("SECONDS", TimeUnit.class);
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + ConversionServiceBenchmark.class.getSimpleName() + ".*")
@@ -15,7 +15,6 @@
  */
 package io.micronaut.http.server.binding;
 
-import io.micronaut.aop.around.AroundCompileBenchmark;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.MutableHttpRequest;
@@ -56,9 +55,21 @@ public class RequestArgumentSatisfierBenchmark {
         );
     }
 
+    @Benchmark
+    public void benchmarkFulfillQueryAndHeaderArguments() {
+        final MutableHttpRequest<Object> request = HttpRequest.GET("/arguments/bar/foo?limit=10&active=true")
+                .header("X-Trace", "abc");
+        final UriRouteMatch<Object, Object> routeMatch = router.find(request.getMethod(), request.getPath(), request).findFirst().orElse(null);
+        final RouteMatch<?> transformed = requestArgumentSatisfier.fulfillArgumentRequirements(
+                routeMatch,
+                request,
+                true
+        );
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
-                .include(".*" + AroundCompileBenchmark.class.getSimpleName() + ".*")
+                .include(".*" + RequestArgumentSatisfierBenchmark.class.getSimpleName() + ".*")
                 .warmupIterations(3)
                 .measurementIterations(5)
                 .forks(1)
@@ -17,6 +17,8 @@ package io.micronaut.http.server.binding;
 
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.QueryValue;
 
 @Controller("/arguments")
 public class TestController {
@@ -25,4 +27,9 @@ public class TestController {
     String show(String name, int age) {
         return name + " is " + age;
     }
+
+    @Get("/bar/{name}")
+    String query(String name, @QueryValue int limit, @QueryValue boolean active, @Header("X-Trace") String trace) {
+        return name + " " + limit + " " + active + " " + trace;
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.uri;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@State(Scope.Benchmark)
+public class UriTemplateBenchmark {
+
+    UriTemplate template;
+    UriTemplate.ExpansionPlan plan;
+    Map<String, Object> parameters;
+    Object[] values;
+
+    @Setup
+    public void prepare() {
+        template = UriMatchTemplate.of("/customers").nest("/{customerId}/orders/{orderId}{?expand,limit}");
+        plan = template.getExpansionPlan();
+        parameters = new LinkedHashMap<>();
+        parameters.put("customerId", "c-1234");
+        parameters.put("orderId", 42);
+        parameters.put("expand", "items");
+        parameters.put("limit", 10);
+        values = new Object[] {"c-1234", 42, "items", 10};
+    }
+
+    @Benchmark
+    public String expandMap() {
+        return template.expand(parameters);
+    }
+
+    @Benchmark
+    public String expandPositional() {
+        return plan.expand(values);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + UriTemplateBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.runtime.server.event;
+
+import io.micronaut.context.event.ApplicationEvent;
+import io.micronaut.runtime.server.EmbeddedServer;
+
+/**
+ * Event fired when the {@link EmbeddedServer} starts draining the in flight requests before it
+ * shuts down. The server no longer accepts new connections once this event has been fired.
+ *
+ * @since 4.0.0
+ */
+public class ServerDrainEvent extends ApplicationEvent {
+
+    /**
+     * Constructs a prototypical Event.
+     *
+     * @param embeddedServer object on which the Event initially occurred.
+     * @throws IllegalArgumentException if source is null.
+     */
+    public ServerDrainEvent(EmbeddedServer embeddedServer) {
+        super(embeddedServer);
+    }
+
+    @Override
+    public EmbeddedServer getSource() {
+        return (EmbeddedServer) super.getSource();
+    }
+}
@@ -18,6 +18,9 @@ package io.micronaut.core.bind.annotation;
 import io.micronaut.core.bind.ArgumentBinder;
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.ScalarConversions;
+import io.micronaut.core.convert.format.Format;
+import io.micronaut.core.convert.value.ConvertibleMultiValues;
 import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.type.Argument;
@@ -25,6 +28,7 @@ import io.micronaut.core.util.StringUtils;
 
 import io.micronaut.core.annotation.Nullable;
 import java.lang.annotation.Annotation;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -82,9 +86,45 @@ public abstract class AbstractAnnotatedArgumentBinder<A extends Annotation, T, S
             String annotationValue,
             ArgumentBinder.BindingResult<T> defaultResult) {
 
+        Class<T> type = context.getArgument().getType();
+        if (ScalarConversions.isScalar(type)) {
+            Object scalar = resolveScalar(context, values, annotationValue, type);
+            if (scalar != null) {
+                return () -> Optional.of((T) scalar);
+            }
+        }
         return doConvert(doResolve(context, values, annotationValue), context, defaultResult);
     }
 
+    /**
+     * Converts a raw {@link CharSequence} value directly to a scalar type through
+     * {@link ScalarConversions}. Absent values and values that cannot be converted are left to
+     * the {@link ConversionService}, so that defaults apply and errors are reported as usual.
+     * So are values of types with a converter registered by the application, or arguments with
+     * a {@link Format} annotation, so that their converters keep applying.
+     */
+    private @Nullable Object resolveScalar(
+            ArgumentConversionContext<T> context,
+            ConvertibleValues<?> values,
+            String annotationValue,
+            Class<T> type) {
+        String name = StringUtils.isEmpty(annotationValue) ? context.getArgument().getName() : annotationValue;
+        Object value;
+        if (values instanceof ConvertibleMultiValues<?> multiValues) {
+            // multiple values for a scalar are rejected by the conversion service
+            List<?> all = multiValues.getAll(name);
+            value = all.size() == 1 ? all.get(0) : null;
+        } else {
+            value = values.getValue(name);
+        }
+        if (value instanceof CharSequence charSequence
+                && !context.getAnnotationMetadata().hasStereotype(Format.class)
+                && conversionService.isDefaultConverter(value.getClass(), type)) {
+            return ScalarConversions.convert(charSequence, type);
+        }
+        return null;
+    }
+
     /**
      * Do resolve.
      *
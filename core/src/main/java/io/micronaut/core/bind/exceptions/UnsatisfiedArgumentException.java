@@ -15,6 +15,7 @@
  */
 package io.micronaut.core.bind.exceptions;
 
+import io.micronaut.core.exceptions.StacklessExceptions;
 import io.micronaut.core.type.Argument;
 
 /**
@@ -56,4 +57,9 @@ public class UnsatisfiedArgumentException extends RuntimeException {
     private static String buildMessage(Argument<?> argument) {
         return "Required argument [" + argument + "] not specified";
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return StacklessExceptions.isCreating() ? this : super.fillInStackTrace();
+    }
 }
@@ -56,6 +56,24 @@ public interface ConversionService {
      */
     <S, T> boolean canConvert(Class<S> sourceType, Class<T> targetType);
 
+    /**
+     * Return whether the given source type is converted to the given target type by one of the
+     * converters built into the conversion service, rather than by a converter registered by a
+     * {@link TypeConverterRegistrar} or by the application. Callers that convert common types
+     * without this service, such as through {@link ScalarConversions}, may only do so if this
+     * method returns {@code true}.
+     *
+     * @param sourceType The source type
+     * @param targetType The target type
+     * @param <S>        The generic source type
+     * @param <T>        The target source type
+     * @return True if the conversion uses a built-in converter
+     * @since 4.0.0
+     */
+    default <S, T> boolean isDefaultConverter(Class<S> sourceType, Class<T> targetType) {
+        return false;
+    }
+
     /**
      * Attempts to convert the given object to the given target type. If conversion fails or is not possible an empty {@link Optional} is returned.
      *
@@ -64,6 +64,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -74,6 +75,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Properties;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.TimeZone;
 import java.util.UUID;
@@ -95,6 +97,16 @@ public class DefaultMutableConversionService implements MutableConversionService
     private final Map<ConvertiblePair, TypeConverter> converterCache = new ConcurrentLinkedHashMap.Builder<ConvertiblePair, TypeConverter>()
             .maximumWeightedCapacity(CACHE_MAX)
             .build();
+    /**
+     * The memoized results of {@link #isDefaultConverter(Class, Class)} for {@link String}
+     * sources, by target type. Cleared when a converter is added.
+     */
+    private final Map<Class<?>, Boolean> defaultStringConverters = new ConcurrentHashMap<>();
+    /**
+     * The converters registered by this class itself, as opposed to converters registered by
+     * {@link TypeConverterRegistrar registrars} or the application.
+     */
+    private final Set<TypeConverter> defaultConverters = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * Constructor.
@@ -179,11 +191,37 @@ public class DefaultMutableConversionService implements MutableConversionService
         return typeConverter != UNCONVERTIBLE;
     }
 
+    @Override
+    public <S, T> boolean isDefaultConverter(Class<S> sourceType, Class<T> targetType) {
+        if (sourceType == String.class) {
+            // called for every scalar that is bound, so avoid the pair allocation and cache access
+            Boolean memoized = defaultStringConverters.get(targetType);
+            if (memoized == null) {
+                memoized = resolveDefaultConverter(sourceType, targetType);
+                defaultStringConverters.put(targetType, memoized);
+            }
+            return memoized;
+        }
+        return resolveDefaultConverter(sourceType, targetType);
+    }
+
+    private boolean resolveDefaultConverter(Class<?> sourceType, Class<?> targetType) {
+        Class<?> target = targetType.isPrimitive() ? ReflectionUtils.getWrapperType(targetType) : targetType;
+        ConvertiblePair pair = new ConvertiblePair(sourceType, target, null);
+        TypeConverter typeConverter = converterCache.get(pair);
+        if (typeConverter == null) {
+            typeConverter = findTypeConverter(sourceType, target, null);
+            converterCache.put(pair, typeConverter);
+        }
+        return defaultConverters.contains(typeConverter);
+    }
+
     @Override
     public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, TypeConverter<S, T> typeConverter) {
         ConvertiblePair pair = newPair(sourceType, targetType, typeConverter);
         typeConverters.put(pair, typeConverter);
         converterCache.put(pair, typeConverter);
+        defaultStringConverters.clear();
     }
 
     @Override
@@ -192,6 +230,7 @@ public class DefaultMutableConversionService implements MutableConversionService
         TypeConverter<S, T> typeConverter = TypeConverter.of(sourceType, targetType, function);
         typeConverters.put(pair, typeConverter);
         converterCache.put(pair, typeConverter);
+        defaultStringConverters.clear();
     }
 
     /**
@@ -950,6 +989,8 @@ public class DefaultMutableConversionService implements MutableConversionService
         addConverter(Object.class, io.micronaut.core.convert.value.ConvertibleMultiValues.class,
                 new MultiValuesConverterFactory.ObjectToMultiValuesConverter(this));
 
+        defaultConverters.addAll(typeConverters.values());
+
         Collection<TypeConverterRegistrar> registrars = new ArrayList<>();
         SoftServiceLoader.load(TypeConverterRegistrar.class)
             .disableFork()
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.convert;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Conversions of {@link CharSequence} values to the common scalar types ({@code int},
+ * {@code long}, {@code double}, {@code boolean}, {@link UUID} and enums) that bypass the
+ * converter lookup of the {@link ConversionService}.
+ *
+ * <p>The parse methods return primitives where possible and accept the same input as the
+ * corresponding {@link DefaultMutableConversionService} converters. {@link #convert(CharSequence, Class)}
+ * returns {@code null} for anything it cannot convert, so that callers can fall back to the
+ * {@link ConversionService}, which rejects the value with the appropriate error.</p>
+ *
+ * @since 4.0.0
+ */
+public final class ScalarConversions {
+
+    private ScalarConversions() {
+    }
+
+    /**
+     * @param type The type
+     * @return Whether values of the given type can be converted by {@link #convert(CharSequence, Class)}
+     */
+    public static boolean isScalar(@NonNull Class<?> type) {
+        return type == int.class || type == Integer.class
+            || type == long.class || type == Long.class
+            || type == double.class || type == Double.class
+            || type == boolean.class || type == Boolean.class
+            || type == UUID.class
+            || type.isEnum();
+    }
+
+    /**
+     * Convert the value to the given scalar type.
+     *
+     * @param value The value
+     * @param type  The scalar type, see {@link #isScalar(Class)}
+     * @return The converted value or {@code null} if the value cannot be converted
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Nullable
+    public static Object convert(@NonNull CharSequence value, @NonNull Class<?> type) {
+        if (type == boolean.class || type == Boolean.class) {
+            return parseBoolean(value);
+        }
+        if (value.length() == 0) {
+            return null;
+        }
+        try {
+            if (type == int.class || type == Integer.class) {
+                return parseInt(value);
+            }
+            if (type == long.class || type == Long.class) {
+                return parseLong(value);
+            }
+            if (type == double.class || type == Double.class) {
+                return parseDouble(value);
+            }
+            if (type == UUID.class) {
+                return parseUUID(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value.toString());
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException included, the conversion service reports the error
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Parse an {@code int} without copying the value to a string.
+     *
+     * @param value The value
+     * @return The parsed value
+     * @throws NumberFormatException if the value is not a valid {@code int}
+     */
+    public static int parseInt(@NonNull CharSequence value) {
+        return Integer.parseInt(value, 0, value.length(), 10);
+    }
+
+    /**
+     * Parse a {@code long} without copying the value to a string.
+     *
+     * @param value The value
+     * @return The parsed value
+     * @throws NumberFormatException if the value is not a valid {@code long}
+     */
+    public static long parseLong(@NonNull CharSequence value) {
+        return Long.parseLong(value, 0, value.length(), 10);
+    }
+
+    /**
+     * Parse a {@code double}.
+     *
+     * @param value The value
+     * @return The parsed value
+     * @throws NumberFormatException if the value is not a valid {@code double}
+     */
+    public static double parseDouble(@NonNull CharSequence value) {
+        return Double.parseDouble(value.toString());
+    }
+
+    /**
+     * Parse a {@code boolean}. The values {@code true}, {@code yes}, {@code y} and {@code on}
+     * are {@code true} regardless of case, anything else is {@code false}.
+     *
+     * @param value The value
+     * @return The parsed value
+     */
+    public static boolean parseBoolean(@NonNull CharSequence value) {
+        return switch (value.length()) {
+            case 1 -> asciiEqualsIgnoreCase(value, "y");
+            case 2 -> asciiEqualsIgnoreCase(value, "on");
+            case 3 -> asciiEqualsIgnoreCase(value, "yes");
+            case 4 -> asciiEqualsIgnoreCase(value, "true");
+            default -> false;
+        };
+    }
+
+    /**
+     * Parse a {@link UUID}.
+     *
+     * @param value The value
+     * @return The parsed value
+     * @throws IllegalArgumentException if the value is not a valid {@link UUID}
+     */
+    @NonNull
+    public static UUID parseUUID(@NonNull CharSequence value) {
+        return UUID.fromString(value.toString());
+    }
+
+    private static boolean asciiEqualsIgnoreCase(CharSequence value, String lowerCase) {
+        for (int i = 0; i < lowerCase.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != lowerCase.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
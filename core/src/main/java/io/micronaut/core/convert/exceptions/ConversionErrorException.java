@@ -16,6 +16,7 @@
 package io.micronaut.core.convert.exceptions;
 
 import io.micronaut.core.convert.ConversionError;
+import io.micronaut.core.exceptions.StacklessExceptions;
 import io.micronaut.core.type.Argument;
 
 /**
@@ -66,4 +67,9 @@ public class ConversionErrorException extends RuntimeException {
     private static String buildMessage(Argument argument, ConversionError conversionError) {
         return String.format("Failed to convert argument [%s] for value [%s] due to: %s", argument.getName(), conversionError.getOriginalValue().orElse(null), conversionError.getCause().getMessage());
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return StacklessExceptions.isCreating() ? this : super.fillInStackTrace();
+    }
 }
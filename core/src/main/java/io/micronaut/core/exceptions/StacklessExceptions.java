@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.exceptions;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.function.Supplier;
+
+/**
+ * Controls whether framework exceptions that are expected in normal operation, such as the
+ * exceptions for unsatisfied or unconvertible request arguments, capture a stack trace. These
+ * exceptions are turned into client error responses, so their stack traces are rarely useful,
+ * but filling them in is a significant cost when a server is flooded with bad requests.
+ *
+ * <p>A server whose application context enables the configuration property {@value #PROPERTY}
+ * handles its requests {@link #scoped(Supplier) in a scope}, and the exceptions that the
+ * framework {@link #create(Supplier) creates} in that scope skip their stack trace. Exceptions
+ * constructed directly, e.g. by application code, always capture their stack trace.</p>
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class StacklessExceptions {
+
+    /**
+     * The configuration property that disables the stack traces.
+     */
+    public static final String PROPERTY = "micronaut.exceptions.stackless";
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private StacklessExceptions() {
+    }
+
+    /**
+     * Run framework code whose exceptions should not capture a stack trace.
+     *
+     * @param action The action
+     * @param <T>    The result type
+     * @return The result of the action
+     */
+    public static <T> T scoped(Supplier<T> action) {
+        State state = STATE.get();
+        boolean outer = state.scoped;
+        state.scoped = true;
+        try {
+            return action.get();
+        } finally {
+            state.scoped = outer;
+        }
+    }
+
+    /**
+     * Create a framework exception, without a stack trace if the current thread runs in a
+     * {@link #scoped(Supplier) scope}. Only exceptions that consult {@link #isCreating()} in
+     * {@link Throwable#fillInStackTrace()} are affected.
+     *
+     * @param factory The exception factory
+     * @param <E>     The exception type
+     * @return The exception
+     */
+    public static <E extends Throwable> E create(Supplier<E> factory) {
+        State state = STATE.get();
+        if (!state.scoped) {
+            return factory.get();
+        }
+        boolean outer = state.creating;
+        state.creating = true;
+        try {
+            return factory.get();
+        } finally {
+            state.creating = outer;
+        }
+    }
+
+    /**
+     * @return Whether the exception that is constructed on the current thread should skip its
+     * stack trace
+     */
+    public static boolean isCreating() {
+        return STATE.get().creating;
+    }
+
+    private static final class State {
+        boolean scoped;
+        boolean creating;
+    }
+}
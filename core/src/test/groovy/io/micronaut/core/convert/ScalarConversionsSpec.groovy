@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.convert
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.TimeUnit
+
+class ScalarConversionsSpec extends Specification {
+
+    @Unroll
+    void "test scalar conversion of #value to #type agrees with the conversion service"() {
+        expect:
+        ScalarConversions.isScalar(type)
+        ScalarConversions.convert(value, type) == ConversionService.SHARED.convert(value, type).orElse(null)
+
+        where:
+        value                                  | type
+        "10"                                   | Integer
+        "-10"                                  | int.class
+        "+7"                                   | Integer
+        "abc"                                  | Integer
+        ""                                     | Integer
+        "1234567890123"                        | Long
+        "1234567890123"                        | long.class
+        "1.5"                                  | Double
+        "1e3"                                  | double.class
+        "true"                                 | Boolean
+        "YES"                                  | Boolean
+        "y"                                    | boolean.class
+        "On"                                   | Boolean
+        "false"                                | Boolean
+        "nope"                                 | Boolean
+        ""                                     | Boolean
+        "1a9f3c2e-7d5b-4e8a-9c0f-2b6d4e8a1c3f" | UUID
+        "SECONDS"                              | TimeUnit
+    }
+
+    void "test values that need the conversion service are not converted"() {
+        expect:
+        ScalarConversions.convert("seconds", TimeUnit) == null
+        ScalarConversions.convert("not-a-uuid", UUID) == null
+        ScalarConversions.convert("99999999999", Integer) == null
+        !ScalarConversions.isScalar(String)
+        !ScalarConversions.isScalar(Optional)
+    }
+
+    void "test parse from a non string char sequence"() {
+        expect:
+        ScalarConversions.parseInt(new StringBuilder("42")) == 42
+        ScalarConversions.parseLong(new StringBuilder("-42")) == -42L
+        ScalarConversions.parseBoolean(new StringBuilder("TRUE"))
+    }
+
+    void "test a converter registered for a scalar type is not a default converter"() {
+        given:
+        def conversionService = new DefaultMutableConversionService()
+
+        expect:
+        conversionService.isDefaultConverter(String, int)
+        conversionService.isDefaultConverter(String, TimeUnit)
+
+        when:
+        conversionService.addConverter(String, TimeUnit, { String s -> TimeUnit.valueOf(s.toUpperCase()) })
+
+        then:
+        !conversionService.isDefaultConverter(String, TimeUnit)
+        conversionService.isDefaultConverter(String, Status)
+        conversionService.isDefaultConverter(String, int)
+    }
+}
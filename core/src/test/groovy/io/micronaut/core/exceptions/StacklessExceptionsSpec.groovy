@@ -0,0 +1,42 @@
+package io.micronaut.core.exceptions
+
+import io.micronaut.core.bind.exceptions.UnsatisfiedArgumentException
+import io.micronaut.core.convert.exceptions.ConversionErrorException
+import io.micronaut.core.type.Argument
+import spock.lang.Specification
+
+class StacklessExceptionsSpec extends Specification {
+
+    void "framework exceptions capture a stack trace outside of a scope"() {
+        expect:
+        StacklessExceptions.create { new UnsatisfiedArgumentException(Argument.of(String, 'name')) }.stackTrace.length > 0
+        new ConversionErrorException(Argument.of(Integer, 'id'), new NumberFormatException('bad')).stackTrace.length > 0
+    }
+
+    void "framework exceptions created in a scope are stackless"() {
+        when:
+        def exceptions = StacklessExceptions.scoped {
+            [
+                    StacklessExceptions.create { new UnsatisfiedArgumentException(Argument.of(String, 'name')) },
+                    StacklessExceptions.create { new ConversionErrorException(Argument.of(Integer, 'id'), new NumberFormatException('bad')) }
+            ]
+        }
+
+        then:
+        exceptions[0].stackTrace.length == 0
+        exceptions[0].message.startsWith('Required argument')
+        exceptions[1].stackTrace.length == 0
+        exceptions[1].cause instanceof NumberFormatException
+        !StacklessExceptions.creating
+    }
+
+    void "exceptions constructed directly in a scope keep their stack trace"() {
+        when:
+        def exception = StacklessExceptions.scoped {
+            new UnsatisfiedArgumentException(Argument.of(String, 'name'))
+        }
+
+        then:
+        exception.stackTrace.length > 0
+    }
+}
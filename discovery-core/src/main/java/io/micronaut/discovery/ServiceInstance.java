@@ -50,6 +50,14 @@ public interface ServiceInstance {
      */
     String REGION = "region";
 
+    /**
+     * Constant to represent the path of the Unix domain socket the service listens on contained
+     * with {@link #getMetadata()}.
+     *
+     * @since 4.0.0
+     */
+    String UNIX_SOCKET_PATH = "unix-socket-path";
+
     /**
      * @return The identifier of the service used for purposes of service discovery
      */
@@ -108,6 +116,17 @@ public interface ServiceInstance {
         return ConvertibleValues.empty();
     }
 
+    /**
+     * Returns the path of the Unix domain socket the service listens on. The HTTP client
+     * connects to the socket instead of the host and port of the {@link #getURI() URI}.
+     *
+     * @return The socket path
+     * @since 4.0.0
+     */
+    default Optional<String> getUnixSocketPath() {
+        return getMetadata().get(UNIX_SOCKET_PATH, String.class);
+    }
+
     /**
      * @return The service host
      */
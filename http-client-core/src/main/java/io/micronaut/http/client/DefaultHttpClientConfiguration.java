@@ -74,6 +74,84 @@ public class DefaultHttpClientConfiguration extends HttpClientConfiguration {
         }
     }
 
+    /**
+     * Uses the default response cache configuration.
+     *
+     * @param responseCacheConfiguration The response cache configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultResponseCacheConfiguration(@Nullable DefaultResponseCacheConfiguration responseCacheConfiguration) {
+        if (responseCacheConfiguration != null) {
+            super.setResponseCacheConfiguration(responseCacheConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default request hedging configuration.
+     *
+     * @param hedgingConfiguration The request hedging configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultHedgingConfiguration(@Nullable DefaultHedgingConfiguration hedgingConfiguration) {
+        if (hedgingConfiguration != null) {
+            super.setHedgingConfiguration(hedgingConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default DNS resolver configuration.
+     *
+     * @param dnsResolverConfiguration The DNS resolver configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultDnsResolverConfiguration(@Nullable DefaultDnsResolverConfiguration dnsResolverConfiguration) {
+        if (dnsResolverConfiguration != null) {
+            super.setDnsResolverConfiguration(dnsResolverConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default request coalescing configuration.
+     *
+     * @param coalescingConfiguration The request coalescing configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultCoalescingConfiguration(@Nullable DefaultCoalescingConfiguration coalescingConfiguration) {
+        if (coalescingConfiguration != null) {
+            super.setCoalescingConfiguration(coalescingConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default adaptive concurrency limit configuration.
+     *
+     * @param concurrencyLimitConfiguration The adaptive concurrency limit configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultConcurrencyLimitConfiguration(@Nullable DefaultConcurrencyLimitConfiguration concurrencyLimitConfiguration) {
+        if (concurrencyLimitConfiguration != null) {
+            super.setConcurrencyLimitConfiguration(concurrencyLimitConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default outlier ejection configuration.
+     *
+     * @param outlierEjectionConfiguration The outlier ejection configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultOutlierEjectionConfiguration(@Nullable DefaultOutlierEjectionConfiguration outlierEjectionConfiguration) {
+        if (outlierEjectionConfiguration != null) {
+            super.setOutlierEjectionConfiguration(outlierEjectionConfiguration);
+        }
+    }
+
     /**
      * The default connection pool configuration.
      */
@@ -82,4 +160,70 @@ public class DefaultHttpClientConfiguration extends HttpClientConfiguration {
     @Primary
     public static class DefaultConnectionPoolConfiguration extends ConnectionPoolConfiguration {
     }
+
+    /**
+     * The default response cache configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(ResponseCacheConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultResponseCacheConfiguration extends ResponseCacheConfiguration {
+    }
+
+    /**
+     * The default request hedging configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(HedgingConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultHedgingConfiguration extends HedgingConfiguration {
+    }
+
+    /**
+     * The default DNS resolver configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(DnsResolverConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultDnsResolverConfiguration extends DnsResolverConfiguration {
+    }
+
+    /**
+     * The default request coalescing configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(CoalescingConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultCoalescingConfiguration extends CoalescingConfiguration {
+    }
+
+    /**
+     * The default adaptive concurrency limit configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(ConcurrencyLimitConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultConcurrencyLimitConfiguration extends ConcurrencyLimitConfiguration {
+    }
+
+    /**
+     * The default outlier ejection configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(OutlierEjectionConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultOutlierEjectionConfiguration extends OutlierEjectionConfiguration {
+    }
 }
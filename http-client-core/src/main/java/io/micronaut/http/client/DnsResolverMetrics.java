@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import java.time.Duration;
+
+/**
+ * Counters of the host name resolutions of a client, see
+ * {@link HttpClientConfiguration.DnsResolverConfiguration}.
+ *
+ * @since 4.0.0
+ */
+public interface DnsResolverMetrics {
+
+    /**
+     * @return The number of host names that were resolved, including cached resolutions
+     */
+    long getResolutions();
+
+    /**
+     * @return The number of resolutions that failed
+     */
+    long getFailures();
+
+    /**
+     * @return The total time spent resolving host names
+     */
+    Duration getTotalResolutionTime();
+
+    /**
+     * @return The longest time a resolution took
+     */
+    Duration getMaxResolutionTime();
+}
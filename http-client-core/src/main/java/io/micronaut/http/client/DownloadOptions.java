@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Further options for {@link StreamingHttpClient#download(io.micronaut.http.HttpRequest, java.nio.file.Path, DownloadOptions)}.
+ *
+ * @since 4.0.0
+ */
+public final class DownloadOptions {
+    private static final DownloadOptions DEFAULT = builder().build();
+
+    private final boolean resume;
+    @Nullable
+    private final TransferProgressListener progressListener;
+
+    private DownloadOptions(Builder builder) {
+        this.resume = builder.resume;
+        this.progressListener = builder.progressListener;
+    }
+
+    /**
+     * @return A new options builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The default options, which replace the target file and report no progress
+     */
+    public static DownloadOptions getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * If {@code true} and the target file is not empty, only the rest of the file is requested
+     * with a {@code Range} header and appended to the file. If the server ignores the range and
+     * sends the complete file, the file is replaced.
+     *
+     * @return Whether to resume the download of a partially downloaded file
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * @return The listener that is told how much of the file has been received
+     */
+    @Nullable
+    public TransferProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DownloadOptions &&
+                isResume() == ((DownloadOptions) o).isResume() &&
+                Objects.equals(getProgressListener(), ((DownloadOptions) o).getProgressListener());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isResume(), getProgressListener());
+    }
+
+    /**
+     * Builder class.
+     */
+    public static final class Builder {
+        private boolean resume = false;
+        private TransferProgressListener progressListener;
+
+        private Builder() {
+        }
+
+        /**
+         * Build an immutable {@link DownloadOptions} with the options configured in this builder.
+         *
+         * @return The options
+         */
+        public DownloadOptions build() {
+            return new DownloadOptions(this);
+        }
+
+        /**
+         * If {@code true} and the target file is not empty, only the rest of the file is
+         * requested with a {@code Range} header and appended to the file.
+         *
+         * @param resume Whether to resume the download of a partially downloaded file
+         * @return This builder.
+         */
+        public Builder resume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
+        /**
+         * Equivalent to {@link #resume(boolean)}.
+         *
+         * @return This builder.
+         */
+        public Builder resume() {
+            return resume(true);
+        }
+
+        /**
+         * @param progressListener The listener that is told how much of the file has been received
+         * @return This builder.
+         */
+        public Builder progressListener(@Nullable TransferProgressListener progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A request body that is sent from a file. Over a plain HTTP/1.1 connection the file is
+ * transferred to the socket with a Netty {@code FileRegion}, which uses
+ * {@code sendfile} where available, so the content is never copied to the heap. Over TLS and
+ * HTTP/2 the file is read in chunks into direct buffers.
+ *
+ * <p>The file is read again when the request is retried or redirected. Unless the request
+ * sets a content type, the body is sent as {@code application/octet-stream}.</p>
+ *
+ * @since 4.0.0
+ */
+public final class FileBody {
+
+    private final Path path;
+    private final long offset;
+    private final long length;
+    @Nullable
+    private final TransferProgressListener progressListener;
+
+    private FileBody(Path path, long offset, long length, @Nullable TransferProgressListener progressListener) {
+        this.path = Objects.requireNonNull(path, "path");
+        if (offset < 0) {
+            throw new IllegalArgumentException("The offset must not be negative");
+        }
+        if (length < -1) {
+            throw new IllegalArgumentException("The length must be -1 or not negative");
+        }
+        this.offset = offset;
+        this.length = length;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * @param path The file
+     * @return A body with the complete content of the file
+     */
+    @NonNull
+    public static FileBody of(@NonNull Path path) {
+        return new FileBody(path, 0, -1, null);
+    }
+
+    /**
+     * @param path   The file
+     * @param offset The offset of the first byte to send
+     * @param length The number of bytes to send, or {@code -1} for the rest of the file
+     * @return A body with a region of the file
+     */
+    @NonNull
+    public static FileBody of(@NonNull Path path, long offset, long length) {
+        return new FileBody(path, offset, length, null);
+    }
+
+    /**
+     * @param progressListener The listener that is told how much of the file has been sent
+     * @return A copy of this body that reports its progress to the given listener
+     */
+    @NonNull
+    public FileBody withProgressListener(@Nullable TransferProgressListener progressListener) {
+        return new FileBody(path, offset, length, progressListener);
+    }
+
+    /**
+     * @return The file
+     */
+    @NonNull
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return The offset of the first byte to send
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The number of bytes to send, or {@code -1} for the rest of the file
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return The listener that is told how much of the file has been sent
+     */
+    @Nullable
+    public TransferProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    @Override
+    public String toString() {
+        return "FileBody{" + path + ", offset=" + offset + ", length=" + length + '}';
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Counters of the hedged requests of a client, see
+ * {@link HttpClientConfiguration.HedgingConfiguration}.
+ *
+ * @since 4.0.0
+ */
+public interface HedgingMetrics {
+
+    /**
+     * @return The number of requests that were eligible for hedging
+     */
+    long getHedgeableRequests();
+
+    /**
+     * @return The number of hedged attempts that were sent
+     */
+    long getHedgedRequests();
+
+    /**
+     * @return The number of requests whose response came from the hedged attempt
+     */
+    long getHedgeWins();
+
+    /**
+     * @return The number of requests that were not hedged because the budget was exhausted
+     */
+    long getBudgetExhausted();
+
+    /**
+     * @return The hedge delay derived from the observed latency, or {@code null} if not enough
+     * requests have been observed yet
+     */
+    @Nullable
+    Duration getObservedDelay();
+}
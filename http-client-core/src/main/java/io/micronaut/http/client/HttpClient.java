@@ -45,6 +45,22 @@ public interface HttpClient extends Closeable, LifeCycle<HttpClient> {
      */
     Argument<JsonError> DEFAULT_ERROR_TYPE = Argument.of(JsonError.class);
 
+    /**
+     * The scheme of URIs of plain HTTP requests over a Unix domain socket. The authority of the
+     * URI is the percent-encoded path of the socket, for example
+     * {@code http+unix://%2Fvar%2Frun%2Fenvoy.sock/path}.
+     *
+     * @since 4.0.0
+     */
+    String SCHEME_HTTP_UNIX = "http+unix";
+
+    /**
+     * The scheme of URIs of HTTPS requests over a Unix domain socket, see {@link #SCHEME_HTTP_UNIX}.
+     *
+     * @since 4.0.0
+     */
+    String SCHEME_HTTPS_UNIX = "https+unix";
+
     /**
      * @return A blocking HTTP client suitable for testing and non-production scenarios.
      */
@@ -21,6 +21,7 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.format.ReadableBytes;
 import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpVersion;
 import io.micronaut.http.ssl.ClientSslConfiguration;
 import io.micronaut.http.ssl.SslConfiguration;
@@ -34,6 +35,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
@@ -101,6 +103,14 @@ public abstract class HttpClientConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_EXCEPTION_ON_ERROR_STATUS = true;
 
+    /**
+     * The default event loop affinity value.
+     *
+     * @since 4.0.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_EVENT_LOOP_AFFINITY = false;
+
     private Map<String, Object> channelOptions = Collections.emptyMap();
 
     private Integer numOfThreads = null;
@@ -148,6 +158,8 @@ public abstract class HttpClientConfiguration {
 
     private String eventLoopGroup = "default";
 
+    private boolean eventLoopAffinity = DEFAULT_EVENT_LOOP_AFFINITY;
+
     @Deprecated
     @Nullable
     private HttpVersion httpVersion = null;
@@ -161,6 +173,18 @@ public abstract class HttpClientConfiguration {
 
     private LogLevel logLevel;
 
+    private ResponseCacheConfiguration responseCacheConfiguration = new ResponseCacheConfiguration();
+
+    private HedgingConfiguration hedgingConfiguration = new HedgingConfiguration();
+
+    private DnsResolverConfiguration dnsResolverConfiguration = new DnsResolverConfiguration();
+
+    private CoalescingConfiguration coalescingConfiguration = new CoalescingConfiguration();
+
+    private ConcurrencyLimitConfiguration concurrencyLimitConfiguration = new ConcurrencyLimitConfiguration();
+
+    private OutlierEjectionConfiguration outlierEjectionConfiguration = new OutlierEjectionConfiguration();
+
     /**
      * Default constructor.
      */
@@ -190,6 +214,7 @@ public abstract class HttpClientConfiguration {
             this.defaultCharset = copy.defaultCharset;
             this.exceptionOnErrorStatus = copy.exceptionOnErrorStatus;
             this.eventLoopGroup = copy.eventLoopGroup;
+            this.eventLoopAffinity = copy.eventLoopAffinity;
             this.followRedirects = copy.followRedirects;
             this.logLevel = copy.logLevel;
             this.loggerName = copy.loggerName;
@@ -207,6 +232,12 @@ public abstract class HttpClientConfiguration {
             this.sslConfiguration = copy.sslConfiguration;
             this.threadFactory = copy.threadFactory;
             this.httpVersion = copy.httpVersion;
+            this.responseCacheConfiguration = copy.responseCacheConfiguration;
+            this.hedgingConfiguration = copy.hedgingConfiguration;
+            this.dnsResolverConfiguration = copy.dnsResolverConfiguration;
+            this.coalescingConfiguration = copy.coalescingConfiguration;
+            this.concurrencyLimitConfiguration = copy.concurrencyLimitConfiguration;
+            this.outlierEjectionConfiguration = copy.outlierEjectionConfiguration;
         }
     }
 
@@ -267,6 +298,29 @@ public abstract class HttpClientConfiguration {
         this.eventLoopGroup = eventLoopGroup;
     }
 
+    /**
+     * @return Whether the client shares the event loops of the HTTP server and prefers connections
+     * that run on the event loop a request is made from
+     * @since 4.0.0
+     */
+    public boolean isEventLoopAffinity() {
+        return eventLoopAffinity;
+    }
+
+    /**
+     * Sets whether the client runs on the worker event loop group of the HTTP server, if there is
+     * one, instead of the {@link #getEventLoopGroup() configured group}. Requests made from an
+     * event loop of that group, such as from a controller, then preferably use a pooled
+     * connection of the same event loop, or open a new connection on it, so that the request and
+     * the response are handled without switching threads. Default value ({@value #DEFAULT_EVENT_LOOP_AFFINITY}).
+     *
+     * @param eventLoopAffinity Whether to enable event loop affinity
+     * @since 4.0.0
+     */
+    public void setEventLoopAffinity(boolean eventLoopAffinity) {
+        this.eventLoopAffinity = eventLoopAffinity;
+    }
+
     /**
      * Obtains the connection pool configuration.
      *
@@ -290,6 +344,120 @@ public abstract class HttpClientConfiguration {
         this.sslConfiguration = sslConfiguration;
     }
 
+    /**
+     * @return The response cache configuration
+     * @since 4.0.0
+     */
+    @NonNull
+    public ResponseCacheConfiguration getResponseCacheConfiguration() {
+        return responseCacheConfiguration;
+    }
+
+    /**
+     * Sets the response cache configuration for the client.
+     *
+     * @param responseCacheConfiguration The response cache configuration
+     * @since 4.0.0
+     */
+    public void setResponseCacheConfiguration(@NonNull ResponseCacheConfiguration responseCacheConfiguration) {
+        this.responseCacheConfiguration = Objects.requireNonNull(responseCacheConfiguration, "responseCacheConfiguration");
+    }
+
+    /**
+     * @return The request hedging configuration
+     * @since 4.0.0
+     */
+    @NonNull
+    public HedgingConfiguration getHedgingConfiguration() {
+        return hedgingConfiguration;
+    }
+
+    /**
+     * Sets the request hedging configuration for the client.
+     *
+     * @param hedgingConfiguration The request hedging configuration
+     * @since 4.0.0
+     */
+    public void setHedgingConfiguration(@NonNull HedgingConfiguration hedgingConfiguration) {
+        this.hedgingConfiguration = Objects.requireNonNull(hedgingConfiguration, "hedgingConfiguration");
+    }
+
+    /**
+     * @return The DNS resolver configuration
+     * @since 4.0.0
+     */
+    @NonNull
+    public DnsResolverConfiguration getDnsResolverConfiguration() {
+        return dnsResolverConfiguration;
+    }
+
+    /**
+     * Sets the DNS resolver configuration for the client.
+     *
+     * @param dnsResolverConfiguration The DNS resolver configuration
+     * @since 4.0.0
+     */
+    public void setDnsResolverConfiguration(@NonNull DnsResolverConfiguration dnsResolverConfiguration) {
+        this.dnsResolverConfiguration = Objects.requireNonNull(dnsResolverConfiguration, "dnsResolverConfiguration");
+    }
+
+    /**
+     * @return The request coalescing configuration
+     * @since 4.0.0
+     */
+    @NonNull
+    public CoalescingConfiguration getCoalescingConfiguration() {
+        return coalescingConfiguration;
+    }
+
+    /**
+     * Sets the request coalescing configuration for the client.
+     *
+     * @param coalescingConfiguration The request coalescing configuration
+     * @since 4.0.0
+     */
+    public void setCoalescingConfiguration(@NonNull CoalescingConfiguration coalescingConfiguration) {
+        this.coalescingConfiguration = Objects.requireNonNull(coalescingConfiguration, "coalescingConfiguration");
+    }
+
+    /**
+     * @return The adaptive concurrency limit configuration
+     * @since 4.0.0
+     */
+    @NonNull
+    public ConcurrencyLimitConfiguration getConcurrencyLimitConfiguration() {
+        return concurrencyLimitConfiguration;
+    }
+
+    /**
+     * Sets the adaptive concurrency limit configuration for the client.
+     *
+     * @param concurrencyLimitConfiguration The adaptive concurrency limit configuration
+     * @since 4.0.0
+     */
+    public void setConcurrencyLimitConfiguration(@NonNull ConcurrencyLimitConfiguration concurrencyLimitConfiguration) {
+        this.concurrencyLimitConfiguration = Objects.requireNonNull(concurrencyLimitConfiguration, "concurrencyLimitConfiguration");
+    }
+
+    /**
+     * @return The outlier ejection configuration
+     * @since 4.0.0
+     */
+    @NonNull
+    public OutlierEjectionConfiguration getOutlierEjectionConfiguration() {
+        return outlierEjectionConfiguration;
+    }
+
+    /**
+     * Sets the outlier ejection configuration for the load balancer of the client.
+     *
+     * @param outlierEjectionConfiguration The outlier ejection configuration
+     * @since 4.0.0
+     */
+    public void setOutlierEjectionConfiguration(@NonNull OutlierEjectionConfiguration outlierEjectionConfiguration) {
+        this.outlierEjectionConfiguration = Objects.requireNonNull(outlierEjectionConfiguration, "outlierEjectionConfiguration");
+    }
+
     /**
      * @return Whether redirects should be followed
      */
@@ -724,8 +892,18 @@ public abstract class HttpClientConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final boolean DEFAULT_ENABLED = true;
 
+        /**
+         * The default minimum number of idle connections.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MIN_IDLE_CONNECTIONS = 0;
+
         private int maxPendingConnections = 4;
 
+        private int minIdleConnections = DEFAULT_MIN_IDLE_CONNECTIONS;
+
+        private Duration warmUpTimeout;
+
         private int maxConcurrentRequestsPerHttp2Connection = Integer.MAX_VALUE;
         private int maxConcurrentHttp1Connections = Integer.MAX_VALUE;
         private int maxConcurrentHttp2Connections = 1;
@@ -874,6 +1052,891 @@ public abstract class HttpClientConfiguration {
         public void setMaxConcurrentHttp2Connections(int maxConcurrentHttp2Connections) {
             this.maxConcurrentHttp2Connections = maxConcurrentHttp2Connections;
         }
+
+        /**
+         * The minimum number of idle connections the pool of each remote keeps open.
+         *
+         * @return The minimum number of idle connections
+         * @since 4.0.0
+         */
+        public int getMinIdleConnections() {
+            return minIdleConnections;
+        }
+
+        /**
+         * Sets the minimum number of idle connections the pool of each remote keeps open, within
+         * the limits of the maximum concurrent connections. The connections to the instances known
+         * to the load balancer of the client are opened when the client is created, and
+         * connections that are closed, for example when their
+         * {@link HttpClientConfiguration#getConnectTtl() TTL} expires, are replaced. Default value
+         * ({@value #DEFAULT_MIN_IDLE_CONNECTIONS}).
+         *
+         * @param minIdleConnections The minimum number of idle connections
+         * @since 4.0.0
+         */
+        public void setMinIdleConnections(int minIdleConnections) {
+            this.minIdleConnections = minIdleConnections;
+        }
+
+        /**
+         * @return The time the startup of the application waits for the idle connections to be opened
+         * @since 4.0.0
+         */
+        public Optional<Duration> getWarmUpTimeout() {
+            return Optional.ofNullable(warmUpTimeout);
+        }
+
+        /**
+         * Sets the time the startup of the application waits for the
+         * {@link #setMinIdleConnections(int) idle connections} to the known instances to be opened,
+         * for the clients that are created while the application context starts. Clients created
+         * later, and clients without a warm-up timeout, open the connections in the background.
+         *
+         * @param warmUpTimeout The warm-up timeout
+         * @since 4.0.0
+         */
+        public void setWarmUpTimeout(@Nullable Duration warmUpTimeout) {
+            this.warmUpTimeout = warmUpTimeout;
+        }
+    }
+
+    /**
+     * Configuration for the HTTP client response cache.
+     *
+     * @since 4.0.0
+     */
+    public static class ResponseCacheConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "cache";
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default maximum size of the responses kept in memory, in bytes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAXIMUM_MEMORY_SIZE = 1024 * 1024 * 10;
+
+        /**
+         * The default maximum size of the body of a cached response, in bytes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAXIMUM_ENTRY_SIZE = 1024 * 1024;
+
+        /**
+         * The default maximum size of the responses kept on disk, in bytes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAXIMUM_DISK_SIZE = 1024 * 1024 * 100;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private long maximumMemorySize = DEFAULT_MAXIMUM_MEMORY_SIZE;
+        private int maximumEntrySize = DEFAULT_MAXIMUM_ENTRY_SIZE;
+        private Path diskPath;
+        private long maximumDiskSize = DEFAULT_MAXIMUM_DISK_SIZE;
+
+        /**
+         * Whether the response cache is enabled.
+         *
+         * @return True if the response cache is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the response cache is enabled. Default value ({@value #DEFAULT_ENABLED}).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The maximum total size of the responses kept in memory, in bytes
+         */
+        public long getMaximumMemorySize() {
+            return maximumMemorySize;
+        }
+
+        /**
+         * Sets the maximum total size of the responses kept in memory. The least recently used
+         * responses are evicted, or moved to disk if a disk path is set. Default value
+         * ({@value #DEFAULT_MAXIMUM_MEMORY_SIZE}).
+         *
+         * @param maximumMemorySize The maximum size
+         */
+        public void setMaximumMemorySize(@ReadableBytes long maximumMemorySize) {
+            this.maximumMemorySize = maximumMemorySize;
+        }
+
+        /**
+         * @return The maximum size of the body of a cached response, in bytes
+         */
+        public int getMaximumEntrySize() {
+            return maximumEntrySize;
+        }
+
+        /**
+         * Sets the maximum size of the body of a cached response. Larger responses are not
+         * cached. Default value ({@value #DEFAULT_MAXIMUM_ENTRY_SIZE}).
+         *
+         * @param maximumEntrySize The maximum size
+         */
+        public void setMaximumEntrySize(@ReadableBytes int maximumEntrySize) {
+            this.maximumEntrySize = maximumEntrySize;
+        }
+
+        /**
+         * @return The directory of the disk tier of the cache
+         */
+        public Optional<Path> getDiskPath() {
+            return Optional.ofNullable(diskPath);
+        }
+
+        /**
+         * Sets the directory of the disk tier of the cache. Responses evicted from memory are
+         * stored in this directory and read through memory-mapped files. If not set, responses
+         * are only cached in memory.
+         *
+         * @param diskPath The directory
+         */
+        public void setDiskPath(@Nullable Path diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        /**
+         * @return The maximum total size of the responses kept on disk, in bytes
+         */
+        public long getMaximumDiskSize() {
+            return maximumDiskSize;
+        }
+
+        /**
+         * Sets the maximum total size of the responses kept on disk. Default value
+         * ({@value #DEFAULT_MAXIMUM_DISK_SIZE}).
+         *
+         * @param maximumDiskSize The maximum size
+         */
+        public void setMaximumDiskSize(@ReadableBytes long maximumDiskSize) {
+            this.maximumDiskSize = maximumDiskSize;
+        }
     }
 
+    /**
+     * Configuration for hedged requests. If an idempotent request has not completed within the
+     * hedge delay, a second attempt is sent to another server selected by the
+     * {@link LoadBalancer} and the first response wins.
+     *
+     * @since 4.0.0
+     */
+    public static class HedgingConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "hedging";
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default percentile of the observed latency used as the hedge delay.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_PERCENTILE = 95;
+
+        /**
+         * The default ratio of requests that may be hedged.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_BUDGET = 0.1;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private Duration delay;
+        private double percentile = DEFAULT_PERCENTILE;
+        private double budget = DEFAULT_BUDGET;
+
+        /**
+         * Whether idempotent requests are hedged.
+         *
+         * @return True if request hedging is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether idempotent requests are hedged. Individual methods of declarative clients
+         * can be hedged with {@link io.micronaut.http.client.annotation.Hedged} regardless of this
+         * setting. Default value ({@value #DEFAULT_ENABLED}).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The fixed hedge delay
+         */
+        public Optional<Duration> getDelay() {
+            return Optional.ofNullable(delay);
+        }
+
+        /**
+         * Sets a fixed delay after which a request is hedged. If not set, the delay is the
+         * {@link #setPercentile(double) percentile} of the latency observed by the client.
+         *
+         * @param delay The delay
+         */
+        public void setDelay(@Nullable Duration delay) {
+            this.delay = delay;
+        }
+
+        /**
+         * @return The percentile of the observed latency used as the hedge delay
+         */
+        public double getPercentile() {
+            return percentile;
+        }
+
+        /**
+         * Sets the percentile of the latency observed by the client that is used as the hedge
+         * delay if no fixed delay is set. Default value ({@value #DEFAULT_PERCENTILE}).
+         *
+         * @param percentile The percentile, between 0 and 100
+         */
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        /**
+         * @return The ratio of requests that may be hedged
+         */
+        public double getBudget() {
+            return budget;
+        }
+
+        /**
+         * Sets the ratio of requests that may be hedged, which caps the additional load hedging
+         * puts on the servers. Every hedgeable request earns this fraction of a hedge. Default
+         * value ({@value #DEFAULT_BUDGET}).
+         *
+         * @param budget The ratio, between 0 and 1
+         */
+        public void setBudget(double budget) {
+            this.budget = budget;
+        }
+    }
+
+    /**
+     * Configuration for the asynchronous DNS resolver of the client. When the resolver is
+     * disabled, host names are resolved with the blocking {@link java.net.InetAddress} lookup
+     * of the JVM.
+     *
+     * @since 4.0.0
+     */
+    public static class DnsResolverConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "dns-resolver";
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default query timeout in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_QUERY_TIMEOUT_SECONDS = 5;
+
+        /**
+         * The default round-robin value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ROUND_ROBIN = true;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private Duration minTtl = Duration.ZERO;
+        private Duration maxTtl;
+        private Duration negativeTtl = Duration.ZERO;
+        private Duration queryTimeout = Duration.ofSeconds(DEFAULT_QUERY_TIMEOUT_SECONDS);
+        private boolean roundRobin = DEFAULT_ROUND_ROBIN;
+        private List<String> nameServers = Collections.emptyList();
+
+        /**
+         * Whether the asynchronous DNS resolver is used.
+         *
+         * @return True if the resolver is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether host names are resolved with the asynchronous DNS resolver instead of the
+         * blocking lookup of the JVM. Default value ({@value #DEFAULT_ENABLED}).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The minimum time resolved addresses are cached
+         */
+        @NonNull
+        public Duration getMinTtl() {
+            return minTtl;
+        }
+
+        /**
+         * Sets the minimum time resolved addresses are cached, regardless of the TTL of the DNS
+         * records. Default value (0 seconds).
+         *
+         * @param minTtl The minimum TTL
+         */
+        public void setMinTtl(@NonNull Duration minTtl) {
+            this.minTtl = Objects.requireNonNull(minTtl, "minTtl");
+        }
+
+        /**
+         * @return The maximum time resolved addresses are cached
+         */
+        public Optional<Duration> getMaxTtl() {
+            return Optional.ofNullable(maxTtl);
+        }
+
+        /**
+         * Sets the maximum time resolved addresses are cached, regardless of the TTL of the DNS
+         * records. If not set, the TTL of the records is respected.
+         *
+         * @param maxTtl The maximum TTL
+         */
+        public void setMaxTtl(@Nullable Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        /**
+         * @return The time failed resolutions are cached
+         */
+        @NonNull
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        /**
+         * Sets the time failed resolutions are cached. Default value (0 seconds).
+         *
+         * @param negativeTtl The negative TTL
+         */
+        public void setNegativeTtl(@NonNull Duration negativeTtl) {
+            this.negativeTtl = Objects.requireNonNull(negativeTtl, "negativeTtl");
+        }
+
+        /**
+         * @return The timeout of a DNS query
+         */
+        @NonNull
+        public Duration getQueryTimeout() {
+            return queryTimeout;
+        }
+
+        /**
+         * Sets the timeout of a DNS query. Default value ({@value #DEFAULT_QUERY_TIMEOUT_SECONDS} seconds).
+         *
+         * @param queryTimeout The query timeout
+         */
+        public void setQueryTimeout(@NonNull Duration queryTimeout) {
+            this.queryTimeout = Objects.requireNonNull(queryTimeout, "queryTimeout");
+        }
+
+        /**
+         * @return Whether connections rotate over the resolved addresses of a host
+         */
+        public boolean isRoundRobin() {
+            return roundRobin;
+        }
+
+        /**
+         * Sets whether new connections to a host rotate over all the A and AAAA records of the
+         * host instead of always using the first one. Default value ({@value #DEFAULT_ROUND_ROBIN}).
+         *
+         * @param roundRobin True to rotate over the addresses
+         */
+        public void setRoundRobin(boolean roundRobin) {
+            this.roundRobin = roundRobin;
+        }
+
+        /**
+         * @return The name servers, as {@code host:port}
+         */
+        @NonNull
+        public List<String> getNameServers() {
+            return nameServers;
+        }
+
+        /**
+         * Sets the name servers to query, as {@code host} or {@code host:port}. If empty, the
+         * name servers of the operating system are used.
+         *
+         * @param nameServers The name servers
+         */
+        public void setNameServers(@Nullable List<String> nameServers) {
+            this.nameServers = nameServers == null ? Collections.emptyList() : nameServers;
+        }
+    }
+
+    /**
+     * Configuration for the coalescing of identical concurrent requests. While a {@code GET} or
+     * {@code HEAD} request is in flight, identical requests of the client wait for its response
+     * instead of being sent to the server.
+     *
+     * @since 4.0.0
+     */
+    public static class CoalescingConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "coalescing";
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default headers that are part of the coalescing key.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final List<String> DEFAULT_KEY_HEADERS = Collections.unmodifiableList(Arrays.asList(
+            HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_ENCODING,
+            HttpHeaders.ACCEPT_LANGUAGE,
+            HttpHeaders.AUTHORIZATION,
+            HttpHeaders.COOKIE
+        ));
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private List<String> keyHeaders = DEFAULT_KEY_HEADERS;
+
+        /**
+         * Whether identical concurrent requests are coalesced.
+         *
+         * @return True if request coalescing is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether identical concurrent requests are coalesced. Individual methods of
+         * declarative clients can be coalesced with
+         * {@link io.micronaut.http.client.annotation.Coalesced} regardless of this setting.
+         * Default value ({@value #DEFAULT_ENABLED}).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The headers that are part of the coalescing key
+         */
+        @NonNull
+        public List<String> getKeyHeaders() {
+            return keyHeaders;
+        }
+
+        /**
+         * Sets the headers that are part of the coalescing key, in addition to the method and
+         * the URI. Requests that differ in one of these headers are not coalesced, other headers
+         * are ignored. Defaults to {@code Accept}, {@code Accept-Encoding},
+         * {@code Accept-Language}, {@code Authorization} and {@code Cookie}.
+         *
+         * @param keyHeaders The key headers
+         */
+        public void setKeyHeaders(@Nullable List<String> keyHeaders) {
+            this.keyHeaders = keyHeaders == null ? Collections.emptyList() : keyHeaders;
+        }
+    }
+
+    /**
+     * Configuration for the adaptive limit of concurrent requests to each remote. The limit
+     * grows while the latency of the responses stays at its long-term level and shrinks when the
+     * latency rises or requests fail. Requests that exceed the limit fail right away with a
+     * {@link io.micronaut.http.client.exceptions.ConcurrencyLimitExceededException} instead of
+     * waiting for a connection.
+     *
+     * @since 4.0.0
+     */
+    public static class ConcurrencyLimitConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "concurrency-limit";
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default initial limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+        /**
+         * The default minimum limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MIN_LIMIT = 1;
+
+        /**
+         * The default maximum limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_LIMIT = 1000;
+
+        /**
+         * The default factor the limit is multiplied with when a request fails.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+        private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+        /**
+         * Whether the concurrent requests to each remote are limited adaptively.
+         *
+         * @return True if the adaptive concurrency limit is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the concurrent requests to each remote are limited adaptively. Default
+         * value ({@value #DEFAULT_ENABLED}).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The limit of a remote before the first response is received
+         */
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        /**
+         * Sets the limit of a remote before the first response is received. Default value
+         * ({@value #DEFAULT_INITIAL_LIMIT}).
+         *
+         * @param initialLimit The initial limit
+         */
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        /**
+         * @return The minimum limit
+         */
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        /**
+         * Sets the minimum limit, the limit never shrinks below. Default value
+         * ({@value #DEFAULT_MIN_LIMIT}).
+         *
+         * @param minLimit The minimum limit
+         */
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        /**
+         * @return The maximum limit
+         */
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        /**
+         * Sets the maximum limit, the limit never grows above. Default value
+         * ({@value #DEFAULT_MAX_LIMIT}).
+         *
+         * @param maxLimit The maximum limit
+         */
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        /**
+         * @return The factor the limit is multiplied with when a request fails
+         */
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        /**
+         * Sets the factor the limit is multiplied with when a request fails, i.e. when it gets no
+         * response because of an error or a read timeout, or a {@code 429} or {@code 5xx} response.
+         * Cancelled requests do not change the limit. Default value
+         * ({@value #DEFAULT_BACKOFF_RATIO}).
+         *
+         * @param backoffRatio The backoff ratio, between 0 and 1
+         */
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+    }
+
+    /**
+     * Configuration for the passive health tracking of the instances a client load balances
+     * between. An instance that fails too many requests in a row, or whose latency is far above
+     * the latency of the other instances, is ejected from the load balancer for a while. The
+     * ejection time doubles every time the same instance is ejected again.
+     *
+     * @since 4.0.0
+     */
+    public static class OutlierEjectionConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "outlier-ejection";
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default number of consecutive server error responses that eject an instance.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_CONSECUTIVE_SERVER_ERRORS = 5;
+
+        /**
+         * The default number of consecutive connect failures that eject an instance.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_CONSECUTIVE_CONNECT_FAILURES = 5;
+
+        /**
+         * The default factor of the median latency above which an instance is an outlier.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_LATENCY_FACTOR = 3;
+
+        /**
+         * The default number of requests an instance needs before its latency is compared.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_LATENCY_MINIMUM_REQUESTS = 20;
+
+        /**
+         * The default base ejection time in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_BASE_EJECTION_TIME_SECONDS = 30;
+
+        /**
+         * The default maximum ejection time in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAX_EJECTION_TIME_SECONDS = 300;
+
+        /**
+         * The default maximum percentage of ejected instances.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_EJECTION_PERCENT = 10;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private int consecutiveServerErrors = DEFAULT_CONSECUTIVE_SERVER_ERRORS;
+        private int consecutiveConnectFailures = DEFAULT_CONSECUTIVE_CONNECT_FAILURES;
+        private double latencyFactor = DEFAULT_LATENCY_FACTOR;
+        private int latencyMinimumRequests = DEFAULT_LATENCY_MINIMUM_REQUESTS;
+        private Duration baseEjectionTime = Duration.ofSeconds(DEFAULT_BASE_EJECTION_TIME_SECONDS);
+        private Duration maxEjectionTime = Duration.ofSeconds(DEFAULT_MAX_EJECTION_TIME_SECONDS);
+        private int maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+
+        /**
+         * Whether outlier instances are ejected from the load balancer.
+         *
+         * @return True if outlier ejection is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether outlier instances are ejected from the load balancer. Default value
+         * ({@value #DEFAULT_ENABLED}).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The number of consecutive server error responses that eject an instance
+         */
+        public int getConsecutiveServerErrors() {
+            return consecutiveServerErrors;
+        }
+
+        /**
+         * Sets the number of consecutive {@code 5xx} responses that eject an instance, or
+         * {@code 0} to disable this check. Default value ({@value #DEFAULT_CONSECUTIVE_SERVER_ERRORS}).
+         *
+         * @param consecutiveServerErrors The number of consecutive server errors
+         */
+        public void setConsecutiveServerErrors(int consecutiveServerErrors) {
+            this.consecutiveServerErrors = consecutiveServerErrors;
+        }
+
+        /**
+         * @return The number of consecutive connect failures that eject an instance
+         */
+        public int getConsecutiveConnectFailures() {
+            return consecutiveConnectFailures;
+        }
+
+        /**
+         * Sets the number of consecutive requests that get no response at all, such as connect
+         * failures and timeouts, that eject an instance, or {@code 0} to disable this check.
+         * Default value ({@value #DEFAULT_CONSECUTIVE_CONNECT_FAILURES}).
+         *
+         * @param consecutiveConnectFailures The number of consecutive connect failures
+         */
+        public void setConsecutiveConnectFailures(int consecutiveConnectFailures) {
+            this.consecutiveConnectFailures = consecutiveConnectFailures;
+        }
+
+        /**
+         * @return The factor of the median latency above which an instance is an outlier
+         */
+        public double getLatencyFactor() {
+            return latencyFactor;
+        }
+
+        /**
+         * Sets the factor of the median latency of all instances above which the latency of an
+         * instance makes it an outlier, or {@code 0} to disable this check. Default value
+         * ({@value #DEFAULT_LATENCY_FACTOR}).
+         *
+         * @param latencyFactor The latency factor
+         */
+        public void setLatencyFactor(double latencyFactor) {
+            this.latencyFactor = latencyFactor;
+        }
+
+        /**
+         * @return The number of requests an instance needs before its latency is compared
+         */
+        public int getLatencyMinimumRequests() {
+            return latencyMinimumRequests;
+        }
+
+        /**
+         * Sets the number of requests an instance needs to complete before its latency is
+         * compared to the other instances. Default value ({@value #DEFAULT_LATENCY_MINIMUM_REQUESTS}).
+         *
+         * @param latencyMinimumRequests The minimum number of requests
+         */
+        public void setLatencyMinimumRequests(int latencyMinimumRequests) {
+            this.latencyMinimumRequests = latencyMinimumRequests;
+        }
+
+        /**
+         * @return The time an instance is ejected for the first time
+         */
+        @NonNull
+        public Duration getBaseEjectionTime() {
+            return baseEjectionTime;
+        }
+
+        /**
+         * Sets the time an instance is ejected for the first time. Every further ejection of the
+         * same instance doubles this time. Default value ({@value #DEFAULT_BASE_EJECTION_TIME_SECONDS} seconds).
+         *
+         * @param baseEjectionTime The base ejection time
+         */
+        public void setBaseEjectionTime(@NonNull Duration baseEjectionTime) {
+            this.baseEjectionTime = Objects.requireNonNull(baseEjectionTime, "baseEjectionTime");
+        }
+
+        /**
+         * @return The maximum time an instance is ejected for
+         */
+        @NonNull
+        public Duration getMaxEjectionTime() {
+            return maxEjectionTime;
+        }
+
+        /**
+         * Sets the maximum time an instance is ejected for. Default value
+         * ({@value #DEFAULT_MAX_EJECTION_TIME_SECONDS} seconds).
+         *
+         * @param maxEjectionTime The maximum ejection time
+         */
+        public void setMaxEjectionTime(@NonNull Duration maxEjectionTime) {
+            this.maxEjectionTime = Objects.requireNonNull(maxEjectionTime, "maxEjectionTime");
+        }
+
+        /**
+         * @return The maximum percentage of the instances that may be ejected at the same time
+         */
+        public int getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+
+        /**
+         * Sets the maximum percentage of the known instances that may be ejected at the same
+         * time. One instance may always be ejected as long as there are at least two instances.
+         * Default value ({@value #DEFAULT_MAX_EJECTION_PERCENT}).
+         *
+         * @param maxEjectionPercent The maximum ejection percentage
+         */
+        public void setMaxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.reactivestreams.Publisher;
 
 import java.net.URI;
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -55,6 +56,18 @@ public interface LoadBalancer {
         return select(null);
     }
 
+    /**
+     * The instances this load balancer selects from, if they are known upfront. The HTTP client
+     * opens connections to them ahead of the first request if the connection pool is configured
+     * with minimum idle connections.
+     *
+     * @return The instances, or an empty publisher if they are not known
+     * @since 4.0.0
+     */
+    default Publisher<List<ServiceInstance>> getInstances() {
+        return Publishers.empty();
+    }
+
     /**
      * A {@link LoadBalancer} that does no load balancing and always hits the given URL.
      *
@@ -24,9 +24,11 @@ public final class ProxyRequestOptions {
     private static final ProxyRequestOptions DEFAULT = builder().build();
 
     private final boolean retainHostHeader;
+    private final boolean directStreaming;
 
     private ProxyRequestOptions(Builder builder) {
         this.retainHostHeader = builder.retainHostHeader;
+        this.directStreaming = builder.directStreaming;
     }
 
     /**
@@ -54,15 +56,28 @@ public final class ProxyRequestOptions {
         return retainHostHeader;
     }
 
+    /**
+     * If {@code true}, the bodies of the request and the response are forwarded between the
+     * server and the client connection as is, in batches of buffers and with one flush per batch,
+     * and the client connection is preferably opened on the event loop of the server connection.
+     *
+     * @return Whether to forward the bodies directly between the server and the client connection.
+     * @since 4.0.0
+     */
+    public boolean isDirectStreaming() {
+        return directStreaming;
+    }
+
     @Override
     public boolean equals(Object o) {
         return o instanceof ProxyRequestOptions &&
-                isRetainHostHeader() == ((ProxyRequestOptions) o).isRetainHostHeader();
+                isRetainHostHeader() == ((ProxyRequestOptions) o).isRetainHostHeader() &&
+                isDirectStreaming() == ((ProxyRequestOptions) o).isDirectStreaming();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(isRetainHostHeader());
+        return Objects.hash(isRetainHostHeader(), isDirectStreaming());
     }
 
     /**
@@ -70,6 +85,7 @@ public final class ProxyRequestOptions {
      */
     public static final class Builder {
         private boolean retainHostHeader = false;
+        private boolean directStreaming = false;
 
         private Builder() {
         }
@@ -104,5 +120,32 @@ public final class ProxyRequestOptions {
         public Builder retainHostHeader() {
             return retainHostHeader(true);
         }
+
+        /**
+         * If {@code true}, forward the bodies of the request and the response directly between the
+         * server and the client connection. The body buffers are handed over to the other
+         * connection without copying, more of the body is only read while the other connection is
+         * writable, and the client connection is preferably opened on the event loop of the server
+         * connection. The headers can still be changed, for example by filters, but the body cannot.
+         *
+         * @param directStreaming Whether to forward the bodies directly between the server and
+         *                        the client connection.
+         * @return This builder.
+         * @since 4.0.0
+         */
+        public Builder directStreaming(boolean directStreaming) {
+            this.directStreaming = directStreaming;
+            return this;
+        }
+
+        /**
+         * Equivalent to {@link #directStreaming(boolean)}.
+         *
+         * @return This builder.
+         * @since 4.0.0
+         */
+        public Builder directStreaming() {
+            return directStreaming(true);
+        }
     }
 }
@@ -107,11 +107,30 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
      * @param sslConfiguration The SSL configuration
      * @param defaultHttpClientConfiguration The default HTTP client configuration
      */
+    public ServiceHttpClientConfiguration(
+            @Parameter String serviceId,
+            @Nullable ServiceConnectionPoolConfiguration connectionPoolConfiguration,
+            @Nullable ServiceSslClientConfiguration sslConfiguration,
+            HttpClientConfiguration defaultHttpClientConfiguration) {
+        this(serviceId, connectionPoolConfiguration, sslConfiguration, null, defaultHttpClientConfiguration);
+    }
+
+    /**
+     * Creates a new client configuration for the given service ID.
+     *
+     * @param serviceId The service id
+     * @param connectionPoolConfiguration The connection pool configuration
+     * @param sslConfiguration The SSL configuration
+     * @param responseCacheConfiguration The response cache configuration, the configuration of the default client is used if absent
+     * @param defaultHttpClientConfiguration The default HTTP client configuration
+     * @since 4.0.0
+     */
     @Inject
     public ServiceHttpClientConfiguration(
             @Parameter String serviceId,
             @Nullable ServiceConnectionPoolConfiguration connectionPoolConfiguration,
             @Nullable ServiceSslClientConfiguration sslConfiguration,
+            @Nullable ServiceResponseCacheConfiguration responseCacheConfiguration,
             HttpClientConfiguration defaultHttpClientConfiguration) {
         super(defaultHttpClientConfiguration);
         this.serviceId = serviceId;
@@ -123,6 +142,74 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
         } else {
             this.connectionPoolConfiguration = new ServiceConnectionPoolConfiguration();
         }
+        if (responseCacheConfiguration != null) {
+            setResponseCacheConfiguration(responseCacheConfiguration);
+        }
+    }
+
+    /**
+     * Uses the request hedging configuration of the service.
+     *
+     * @param hedgingConfiguration The request hedging configuration, the configuration of the default client is used if absent
+     * @since 4.0.0
+     */
+    @Inject
+    public void setServiceHedgingConfiguration(@Nullable ServiceHedgingConfiguration hedgingConfiguration) {
+        if (hedgingConfiguration != null) {
+            setHedgingConfiguration(hedgingConfiguration);
+        }
+    }
+
+    /**
+     * Uses the DNS resolver configuration of the service.
+     *
+     * @param dnsResolverConfiguration The DNS resolver configuration, the configuration of the default client is used if absent
+     * @since 4.0.0
+     */
+    @Inject
+    public void setServiceDnsResolverConfiguration(@Nullable ServiceDnsResolverConfiguration dnsResolverConfiguration) {
+        if (dnsResolverConfiguration != null) {
+            setDnsResolverConfiguration(dnsResolverConfiguration);
+        }
+    }
+
+    /**
+     * Uses the request coalescing configuration of the service.
+     *
+     * @param coalescingConfiguration The request coalescing configuration, the configuration of the default client is used if absent
+     * @since 4.0.0
+     */
+    @Inject
+    public void setServiceCoalescingConfiguration(@Nullable ServiceCoalescingConfiguration coalescingConfiguration) {
+        if (coalescingConfiguration != null) {
+            setCoalescingConfiguration(coalescingConfiguration);
+        }
+    }
+
+    /**
+     * Uses the adaptive concurrency limit configuration of the service.
+     *
+     * @param concurrencyLimitConfiguration The adaptive concurrency limit configuration, the configuration of the default client is used if absent
+     * @since 4.0.0
+     */
+    @Inject
+    public void setServiceConcurrencyLimitConfiguration(@Nullable ServiceConcurrencyLimitConfiguration concurrencyLimitConfiguration) {
+        if (concurrencyLimitConfiguration != null) {
+            setConcurrencyLimitConfiguration(concurrencyLimitConfiguration);
+        }
+    }
+
+    /**
+     * Uses the outlier ejection configuration of the service.
+     *
+     * @param outlierEjectionConfiguration The outlier ejection configuration, the configuration of the default client is used if absent
+     * @since 4.0.0
+     */
+    @Inject
+    public void setServiceOutlierEjectionConfiguration(@Nullable ServiceOutlierEjectionConfiguration outlierEjectionConfiguration) {
+        if (outlierEjectionConfiguration != null) {
+            setOutlierEjectionConfiguration(outlierEjectionConfiguration);
+        }
     }
 
     /**
@@ -255,6 +342,60 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     public static class ServiceConnectionPoolConfiguration extends ConnectionPoolConfiguration {
     }
 
+    /**
+     * The response cache configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(ResponseCacheConfiguration.PREFIX)
+    public static class ServiceResponseCacheConfiguration extends ResponseCacheConfiguration {
+    }
+
+    /**
+     * The request hedging configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(HedgingConfiguration.PREFIX)
+    public static class ServiceHedgingConfiguration extends HedgingConfiguration {
+    }
+
+    /**
+     * The DNS resolver configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(DnsResolverConfiguration.PREFIX)
+    public static class ServiceDnsResolverConfiguration extends DnsResolverConfiguration {
+    }
+
+    /**
+     * The request coalescing configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(CoalescingConfiguration.PREFIX)
+    public static class ServiceCoalescingConfiguration extends CoalescingConfiguration {
+    }
+
+    /**
+     * The adaptive concurrency limit configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(ConcurrencyLimitConfiguration.PREFIX)
+    public static class ServiceConcurrencyLimitConfiguration extends ConcurrencyLimitConfiguration {
+    }
+
+    /**
+     * The outlier ejection configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(OutlierEjectionConfiguration.PREFIX)
+    public static class ServiceOutlierEjectionConfiguration extends OutlierEjectionConfiguration {
+    }
+
     /**
      * The default connection pool configuration.
      */
@@ -24,6 +24,7 @@ import io.micronaut.http.HttpResponse;
 import org.reactivestreams.Publisher;
 
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.Map;
 
 /**
@@ -134,6 +135,39 @@ public interface StreamingHttpClient extends HttpClient {
         return jsonStream(request, Argument.of(type));
     }
 
+    /**
+     * <p>Perform an HTTP request and write the body of the response to a file.</p>
+     *
+     * <p>The body is written from the buffers of the connection to the file, without copying it
+     * to the heap. The file is created if it does not exist and replaced otherwise. The emitted
+     * response has the file as its body.</p>
+     *
+     * @param request The {@link HttpRequest} to execute
+     * @param target  The file to write the body to
+     * @param <I>     The request body type
+     * @return A {@link Publisher} that emits the response once the body has been written
+     * @since 4.0.0
+     */
+    default <I> Publisher<HttpResponse<Path>> download(@NonNull HttpRequest<I> request, @NonNull Path target) {
+        return download(request, target, DownloadOptions.getDefault());
+    }
+
+    /**
+     * <p>Perform an HTTP request and write the body of the response to a file.</p>
+     *
+     * <p>The body is written from the buffers of the connection to the file, without copying it
+     * to the heap. With {@link DownloadOptions#isResume()}, a partially downloaded file is
+     * completed with a {@code Range} request. The emitted response has the file as its body.</p>
+     *
+     * @param request The {@link HttpRequest} to execute
+     * @param target  The file to write the body to
+     * @param options The download options
+     * @param <I>     The request body type
+     * @return A {@link Publisher} that emits the response once the body has been written
+     * @since 4.0.0
+     */
+    <I> Publisher<HttpResponse<Path>> download(@NonNull HttpRequest<I> request, @NonNull Path target, @NonNull DownloadOptions options);
+
     /**
      * Create a new {@link StreamingHttpClient}.
      * Note that this method should only be used outside of the context of a Micronaut application.
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+/**
+ * Receives the progress of a file transfer of the {@link StreamingHttpClient}.
+ *
+ * <p>The listener is called on the event loop of the connection, or on the thread that
+ * completed a file write, and must not block.</p>
+ *
+ * @since 4.0.0
+ */
+@FunctionalInterface
+public interface TransferProgressListener {
+
+    /**
+     * Called whenever more of the file has been transferred.
+     *
+     * @param transferred The number of bytes transferred so far, including the bytes of a
+     *                    resumed download that were already on disk
+     * @param total       The total number of bytes, or {@code -1} if unknown
+     */
+    void onProgress(long transferred, long total);
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Coalesces the identical concurrent {@code GET} and {@code HEAD} requests of a declarative
+ * client method, or of all methods of a declarative client. While a request is in flight,
+ * identical requests wait for its response instead of being sent to the server. Which headers
+ * make requests identical is taken from the
+ * {@link io.micronaut.http.client.HttpClientConfiguration.CoalescingConfiguration} of the client.
+ *
+ * @since 4.0.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Coalesced {
+
+    /**
+     * @return Whether the requests are coalesced, {@code false} disables coalescing for a method
+     * of a client that coalesces all requests
+     */
+    boolean value() default true;
+}
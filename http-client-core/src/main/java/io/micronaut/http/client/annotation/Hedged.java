@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Hedges the requests of a declarative client method, or of all methods of a declarative
+ * client. If an idempotent request has not completed within the hedge delay, a second attempt
+ * is sent to another server selected by the {@link io.micronaut.http.client.LoadBalancer} and
+ * the first response wins. The budget and the default delay are taken from the
+ * {@link io.micronaut.http.client.HttpClientConfiguration.HedgingConfiguration} of the client.
+ *
+ * @since 4.0.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Hedged {
+
+    /**
+     * @return Whether the requests are hedged, {@code false} disables hedging for a method of a
+     * client that hedges all requests
+     */
+    boolean value() default true;
+
+    /**
+     * @return The delay after which a request is hedged, for example {@code 50ms}. If empty, the
+     * delay of the client configuration is used
+     */
+    String delay() default "";
+}
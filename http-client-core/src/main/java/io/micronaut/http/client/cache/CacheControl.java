@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.cache;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The directives of {@code Cache-Control} headers.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class CacheControl {
+
+    /**
+     * The empty set of directives.
+     */
+    public static final CacheControl EMPTY = new CacheControl(Collections.emptyMap());
+
+    private final Map<String, String> directives;
+
+    private CacheControl(Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * Parse the directives of the given {@code Cache-Control} header values. Directive names
+     * are case-insensitive, directives without an argument have an empty argument.
+     *
+     * @param values The header values
+     * @return The directives
+     */
+    @NonNull
+    public static CacheControl parse(@Nullable List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, String> directives = new HashMap<>();
+        for (String value : values) {
+            int i = 0;
+            int len = value.length();
+            while (i < len) {
+                int end = i;
+                boolean quoted = false;
+                while (end < len && (quoted || value.charAt(end) != ',')) {
+                    if (value.charAt(end) == '"') {
+                        quoted = !quoted;
+                    }
+                    end++;
+                }
+                String directive = value.substring(i, end).trim();
+                if (!directive.isEmpty()) {
+                    int eq = directive.indexOf('=');
+                    if (eq < 0) {
+                        directives.putIfAbsent(directive.toLowerCase(Locale.ENGLISH), "");
+                    } else {
+                        String argument = directive.substring(eq + 1).trim();
+                        if (argument.length() > 1 && argument.charAt(0) == '"' && argument.charAt(argument.length() - 1) == '"') {
+                            argument = argument.substring(1, argument.length() - 1);
+                        }
+                        directives.putIfAbsent(directive.substring(0, eq).trim().toLowerCase(Locale.ENGLISH), argument);
+                    }
+                }
+                i = end + 1;
+            }
+        }
+        return new CacheControl(directives);
+    }
+
+    /**
+     * @param name The lower case directive name
+     * @return Whether the directive is present
+     */
+    public boolean contains(@NonNull String name) {
+        return directives.containsKey(name);
+    }
+
+    /**
+     * @param name The lower case directive name
+     * @return The delta-seconds argument of the directive in milliseconds, or {@code -1} if the
+     * directive is absent or its argument is not a number
+     */
+    public long getMillis(@NonNull String name) {
+        String argument = directives.get(name);
+        if (argument == null || argument.isEmpty()) {
+            return -1;
+        }
+        try {
+            long seconds = Long.parseLong(argument);
+            return seconds < 0 ? -1 : Math.multiplyExact(seconds, 1000L);
+        } catch (NumberFormatException e) {
+            return -1;
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.cache;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A response stored in the {@link HttpResponseCache}, together with the times needed to
+ * calculate its age and freshness as described in RFC 9111.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class CachedResponse {
+
+    private static final int MAGIC = 0x4d4e5243;
+    private static final int VERSION = 1;
+    private static final long HEURISTIC_FRACTION = 10;
+    private static final long MAX_HEURISTIC_MILLIS = 24L * 60 * 60 * 1000;
+    /**
+     * Headers of a 304 response that must not replace the stored headers, see RFC 9111 section 3.2.
+     */
+    private static final Set<String> NOT_UPDATED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        NOT_UPDATED_HEADERS.addAll(Arrays.asList(
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION,
+            HttpHeaders.CONTENT_RANGE
+        ));
+    }
+
+    private final int status;
+    private final String reason;
+    private final String[] headers;
+    private final ByteBuffer body;
+    private final long requestTime;
+    private final long responseTime;
+    private final long correctedInitialAge;
+    private final CacheControl cacheControl;
+    private final long freshnessLifetime;
+
+    private CachedResponse(int status, String reason, String[] headers, ByteBuffer body,
+                           long requestTime, long responseTime, long correctedInitialAge) {
+        this.status = status;
+        this.reason = reason;
+        this.headers = headers;
+        this.body = body;
+        this.requestTime = requestTime;
+        this.responseTime = responseTime;
+        this.correctedInitialAge = correctedInitialAge;
+        this.cacheControl = CacheControl.parse(getHeaders(HttpHeaders.CACHE_CONTROL));
+        this.freshnessLifetime = freshnessLifetime();
+    }
+
+    /**
+     * Create a cached response.
+     *
+     * @param status       The status code
+     * @param reason       The reason phrase
+     * @param headers      The header names and values, alternating
+     * @param body         The body
+     * @param requestTime  The time the request was sent, in milliseconds since the epoch
+     * @param responseTime The time the response was received, in milliseconds since the epoch
+     * @return The cached response
+     */
+    @NonNull
+    public static CachedResponse create(int status, @NonNull String reason, @NonNull String[] headers, @NonNull ByteBuffer body,
+                                        long requestTime, long responseTime) {
+        return new CachedResponse(status, reason, headers, body, requestTime, responseTime,
+            correctedInitialAge(headers, requestTime, responseTime));
+    }
+
+    /**
+     * @return The status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The reason phrase
+     */
+    @NonNull
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @return The header names and values, alternating
+     */
+    @NonNull
+    public String[] getHeaders() {
+        return headers.clone();
+    }
+
+    /**
+     * @param name The header name
+     * @return The first value of the header or {@code null}
+     */
+    @Nullable
+    public String getHeader(@NonNull String name) {
+        return getHeader(headers, name);
+    }
+
+    /**
+     * @param name The header name
+     * @return All values of the header
+     */
+    @NonNull
+    public List<String> getHeaders(@NonNull String name) {
+        List<String> values = new ArrayList<>(1);
+        for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equalsIgnoreCase(name)) {
+                values.add(headers[i + 1]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return A read-only view of the body
+     */
+    @NonNull
+    public ByteBuffer getBody() {
+        return body.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return The directives of the {@code Cache-Control} header
+     */
+    @NonNull
+    public CacheControl getCacheControl() {
+        return cacheControl;
+    }
+
+    /**
+     * @param now The current time in milliseconds since the epoch
+     * @return The current age in milliseconds
+     */
+    public long getAge(long now) {
+        return correctedInitialAge + Math.max(0, now - responseTime);
+    }
+
+    /**
+     * @param now The current time in milliseconds since the epoch
+     * @return Whether the response is fresh
+     */
+    public boolean isFresh(long now) {
+        return freshnessLifetime > getAge(now);
+    }
+
+    /**
+     * @param now The current time in milliseconds since the epoch
+     * @return Whether the response is stale but may be used while it is revalidated in the
+     * background, see RFC 5861
+     */
+    public boolean isStaleWhileRevalidate(long now) {
+        if (cacheControl.contains("must-revalidate") || cacheControl.contains("no-cache")) {
+            return false;
+        }
+        long window = cacheControl.getMillis("stale-while-revalidate");
+        return window > 0 && freshnessLifetime + window > getAge(now);
+    }
+
+    /**
+     * @return Whether the response has an {@code ETag} or {@code Last-Modified} validator
+     */
+    public boolean hasValidators() {
+        return getHeader(HttpHeaders.ETAG) != null || getHeader(HttpHeaders.LAST_MODIFIED) != null;
+    }
+
+    /**
+     * @return The number of bytes this response occupies approximately
+     */
+    public int getWeight() {
+        long weight = 64L + body.remaining();
+        for (String header : headers) {
+            weight += 2L * header.length();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    /**
+     * Update this response with the headers of a {@code 304 Not Modified} response, see RFC 9111
+     * section 4.3.4.
+     *
+     * @param notModifiedHeaders The header names and values of the 304 response, alternating
+     * @param requestTime        The time the validation request was sent
+     * @param responseTime       The time the 304 response was received
+     * @return The updated response
+     */
+    @NonNull
+    public CachedResponse withValidation(@NonNull String[] notModifiedHeaders, long requestTime, long responseTime) {
+        List<String> merged = new ArrayList<>(headers.length + notModifiedHeaders.length);
+        Set<String> replaced = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < notModifiedHeaders.length; i += 2) {
+            if (!NOT_UPDATED_HEADERS.contains(notModifiedHeaders[i])) {
+                replaced.add(notModifiedHeaders[i]);
+            }
+        }
+        for (int i = 0; i < headers.length; i += 2) {
+            if (!replaced.contains(headers[i])) {
+                merged.add(headers[i]);
+                merged.add(headers[i + 1]);
+            }
+        }
+        for (int i = 0; i < notModifiedHeaders.length; i += 2) {
+            if (replaced.contains(notModifiedHeaders[i])) {
+                merged.add(notModifiedHeaders[i]);
+                merged.add(notModifiedHeaders[i + 1]);
+            }
+        }
+        String[] updated = merged.toArray(new String[0]);
+        return new CachedResponse(status, reason, updated, body, requestTime, responseTime,
+            correctedInitialAge(updated, requestTime, responseTime));
+    }
+
+    /**
+     * Write this response in the format read by {@link #read(ByteBuffer, String)}.
+     *
+     * @param key The cache key
+     * @param out The stream to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(@NonNull String key, @NonNull OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeString(data, key);
+        data.writeInt(status);
+        writeString(data, reason);
+        data.writeLong(requestTime);
+        data.writeLong(responseTime);
+        data.writeLong(correctedInitialAge);
+        data.writeInt(headers.length);
+        for (String header : headers) {
+            writeString(data, header);
+        }
+        ByteBuffer body = getBody();
+        data.writeInt(body.remaining());
+        if (body.hasArray()) {
+            data.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        } else {
+            byte[] bytes = new byte[body.remaining()];
+            body.get(bytes);
+            data.write(bytes);
+        }
+        data.flush();
+    }
+
+    /**
+     * Read the key of a response written by {@link #writeTo(String, OutputStream)}.
+     *
+     * @param buffer The buffer holding the response
+     * @return The key or {@code null} if the buffer does not hold a response
+     */
+    @Nullable
+    public static String readKey(@NonNull ByteBuffer buffer) {
+        try {
+            ByteBuffer in = buffer.duplicate();
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                return null;
+            }
+            return readString(in);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read a response written by {@link #writeTo(String, OutputStream)}. The body of the
+     * returned response is a view of the given buffer.
+     *
+     * @param buffer The buffer holding the response
+     * @param key    The expected cache key
+     * @return The response or {@code null} if the buffer does not hold a response for the key
+     */
+    @Nullable
+    public static CachedResponse read(@NonNull ByteBuffer buffer, @NonNull String key) {
+        try {
+            ByteBuffer in = buffer.duplicate();
+            if (in.getInt() != MAGIC || in.getInt() != VERSION || !key.equals(readString(in))) {
+                return null;
+            }
+            int status = in.getInt();
+            String reason = readString(in);
+            long requestTime = in.getLong();
+            long responseTime = in.getLong();
+            long correctedInitialAge = in.getLong();
+            String[] headers = new String[in.getInt()];
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = readString(in);
+            }
+            int length = in.getInt();
+            ByteBuffer body = in.slice(in.position(), length);
+            return new CachedResponse(status, reason, headers, body, requestTime, responseTime, correctedInitialAge);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private long freshnessLifetime() {
+        // a shared cache prefers s-maxage over max-age
+        long maxAge = cacheControl.getMillis("s-maxage");
+        if (maxAge < 0) {
+            maxAge = cacheControl.getMillis("max-age");
+        }
+        if (maxAge >= 0) {
+            return maxAge;
+        }
+        long expires = parseDate(getHeader(HttpHeaders.EXPIRES));
+        if (expires >= 0) {
+            long date = parseDate(getHeader(HttpHeaders.DATE));
+            return Math.max(0, expires - (date >= 0 ? date : responseTime));
+        } else if (getHeader(HttpHeaders.EXPIRES) != null) {
+            // invalid dates represent a time in the past
+            return 0;
+        }
+        long lastModified = parseDate(getHeader(HttpHeaders.LAST_MODIFIED));
+        if (lastModified >= 0 && HttpResponseCache.isHeuristicallyCacheable(status)) {
+            long date = parseDate(getHeader(HttpHeaders.DATE));
+            long sinceModified = (date >= 0 ? date : responseTime) - lastModified;
+            return Math.min(MAX_HEURISTIC_MILLIS, Math.max(0, sinceModified / HEURISTIC_FRACTION));
+        }
+        return 0;
+    }
+
+    /**
+     * See RFC 9111 section 4.2.3.
+     */
+    private static long correctedInitialAge(String[] headers, long requestTime, long responseTime) {
+        long date = parseDate(getHeader(headers, HttpHeaders.DATE));
+        long apparentAge = date >= 0 ? Math.max(0, responseTime - date) : 0;
+        long ageValue = 0;
+        String age = getHeader(headers, HttpHeaders.AGE);
+        if (age != null) {
+            try {
+                ageValue = Math.multiplyExact(Math.max(0, Long.parseLong(age.trim())), 1000L);
+            } catch (NumberFormatException | ArithmeticException e) {
+                // ignore invalid ages
+            }
+        }
+        long correctedAgeValue = ageValue + Math.max(0, responseTime - requestTime);
+        return Math.max(apparentAge, correctedAgeValue);
+    }
+
+    @Nullable
+    private static String getHeader(String[] headers, String name) {
+        for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equalsIgnoreCase(name)) {
+                return headers[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static long parseDate(@Nullable String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.cache;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link ResponseCacheStore} that keeps every response in a file of a directory. Responses are
+ * read through memory-mapped files, so that the body of a response is a view of the mapped file
+ * and is served from the page cache without being copied to the heap. The keys and sizes of the
+ * files are kept in memory, so a miss does not touch the disk. Files are read, written and
+ * deleted by a background thread, and the least recently used files are deleted when their
+ * total size exceeds the maximum size. The files of a previous run are reused.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class DiskResponseCacheStore implements ResponseCacheStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiskResponseCacheStore.class);
+    private static final String SUFFIX = ".response";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final Map<String, Integer> files;
+    private final ExecutorService io;
+    private final Scheduler ioScheduler;
+
+    /**
+     * @param directory   The directory of the files
+     * @param maximumSize The maximum total size of the files in bytes
+     * @throws IOException if the directory cannot be created or read
+     */
+    public DiskResponseCacheStore(@NonNull Path directory, long maximumSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.files = new ConcurrentLinkedHashMap.Builder<String, Integer>()
+            .maximumWeightedCapacity(maximumSize)
+            .weigher(size -> Math.max(1, size))
+            .listener((key, size) -> delete(key))
+            .build();
+        this.io = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-client-cache-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ioScheduler = Schedulers.fromExecutorService(io);
+        load();
+    }
+
+    @Override
+    public Mono<CachedResponse> get(@NonNull String key) {
+        if (!files.containsKey(key)) {
+            return Mono.empty();
+        }
+        // reads are ordered with the pending writes and removals of the key
+        return Mono.fromCallable(() -> read(key)).subscribeOn(ioScheduler);
+    }
+
+    @Override
+    public void put(@NonNull String key, @NonNull CachedResponse response) {
+        io.execute(() -> write(key, response));
+    }
+
+    @Override
+    public void remove(@NonNull String key) {
+        // hide the file right away, the IO thread deletes it after any pending write
+        files.remove(key);
+        io.execute(() -> {
+            files.remove(key);
+            delete(key);
+        });
+    }
+
+    @Override
+    public void close() {
+        io.shutdown();
+        try {
+            io.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ioScheduler.dispose();
+    }
+
+    private CachedResponse read(String key) {
+        if (!files.containsKey(key)) {
+            // removed while the read was queued
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file(key), StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CachedResponse response = CachedResponse.read(mapped, key);
+            if (response != null) {
+                // update the access order
+                files.get(key);
+            }
+            return response;
+        } catch (IOException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Failed to read cached response for {}: {}", key, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private void write(String key, CachedResponse response) {
+        Path file = file(key);
+        try {
+            Path temp = Files.createTempFile(directory, null, TEMP_SUFFIX);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                response.writeTo(key, out);
+            }
+            int size = (int) Math.min(Integer.MAX_VALUE, Files.size(temp));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            files.put(key, size);
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Failed to write cached response for {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private void delete(String key) {
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Failed to delete cached response for {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        List<Path> existing;
+        try (Stream<Path> list = Files.list(directory)) {
+            existing = list
+                .sorted(Comparator.comparingLong(DiskResponseCacheStore::lastModified))
+                .collect(Collectors.toList());
+        }
+        for (Path path : existing) {
+            String name = path.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                // left behind by an interrupted write
+                Files.deleteIfExists(path);
+                continue;
+            } else if (!name.endsWith(SUFFIX)) {
+                continue;
+            }
+            boolean valid = false;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                String key = CachedResponse.readKey(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                if (key != null && path.equals(file(key))) {
+                    files.put(key, (int) Math.min(Integer.MAX_VALUE, channel.size()));
+                    valid = true;
+                }
+            } catch (IOException e) {
+                // deleted below
+            }
+            if (!valid) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Path file(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.cache;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A shared HTTP response cache as described in RFC 9111, with a size-bounded in-memory tier
+ * and an optional second tier that receives the responses evicted from the first one.
+ *
+ * <p>Only responses to {@code GET} requests are stored. Responses are reused while they are
+ * fresh, revalidated with {@code If-None-Match} and {@code If-Modified-Since} once they are
+ * stale, and may be reused while they are revalidated in the background if they carry a
+ * {@code stale-while-revalidate} directive. Responses that vary by request headers are stored
+ * once per combination of the values of the headers named by {@code Vary}. Requests with
+ * unsafe methods invalidate the responses stored for their URI.</p>
+ *
+ * <p>A client is usually shared by all users of an application, so {@code private} responses
+ * are never stored. Requests that carry credentials in an {@code Authorization} or
+ * {@code Cookie} header only store and reuse responses that are explicitly {@code public} or
+ * have an {@code s-maxage} directive, see RFC 9111 section 3.5.</p>
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class HttpResponseCache implements Closeable {
+
+    private static final int MAXIMUM_VARY_INDEX_SIZE = 10_000;
+    /**
+     * The status codes that are understood by this cache and are heuristically cacheable,
+     * except for redirects and partial content, see RFC 9110 section 15.1.
+     */
+    private static final Set<Integer> CACHEABLE_STATUSES = Set.of(200, 203, 204, 404, 405, 410, 414, 501);
+    private static final String[] CONDITIONAL_HEADERS = {
+        HttpHeaders.IF_NONE_MATCH,
+        HttpHeaders.IF_MODIFIED_SINCE,
+        HttpHeaders.IF_MATCH,
+        HttpHeaders.IF_UNMODIFIED_SINCE,
+        HttpHeaders.IF_RANGE,
+        HttpHeaders.RANGE
+    };
+
+    private final ResponseCacheStore memory;
+    @Nullable
+    private final ResponseCacheStore disk;
+    private final int maximumEntrySize;
+    private final Map<String, VaryIndex> varyIndexes = new ConcurrentLinkedHashMap.Builder<String, VaryIndex>()
+        .maximumWeightedCapacity(MAXIMUM_VARY_INDEX_SIZE)
+        .build();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generations = new AtomicLong();
+
+    /**
+     * @param maximumMemorySize The maximum total size of the responses kept in memory, in bytes
+     * @param maximumEntrySize  The maximum size of the body of a stored response, in bytes
+     * @param disk              The store that receives the responses evicted from memory
+     */
+    public HttpResponseCache(long maximumMemorySize, int maximumEntrySize, @Nullable ResponseCacheStore disk) {
+        this.disk = disk;
+        this.maximumEntrySize = maximumEntrySize;
+        this.memory = new MemoryResponseCacheStore(maximumMemorySize, disk == null ? null : disk::put);
+    }
+
+    /**
+     * @param status The status code
+     * @return Whether responses with the status code may be stored and are heuristically cacheable
+     */
+    public static boolean isHeuristicallyCacheable(int status) {
+        return CACHEABLE_STATUSES.contains(status);
+    }
+
+    /**
+     * @param request The request
+     * @return Whether the response to the request may be served from or stored in this cache
+     */
+    public boolean isCacheable(@NonNull HttpRequest<?> request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        HttpHeaders headers = request.getHeaders();
+        for (String conditional : CONDITIONAL_HEADERS) {
+            // conditional requests of the caller are forwarded as is
+            if (headers.contains(conditional)) {
+                return false;
+            }
+        }
+        return !CacheControl.parse(headers.getAll(HttpHeaders.CACHE_CONTROL)).contains("no-store");
+    }
+
+    /**
+     * Look up the response stored for a request. Responses kept in memory are emitted right
+     * away, responses that have to be read from disk are emitted on the IO thread of the disk
+     * store.
+     *
+     * @param request The request, see {@link #isCacheable(HttpRequest)}
+     * @param now     The current time in milliseconds since the epoch
+     * @return The stored response and how it can be used, or an empty {@link Mono} if there is no
+     * usable stored response
+     */
+    @NonNull
+    public Mono<Match> lookup(@NonNull HttpRequest<?> request, long now) {
+        String key = lookupKey(request);
+        Mono<CachedResponse> response = memory.get(key);
+        if (disk != null) {
+            response = response.switchIfEmpty(Mono.defer(() -> disk.get(key)));
+        }
+        return response.mapNotNull(stored -> match(request, key, stored, now));
+    }
+
+    @Nullable
+    private Match match(HttpRequest<?> request, String key, CachedResponse response, long now) {
+        HttpHeaders headers = request.getHeaders();
+        if (hasCredentials(headers) && !isShareable(response.getCacheControl())) {
+            // the response may be specific to the user of another request
+            return null;
+        }
+        List<String> cacheControlValues = headers.getAll(HttpHeaders.CACHE_CONTROL);
+        CacheControl requestCacheControl = CacheControl.parse(cacheControlValues);
+        long maxAge = requestCacheControl.getMillis("max-age");
+        boolean revalidate = requestCacheControl.contains("no-cache")
+            || (cacheControlValues.isEmpty() && headers.getAll(HttpHeaders.PRAGMA).contains("no-cache"))
+            || (maxAge >= 0 && response.getAge(now) >= maxAge)
+            || response.getCacheControl().contains("no-cache");
+        if (!revalidate && response.isFresh(now)) {
+            return new Match(key, response, Freshness.FRESH);
+        }
+        if (!revalidate && response.isStaleWhileRevalidate(now)) {
+            return new Match(key, response, Freshness.STALE_WHILE_REVALIDATE);
+        }
+        if (response.hasValidators()) {
+            return new Match(key, response, Freshness.STALE);
+        }
+        return null;
+    }
+
+    /**
+     * @param request  The request, see {@link #isCacheable(HttpRequest)}
+     * @param status   The status code of the response
+     * @param headers  The header names and values of the response, alternating
+     * @param bodySize The size of the body of the response
+     * @return Whether the response may be stored
+     */
+    public boolean isStorable(@NonNull HttpRequest<?> request, int status, @NonNull String[] headers, int bodySize) {
+        if (!CACHEABLE_STATUSES.contains(status) || bodySize > maximumEntrySize) {
+            return false;
+        }
+        List<String> cacheControl = new ArrayList<>(1);
+        boolean explicit = false;
+        for (int i = 0; i < headers.length; i += 2) {
+            String name = headers[i];
+            if (name.equalsIgnoreCase(HttpHeaders.CACHE_CONTROL)) {
+                cacheControl.add(headers[i + 1]);
+            } else if (name.equalsIgnoreCase(HttpHeaders.VARY) && headers[i + 1].contains("*")) {
+                return false;
+            } else if (name.equalsIgnoreCase(HttpHeaders.EXPIRES)
+                || name.equalsIgnoreCase(HttpHeaders.ETAG)
+                || name.equalsIgnoreCase(HttpHeaders.LAST_MODIFIED)) {
+                explicit = true;
+            }
+        }
+        CacheControl directives = CacheControl.parse(cacheControl);
+        if (directives.contains("no-store") || directives.contains("private")) {
+            return false;
+        }
+        if (hasCredentials(request.getHeaders()) && !isShareable(directives)) {
+            return false;
+        }
+        return explicit || directives.getMillis("max-age") >= 0 || directives.getMillis("s-maxage") >= 0;
+    }
+
+    /**
+     * Store the response to a request.
+     *
+     * @param request  The request
+     * @param response The response, see {@link #isStorable(HttpRequest, int, String[], int)}
+     */
+    public void store(@NonNull HttpRequest<?> request, @NonNull CachedResponse response) {
+        String primaryKey = primaryKey(request);
+        String[] names = varyNames(response);
+        String key;
+        if (names.length == 0) {
+            if (varyIndexes.remove(primaryKey) != null) {
+                // the variants are unreachable from now on and are evicted eventually
+                remove(primaryKey);
+            }
+            key = primaryKey;
+        } else {
+            boolean[] created = new boolean[1];
+            VaryIndex index = varyIndexes.compute(primaryKey, (k, existing) -> {
+                if (existing != null && Arrays.equals(existing.names, names)) {
+                    return existing;
+                }
+                created[0] = true;
+                return new VaryIndex(names, generations.incrementAndGet());
+            });
+            if (created[0]) {
+                remove(primaryKey);
+            }
+            key = variantKey(primaryKey, index, request);
+        }
+        memory.put(key, response);
+        if (disk != null) {
+            disk.remove(key);
+        }
+    }
+
+    /**
+     * Update a stored response after it has been validated by a {@code 304 Not Modified} response.
+     *
+     * @param match        The stored response that was validated
+     * @param headers      The header names and values of the 304 response, alternating
+     * @param requestTime  The time the validation request was sent
+     * @param responseTime The time the 304 response was received
+     * @return The updated response
+     */
+    @NonNull
+    public CachedResponse validated(@NonNull Match match, @NonNull String[] headers, long requestTime, long responseTime) {
+        CachedResponse updated = match.response().withValidation(headers, requestTime, responseTime);
+        memory.put(match.key(), updated);
+        if (disk != null) {
+            disk.remove(match.key());
+        }
+        return updated;
+    }
+
+    /**
+     * Invalidate the responses stored for the URI of a request with an unsafe method that
+     * succeeded, see RFC 9111 section 4.4.
+     *
+     * @param request The request
+     * @param status  The status code of the response
+     */
+    public void invalidate(@NonNull HttpRequest<?> request, int status) {
+        HttpMethod method = request.getMethod();
+        boolean safe = method == HttpMethod.GET || method == HttpMethod.HEAD
+            || method == HttpMethod.OPTIONS || method == HttpMethod.TRACE;
+        if (!safe && status < 400) {
+            String primaryKey = primaryKey(request);
+            varyIndexes.remove(primaryKey);
+            remove(primaryKey);
+        }
+    }
+
+    /**
+     * Mark a stored response as being revalidated in the background.
+     *
+     * @param match The stored response
+     * @return {@code false} if the response is already being revalidated
+     */
+    public boolean startRevalidation(@NonNull Match match) {
+        return revalidating.add(match.key());
+    }
+
+    /**
+     * Mark the background revalidation of a stored response as complete.
+     *
+     * @param match The stored response
+     */
+    public void endRevalidation(@NonNull Match match) {
+        revalidating.remove(match.key());
+    }
+
+    @Override
+    public void close() {
+        memory.close();
+        if (disk != null) {
+            disk.close();
+        }
+    }
+
+    private void remove(String key) {
+        memory.remove(key);
+        if (disk != null) {
+            disk.remove(key);
+        }
+    }
+
+    private static boolean hasCredentials(HttpHeaders headers) {
+        return headers.contains(HttpHeaders.AUTHORIZATION) || headers.contains(HttpHeaders.COOKIE);
+    }
+
+    /**
+     * @param cacheControl The directives of a response
+     * @return Whether the response may be reused for requests of any user, see RFC 9111 section 3.5
+     */
+    private static boolean isShareable(CacheControl cacheControl) {
+        return cacheControl.contains("public") || cacheControl.contains("s-maxage");
+    }
+
+    private String lookupKey(HttpRequest<?> request) {
+        String primaryKey = primaryKey(request);
+        VaryIndex index = varyIndexes.get(primaryKey);
+        return index == null ? primaryKey : variantKey(primaryKey, index, request);
+    }
+
+    private static String primaryKey(HttpRequest<?> request) {
+        return request.getUri().toString();
+    }
+
+    private static String variantKey(String primaryKey, VaryIndex index, HttpRequest<?> request) {
+        StringBuilder key = new StringBuilder(primaryKey).append('\n').append(index.generation);
+        HttpHeaders headers = request.getHeaders();
+        for (String name : index.names) {
+            key.append('\n').append(name).append(':').append(String.join(",", headers.getAll(name)));
+        }
+        return key.toString();
+    }
+
+    private static String[] varyNames(CachedResponse response) {
+        List<String> names = new ArrayList<>(2);
+        for (String value : response.getHeaders(HttpHeaders.VARY)) {
+            for (String name : value.split(",")) {
+                String trimmed = name.trim().toLowerCase(Locale.ENGLISH);
+                if (!trimmed.isEmpty() && !names.contains(trimmed)) {
+                    names.add(trimmed);
+                }
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * How a stored response can be used.
+     */
+    public enum Freshness {
+        /**
+         * The response is fresh and can be used without contacting the server.
+         */
+        FRESH,
+        /**
+         * The response is stale, but can be used while it is revalidated in the background.
+         */
+        STALE_WHILE_REVALIDATE,
+        /**
+         * The response is stale and must be revalidated with a conditional request.
+         */
+        STALE
+    }
+
+    /**
+     * A stored response that matches a request.
+     *
+     * @param key       The cache key of the response
+     * @param response  The response
+     * @param freshness How the response can be used
+     */
+    public record Match(String key, CachedResponse response, Freshness freshness) {
+    }
+
+    /**
+     * The request headers a stored response varies by. The generation of the index is part
+     * of the keys of the variants, so that variants stored before an invalidation are never
+     * reachable again.
+     */
+    private record VaryIndex(String[] names, long generation) {
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.cache;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link ResponseCacheStore} that keeps the responses on the heap and evicts the least
+ * recently used responses when their total size exceeds the maximum size.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class MemoryResponseCacheStore implements ResponseCacheStore {
+
+    private final Map<String, CachedResponse> responses;
+
+    /**
+     * @param maximumSize The maximum total size of the responses in bytes
+     * @param onEviction  Called with the responses evicted because of the size limit
+     */
+    public MemoryResponseCacheStore(long maximumSize, @Nullable BiConsumer<String, CachedResponse> onEviction) {
+        ConcurrentLinkedHashMap.Builder<String, CachedResponse> builder = new ConcurrentLinkedHashMap.Builder<String, CachedResponse>()
+            .maximumWeightedCapacity(maximumSize)
+            .weigher(CachedResponse::getWeight);
+        if (onEviction != null) {
+            builder.listener(onEviction::accept);
+        }
+        this.responses = builder.build();
+    }
+
+    @Override
+    public Mono<CachedResponse> get(@NonNull String key) {
+        return Mono.justOrEmpty(responses.get(key));
+    }
+
+    @Override
+    public void put(@NonNull String key, @NonNull CachedResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void remove(@NonNull String key) {
+        responses.remove(key);
+    }
+}
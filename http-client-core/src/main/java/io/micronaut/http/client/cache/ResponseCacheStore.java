@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.cache;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+
+/**
+ * A tier of the {@link HttpResponseCache}.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public interface ResponseCacheStore extends Closeable {
+
+    /**
+     * Look up a stored response. Stores that have to do IO to read the response do so on their
+     * own threads, the returned {@link Mono} never blocks the subscribing thread.
+     *
+     * @param key The cache key
+     * @return The stored response, or an empty {@link Mono}
+     */
+    @NonNull
+    Mono<CachedResponse> get(@NonNull String key);
+
+    /**
+     * Store a response, replacing any response stored for the key.
+     *
+     * @param key      The cache key
+     * @param response The response
+     */
+    void put(@NonNull String key, @NonNull CachedResponse response);
+
+    /**
+     * Remove the response stored for the key.
+     *
+     * @param key The cache key
+     */
+    void remove(@NonNull String key);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.exceptions;
+
+/**
+ * An exception thrown when a request is rejected because the adaptive concurrency limit of the
+ * remote is reached, see {@link io.micronaut.http.client.HttpClientConfiguration.ConcurrencyLimitConfiguration}.
+ *
+ * @since 4.0.0
+ */
+public class ConcurrencyLimitExceededException extends HttpClientException {
+
+    private final int limit;
+
+    /**
+     * @param host  The host of the remote
+     * @param port  The port of the remote
+     * @param limit The current concurrency limit of the remote
+     */
+    public ConcurrencyLimitExceededException(String host, int port, int limit) {
+        super("The concurrency limit [" + limit + "] of requests to " + host + ":" + port + " is reached");
+        this.limit = limit;
+    }
+
+    /**
+     * @return The concurrency limit of the remote at the time the request was rejected
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -36,7 +36,6 @@ import io.micronaut.core.convert.exceptions.ConversionErrorException;
 import io.micronaut.core.convert.format.Format;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.type.MutableArgumentValue;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
@@ -60,6 +59,7 @@ import io.micronaut.http.client.HttpClientRegistry;
 import io.micronaut.http.client.ReactiveClientResultTransformer;
 import io.micronaut.http.client.StreamingHttpClient;
 import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.bind.AnnotatedClientRequestBinder;
 import io.micronaut.http.client.bind.ClientArgumentRequestBinder;
 import io.micronaut.http.client.bind.ClientRequestUriContext;
 import io.micronaut.http.client.bind.HttpClientBinderRegistry;
@@ -68,6 +68,7 @@ import io.micronaut.http.client.sse.SseClient;
 import io.micronaut.http.sse.Event;
 import io.micronaut.http.uri.UriBuilder;
 import io.micronaut.http.uri.UriMatchTemplate;
+import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.json.codec.JsonMediaTypeCodec;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
@@ -88,12 +89,17 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * Introduction advice that implements the {@link Client} annotation.
  *
+ * <p>The HTTP method, URI template, media types and binders of a client method are resolved
+ * from its annotation metadata on the first invocation and kept in a request plan, so that
+ * later invocations only bind the argument values.</p>
+ *
  * @author graemerocher
  * @since 1.0
  */
@@ -114,6 +120,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
     private final JsonMediaTypeCodec jsonMediaTypeCodec;
     private final HttpClientRegistry<?> clientFactory;
     private final ConversionService conversionService;
+    private final Map<ExecutableMethod<?, ?>, RequestPlan> requestPlans = new ConcurrentHashMap<>();
 
     /**
      * Constructor for advice class to setup things like Headers, Cookies, Parameters for Clients.
@@ -158,91 +165,70 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
             return null;
         }
 
-        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
+        RequestPlan plan = requestPlans.get(context.getExecutableMethod());
+        if (plan == null) {
+            plan = requestPlans.computeIfAbsent(context.getExecutableMethod(), method -> createRequestPlan(context));
+        }
         HttpClient httpClient = clientFactory.getClient(annotationMetadata);
-        if (httpMethodMapping.isPresent() && context.hasStereotype(HttpMethodMapping.class) && httpClient != null) {
-            AnnotationValue<HttpMethodMapping> mapping = context.getAnnotation(HttpMethodMapping.class);
-            String uri = mapping.getRequiredValue(String.class);
-            if (StringUtils.isEmpty(uri)) {
-                uri = "/" + context.getMethodName();
-            }
-
-            Class<? extends Annotation> annotationType = httpMethodMapping.get();
-            HttpMethod httpMethod = HttpMethod.parse(annotationType.getSimpleName().toUpperCase(Locale.ENGLISH));
-            String httpMethodName = context.stringValue(CustomHttpMethod.class, "method").orElse(httpMethod.name());
-
-            MutableHttpRequest<?> request = HttpRequest.create(httpMethod, "", httpMethodName);
-
-            UriMatchTemplate uriTemplate = UriMatchTemplate.of("");
-            if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
-                uriTemplate = uriTemplate.nest(uri);
-            }
+        if (plan != RequestPlan.NONE && httpClient != null) {
+            HttpMethod httpMethod = plan.httpMethod();
+            MutableHttpRequest<?> request = HttpRequest.create(httpMethod, "", plan.httpMethodName());
 
+            UriMatchTemplate uriTemplate = plan.uriTemplate();
             Map<String, Object> pathParams = new HashMap<>();
             Map<String, List<String>> queryParams = new LinkedHashMap<>();
             ClientRequestUriContext uriContext = new ClientRequestUriContext(uriTemplate, pathParams, queryParams);
-            List<Argument> bodyArguments = new ArrayList<>();
-
-            List<String> uriVariables = uriTemplate.getVariableNames();
-            Map<String, MutableArgumentValue<?>> parameters = context.getParameters();
-
-            ClientArgumentRequestBinder<Object> defaultBinder = (ctx, uriCtx, value, req) -> {
-                Argument<?> argument = ctx.getArgument();
-                if (uriCtx.getUriTemplate().getVariableNames().contains(argument.getName())) {
-                    String name = argument.getAnnotationMetadata().stringValue(Bindable.class)
-                            .orElse(argument.getName());
-                    // Convert and put as path param
-                    if (argument.getAnnotationMetadata().hasStereotype(Format.class)) {
-                        conversionService.convert(value,
-                                ConversionContext.STRING.with(argument.getAnnotationMetadata()))
-                                .ifPresent(v -> pathParams.put(name, v));
-                    } else {
-                        pathParams.put(name, value);
-                    }
-                } else {
-                    bodyArguments.add(ctx.getArgument());
-                }
-            };
+            List<String> uriVariables = plan.uriVariables();
 
             // Apply all the method binders
-            List<Class<? extends Annotation>> methodBinderTypes = context.getAnnotationTypesByStereotype(Bindable.class);
-            // @Version is not a bindable, so it needs to looked for separately
-            methodBinderTypes.addAll(context.getAnnotationTypesByStereotype(Version.class));
-            if (!CollectionUtils.isEmpty(methodBinderTypes)) {
-                for (Class<? extends Annotation> binderType : methodBinderTypes) {
-                    binderRegistry.findAnnotatedBinder(binderType).ifPresent(b -> b.bind(context, uriContext, request));
-                }
+            for (AnnotatedClientRequestBinder<?> binder : plan.methodBinders()) {
+                binder.bind(context, uriContext, request);
             }
 
             InterceptedMethod interceptedMethod = InterceptedMethod.of(context, conversionService);
 
             // Apply all the argument binders
-            Argument[] arguments = context.getArguments();
-            if (arguments.length > 0) {
-                for (Argument argument : arguments) {
-                    Object definedValue = getValue(argument, context, parameters);
-
-                    if (definedValue != null) {
-                        final ClientArgumentRequestBinder<Object> binder = (ClientArgumentRequestBinder<Object>) binderRegistry
-                                .findArgumentBinder((Argument<Object>) argument)
-                                .orElse(defaultBinder);
-                        ArgumentConversionContext conversionContext = ConversionContext.of(argument);
-                        binder.bind(conversionContext, uriContext, definedValue, request);
-                        if (conversionContext.hasErrors()) {
-                            return interceptedMethod.handleException(new ConversionErrorException(argument, conversionContext.getLastError().get()));
-                        }
+            ArgumentPlan[] arguments = plan.arguments();
+            Object[] values = context.getParameterValues();
+            int[] bodyArguments = null;
+            int bodyArgumentCount = 0;
+            for (int i = 0; i < arguments.length; i++) {
+                ArgumentPlan argumentPlan = arguments[i];
+                Object definedValue = getValue(argumentPlan, context, values[i]);
+                if (definedValue == null) {
+                    continue;
+                }
+                ClientArgumentRequestBinder<Object> binder = argumentPlan.binder();
+                if (binder != null) {
+                    ArgumentConversionContext conversionContext = ConversionContext.of(argumentPlan.argument());
+                    binder.bind(conversionContext, uriContext, definedValue, request);
+                    if (conversionContext.hasErrors()) {
+                        return interceptedMethod.handleException(new ConversionErrorException(argumentPlan.argument(), conversionContext.getLastError().get()));
+                    }
+                } else if (argumentPlan.pathVariable() != null) {
+                    // Convert and put as path param
+                    if (argumentPlan.format()) {
+                        conversionService.convert(definedValue,
+                                ConversionContext.STRING.with(argumentPlan.argument().getAnnotationMetadata()))
+                                .ifPresent(v -> pathParams.put(argumentPlan.pathVariable(), v));
+                    } else {
+                        pathParams.put(argumentPlan.pathVariable(), definedValue);
+                    }
+                } else {
+                    if (bodyArguments == null) {
+                        bodyArguments = new int[arguments.length];
                     }
+                    bodyArguments[bodyArgumentCount++] = i;
                 }
             }
 
             Object body = request.getBody().orElse(null);
-            if (body == null && !bodyArguments.isEmpty()) {
+            if (body == null && bodyArgumentCount > 0) {
                 Map<String, Object> bodyMap = new LinkedHashMap<>();
 
-                for (Argument bodyArgument : bodyArguments) {
-                    String argumentName = bodyArgument.getName();
-                    MutableArgumentValue<?> value = parameters.get(argumentName);
-                    bodyMap.put(argumentName, value.getValue());
+                for (int j = 0; j < bodyArgumentCount; j++) {
+                    int i = bodyArguments[j];
+                    bodyMap.put(arguments[i].argument.getName(), values[i]);
                 }
                 body = bodyMap;
                 request.body(body);
@@ -276,7 +262,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 body = null;
             }
 
-            uri = uriTemplate.expand(pathParams);
+            String uri = uriTemplate.expand(pathParams);
             // Remove all the pathParams that have already been used.
             // Other path parameters are added to query
             uriVariables.forEach(pathParams::remove);
@@ -286,30 +272,18 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
             request.uri(URI.create(appendQuery(uri, uriContext.getQueryParameters())));
 
             if (body != null && !request.getContentType().isPresent()) {
-                MediaType[] contentTypes = MediaType.of(context.stringValues(Produces.class));
-                if (ArrayUtils.isEmpty(contentTypes)) {
-                    contentTypes = DEFAULT_ACCEPT_TYPES;
-                }
-                if (ArrayUtils.isNotEmpty(contentTypes)) {
-                    request.contentType(contentTypes[0]);
-                }
+                request.contentType(plan.contentType());
             }
 
             request.setAttribute(HttpAttributes.INVOCATION_CONTEXT, context);
             // Set the URI template used to make the request for tracing purposes
-            request.setAttribute(HttpAttributes.URI_TEMPLATE, resolveTemplate(annotationMetadata, uriTemplate.toString()));
-            Argument<?> errorType = annotationMetadata.classValue(Client.class, "errorType")
-                    .map((Function<Class, Argument>) Argument::of).orElse(HttpClient.DEFAULT_ERROR_TYPE);
+            request.setAttribute(HttpAttributes.URI_TEMPLATE, plan.uriTemplateAttribute());
+            Argument<?> errorType = plan.errorType();
 
             final MediaType[] acceptTypes;
             Collection<MediaType> accept = request.accept();
             if (accept.isEmpty()) {
-                String[] consumesMediaType = context.stringValues(Consumes.class);
-                if (ArrayUtils.isEmpty(consumesMediaType)) {
-                    acceptTypes = DEFAULT_ACCEPT_TYPES;
-                } else {
-                    acceptTypes = MediaType.of(consumesMediaType);
-                }
+                acceptTypes = plan.acceptTypes();
                 request.accept(acceptTypes);
             } else {
                 acceptTypes = accept.toArray(MediaType.EMPTY_ARRAY);
@@ -476,21 +450,18 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
     }
 
-    private Object getValue(Argument argument,
+    private Object getValue(ArgumentPlan argumentPlan,
                             MethodInvocationContext<?, ?> context,
-                            Map<String, MutableArgumentValue<?>> parameters) {
-        String argumentName = argument.getName();
-        MutableArgumentValue<?> value = parameters.get(argumentName);
-
-        Object definedValue = value.getValue();
+                            Object value) {
+        Object definedValue = value;
 
         if (definedValue == null) {
-            definedValue = argument.getAnnotationMetadata().stringValue(Bindable.class, "defaultValue").orElse(null);
+            definedValue = argumentPlan.defaultValue();
         }
 
-        if (definedValue == null && !argument.isNullable()) {
+        if (definedValue == null && !argumentPlan.argument().isNullable()) {
             throw new IllegalArgumentException(
-                    String.format("Argument [%s] is null. Null values are not allowed to be passed to client methods (%s). Add a supported Nullable annotation type if that is the desired behaviour", argument.getName(), context.getExecutableMethod().toString())
+                    String.format("Argument [%s] is null. Null values are not allowed to be passed to client methods (%s). Add a supported Nullable annotation type if that is the desired behaviour", argumentPlan.argument().getName(), context.getExecutableMethod().toString())
             );
         }
 
@@ -523,6 +494,89 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
     }
 
+    /**
+     * Resolves everything about a client method that does not depend on the arguments of an
+     * invocation from the metadata that was computed at compile time.
+     *
+     * @param context The context of the first invocation of the method
+     * @return The plan, or {@link RequestPlan#NONE} if the method is not mapped to an HTTP method
+     */
+    private RequestPlan createRequestPlan(MethodInvocationContext<Object, Object> context) {
+        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
+        if (httpMethodMapping.isEmpty() || !context.hasStereotype(HttpMethodMapping.class)) {
+            return RequestPlan.NONE;
+        }
+        AnnotationMetadata annotationMetadata = context.getAnnotationMetadata();
+        AnnotationValue<HttpMethodMapping> mapping = context.getAnnotation(HttpMethodMapping.class);
+        String uri = mapping.getRequiredValue(String.class);
+        if (StringUtils.isEmpty(uri)) {
+            uri = "/" + context.getMethodName();
+        }
+
+        Class<? extends Annotation> annotationType = httpMethodMapping.get();
+        HttpMethod httpMethod = HttpMethod.parse(annotationType.getSimpleName().toUpperCase(Locale.ENGLISH));
+        String httpMethodName = context.stringValue(CustomHttpMethod.class, "method").orElse(httpMethod.name());
+
+        UriMatchTemplate uriTemplate = UriMatchTemplate.of("");
+        if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
+            uriTemplate = uriTemplate.nest(uri);
+        }
+        List<String> uriVariables = uriTemplate.getVariableNames();
+
+        List<AnnotatedClientRequestBinder<?>> methodBinders = new ArrayList<>();
+        List<Class<? extends Annotation>> methodBinderTypes = context.getAnnotationTypesByStereotype(Bindable.class);
+        // @Version is not a bindable, so it needs to looked for separately
+        methodBinderTypes.addAll(context.getAnnotationTypesByStereotype(Version.class));
+        if (!CollectionUtils.isEmpty(methodBinderTypes)) {
+            for (Class<? extends Annotation> binderType : methodBinderTypes) {
+                binderRegistry.findAnnotatedBinder(binderType).ifPresent(methodBinders::add);
+            }
+        }
+
+        Argument[] arguments = context.getArguments();
+        ArgumentPlan[] argumentPlans = new ArgumentPlan[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Argument<Object> argument = arguments[i];
+            AnnotationMetadata argumentMetadata = argument.getAnnotationMetadata();
+            ClientArgumentRequestBinder<Object> binder = (ClientArgumentRequestBinder<Object>) binderRegistry
+                    .findArgumentBinder(argument)
+                    .orElse(null);
+            String pathVariable = null;
+            if (binder == null && uriVariables.contains(argument.getName())) {
+                pathVariable = argumentMetadata.stringValue(Bindable.class).orElse(argument.getName());
+            }
+            argumentPlans[i] = new ArgumentPlan(
+                    argument,
+                    binder,
+                    argumentMetadata.stringValue(Bindable.class, "defaultValue").orElse(null),
+                    pathVariable,
+                    argumentMetadata.hasStereotype(Format.class)
+            );
+        }
+
+        MediaType[] contentTypes = MediaType.of(context.stringValues(Produces.class));
+        if (ArrayUtils.isEmpty(contentTypes)) {
+            contentTypes = DEFAULT_ACCEPT_TYPES;
+        }
+        String[] consumesMediaType = context.stringValues(Consumes.class);
+        MediaType[] acceptTypes = ArrayUtils.isEmpty(consumesMediaType) ? DEFAULT_ACCEPT_TYPES : MediaType.of(consumesMediaType);
+        Argument<?> errorType = annotationMetadata.classValue(Client.class, "errorType")
+                .map((Function<Class, Argument>) Argument::of).orElse(HttpClient.DEFAULT_ERROR_TYPE);
+
+        return new RequestPlan(
+                httpMethod,
+                httpMethodName,
+                uriTemplate,
+                uriVariables,
+                resolveTemplate(annotationMetadata, uriTemplate.toString()),
+                methodBinders,
+                argumentPlans,
+                contentTypes[0],
+                acceptTypes,
+                errorType
+        );
+    }
+
     private boolean isJsonParsedMediaType(MediaType[] acceptTypes) {
         return Arrays.stream(acceptTypes).anyMatch(mediaType ->
                 mediaType.equals(MediaType.APPLICATION_JSON_STREAM_TYPE) ||
@@ -575,4 +629,51 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
         return uri;
     }
+
+    /**
+     * The part of a request of a client method that is the same for every invocation.
+     *
+     * @param httpMethod           The HTTP method
+     * @param httpMethodName       The name of the HTTP method, which differs for custom methods
+     * @param uriTemplate          The URI template
+     * @param uriVariables         The variables of the URI template
+     * @param uriTemplateAttribute The template of the {@link HttpAttributes#URI_TEMPLATE} attribute
+     * @param methodBinders        The binders of the method annotations
+     * @param arguments            The plans of the arguments
+     * @param contentType          The content type of a request with a body
+     * @param acceptTypes          The accepted types if no binder sets them
+     * @param errorType            The error type
+     */
+    private record RequestPlan(HttpMethod httpMethod,
+                               String httpMethodName,
+                               UriMatchTemplate uriTemplate,
+                               List<String> uriVariables,
+                               String uriTemplateAttribute,
+                               List<AnnotatedClientRequestBinder<?>> methodBinders,
+                               ArgumentPlan[] arguments,
+                               MediaType contentType,
+                               MediaType[] acceptTypes,
+                               Argument<?> errorType) {
+
+        /**
+         * The plan of methods that are not mapped to an HTTP method.
+         */
+        static final RequestPlan NONE = new RequestPlan(null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * How an argument of a client method is bound to the request.
+     *
+     * @param argument     The argument
+     * @param binder       The binder, or {@code null} to bind the argument to a path variable or the body
+     * @param defaultValue The default value of the argument
+     * @param pathVariable The path variable the argument is bound to without a binder
+     * @param format       Whether the path variable is formatted
+     */
+    private record ArgumentPlan(Argument<Object> argument,
+                                @Nullable ClientArgumentRequestBinder<Object> binder,
+                                @Nullable String defaultValue,
+                                @Nullable String pathVariable,
+                                boolean format) {
+    }
 }
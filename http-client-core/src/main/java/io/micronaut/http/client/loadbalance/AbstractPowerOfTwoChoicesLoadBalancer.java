@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A load balancer that picks two random available instances and selects the one with the lower
+ * load, see "The Power of Two Choices in Randomized Load Balancing".
+ *
+ * <p>The load of an instance is its peak EWMA latency multiplied by the number of outstanding
+ * requests plus one. The latency average decays with a time constant of
+ * {@link #DECAY_NANOS}, and a latency above the average replaces it right away, so that an
+ * instance that stalls, for example in a GC pause, stops receiving requests immediately.
+ * Requests that fail with anything other than a client error response count with a latency of
+ * at least {@link #FAILURE_PENALTY_NANOS}.</p>
+ *
+ * @since 4.0.0
+ */
+public abstract class AbstractPowerOfTwoChoicesLoadBalancer implements LoadAwareLoadBalancer {
+
+    /**
+     * The time constant of the decay of the latency average.
+     */
+    protected static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * The minimum latency a failed request is recorded with.
+     */
+    protected static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int MAXIMUM_INSTANCES = 1024;
+
+    private final Map<String, InstanceLoad> loads = new ConcurrentLinkedHashMap.Builder<String, InstanceLoad>()
+        .maximumWeightedCapacity(MAXIMUM_INSTANCES)
+        .build();
+
+    /**
+     * @return The service ID
+     */
+    public abstract String getServiceID();
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The less loaded of two random available instances or a
+     * {@link NoAvailableServiceException} if none
+     */
+    protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
+        List<ServiceInstance> availableServices = new ArrayList<>(serviceInstances.size());
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (serviceInstance.getHealthStatus().equals(HealthStatus.UP)) {
+                availableServices.add(serviceInstance);
+            }
+        }
+        int len = availableServices.size();
+        if (len == 0) {
+            throw new NoAvailableServiceException(getServiceID());
+        }
+        if (len == 1) {
+            return availableServices.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(len);
+        int second = random.nextInt(len - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = availableServices.get(first);
+        ServiceInstance b = availableServices.get(second);
+        long now = System.nanoTime();
+        return load(InstanceKeys.of(a)).cost(now) <= load(InstanceKeys.of(b)).cost(now) ? a : b;
+    }
+
+    @Override
+    public void requestStarted(@NonNull URI uri) {
+        load(uri).outstanding.incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(@NonNull URI uri, long durationNanos, @Nullable Throwable error) {
+        InstanceLoad load = load(uri);
+        load.outstanding.decrementAndGet();
+        boolean failed = error != null
+            && !(error instanceof HttpClientResponseException responseException && responseException.code() < 500);
+        load.observe(failed ? Math.max(durationNanos, FAILURE_PENALTY_NANOS) : durationNanos, System.nanoTime());
+    }
+
+    @Override
+    public void requestCancelled(@NonNull URI uri) {
+        load(uri).outstanding.decrementAndGet();
+    }
+
+    /**
+     * @param uri The URI of an instance or of a request to an instance
+     * @return The number of outstanding requests to the instance
+     */
+    public int getOutstandingRequests(@NonNull URI uri) {
+        InstanceLoad load = loads.get(InstanceKeys.of(uri));
+        return load == null ? 0 : load.outstanding.get();
+    }
+
+    private InstanceLoad load(URI uri) {
+        return load(InstanceKeys.of(uri));
+    }
+
+    private InstanceLoad load(String key) {
+        return loads.computeIfAbsent(key, k -> new InstanceLoad());
+    }
+
+    /**
+     * The outstanding requests and the latency average of an instance.
+     */
+    private static final class InstanceLoad {
+        final AtomicInteger outstanding = new AtomicInteger();
+        private double latency;
+        private long lastUpdate = System.nanoTime();
+
+        synchronized void observe(long latencyNanos, long now) {
+            if (latencyNanos > latency) {
+                latency = latencyNanos;
+            } else {
+                double weight = Math.exp(-(double) Math.max(0, now - lastUpdate) / DECAY_NANOS);
+                latency = latency * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdate = now;
+        }
+
+        synchronized double cost(long now) {
+            // the average decays while no request completes, so that a stalled instance is retried
+            double decayed = latency * Math.exp(-(double) Math.max(0, now - lastUpdate) / DECAY_NANOS);
+            int pending = Math.max(0, outstanding.get());
+            if (decayed == 0) {
+                // no request has completed yet, try the instance once but no more until it responds
+                return (double) pending * FAILURE_PENALTY_NANOS;
+            }
+            return decayed * (pending + 1);
+        }
+    }
+}
@@ -59,6 +59,19 @@ public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
         }
     }
 
+    /**
+     * @param availableServices The available service instances
+     * @return The next instance or a {@link NoAvailableServiceException} if none
+     * @since 4.0.0
+     */
+    protected ServiceInstance getNextAvailable(ServiceInstance[] availableServices) {
+        int len = availableServices.length;
+        if (len == 0) {
+            throw new NoAvailableServiceException(getServiceID());
+        }
+        return availableServices[getServiceIndex(len) % len];
+    }
+
     private int getServiceIndex(int len) {
         return index.getAndAccumulate(len, (cur, n) -> cur >= n - 1 ? 0 : cur + 1);
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A locally cached, immutable snapshot of the available instances of a service.
+ *
+ * <p>The snapshot is refreshed in the background from the {@link DiscoveryClient} once it is
+ * older than the refresh interval or has been {@link #invalidate() invalidated}, and the stale
+ * snapshot keeps being served while the refresh is in progress or if it fails. A failed refresh
+ * is retried no sooner than the refresh interval, so that an unavailable registry is not polled
+ * on every lookup. Only the first lookup of a service waits for the {@link DiscoveryClient}.</p>
+ *
+ * @since 4.0.0
+ */
+public final class CachedServiceInstances {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachedServiceInstances.class);
+
+    private final String serviceID;
+    private final DiscoveryClient discoveryClient;
+    private final long refreshIntervalNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile ServiceInstance[] availableInstances;
+    private volatile long refreshedAt;
+    private volatile long failedAt;
+    private volatile boolean failed;
+    private volatile boolean invalidated;
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param refreshInterval The maximum age of the snapshot before it is refreshed
+     */
+    public CachedServiceInstances(@NonNull String serviceID, @NonNull DiscoveryClient discoveryClient, @NonNull Duration refreshInterval) {
+        this.serviceID = serviceID;
+        this.discoveryClient = discoveryClient;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * @return The service ID
+     */
+    @NonNull
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    /**
+     * Get the available instances of the service from the snapshot. A stale snapshot is
+     * returned as well and triggers a background refresh.
+     *
+     * @return The instances with the {@link HealthStatus#UP} status or {@code null} if the
+     * instances have not been fetched yet, see {@link #fetch()}
+     */
+    @Nullable
+    public ServiceInstance[] getAvailableInstances() {
+        ServiceInstance[] instances = this.availableInstances;
+        if (instances != null && isRefreshDue(System.nanoTime())) {
+            refreshInBackground();
+        }
+        return instances;
+    }
+
+    /**
+     * Fetch the instances from the {@link DiscoveryClient} and update the snapshot.
+     *
+     * @return The instances with the {@link HealthStatus#UP} status
+     */
+    @NonNull
+    public Publisher<ServiceInstance[]> fetch() {
+        return Mono.from(discoveryClient.getInstances(serviceID)).map(this::update);
+    }
+
+    /**
+     * Mark the snapshot as stale, so that the next lookup refreshes it.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    /**
+     * @return The time since the snapshot was last refreshed successfully, or {@link Duration#ZERO}
+     * if it has not been fetched yet
+     */
+    @NonNull
+    public Duration getRefreshLag() {
+        return availableInstances == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - refreshedAt);
+    }
+
+    private boolean isRefreshDue(long now) {
+        if (failed && now - failedAt < refreshIntervalNanos) {
+            // back off after a failed refresh and keep serving the stale snapshot
+            return false;
+        }
+        return invalidated || now - refreshedAt > refreshIntervalNanos;
+    }
+
+    private void refreshInBackground() {
+        if (refreshing.compareAndSet(false, true)) {
+            invalidated = false;
+            Mono.from(fetch())
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(instances -> { }, error -> {
+                    failedAt = System.nanoTime();
+                    failed = true;
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Failed to refresh the instances of service [{}], using the previous instances: {}", serviceID, error.getMessage());
+                    }
+                });
+        }
+    }
+
+    private ServiceInstance[] update(List<ServiceInstance> instances) {
+        ServiceInstance[] available = instances.stream()
+            .filter(si -> si.getHealthStatus().equals(HealthStatus.UP))
+            .toArray(ServiceInstance[]::new);
+        this.refreshedAt = System.nanoTime();
+        this.failed = false;
+        this.availableInstances = available;
+        return available;
+    }
+}
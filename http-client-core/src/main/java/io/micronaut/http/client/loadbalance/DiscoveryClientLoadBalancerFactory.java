@@ -15,27 +15,62 @@
  */
 package io.micronaut.http.client.loadbalance;
 
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventListener;
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.event.AbstractServiceInstanceEvent;
 import io.micronaut.http.client.LoadBalancer;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A factory class that can be replaced at runtime for creating {@link LoadBalancer} instances that load balance
  * between available clients provided by the {@link DiscoveryClient}.
  *
+ * <p>The load balancers of a service share a {@link CachedServiceInstances} snapshot, which is invalidated when
+ * a {@link io.micronaut.discovery.event.ServiceReadyEvent} or {@link io.micronaut.discovery.event.ServiceStoppedEvent}
+ * is published for an instance of the service.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
 @Singleton
-public class DiscoveryClientLoadBalancerFactory {
+public class DiscoveryClientLoadBalancerFactory implements ApplicationEventListener<AbstractServiceInstanceEvent> {
+
+    /**
+     * The property that configures the maximum age of the cached instances of a service.
+     */
+    public static final String REFRESH_INTERVAL_PROPERTY = "micronaut.http.client.load-balancer-refresh-interval";
 
     private final DiscoveryClient discoveryClient;
+    private final LoadBalancerStrategy strategy;
+    private final Duration refreshInterval;
+    private final Map<String, CachedServiceInstances> instances = new ConcurrentHashMap<>();
 
     /**
      * @param discoveryClient The discover client
      */
     public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient) {
+        this(discoveryClient, LoadBalancerStrategy.ROUND_ROBIN, DiscoveryClientRoundRobinLoadBalancer.DEFAULT_REFRESH_INTERVAL);
+    }
+
+    /**
+     * @param discoveryClient The discover client
+     * @param strategy        The load balancing strategy
+     * @param refreshInterval The maximum age of the cached instances of a service
+     * @since 4.0.0
+     */
+    @Inject
+    public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient,
+                                              @Value("${" + LoadBalancerStrategy.PROPERTY + ":round-robin}") LoadBalancerStrategy strategy,
+                                              @Value("${" + REFRESH_INTERVAL_PROPERTY + ":10s}") Duration refreshInterval) {
         this.discoveryClient = discoveryClient;
+        this.strategy = strategy;
+        this.refreshInterval = refreshInterval;
     }
 
     /**
@@ -45,7 +80,19 @@ public class DiscoveryClientLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(String serviceID) {
-        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        CachedServiceInstances serviceInstances = instances.computeIfAbsent(serviceID, id -> new CachedServiceInstances(id, discoveryClient, refreshInterval));
+        if (strategy == LoadBalancerStrategy.POWER_OF_TWO_CHOICES) {
+            return new DiscoveryClientPowerOfTwoChoicesLoadBalancer(serviceInstances);
+        }
+        return new DiscoveryClientRoundRobinLoadBalancer(serviceInstances);
+    }
+
+    @Override
+    public void onApplicationEvent(AbstractServiceInstanceEvent event) {
+        CachedServiceInstances serviceInstances = instances.get(event.getSource().getId());
+        if (serviceInstances != null) {
+            serviceInstances.invalidate();
+        }
     }
 
     /**
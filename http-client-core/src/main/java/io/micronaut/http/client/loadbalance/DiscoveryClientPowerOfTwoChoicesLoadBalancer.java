@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link AbstractPowerOfTwoChoicesLoadBalancer power of two choices} load balancer between
+ * the instances of a service ID provided by the {@link DiscoveryClient}, selected from a
+ * {@link CachedServiceInstances} snapshot.
+ *
+ * @since 4.0.0
+ */
+public class DiscoveryClientPowerOfTwoChoicesLoadBalancer extends AbstractPowerOfTwoChoicesLoadBalancer {
+
+    private final String serviceID;
+    private final CachedServiceInstances instances;
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    public DiscoveryClientPowerOfTwoChoicesLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        this(new CachedServiceInstances(serviceID, discoveryClient, DiscoveryClientRoundRobinLoadBalancer.DEFAULT_REFRESH_INTERVAL));
+    }
+
+    /**
+     * @param instances The cached instances of the service
+     */
+    public DiscoveryClientPowerOfTwoChoicesLoadBalancer(CachedServiceInstances instances) {
+        this.serviceID = instances.getServiceID();
+        this.instances = instances;
+    }
+
+    @Override
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    /**
+     * @return The time since the instances were last refreshed from the {@link DiscoveryClient}
+     */
+    public Duration getRefreshLag() {
+        return instances.getRefreshLag();
+    }
+
+    @Override
+    public Publisher<List<ServiceInstance>> getInstances() {
+        return Publishers.map(instances.fetch(), Arrays::asList);
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(Object discriminator) {
+        ServiceInstance[] available = instances.getAvailableInstances();
+        if (available == null) {
+            return Publishers.map(instances.fetch(), fetched -> getNextAvailable(Arrays.asList(fetched)));
+        }
+        return Mono.fromCallable(() -> getNextAvailable(Arrays.asList(available)));
+    }
+}
@@ -18,30 +18,49 @@ package io.micronaut.http.client.loadbalance;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.DiscoveryClient;
 import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
 import org.reactivestreams.Publisher;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * <p>A {@link io.micronaut.http.client.LoadBalancer} that uses the {@link DiscoveryClient} and a
  * {@link ServiceInstance} ID to automatically load balance between discovered clients in a non-blocking manner.</p>
  *
- * <p>Note that the when {@link DiscoveryClient} caching is enabled then this load balancer may not always have the
- * latest server list from the {@link DiscoveryClient} (the default TTL is 30 seconds)</p>
+ * <p>The instances are selected from a {@link CachedServiceInstances} snapshot that is refreshed in the background,
+ * so the load balancer may not always have the latest server list from the {@link DiscoveryClient}. Note that
+ * the {@link DiscoveryClient} caches the server list as well when caching is enabled (the default TTL is 30 seconds).</p>
  *
  * @author Graeme Rocher
  * @since 1.0
  */
 public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoadBalancer {
 
+    /**
+     * The default maximum age of the cached instances.
+     */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(10);
+
     private final String serviceID;
-    private final DiscoveryClient discoveryClient;
+    private final CachedServiceInstances instances;
 
     /**
      * @param serviceID       The service ID
      * @param discoveryClient The discovery client
      */
     public DiscoveryClientRoundRobinLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
-        this.serviceID = serviceID;
-        this.discoveryClient = discoveryClient;
+        this(new CachedServiceInstances(serviceID, discoveryClient, DEFAULT_REFRESH_INTERVAL));
+    }
+
+    /**
+     * @param instances The cached instances of the service
+     * @since 4.0.0
+     */
+    public DiscoveryClientRoundRobinLoadBalancer(CachedServiceInstances instances) {
+        this.serviceID = instances.getServiceID();
+        this.instances = instances;
     }
 
     /**
@@ -52,8 +71,28 @@ public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoa
         return serviceID;
     }
 
+    /**
+     * @return The time since the instances were last refreshed from the {@link DiscoveryClient}
+     * @since 4.0.0
+     */
+    public Duration getRefreshLag() {
+        return instances.getRefreshLag();
+    }
+
+    @Override
+    public Publisher<List<ServiceInstance>> getInstances() {
+        return Publishers.map(instances.fetch(), Arrays::asList);
+    }
+
     @Override
     public Publisher<ServiceInstance> select(Object discriminator) {
-        return Publishers.map(discoveryClient.getInstances(serviceID), this::getNextAvailable);
+        ServiceInstance[] available = instances.getAvailableInstances();
+        if (available == null) {
+            return Publishers.map(instances.fetch(), this::getNextAvailable);
+        }
+        if (available.length == 0) {
+            return Publishers.just(new NoAvailableServiceException(serviceID));
+        }
+        return Publishers.just(getNextAvailable(available));
     }
 }
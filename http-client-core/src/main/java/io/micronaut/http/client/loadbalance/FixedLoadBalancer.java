@@ -26,6 +26,8 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -64,6 +66,11 @@ public class FixedLoadBalancer implements LoadBalancer  {
         return publisher;
     }
 
+    @Override
+    public Publisher<List<ServiceInstance>> getInstances() {
+        return Publishers.map(publisher, Collections::singletonList);
+    }
+
     /**
      * @return The URL of the {@link LoadBalancer}
      * @deprecated Use {@link #getUri()} instead
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.HttpClient;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Keys the state that load balancers keep per instance, so that an instance selected by a load
+ * balancer and the requests sent to it map to the same key. Instances that advertise a Unix
+ * domain socket are keyed on the socket path, since requests to them use a
+ * {@code http+unix://} URI without a host.
+ *
+ * @since 4.0.0
+ */
+final class InstanceKeys {
+
+    private InstanceKeys() {
+    }
+
+    /**
+     * @param instance A service instance
+     * @return The key of the instance
+     */
+    static String of(ServiceInstance instance) {
+        Optional<String> socketPath = instance.getUnixSocketPath();
+        if (socketPath.isPresent()) {
+            return socket(socketPath.get());
+        }
+        return of(instance.getURI());
+    }
+
+    /**
+     * @param uri The URI of an instance or of a request to an instance
+     * @return The key of the instance
+     */
+    static String of(URI uri) {
+        String scheme = uri.getScheme();
+        if (HttpClient.SCHEME_HTTP_UNIX.equalsIgnoreCase(scheme) || HttpClient.SCHEME_HTTPS_UNIX.equalsIgnoreCase(scheme)) {
+            return socket(uri.getAuthority());
+        }
+        return scheme + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static String socket(String path) {
+        return "unix://" + path;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.client.LoadBalancer;
+
+import java.net.URI;
+
+/**
+ * A {@link LoadBalancer} that is informed by the HTTP client of the requests sent to the
+ * instances it selected, so that it can take the load of the instances into account.
+ *
+ * @since 4.0.0
+ */
+public interface LoadAwareLoadBalancer extends LoadBalancer {
+
+    /**
+     * Called when a request is sent.
+     *
+     * @param uri The URI of the request
+     */
+    void requestStarted(@NonNull URI uri);
+
+    /**
+     * Called when the response to a request has been received or the request failed.
+     *
+     * @param uri           The URI of the request
+     * @param durationNanos The time since the request was sent, in nanoseconds
+     * @param error         The error if the request failed
+     */
+    void requestCompleted(@NonNull URI uri, long durationNanos, @Nullable Throwable error);
+
+    /**
+     * Called instead of {@link #requestCompleted(URI, long, Throwable)} when the request was
+     * cancelled before its outcome was known, e.g. because the caller timed out or another
+     * hedged request won. The duration of a cancelled request says nothing about the instance.
+     *
+     * @param uri The URI of the request
+     */
+    void requestCancelled(@NonNull URI uri);
+}
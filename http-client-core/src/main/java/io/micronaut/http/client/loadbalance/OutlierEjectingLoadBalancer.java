@@ -0,0 +1,368 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.client.LoadBalancer;
+import io.micronaut.http.client.exceptions.ConcurrencyLimitExceededException;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link LoadBalancer} that tracks the health of the instances selected by another load
+ * balancer from the outcome of the requests sent to them, and temporarily ejects outliers.
+ *
+ * <p>An instance is an outlier if too many requests to it fail with a {@code 5xx} response or
+ * get no response at all in a row, or if the average latency of its responses is far above the
+ * median of the average latencies of all instances. Requests that are cancelled, e.g. by a
+ * timeout of the caller or because another hedged request won, neither count as failures nor
+ * reset them. An outlier is ejected for the
+ * {@link HttpClientConfiguration.OutlierEjectionConfiguration#getBaseEjectionTime() base ejection time},
+ * doubled for every further ejection of the same instance up to the
+ * {@link HttpClientConfiguration.OutlierEjectionConfiguration#getMaxEjectionTime() maximum ejection time},
+ * and no more than the {@link HttpClientConfiguration.OutlierEjectionConfiguration#getMaxEjectionPercent() maximum percentage}
+ * of the known instances is ejected at the same time.</p>
+ *
+ * <p>When the load balancer it decorates selects an ejected instance, the selection is repeated,
+ * once more than there are ejected instances. If every attempt selects an ejected instance, the
+ * last one is used, so that outlier ejection never makes a service unavailable. Ejections and
+ * readmissions are published as {@link ServiceInstanceEjectedEvent} and
+ * {@link ServiceInstanceReadmittedEvent}.</p>
+ *
+ * @since 4.0.0
+ */
+public final class OutlierEjectingLoadBalancer implements LoadAwareLoadBalancer {
+
+    private static final int MAXIMUM_INSTANCES = 1024;
+    private static final int MAXIMUM_ATTEMPTS = 8;
+    private static final double LATENCY_WEIGHT = 0.1;
+    private static final long MEDIAN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadBalancer delegate;
+    private final HttpClientConfiguration.OutlierEjectionConfiguration configuration;
+    private final ApplicationEventPublisher<ServiceInstanceEjectedEvent> ejectedPublisher;
+    private final ApplicationEventPublisher<ServiceInstanceReadmittedEvent> readmittedPublisher;
+    private final LongSupplier nanoClock;
+    private final Map<String, InstanceHealth> instances = new ConcurrentLinkedHashMap.Builder<String, InstanceHealth>()
+        .maximumWeightedCapacity(MAXIMUM_INSTANCES)
+        .build();
+    private volatile double medianLatency;
+    private volatile long medianComputedAt;
+
+    /**
+     * @param delegate            The load balancer that selects the instances
+     * @param configuration       The outlier ejection configuration
+     * @param ejectedPublisher    The publisher of the ejection events
+     * @param readmittedPublisher The publisher of the readmission events
+     */
+    public OutlierEjectingLoadBalancer(@NonNull LoadBalancer delegate,
+                                       @NonNull HttpClientConfiguration.OutlierEjectionConfiguration configuration,
+                                       @NonNull ApplicationEventPublisher<ServiceInstanceEjectedEvent> ejectedPublisher,
+                                       @NonNull ApplicationEventPublisher<ServiceInstanceReadmittedEvent> readmittedPublisher) {
+        this(delegate, configuration, ejectedPublisher, readmittedPublisher, System::nanoTime);
+    }
+
+    /**
+     * @param delegate            The load balancer that selects the instances
+     * @param configuration       The outlier ejection configuration
+     * @param ejectedPublisher    The publisher of the ejection events
+     * @param readmittedPublisher The publisher of the readmission events
+     * @param nanoClock           The source of {@link System#nanoTime()}
+     */
+    OutlierEjectingLoadBalancer(LoadBalancer delegate,
+                                HttpClientConfiguration.OutlierEjectionConfiguration configuration,
+                                ApplicationEventPublisher<ServiceInstanceEjectedEvent> ejectedPublisher,
+                                ApplicationEventPublisher<ServiceInstanceReadmittedEvent> readmittedPublisher,
+                                LongSupplier nanoClock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.configuration = Objects.requireNonNull(configuration, "configuration");
+        this.ejectedPublisher = Objects.requireNonNull(ejectedPublisher, "ejectedPublisher");
+        this.readmittedPublisher = Objects.requireNonNull(readmittedPublisher, "readmittedPublisher");
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return The load balancer that selects the instances
+     */
+    @NonNull
+    public LoadBalancer getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        return select(discriminator, 1);
+    }
+
+    private Mono<ServiceInstance> select(Object discriminator, int attempt) {
+        return Mono.from(delegate.select(discriminator)).flatMap(instance -> {
+            long now = nanoClock.getAsLong();
+            InstanceHealth health = health(instance);
+            if (!health.isEjected(now)) {
+                return Mono.just(instance);
+            }
+            int attempts = Math.min(MAXIMUM_ATTEMPTS, countEjected(now) + 1);
+            if (attempt >= attempts) {
+                return Mono.just(instance);
+            }
+            return select(discriminator, attempt + 1);
+        });
+    }
+
+    @Override
+    public Optional<String> getContextPath() {
+        return delegate.getContextPath();
+    }
+
+    @Override
+    public Publisher<List<ServiceInstance>> getInstances() {
+        return delegate.getInstances();
+    }
+
+    @Override
+    public void requestStarted(@NonNull URI uri) {
+        if (delegate instanceof LoadAwareLoadBalancer loadAware) {
+            loadAware.requestStarted(uri);
+        }
+    }
+
+    @Override
+    public void requestCompleted(@NonNull URI uri, long durationNanos, @Nullable Throwable error) {
+        if (delegate instanceof LoadAwareLoadBalancer loadAware) {
+            loadAware.requestCompleted(uri, durationNanos, error);
+        }
+        if (error instanceof ConcurrencyLimitExceededException) {
+            // the request never left the client
+            return;
+        }
+        InstanceHealth health = instances.get(InstanceKeys.of(uri));
+        if (health == null) {
+            // not selected by this load balancer
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        ServiceInstanceEjectedEvent.Reason reason;
+        if (error == null || error instanceof HttpClientResponseException responseException && responseException.code() < 500) {
+            reason = health.onSuccess(durationNanos, configuration.getLatencyMinimumRequests())
+                && isLatencyOutlier(health, now) ? ServiceInstanceEjectedEvent.Reason.LATENCY : null;
+        } else if (error instanceof HttpClientResponseException) {
+            reason = health.onServerError(configuration.getConsecutiveServerErrors())
+                ? ServiceInstanceEjectedEvent.Reason.SERVER_ERRORS : null;
+        } else {
+            reason = health.onConnectFailure(configuration.getConsecutiveConnectFailures())
+                ? ServiceInstanceEjectedEvent.Reason.CONNECT_FAILURES : null;
+        }
+        if (reason != null) {
+            eject(health, reason, now);
+        }
+    }
+
+    @Override
+    public void requestCancelled(@NonNull URI uri) {
+        if (delegate instanceof LoadAwareLoadBalancer loadAware) {
+            loadAware.requestCancelled(uri);
+        }
+    }
+
+    /**
+     * @param uri The URI of an instance or of a request to an instance
+     * @return Whether the instance is currently ejected
+     */
+    public boolean isEjected(@NonNull URI uri) {
+        InstanceHealth health = instances.get(InstanceKeys.of(uri));
+        return health != null && health.ejectedUntil(nanoClock.getAsLong()) != 0;
+    }
+
+    private InstanceHealth health(ServiceInstance instance) {
+        String key = InstanceKeys.of(instance);
+        InstanceHealth health = instances.get(key);
+        if (health == null) {
+            health = instances.computeIfAbsent(key, k -> new InstanceHealth(instance));
+        }
+        health.instance = instance;
+        return health;
+    }
+
+    private int countEjected(long now) {
+        int ejected = 0;
+        for (InstanceHealth health : instances.values()) {
+            if (health.ejectedUntil(now) != 0) {
+                ejected++;
+            }
+        }
+        return ejected;
+    }
+
+    private boolean isLatencyOutlier(InstanceHealth health, long now) {
+        double factor = configuration.getLatencyFactor();
+        if (factor <= 0) {
+            return false;
+        }
+        double median = medianLatency;
+        if (now - medianComputedAt >= MEDIAN_INTERVAL_NANOS || median == 0) {
+            median = computeMedianLatency();
+            medianLatency = median;
+            medianComputedAt = now;
+        }
+        return median > 0 && health.latency() > median * factor;
+    }
+
+    private double computeMedianLatency() {
+        int minimumRequests = configuration.getLatencyMinimumRequests();
+        double[] latencies = new double[instances.size()];
+        int n = 0;
+        for (InstanceHealth health : instances.values()) {
+            if (n < latencies.length && health.completed() >= minimumRequests) {
+                latencies[n++] = health.latency();
+            }
+        }
+        if (n < 3) {
+            // with fewer instances, a slow instance drags the median along
+            return 0;
+        }
+        Arrays.sort(latencies, 0, n);
+        return n % 2 == 1 ? latencies[n / 2] : (latencies[n / 2 - 1] + latencies[n / 2]) / 2;
+    }
+
+    private void eject(InstanceHealth health, ServiceInstanceEjectedEvent.Reason reason, long now) {
+        int known = instances.size();
+        int maxEjected = known < 2 ? 0 : Math.max(1, known * configuration.getMaxEjectionPercent() / 100);
+        ServiceInstanceEjectedEvent event;
+        synchronized (this) {
+            // serialize ejections so that concurrent ejections respect the maximum percentage
+            if (countEjected(now) >= maxEjected) {
+                return;
+            }
+            event = health.eject(now, configuration.getBaseEjectionTime(), configuration.getMaxEjectionTime(), reason);
+        }
+        if (event != null) {
+            ejectedPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * The consecutive failures, the latency average and the ejection state of an instance.
+     */
+    private final class InstanceHealth {
+        volatile ServiceInstance instance;
+        private int consecutiveServerErrors;
+        private int consecutiveConnectFailures;
+        private int completed;
+        private double latency;
+        private int ejections;
+        private long ejectedUntil;
+        private boolean ejected;
+
+        InstanceHealth(ServiceInstance instance) {
+            this.instance = instance;
+        }
+
+        synchronized boolean onSuccess(long latencyNanos, int minimumRequests) {
+            consecutiveServerErrors = 0;
+            consecutiveConnectFailures = 0;
+            latency = completed == 0 ? latencyNanos : latency * (1 - LATENCY_WEIGHT) + latencyNanos * LATENCY_WEIGHT;
+            completed++;
+            return completed >= minimumRequests;
+        }
+
+        synchronized boolean onServerError(int threshold) {
+            consecutiveConnectFailures = 0;
+            consecutiveServerErrors++;
+            return threshold > 0 && consecutiveServerErrors >= threshold;
+        }
+
+        synchronized boolean onConnectFailure(int threshold) {
+            consecutiveServerErrors = 0;
+            consecutiveConnectFailures++;
+            return threshold > 0 && consecutiveConnectFailures >= threshold;
+        }
+
+        synchronized double latency() {
+            return latency;
+        }
+
+        synchronized int completed() {
+            return completed;
+        }
+
+        /**
+         * @return Whether the instance is ejected, readmitting it if its ejection time has elapsed
+         */
+        boolean isEjected(long now) {
+            ServiceInstanceReadmittedEvent readmitted = null;
+            synchronized (this) {
+                if (!ejected) {
+                    return false;
+                }
+                if (now - ejectedUntil < 0) {
+                    return true;
+                }
+                ejected = false;
+                readmitted = new ServiceInstanceReadmittedEvent(instance);
+            }
+            readmittedPublisher.publishEvent(readmitted);
+            return false;
+        }
+
+        /**
+         * @return The end of the ejection, or {@code 0} if the instance is not ejected
+         */
+        synchronized long ejectedUntil(long now) {
+            return ejected && now - ejectedUntil < 0 ? ejectedUntil : 0;
+        }
+
+        synchronized ServiceInstanceEjectedEvent eject(long now, Duration baseEjectionTime, Duration maxEjectionTime, ServiceInstanceEjectedEvent.Reason reason) {
+            if (ejected && now - ejectedUntil < 0) {
+                return null;
+            }
+            long maxNanos = maxEjectionTime.toNanos();
+            if (ejections > 0 && now - ejectedUntil > maxNanos) {
+                // healthy for long enough since the last ejection, start over
+                ejections = 0;
+            }
+            ejections++;
+            long nanos = baseEjectionTime.toNanos();
+            for (int i = 1; i < ejections && nanos < maxNanos; i++) {
+                nanos *= 2;
+            }
+            nanos = Math.min(nanos, maxNanos);
+            ejected = true;
+            ejectedUntil = now + nanos;
+            // the instance starts over with a clean slate after its readmission
+            consecutiveServerErrors = 0;
+            consecutiveConnectFailures = 0;
+            completed = 0;
+            latency = 0;
+            return new ServiceInstanceEjectedEvent(instance, reason, Duration.ofNanos(nanos), ejections);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.event.ApplicationEvent;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.time.Duration;
+
+/**
+ * An event fired when an {@link OutlierEjectingLoadBalancer} ejects an instance that it
+ * detected as an outlier.
+ *
+ * @since 4.0.0
+ */
+public class ServiceInstanceEjectedEvent extends ApplicationEvent {
+
+    private final Reason reason;
+    private final Duration ejectionTime;
+    private final int ejections;
+
+    /**
+     * @param source       The ejected instance
+     * @param reason       The reason of the ejection
+     * @param ejectionTime The time the instance is ejected for
+     * @param ejections    The number of times the instance has been ejected in a row
+     */
+    public ServiceInstanceEjectedEvent(@NonNull ServiceInstance source, @NonNull Reason reason, @NonNull Duration ejectionTime, int ejections) {
+        super(source);
+        this.reason = reason;
+        this.ejectionTime = ejectionTime;
+        this.ejections = ejections;
+    }
+
+    /**
+     * @return The reason of the ejection
+     */
+    @NonNull
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return The time the instance is ejected for
+     */
+    @NonNull
+    public Duration getEjectionTime() {
+        return ejectionTime;
+    }
+
+    /**
+     * @return The number of times the instance has been ejected in a row, the ejection time
+     * doubles with every ejection
+     */
+    public int getEjections() {
+        return ejections;
+    }
+
+    @Override
+    public ServiceInstance getSource() {
+        return (ServiceInstance) super.getSource();
+    }
+
+    /**
+     * The reason an instance is ejected.
+     */
+    public enum Reason {
+        /**
+         * Too many consecutive {@code 5xx} responses.
+         */
+        SERVER_ERRORS,
+        /**
+         * Too many consecutive requests without a response, such as connect failures.
+         */
+        CONNECT_FAILURES,
+        /**
+         * The latency is far above the latency of the other instances.
+         */
+        LATENCY
+    }
+}
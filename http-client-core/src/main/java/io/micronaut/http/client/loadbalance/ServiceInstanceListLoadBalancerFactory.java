@@ -16,8 +16,10 @@
 package io.micronaut.http.client.loadbalance;
 
 import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.discovery.ServiceInstanceList;
 import io.micronaut.http.client.LoadBalancer;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 /**
@@ -31,6 +33,24 @@ import jakarta.inject.Singleton;
 @BootstrapContextCompatible
 public class ServiceInstanceListLoadBalancerFactory {
 
+    private final LoadBalancerStrategy strategy;
+
+    /**
+     * Creates round-robin load balancers.
+     */
+    public ServiceInstanceListLoadBalancerFactory() {
+        this(LoadBalancerStrategy.ROUND_ROBIN);
+    }
+
+    /**
+     * @param strategy The load balancing strategy
+     * @since 4.0.0
+     */
+    @Inject
+    public ServiceInstanceListLoadBalancerFactory(@Value("${" + LoadBalancerStrategy.PROPERTY + ":round-robin}") LoadBalancerStrategy strategy) {
+        this.strategy = strategy;
+    }
+
     /**
      * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
      *
@@ -38,6 +58,9 @@ public class ServiceInstanceListLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
+        if (strategy == LoadBalancerStrategy.POWER_OF_TWO_CHOICES) {
+            return new ServiceInstanceListPowerOfTwoChoicesLoadBalancer(serviceInstanceList);
+        }
         return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
     }
 }
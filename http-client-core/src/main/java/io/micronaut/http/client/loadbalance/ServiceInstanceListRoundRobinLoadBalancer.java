@@ -20,6 +20,7 @@ import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.discovery.ServiceInstanceList;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,6 +42,11 @@ public class ServiceInstanceListRoundRobinLoadBalancer extends AbstractRoundRobi
         return Mono.fromCallable(() -> getNextAvailable(serviceInstanceList.getInstances()));
     }
 
+    @Override
+    public Publisher<List<ServiceInstance>> getInstances() {
+        return Mono.fromCallable(serviceInstanceList::getInstances);
+    }
+
     @Override
     public String getServiceID() {
         return serviceInstanceList.getID();
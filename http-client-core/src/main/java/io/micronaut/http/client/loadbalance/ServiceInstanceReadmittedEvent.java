@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.event.ApplicationEvent;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.ServiceInstance;
+
+/**
+ * An event fired when the ejection time of an instance ejected by an
+ * {@link OutlierEjectingLoadBalancer} has elapsed and the instance is selected again.
+ *
+ * @since 4.0.0
+ */
+public class ServiceInstanceReadmittedEvent extends ApplicationEvent {
+
+    /**
+     * @param source The readmitted instance
+     */
+    public ServiceInstanceReadmittedEvent(@NonNull ServiceInstance source) {
+        super(source);
+    }
+
+    @Override
+    public ServiceInstance getSource() {
+        return (ServiceInstance) super.getSource();
+    }
+}
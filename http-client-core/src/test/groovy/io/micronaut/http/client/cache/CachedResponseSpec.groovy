@@ -0,0 +1,138 @@
+package io.micronaut.http.client.cache
+
+import io.micronaut.http.HttpRequest
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+
+class CachedResponseSpec extends Specification {
+
+    static final long NOW = 1_700_000_000_000L
+
+    @TempDir
+    Path tempDir
+
+    void "the freshness lifetime is taken from max-age"() {
+        when:
+        def response = response(['Cache-Control', 'max-age=60, stale-while-revalidate=30'])
+
+        then:
+        response.isFresh(NOW + 59_000)
+        !response.isFresh(NOW + 60_000)
+        response.isStaleWhileRevalidate(NOW + 89_000)
+        !response.isStaleWhileRevalidate(NOW + 90_000)
+    }
+
+    void "the Age header is added to the age of the response"() {
+        when:
+        def response = response(['Cache-Control', 'max-age=60', 'Age', '50'])
+
+        then:
+        response.getAge(NOW) == 50_000
+        !response.isFresh(NOW + 10_000)
+    }
+
+    void "a not modified response updates the stored headers"() {
+        given:
+        def response = response(['ETag', '"v1"', 'Cache-Control', 'max-age=1', 'Content-Length', '4'])
+
+        when:
+        def validated = response.withValidation(['Cache-Control', 'max-age=60', 'Content-Length', '0'] as String[], NOW + 5000, NOW + 5000)
+
+        then:
+        validated.getHeader('ETag') == '"v1"'
+        validated.getHeader('Cache-Control') == 'max-age=60'
+        validated.getHeader('Content-Length') == '4'
+        validated.isFresh(NOW + 6000)
+    }
+
+    void "responses are written and read back"() {
+        given:
+        def response = response(['ETag', '"v1"', 'Cache-Control', 'max-age=60'])
+        def out = new ByteArrayOutputStream()
+
+        when:
+        response.writeTo('key', out)
+        def buffer = ByteBuffer.wrap(out.toByteArray())
+        def read = CachedResponse.read(buffer, 'key')
+
+        then:
+        CachedResponse.readKey(buffer) == 'key'
+        CachedResponse.read(buffer, 'other') == null
+        read.status == 200
+        read.getHeader('ETag') == '"v1"'
+        StandardCharsets.UTF_8.decode(read.body).toString() == 'body'
+        read.getAge(NOW) == response.getAge(NOW)
+    }
+
+    void "the disk store survives a restart"() {
+        given:
+        def store = new DiskResponseCacheStore(tempDir, 1024 * 1024)
+
+        when:
+        store.put('key', response(['Cache-Control', 'max-age=60']))
+        store.close()
+        store = new DiskResponseCacheStore(tempDir, 1024 * 1024)
+        def read = store.get('key').block()
+
+        then:
+        read != null
+        StandardCharsets.UTF_8.decode(read.body).toString() == 'body'
+        store.get('key').map { Thread.currentThread().name }.block() == 'http-client-cache-io'
+        store.get('missing').block() == null
+
+        when:
+        store.remove('key')
+
+        then:
+        store.get('key').block() == null
+
+        cleanup:
+        store.close()
+    }
+
+    void "only cacheable requests and storable responses are used"() {
+        given:
+        def cache = new HttpResponseCache(1024 * 1024, 1024, null)
+        def request = HttpRequest.GET('http://localhost/test')
+
+        expect:
+        cache.isCacheable(request)
+        !cache.isCacheable(HttpRequest.POST('http://localhost/test', ''))
+        !cache.isCacheable(HttpRequest.GET('http://localhost/test').header('If-None-Match', '"v1"'))
+        !cache.isCacheable(HttpRequest.GET('http://localhost/test').header('Cache-Control', 'no-store'))
+        cache.isStorable(request, 200, ['Cache-Control', 'max-age=60'] as String[], 10)
+        !cache.isStorable(request, 200, ['Cache-Control', 'max-age=60, no-store'] as String[], 10)
+        !cache.isStorable(request, 200, ['Cache-Control', 'max-age=60', 'Vary', '*'] as String[], 10)
+        !cache.isStorable(request, 200, ['Cache-Control', 'max-age=60'] as String[], 2048)
+        !cache.isStorable(request, 206, ['Cache-Control', 'max-age=60'] as String[], 10)
+        !cache.isStorable(request, 200, [] as String[], 10)
+    }
+
+    void "variants are selected by the headers named by Vary"() {
+        given:
+        def cache = new HttpResponseCache(1024 * 1024, 1024, null)
+        def json = HttpRequest.GET('http://localhost/test').header('Accept', 'application/json')
+        def xml = HttpRequest.GET('http://localhost/test').header('Accept', 'application/xml')
+
+        when:
+        cache.store(json, response(['Cache-Control', 'max-age=60', 'Vary', 'Accept']))
+
+        then:
+        cache.lookup(json, NOW).block().freshness() == HttpResponseCache.Freshness.FRESH
+        cache.lookup(xml, NOW).block() == null
+
+        when:
+        cache.invalidate(HttpRequest.POST('http://localhost/test', ''), 200)
+
+        then:
+        cache.lookup(json, NOW).block() == null
+    }
+
+    private static CachedResponse response(List<String> headers) {
+        CachedResponse.create(200, 'OK', headers as String[], ByteBuffer.wrap('body'.getBytes(StandardCharsets.UTF_8)), NOW, NOW)
+    }
+}
@@ -0,0 +1,126 @@
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.discovery.DiscoveryClient
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.event.ServiceStoppedEvent
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.time.Duration
+
+class CachedServiceInstancesSpec extends Specification {
+
+    void "the instances are fetched once and then selected from the snapshot"() {
+        given:
+        def discoveryClient = new TestDiscoveryClient(instances: [instance('http://a:8080'), instance('http://b:8080')])
+        def balancer = new DiscoveryClientRoundRobinLoadBalancer('test', discoveryClient)
+
+        when:
+        def selected = (1..4).collect { Mono.from(balancer.select(null)).block().URI.toString() }
+
+        then:
+        selected == ['http://a:8080', 'http://b:8080', 'http://a:8080', 'http://b:8080']
+        discoveryClient.calls == 1
+    }
+
+    void "a stale snapshot is served while it is refreshed and when the refresh fails"() {
+        given:
+        def discoveryClient = new TestDiscoveryClient(instances: [instance('http://a:8080')])
+        def instances = new CachedServiceInstances('test', discoveryClient, Duration.ZERO)
+        def balancer = new DiscoveryClientRoundRobinLoadBalancer(instances)
+        Mono.from(balancer.select(null)).block()
+
+        when:
+        discoveryClient.error = new IOException('registry unavailable')
+        def selected = Mono.from(balancer.select(null)).block()
+
+        then:
+        selected.URI.toString() == 'http://a:8080'
+        discoveryClient.calls == 2
+
+        when:
+        discoveryClient.error = null
+        discoveryClient.instances = [instance('http://b:8080')]
+        Mono.from(balancer.select(null)).block()
+
+        then:
+        Mono.from(balancer.select(null)).block().URI.toString() == 'http://b:8080'
+    }
+
+    void "a failed refresh is retried after the refresh interval"() {
+        given:
+        def discoveryClient = new TestDiscoveryClient(instances: [instance('http://a:8080')])
+        def instances = new CachedServiceInstances('test', discoveryClient, Duration.ofMillis(200))
+        def balancer = new DiscoveryClientRoundRobinLoadBalancer(instances)
+        Mono.from(balancer.select(null)).block()
+        discoveryClient.error = new IOException('registry unavailable')
+        Thread.sleep(300)
+
+        when:
+        def selected = (1..10).collect { Mono.from(balancer.select(null)).block().URI.toString() }
+
+        then:
+        selected.every { it == 'http://a:8080' }
+        discoveryClient.calls == 2
+
+        when:
+        Thread.sleep(300)
+        Mono.from(balancer.select(null)).block()
+
+        then:
+        discoveryClient.calls == 3
+    }
+
+    void "service events invalidate the snapshot of the service"() {
+        given:
+        def discoveryClient = new TestDiscoveryClient(instances: [instance('http://a:8080')])
+        def factory = new DiscoveryClientLoadBalancerFactory(discoveryClient, LoadBalancerStrategy.ROUND_ROBIN, Duration.ofHours(1))
+        def balancer = factory.create('test')
+        Mono.from(balancer.select(null)).block()
+        discoveryClient.instances = [instance('http://b:8080')]
+
+        expect:
+        Mono.from(balancer.select(null)).block().URI.toString() == 'http://a:8080'
+
+        when:
+        factory.onApplicationEvent(new ServiceStoppedEvent(instance('http://a:8080')))
+        Mono.from(balancer.select(null)).block()
+
+        then:
+        discoveryClient.calls == 2
+        Mono.from(balancer.select(null)).block().URI.toString() == 'http://b:8080'
+        ((DiscoveryClientRoundRobinLoadBalancer) balancer).refreshLag < Duration.ofHours(1)
+    }
+
+    private static ServiceInstance instance(String uri) {
+        return ServiceInstance.of('test', URI.create(uri))
+    }
+
+    static class TestDiscoveryClient implements DiscoveryClient {
+        List<ServiceInstance> instances
+        Throwable error
+        int calls
+
+        @Override
+        Publisher<List<ServiceInstance>> getInstances(String serviceId) {
+            calls++
+            return error == null ? Flux.just(instances) : Flux.error(error)
+        }
+
+        @Override
+        Publisher<List<String>> getServiceIds() {
+            return Flux.just(['test'])
+        }
+
+        @Override
+        String getDescription() {
+            return 'test'
+        }
+
+        @Override
+        void close() {
+        }
+    }
+}
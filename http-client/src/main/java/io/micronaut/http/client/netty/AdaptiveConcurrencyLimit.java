@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.http.client.HttpClientConfiguration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive limit of the concurrent requests to one remote, in the style of the gradient
+ * algorithm of TCP Vegas.
+ *
+ * <p>Each sample compares the latency of a response to the long-term average latency. While
+ * the latency stays at its average, the limit grows by about its square root, which leaves room
+ * for a small queue at the remote. When the latency rises, the limit shrinks in proportion, and
+ * a request that fails or gets a {@code 429} or {@code 5xx} response multiplies it with the
+ * backoff ratio. The limit does not grow while less than half of it is in use.</p>
+ *
+ * @since 4.0.0
+ */
+final class AdaptiveConcurrencyLimit {
+
+    /**
+     * Weight of a sample in the long-term latency average.
+     */
+    private static final double LONG_TERM_WEIGHT = 0.05;
+    /**
+     * Weight of a new estimate in the limit.
+     */
+    private static final double SMOOTHING = 0.2;
+    /**
+     * The latency may exceed the long-term average by this factor before the limit shrinks.
+     */
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double longTermLatency;
+
+    /**
+     * @param configuration The concurrency limit configuration of the client
+     */
+    AdaptiveConcurrencyLimit(HttpClientConfiguration.ConcurrencyLimitConfiguration configuration) {
+        this.minLimit = Math.max(1, configuration.getMinLimit());
+        this.maxLimit = Math.max(minLimit, configuration.getMaxLimit());
+        this.backoffRatio = configuration.getBackoffRatio();
+        this.estimatedLimit = Math.min(maxLimit, Math.max(minLimit, configuration.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @return The current limit
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Try to start a request.
+     *
+     * @return The permit of the request, or {@code null} if the limit is reached
+     */
+    Permit tryAcquire() {
+        if (PoolResizer.incrementWithLimit(inflight, limit)) {
+            return new Permit();
+        }
+        return null;
+    }
+
+    private synchronized void onSample(long latencyNanos, int inflight, boolean dropped) {
+        double current = estimatedLimit;
+        double estimate;
+        if (dropped) {
+            estimate = current * backoffRatio;
+        } else {
+            if (latencyNanos <= 0) {
+                return;
+            }
+            if (longTermLatency == 0) {
+                longTermLatency = latencyNanos;
+            } else {
+                longTermLatency += (latencyNanos - longTermLatency) * LONG_TERM_WEIGHT;
+                if (longTermLatency > 2 * latencyNanos) {
+                    // the latency dropped for good, e.g. after an outage, recover faster
+                    longTermLatency *= 0.95;
+                }
+            }
+            if (inflight * 2 < current) {
+                // not enough load to judge whether a higher limit would be sustained
+                return;
+            }
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1, TOLERANCE * longTermLatency / latencyNanos));
+            estimate = current * gradient + Math.sqrt(current);
+        }
+        estimate = current * (1 - SMOOTHING) + estimate * SMOOTHING;
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit, estimate));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * The permit of one request. The request ends with {@link #release()}, and the response or
+     * failure recorded before is the sample the limit is adjusted with. A request that ends
+     * without either, e.g. because the caller cancelled it or another hedged request won, says
+     * nothing about the remote and leaves the limit as it is.
+     */
+    final class Permit {
+        private volatile long latencyNanos = -1;
+        private volatile boolean dropped;
+        private boolean released;
+
+        /**
+         * Record the response of the request.
+         *
+         * @param statusCode   The status code
+         * @param latencyNanos The time from sending the request to receiving the response head
+         */
+        void onResponse(int statusCode, long latencyNanos) {
+            this.dropped = statusCode == 429 || statusCode >= 500;
+            this.latencyNanos = latencyNanos;
+        }
+
+        /**
+         * Record that the request failed without a response, e.g. because of a connection error
+         * or a read timeout.
+         */
+        void onFailure() {
+            this.dropped = true;
+        }
+
+        /**
+         * End the request.
+         */
+        void release() {
+            release(true);
+        }
+
+        /**
+         * End a request that was cancelled, without adjusting the limit.
+         */
+        void cancel() {
+            release(false);
+        }
+
+        private void release(boolean sample) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            int inflightBefore = inflight.getAndDecrement();
+            if (sample && (dropped || latencyNanos >= 0)) {
+                onSample(latencyNanos, inflightBefore, dropped);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.micronaut.http.client.netty;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.netty.channel.EventLoop;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -36,6 +37,8 @@ final class CancellableMonoSink<T> implements Publisher<T>, Sinks.One<T>, Subscr
 
     @Nullable
     private final BlockHint blockHint;
+    @Nullable
+    private final EventLoop preferredEventLoop;
 
     private T value;
     private Throwable failure;
@@ -44,7 +47,12 @@ final class CancellableMonoSink<T> implements Publisher<T>, Sinks.One<T>, Subscr
     private boolean subscriberWaiting = false;
 
     CancellableMonoSink(@Nullable BlockHint blockHint) {
+        this(blockHint, null);
+    }
+
+    CancellableMonoSink(@Nullable BlockHint blockHint, @Nullable EventLoop preferredEventLoop) {
         this.blockHint = blockHint;
+        this.preferredEventLoop = preferredEventLoop;
     }
 
     @Override
@@ -53,6 +61,12 @@ final class CancellableMonoSink<T> implements Publisher<T>, Sinks.One<T>, Subscr
         return blockHint;
     }
 
+    @Override
+    @Nullable
+    public EventLoop getPreferredEventLoop() {
+        return preferredEventLoop;
+    }
+
     @Override
     public synchronized void subscribe(Subscriber<? super T> s) {
         if (this.subscriber != null) {
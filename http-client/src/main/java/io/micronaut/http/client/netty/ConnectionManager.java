@@ -21,8 +21,10 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.SupplierUtil;
+import io.micronaut.http.client.DnsResolverMetrics;
 import io.micronaut.http.client.HttpClientConfiguration;
 import io.micronaut.http.client.HttpVersionSelection;
+import io.micronaut.http.client.exceptions.ConcurrencyLimitExceededException;
 import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.netty.ssl.NettyClientSslBuilder;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
@@ -41,8 +43,11 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
@@ -74,10 +79,12 @@ import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.resolver.NoopAddressResolverGroup;
+import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.ResourceLeakDetector;
 import io.netty.util.ResourceLeakDetectorFactory;
 import io.netty.util.ResourceLeakTracker;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.ScheduledFuture;
@@ -113,6 +120,15 @@ import java.util.function.Supplier;
  */
 @Internal
 class ConnectionManager {
+    /**
+     * The pool of a connection, for metrics.
+     */
+    private static final AttributeKey<HttpClientMetrics.ConnectionPool> POOL = AttributeKey.newInstance("micronaut.http.client.pool");
+    /**
+     * The concurrency limit permit of the request on a connection or HTTP/2 stream.
+     */
+    private static final AttributeKey<AdaptiveConcurrencyLimit.Permit> PERMIT = AttributeKey.newInstance("micronaut.http.client.permit");
+
     final InvocationInstrumenter instrumenter;
 
     private final HttpVersionSelection httpVersion;
@@ -122,11 +138,18 @@ class ConnectionManager {
     private final boolean shutdownGroup;
     private final ThreadFactory threadFactory;
     private final ChannelFactory<? extends Channel> socketChannelFactory;
+    @Nullable
+    private final ChannelFactory<? extends Channel> domainSocketChannelFactory;
+    @Nullable
+    private final DnsResolverGroup dnsResolverGroup;
     private Bootstrap bootstrap;
+    @Nullable
+    private Bootstrap domainSocketBootstrap;
     private final HttpClientConfiguration configuration;
     private final SslContext sslContext;
     private final NettyClientCustomizer clientCustomizer;
     private final String informationalServiceId;
+    private final HttpClientMetrics metrics;
 
     /**
      * Copy constructor used by the test suite to patch this manager.
@@ -141,11 +164,15 @@ class ConnectionManager {
         this.shutdownGroup = from.shutdownGroup;
         this.threadFactory = from.threadFactory;
         this.socketChannelFactory = from.socketChannelFactory;
+        this.domainSocketChannelFactory = from.domainSocketChannelFactory;
+        this.dnsResolverGroup = from.dnsResolverGroup;
         this.bootstrap = from.bootstrap;
+        this.domainSocketBootstrap = from.domainSocketBootstrap;
         this.configuration = from.configuration;
         this.sslContext = from.sslContext;
         this.clientCustomizer = from.clientCustomizer;
         this.informationalServiceId = from.informationalServiceId;
+        this.metrics = from.metrics;
     }
 
     ConnectionManager(
@@ -156,9 +183,12 @@ class ConnectionManager {
         @Nullable  HttpVersionSelection httpVersion,
         InvocationInstrumenter instrumenter,
         ChannelFactory<? extends Channel> socketChannelFactory,
+        ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
+        @Nullable ChannelFactory<? extends Channel> domainSocketChannelFactory,
         NettyClientSslBuilder nettyClientSslBuilder,
         NettyClientCustomizer clientCustomizer,
-        String informationalServiceId) {
+        String informationalServiceId,
+        HttpClientMetrics metrics) {
 
         if (httpVersion == null) {
             httpVersion = HttpVersionSelection.forClientConfiguration(configuration);
@@ -168,12 +198,16 @@ class ConnectionManager {
         this.httpVersion = httpVersion;
         this.threadFactory = threadFactory;
         this.socketChannelFactory = socketChannelFactory;
+        this.domainSocketChannelFactory = domainSocketChannelFactory;
         this.configuration = configuration;
         this.instrumenter = instrumenter;
         this.clientCustomizer = clientCustomizer;
         this.informationalServiceId = informationalServiceId;
+        this.metrics = metrics;
 
         this.sslContext = nettyClientSslBuilder.build(configuration.getSslConfiguration(), httpVersion);
+        HttpClientConfiguration.DnsResolverConfiguration dnsResolverConfiguration = configuration.getDnsResolverConfiguration();
+        this.dnsResolverGroup = dnsResolverConfiguration.isEnabled() ? new DnsResolverGroup(dnsResolverConfiguration, datagramChannelFactory) : null;
 
         if (eventLoopGroup != null) {
             group = eventLoopGroup;
@@ -190,6 +224,12 @@ class ConnectionManager {
             ChannelOption.CONNECT_TIMEOUT_MILLIS,
             (int) duration.toMillis()
         ));
+        if (domainSocketBootstrap != null) {
+            connectTimeout.ifPresent(duration -> domainSocketBootstrap.option(
+                ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                (int) duration.toMillis()
+            ));
+        }
 
         for (Map.Entry<String, Object> entry : configuration.getChannelOptions().entrySet()) {
             Object v = entry.getValue();
@@ -280,6 +320,10 @@ class ConnectionManager {
             group = createEventLoopGroup(configuration, threadFactory);
             initBootstrap(); // rebuild bootstrap with new group
         }
+        for (Pool pool : pools.values()) {
+            pool.markOpen();
+            metrics.poolCreated(pool);
+        }
     }
 
     private void initBootstrap() {
@@ -287,6 +331,77 @@ class ConnectionManager {
         this.bootstrap.group(group)
             .channelFactory(socketChannelFactory)
             .option(ChannelOption.SO_KEEPALIVE, true);
+        if (dnsResolverGroup != null) {
+            this.bootstrap.resolver(dnsResolverGroup);
+        }
+        if (domainSocketChannelFactory != null) {
+            // the TCP channel options do not apply to domain sockets
+            this.domainSocketBootstrap = new Bootstrap()
+                .group(group)
+                .channelFactory(domainSocketChannelFactory)
+                .resolver(NoopAddressResolverGroup.INSTANCE);
+        }
+    }
+
+    /**
+     * @return The metrics of the DNS resolver, or {@code null} if the asynchronous resolver is disabled
+     */
+    @Nullable
+    DnsResolverMetrics getDnsResolverMetrics() {
+        return dnsResolverGroup;
+    }
+
+    /**
+     * Report a request that failed without a response, e.g. because of a read timeout, to the
+     * adaptive concurrency limit.
+     *
+     * @param channel The channel of the request
+     */
+    void onRequestFailure(Channel channel) {
+        AdaptiveConcurrencyLimit.Permit permit = channel.attr(PERMIT).get();
+        if (permit != null) {
+            permit.onFailure();
+        }
+    }
+
+    /**
+     * Report a response received on a connection of this manager to the adaptive concurrency
+     * limit and the {@link HttpClientMetrics}.
+     *
+     * @param channel      The channel the response was received on
+     * @param statusCode   The response status code
+     * @param latencyNanos The time from sending the request to receiving the response head
+     */
+    void onResponse(Channel channel, int statusCode, long latencyNanos) {
+        AdaptiveConcurrencyLimit.Permit permit = channel.attr(PERMIT).get();
+        if (permit != null) {
+            permit.onResponse(statusCode, latencyNanos);
+        }
+        if (metrics == HttpClientMetrics.NOOP) {
+            return;
+        }
+        HttpClientMetrics.ConnectionPool pool = channel.attr(POOL).get();
+        if (pool == null && channel.parent() != null) {
+            // HTTP/2 stream
+            pool = channel.parent().attr(POOL).get();
+        }
+        if (pool != null) {
+            metrics.responseReceived(pool, statusCode / 100, latencyNanos);
+        }
+    }
+
+    /**
+     * @return Whether metrics are reported
+     */
+    boolean isMetricsEnabled() {
+        return metrics != HttpClientMetrics.NOOP;
+    }
+
+    /**
+     * @return Whether {@link #onResponse(Channel, int, long)} needs to be called
+     */
+    boolean isObservingResponses() {
+        return isMetricsEnabled() || configuration.getConcurrencyLimitConfiguration().isEnabled();
     }
 
     /**
@@ -296,6 +411,9 @@ class ConnectionManager {
         for (Pool pool : pools.values()) {
             pool.shutdown();
         }
+        if (dnsResolverGroup != null) {
+            dnsResolverGroup.close();
+        }
         if (shutdownGroup) {
             Duration shutdownTimeout = configuration.getShutdownTimeout()
                 .orElse(Duration.ofMillis(HttpClientConfiguration.DEFAULT_SHUTDOWN_TIMEOUT_MILLISECONDS));
@@ -334,14 +452,34 @@ class ConnectionManager {
      * @return Future that terminates when the TCP connection is established.
      */
     protected ChannelFuture doConnect(DefaultHttpClient.RequestKey requestKey, ChannelInitializer<?> channelInitializer) {
+        return doConnect(requestKey, channelInitializer, bootstrap(requestKey).clone());
+    }
+
+    /**
+     * @param requestKey The host to connect to
+     * @return The bootstrap of TCP or Unix domain socket connections
+     */
+    private Bootstrap bootstrap(DefaultHttpClient.RequestKey requestKey) {
+        if (requestKey.getSocketPath() == null) {
+            return bootstrap;
+        }
+        if (domainSocketBootstrap == null) {
+            throw customizeException(new HttpClientException("Cannot connect to Unix domain socket " + requestKey.getSocketPath() + ". Domain sockets require the epoll or kqueue native transport for the event loop group of the client"));
+        }
+        return domainSocketBootstrap;
+    }
+
+    private ChannelFuture doConnect(DefaultHttpClient.RequestKey requestKey, ChannelInitializer<?> channelInitializer, Bootstrap localBootstrap) {
+        localBootstrap.handler(channelInitializer);
+        if (requestKey.getSocketPath() != null) {
+            return localBootstrap.connect(DomainSocketHolder.makeDomainSocketAddress(requestKey.getSocketPath()));
+        }
         String host = requestKey.getHost();
         int port = requestKey.getPort();
-        Bootstrap localBootstrap = bootstrap.clone();
         Proxy proxy = configuration.resolveProxy(requestKey.isSecure(), host, port);
         if (proxy.type() != Proxy.Type.DIRECT) {
             localBootstrap.resolver(NoopAddressResolverGroup.INSTANCE);
         }
-        localBootstrap.handler(channelInitializer);
         return localBootstrap.connect(host, port);
     }
 
@@ -373,7 +511,72 @@ class ConnectionManager {
      * @return A mono that will complete once the channel is ready for transmission
      */
     Mono<PoolHandle> connect(DefaultHttpClient.RequestKey requestKey, @Nullable BlockHint blockHint) {
-        return pools.computeIfAbsent(requestKey, Pool::new).acquire(blockHint);
+        return connect(requestKey, blockHint, null);
+    }
+
+    /**
+     * Get a connection for non-websocket http client methods, preferably one that runs on the
+     * given event loop. If there is no such connection, a new connection is opened on that event
+     * loop, as long as the event loop uses the same transport as this connection manager.
+     *
+     * @param requestKey The remote to connect to
+     * @param blockHint Optional information about what threads are blocked for this connection request
+     * @param preferredEventLoop The event loop the connection should preferably run on
+     * @return A mono that will complete once the channel is ready for transmission
+     */
+    Mono<PoolHandle> connect(DefaultHttpClient.RequestKey requestKey, @Nullable BlockHint blockHint, @Nullable EventLoop preferredEventLoop) {
+        if (preferredEventLoop == null && configuration.isEventLoopAffinity()) {
+            EventLoop current = currentEventLoop();
+            // a blocking request must not wait for a connection of the loop it blocks
+            if (current != null && (blockHint == null || !blockHint.blocks(current))) {
+                preferredEventLoop = current;
+            }
+        } else if (preferredEventLoop != null && !isCompatible(preferredEventLoop)) {
+            // none of our connections can run on that loop, so the pool must not wait for one
+            preferredEventLoop = null;
+        }
+        return pools.computeIfAbsent(requestKey, Pool::new).acquire(blockHint, preferredEventLoop);
+    }
+
+    /**
+     * @return Whether the current thread is one of the event loops of this connection manager
+     */
+    boolean isInEventLoop() {
+        return currentEventLoop() != null;
+    }
+
+    /**
+     * @return The event loop of this connection manager that runs the current thread, or
+     * {@code null} if the current thread is not one of its event loops
+     */
+    @Nullable
+    private EventLoop currentEventLoop() {
+        for (EventExecutor executor : group) {
+            if (executor instanceof EventLoop eventLoop && eventLoop.inEventLoop()) {
+                return eventLoop;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param eventLoop The event loop
+     * @return Whether channels of this connection manager can be registered with the event loop
+     */
+    private boolean isCompatible(EventLoop eventLoop) {
+        // event loops of the same group type share the transport, e.g. nio or epoll
+        return eventLoop.parent() != null && eventLoop.parent().getClass() == group.getClass();
+    }
+
+    /**
+     * Open the minimum idle connections of the pool for the given remote.
+     *
+     * @param requestKey The remote to connect to
+     * @return A mono that completes once the idle connections are open
+     * @see io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#getMinIdleConnections()
+     */
+    Mono<Void> warmUp(DefaultHttpClient.RequestKey requestKey) {
+        return pools.computeIfAbsent(requestKey, Pool::new).warmUp();
     }
 
     /**
@@ -433,8 +636,12 @@ class ConnectionManager {
         return initial.asMono();
     }
 
-    private void configureProxy(ChannelPipeline pipeline, boolean secure, String host, int port) {
-        Proxy proxy = configuration.resolveProxy(secure, host, port);
+    private void configureProxy(ChannelPipeline pipeline, DefaultHttpClient.RequestKey requestKey) {
+        if (requestKey.getSocketPath() != null) {
+            // a domain socket is always reached directly
+            return;
+        }
+        Proxy proxy = configuration.resolveProxy(requestKey.isSecure(), requestKey.getHost(), requestKey.getPort());
         if (Proxy.NO_PROXY.equals(proxy)) {
             return;
         }
@@ -626,7 +833,7 @@ class ConnectionManager {
         protected void initChannel(@NonNull Channel ch) {
             NettyClientCustomizer channelCustomizer = clientCustomizer.specializeForChannel(ch, NettyClientCustomizer.ChannelRole.CONNECTION);
 
-            configureProxy(ch.pipeline(), true, host, port);
+            configureProxy(ch.pipeline(), pool.requestKey);
 
             ch.pipeline()
                 .addLast(ChannelPipelineCustomizer.HANDLER_SSL, configureSslHandler(sslContext.newHandler(ch.alloc(), host, port)))
@@ -714,7 +921,8 @@ class ConnectionManager {
                         new DefaultFullHttpRequest(io.netty.handler.codec.http.HttpVersion.HTTP_1_1, HttpMethod.GET, "/", Unpooled.EMPTY_BUFFER);
 
                     // Set HOST header as the remote peer may require it.
-                    upgradeRequest.headers().set(HttpHeaderNames.HOST, pool.requestKey.getHost() + ':' + pool.requestKey.getPort());
+                    DefaultHttpClient.RequestKey requestKey = pool.requestKey;
+                    upgradeRequest.headers().set(HttpHeaderNames.HOST, requestKey.getSocketPath() != null ? requestKey.getHost() : requestKey.getHost() + ':' + requestKey.getPort());
                     ctx.writeAndFlush(upgradeRequest);
                     ctx.pipeline().remove(ChannelPipelineCustomizer.HANDLER_HTTP2_UPGRADE_REQUEST);
                     // read the upgrade response
@@ -744,6 +952,8 @@ class ConnectionManager {
         boolean released = false;
 
         private final ResourceLeakTracker<PoolHandle> tracker = LEAK_DETECTOR.get().track(this);
+        @Nullable
+        private AdaptiveConcurrencyLimit.Permit permit;
 
         private PoolHandle(boolean http2, Channel channel) {
             this.http2 = http2;
@@ -767,6 +977,21 @@ class ConnectionManager {
             if (tracker != null) {
                 tracker.close(this);
             }
+            AdaptiveConcurrencyLimit.Permit permit = this.permit;
+            if (permit != null) {
+                channel.attr(PERMIT).compareAndSet(permit, null);
+                permit.release();
+            }
+        }
+
+        /**
+         * Attach the concurrency limit permit of the request, which is released with this handle.
+         *
+         * @param permit The permit
+         */
+        private void attachPermit(AdaptiveConcurrencyLimit.Permit permit) {
+            this.permit = permit;
+            channel.attr(PERMIT).set(permit);
         }
 
         /**
@@ -791,8 +1016,10 @@ class ConnectionManager {
      * The superclass {@link PoolResizer} handles pool size management, this class just implements
      * the HTTP parts.
      */
-    private final class Pool extends PoolResizer {
+    private final class Pool extends PoolResizer implements HttpClientMetrics.ConnectionPool {
         private final DefaultHttpClient.RequestKey requestKey;
+        @Nullable
+        private final AdaptiveConcurrencyLimit concurrencyLimit;
 
         /**
          * {@link ChannelHandler} that is added to a connection to report failures during
@@ -808,18 +1035,73 @@ class ConnectionManager {
         Pool(DefaultHttpClient.RequestKey requestKey) {
             super(log, configuration.getConnectionPoolConfiguration());
             this.requestKey = requestKey;
+            HttpClientConfiguration.ConcurrencyLimitConfiguration concurrencyLimitConfiguration = configuration.getConcurrencyLimitConfiguration();
+            this.concurrencyLimit = concurrencyLimitConfiguration.isEnabled() ? new AdaptiveConcurrencyLimit(concurrencyLimitConfiguration) : null;
+            metrics.poolCreated(this);
+        }
+
+        @Override
+        public String getHost() {
+            return requestKey.getHost();
         }
 
-        Mono<PoolHandle> acquire(@Nullable BlockHint blockHint) {
-            PoolSink<PoolHandle> sink = new CancellableMonoSink<>(blockHint);
+        @Override
+        public int getPort() {
+            return requestKey.getPort();
+        }
+
+        @Override
+        public boolean isSecure() {
+            return requestKey.isSecure();
+        }
+
+        @Override
+        public int getConcurrencyLimit() {
+            return concurrencyLimit == null ? -1 : concurrencyLimit.getLimit();
+        }
+
+        @Override
+        public int getInflightRequests() {
+            return concurrencyLimit == null ? -1 : concurrencyLimit.getInflight();
+        }
+
+        Mono<PoolHandle> acquire(@Nullable BlockHint blockHint, @Nullable EventLoop preferredEventLoop) {
+            AdaptiveConcurrencyLimit.Permit permit = null;
+            if (concurrencyLimit != null) {
+                permit = concurrencyLimit.tryAcquire();
+                if (permit == null) {
+                    // fail fast instead of queueing behind a remote that cannot keep up
+                    metrics.concurrencyLimitExceeded(this);
+                    return Mono.error(customizeException(new ConcurrencyLimitExceededException(getHost(), getPort(), concurrencyLimit.getLimit())));
+                }
+            }
+            PoolSink<PoolHandle> sink = new CancellableMonoSink<>(blockHint, preferredEventLoop);
+            long start = System.nanoTime();
             addPendingRequest(sink);
+            Mono<PoolHandle> mono;
             Optional<Duration> acquireTimeout = configuration.getConnectionPoolConfiguration().getAcquireTimeout();
             //noinspection OptionalIsPresent
             if (acquireTimeout.isPresent()) {
-                return sink.asMono().timeout(acquireTimeout.get(), Schedulers.fromExecutor(group));
+                mono = sink.asMono().timeout(acquireTimeout.get(), Schedulers.fromExecutor(group));
             } else {
-                return sink.asMono();
+                mono = sink.asMono();
+            }
+            if (isMetricsEnabled()) {
+                mono = mono
+                    .doOnNext(ph -> metrics.connectionAcquired(this, System.nanoTime() - start))
+                    .doOnError(e -> metrics.acquireFailed(this, System.nanoTime() - start));
+            }
+            if (permit != null) {
+                AdaptiveConcurrencyLimit.Permit p = permit;
+                mono = mono
+                    .doOnNext(ph -> ph.attachPermit(p))
+                    .doOnError(e -> {
+                        p.onFailure();
+                        p.release();
+                    })
+                    .doOnCancel(p::cancel);
             }
+            return mono;
         }
 
         @Override
@@ -844,7 +1126,7 @@ class ConnectionManager {
         }
 
         @Override
-        void openNewConnection(@Nullable BlockHint blockHint) throws Exception {
+        void openNewConnection(@Nullable BlockHint blockHint, @Nullable EventLoop preferredEventLoop) throws Exception {
             // open a new connection
             ChannelInitializer<?> initializer;
             if (requestKey.isSecure()) {
@@ -860,7 +1142,7 @@ class ConnectionManager {
                         initializer = new ChannelInitializer<Channel>() {
                             @Override
                             protected void initChannel(@NonNull Channel ch) throws Exception {
-                                configureProxy(ch.pipeline(), false, requestKey.getHost(), requestKey.getPort());
+                                configureProxy(ch.pipeline(), requestKey);
                                 initHttp1(ch);
                                 ch.pipeline().addLast(ChannelPipelineCustomizer.HANDLER_ACTIVITY_LISTENER, new ChannelInboundHandlerAdapter() {
                                     @Override
@@ -881,7 +1163,13 @@ class ConnectionManager {
                         throw new AssertionError("Unknown plaintext mode");
                 }
             }
-            ChannelFuture channelFuture = doConnect(requestKey, initializer);
+            long start = System.nanoTime();
+            ChannelFuture channelFuture;
+            if (preferredEventLoop != null && isCompatible(preferredEventLoop)) {
+                channelFuture = doConnect(requestKey, initializer, bootstrap(requestKey).clone(preferredEventLoop));
+            } else {
+                channelFuture = doConnect(requestKey, initializer);
+            }
             if (blockHint != null && blockHint.blocks(channelFuture.channel().eventLoop())) {
                 channelFuture.channel().close();
                 onNewConnectionFailure(BlockHint.createException());
@@ -890,11 +1178,24 @@ class ConnectionManager {
             addInstrumentedListener(channelFuture, future -> {
                 if (!future.isSuccess()) {
                     onNewConnectionFailure(future.cause());
+                } else if (isMetricsEnabled()) {
+                    long connected = System.nanoTime();
+                    metrics.connected(this, connected - start);
+                    SslHandler sslHandler = channelFuture.channel().pipeline().get(SslHandler.class);
+                    if (sslHandler != null) {
+                        sslHandler.handshakeFuture().addListener(f -> {
+                            if (f.isSuccess()) {
+                                metrics.tlsHandshakeCompleted(this, System.nanoTime() - connected);
+                            }
+                        });
+                    }
                 }
             });
         }
 
         public void shutdown() {
+            markClosed();
+            metrics.poolClosed(this);
             forEachConnection(c -> ((ConnectionHolder) c).channel.close());
         }
 
@@ -915,6 +1216,7 @@ class ConnectionManager {
             ConnectionHolder(Channel channel, NettyClientCustomizer connectionCustomizer) {
                 this.channel = channel;
                 this.connectionCustomizer = connectionCustomizer;
+                channel.attr(POOL).set(Pool.this);
             }
 
             /**
@@ -1037,6 +1339,16 @@ class ConnectionManager {
              */
             abstract boolean hasLiveRequests();
 
+            @Override
+            boolean isIdle() {
+                return !windDownConnection && !hasLiveRequests();
+            }
+
+            @Override
+            EventLoop eventLoop() {
+                return channel.eventLoop();
+            }
+
             /**
              * Send a read timeout exception to all requests on this connection.
              *
@@ -1188,6 +1500,11 @@ class ConnectionManager {
                 return liveRequests.get() > 0;
             }
 
+            @Override
+            boolean isIdle() {
+                return !windDownConnection && liveRequests.get() < configuration.getConnectionPoolConfiguration().getMaxConcurrentRequestsPerHttp2Connection();
+            }
+
             @Override
             void fireReadTimeout(ChannelHandlerContext ctx) {
                 for (Channel sc : liveStreamChannels) {
@@ -1204,6 +1521,7 @@ class ConnectionManager {
                 addInstrumentedListener(new Http2StreamChannelBootstrap(channel).open(), (Future<Http2StreamChannel> future) -> {
                     if (future.isSuccess()) {
                         Http2StreamChannel streamChannel = future.get();
+                        metrics.http2StreamOpened(Pool.this, liveRequests.get());
                         streamChannel.pipeline()
                             .addLast(new Http2StreamFrameToHttpObjectCodec(false))
                             .addLast(ChannelPipelineCustomizer.HANDLER_HTTP_DECOMPRESSOR, new HttpContentDecompressor());
@@ -1267,4 +1585,18 @@ class ConnectionManager {
             }
         }
     }
+
+    /**
+     * Creates the addresses of domain sockets, which need the optional native transport.
+     */
+    private static final class DomainSocketHolder {
+        @NonNull
+        private static SocketAddress makeDomainSocketAddress(String path) {
+            try {
+                return new DomainSocketAddress(path);
+            } catch (NoClassDefFoundError e) {
+                throw new UnsupportedOperationException("Netty domain socket support not on classpath", e);
+            }
+        }
+    }
 }
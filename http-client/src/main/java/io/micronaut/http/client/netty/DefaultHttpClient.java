@@ -16,7 +16,9 @@
 package io.micronaut.http.client.netty;
 
 import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.context.exceptions.ConfigurationException;
 import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationMetadataProvider;
 import io.micronaut.core.annotation.AnnotationMetadataResolver;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
@@ -37,6 +39,7 @@ import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.ObjectUtils;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpResponseWrapper;
@@ -49,6 +52,10 @@ import io.micronaut.http.bind.DefaultRequestBinderRegistry;
 import io.micronaut.http.bind.RequestBinderRegistry;
 import io.micronaut.http.client.BlockingHttpClient;
 import io.micronaut.http.client.DefaultHttpClientConfiguration;
+import io.micronaut.http.client.DnsResolverMetrics;
+import io.micronaut.http.client.DownloadOptions;
+import io.micronaut.http.client.FileBody;
+import io.micronaut.http.client.HedgingMetrics;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.HttpClientConfiguration;
 import io.micronaut.http.client.HttpVersionSelection;
@@ -57,6 +64,10 @@ import io.micronaut.http.client.ProxyHttpClient;
 import io.micronaut.http.client.ProxyRequestOptions;
 import io.micronaut.http.client.ServiceHttpClientConfiguration;
 import io.micronaut.http.client.StreamingHttpClient;
+import io.micronaut.http.client.annotation.Coalesced;
+import io.micronaut.http.client.annotation.Hedged;
+import io.micronaut.http.client.cache.DiskResponseCacheStore;
+import io.micronaut.http.client.cache.HttpResponseCache;
 import io.micronaut.http.client.exceptions.ContentLengthExceededException;
 import io.micronaut.http.client.exceptions.HttpClientErrorDecoder;
 import io.micronaut.http.client.exceptions.HttpClientException;
@@ -66,6 +77,7 @@ import io.micronaut.http.client.exceptions.ReadTimeoutException;
 import io.micronaut.http.client.filter.ClientFilterResolutionContext;
 import io.micronaut.http.client.filter.DefaultHttpClientFilterResolver;
 import io.micronaut.http.client.filters.ClientServerContextFilter;
+import io.micronaut.http.client.loadbalance.LoadAwareLoadBalancer;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.multipart.MultipartDataFactory;
 import io.micronaut.http.client.netty.ssl.NettyClientSslBuilder;
@@ -88,6 +100,7 @@ import io.micronaut.http.netty.NettyHttpRequestBuilder;
 import io.micronaut.http.netty.NettyHttpResponseBuilder;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
 import io.micronaut.http.netty.stream.DefaultStreamedHttpResponse;
+import io.micronaut.http.netty.stream.DirectStreamedHttpMessage;
 import io.micronaut.http.netty.stream.HttpStreamsClientHandler;
 import io.micronaut.http.netty.stream.JsonSubscriber;
 import io.micronaut.http.netty.stream.StreamedHttpRequest;
@@ -122,8 +135,11 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -151,12 +167,14 @@ import io.netty.handler.codec.http.multipart.HttpPostRequestEncoder;
 import io.netty.handler.codec.http.multipart.InterfaceHttpData;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.AttributeKey;
 import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.Promise;
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
@@ -168,6 +186,8 @@ import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.context.Context;
 
 import java.io.Closeable;
@@ -178,8 +198,10 @@ import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
@@ -258,6 +280,12 @@ public class DefaultHttpClient implements
     private final List<InvocationInstrumenterFactory> invocationInstrumenterFactories;
     private final String informationalServiceId;
     private final ConversionService conversionService;
+    @Nullable
+    private final HttpResponseCache responseCache;
+    private final HedgingPolicy hedgingPolicy;
+    private final RequestCoalescer requestCoalescer;
+    @Nullable
+    private final Mono<Void> warmUp;
 
     /**
      * Construct a client for the given arguments.
@@ -339,6 +367,73 @@ public class DefaultHttpClient implements
                              List<InvocationInstrumenterFactory> invocationInstrumenterFactories,
                              @Nullable String informationalServiceId,
                              ConversionService conversionService
+    ) {
+        this(loadBalancer,
+            explicitHttpVersion,
+            configuration,
+            contextPath,
+            filterResolver,
+            clientFilterEntries,
+            threadFactory,
+            nettyClientSslBuilder,
+            codecRegistry,
+            webSocketBeanRegistry,
+            requestBinderRegistry,
+            eventLoopGroup,
+            socketChannelFactory,
+            null,
+            null,
+            clientCustomizer,
+            invocationInstrumenterFactories,
+            informationalServiceId,
+            conversionService,
+            null);
+    }
+
+    /**
+     * Construct a client for the given arguments.
+     *  @param loadBalancer                    The {@link LoadBalancer} to use for selecting servers
+     * @param explicitHttpVersion                     The HTTP version to use. Can be null and defaults to {@link io.micronaut.http.HttpVersion#HTTP_1_1}
+     * @param configuration                   The {@link HttpClientConfiguration} object
+     * @param contextPath                     The base URI to prepend to request uris
+     * @param filterResolver                  The http client filter resolver
+     * @param clientFilterEntries             The client filter entries
+     * @param threadFactory                   The thread factory to use for client threads
+     * @param nettyClientSslBuilder           The SSL builder
+     * @param codecRegistry                   The {@link MediaTypeCodecRegistry} to use for encoding and decoding objects
+     * @param webSocketBeanRegistry           The websocket bean registry
+     * @param requestBinderRegistry           The request binder registry
+     * @param eventLoopGroup                  The event loop group to use
+     * @param socketChannelFactory            The socket channel factory
+     * @param datagramChannelFactory          The datagram channel factory of the DNS resolver, defaults to NIO
+     * @param domainSocketChannelFactory      The channel factory of Unix domain socket connections, if supported
+     * @param clientCustomizer                The pipeline customizer
+     * @param invocationInstrumenterFactories The invocation instrumeter factories to instrument netty handlers execution with
+     * @param informationalServiceId          Optional service ID that will be passed to exceptions created by this client
+     * @param conversionService               The conversion service
+     * @param metrics                         The metrics of the connection pools, defaults to {@link HttpClientMetrics#NOOP}
+     * @since 4.0.0
+     */
+    public DefaultHttpClient(@Nullable LoadBalancer loadBalancer,
+                             @Nullable HttpVersionSelection explicitHttpVersion,
+                             @NonNull HttpClientConfiguration configuration,
+                             @Nullable String contextPath,
+                             @NonNull HttpClientFilterResolver<ClientFilterResolutionContext> filterResolver,
+                             List<HttpFilterResolver.FilterEntry> clientFilterEntries,
+                             @Nullable ThreadFactory threadFactory,
+                             @NonNull NettyClientSslBuilder nettyClientSslBuilder,
+                             @NonNull MediaTypeCodecRegistry codecRegistry,
+                             @NonNull WebSocketBeanRegistry webSocketBeanRegistry,
+                             @NonNull RequestBinderRegistry requestBinderRegistry,
+                             @Nullable EventLoopGroup eventLoopGroup,
+                             @NonNull ChannelFactory socketChannelFactory,
+                             @Nullable ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
+                             @Nullable ChannelFactory<? extends Channel> domainSocketChannelFactory,
+                             NettyClientCustomizer clientCustomizer,
+                             List<InvocationInstrumenterFactory> invocationInstrumenterFactories,
+                             @Nullable String informationalServiceId,
+                             ConversionService conversionService,
+                             @Nullable HttpClientMetrics metrics
     ) {
         ArgumentUtils.requireNonNull("nettyClientSslBuilder", nettyClientSslBuilder);
         ArgumentUtils.requireNonNull("codecRegistry", codecRegistry);
@@ -376,6 +471,9 @@ public class DefaultHttpClient implements
         this.requestBinderRegistry = requestBinderRegistry;
         this.informationalServiceId = informationalServiceId;
         this.conversionService = conversionService;
+        this.responseCache = createResponseCache(configuration.getResponseCacheConfiguration(), informationalServiceId);
+        this.hedgingPolicy = new HedgingPolicy(configuration.getHedgingConfiguration());
+        this.requestCoalescer = new RequestCoalescer(configuration.getCoalescingConfiguration());
 
         this.connectionManager = new ConnectionManager(
             log,
@@ -385,9 +483,76 @@ public class DefaultHttpClient implements
             explicitHttpVersion,
             combineFactories(),
             socketChannelFactory,
+            datagramChannelFactory != null ? datagramChannelFactory : NioDatagramChannel::new,
+            domainSocketChannelFactory,
             nettyClientSslBuilder,
             clientCustomizer,
-            informationalServiceId);
+            informationalServiceId,
+            metrics != null ? metrics : HttpClientMetrics.NOOP);
+        this.warmUp = warmUp();
+    }
+
+    /**
+     * Start opening the minimum idle connections to the instances known to the load balancer.
+     *
+     * @return The warm-up, or {@code null} if no idle connections are kept
+     */
+    @Nullable
+    private Mono<Void> warmUp() {
+        HttpClientConfiguration.ConnectionPoolConfiguration poolConfiguration = configuration.getConnectionPoolConfiguration();
+        if (loadBalancer == null || !poolConfiguration.isEnabled() || poolConfiguration.getMinIdleConnections() <= 0) {
+            return null;
+        }
+        Mono<Void> warmUp = Flux.from(loadBalancer.getInstances())
+            .flatMapIterable(Function.identity())
+            .flatMap(instance -> Mono.defer(() -> connectionManager.warmUp(new RequestKey(this, resolve(instance, instance.getURI()))))
+                .onErrorResume(e -> {
+                    if (log.isWarnEnabled()) {
+                        log.warn("Failed to open the idle connections to {}: {}", instance.getURI(), e.getMessage());
+                    }
+                    return Mono.empty();
+                }))
+            .then()
+            .cache();
+        warmUp.subscribe(null, e -> log.warn("Failed to open the idle connections of the HTTP client: {}", e.getMessage()));
+        return warmUp;
+    }
+
+    /**
+     * Wait for the idle connections opened when this client was created. Never blocks an event
+     * loop thread.
+     *
+     * @param timeout The maximum time to wait
+     */
+    void awaitWarmUp(Duration timeout) {
+        if (warmUp == null || connectionManager.isInEventLoop() || Schedulers.isInNonBlockingThread()) {
+            return;
+        }
+        try {
+            warmUp.block(timeout);
+        } catch (RuntimeException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("The idle connections of the HTTP client were not opened within {}: {}", timeout, e.getMessage());
+            }
+        }
+    }
+
+    @Nullable
+    private static HttpResponseCache createResponseCache(HttpClientConfiguration.ResponseCacheConfiguration cacheConfiguration, @Nullable String serviceId) {
+        if (!cacheConfiguration.isEnabled()) {
+            return null;
+        }
+        DiskResponseCacheStore disk = null;
+        Optional<Path> diskPath = cacheConfiguration.getDiskPath();
+        if (diskPath.isPresent()) {
+            Path directory = diskPath.get().resolve(serviceId != null ? serviceId : "default");
+            try {
+                disk = new DiskResponseCacheStore(directory, cacheConfiguration.getMaximumDiskSize());
+            } catch (IOException e) {
+                throw new ConfigurationException("Cannot open the HTTP client response cache directory " + directory + ": " + e.getMessage(), e);
+            }
+        }
+        return new HttpResponseCache(cacheConfiguration.getMaximumMemorySize(), cacheConfiguration.getMaximumEntrySize(), disk);
     }
 
     /**
@@ -450,6 +615,23 @@ public class DefaultHttpClient implements
         return log;
     }
 
+    /**
+     * @return The metrics of the hedged requests of this client
+     * @since 4.0.0
+     */
+    public HedgingMetrics getHedgingMetrics() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * @return The metrics of the host name resolutions of this client, if the asynchronous DNS
+     * resolver is enabled
+     * @since 4.0.0
+     */
+    public Optional<DnsResolverMetrics> getDnsResolverMetrics() {
+        return Optional.ofNullable(connectionManager.getDnsResolverMetrics());
+    }
+
     @Override
     public HttpClient start() {
         if (!isRunning()) {
@@ -749,6 +931,52 @@ public class DefaultHttpClient implements
                 });
     }
 
+    @Override
+    public <I> Publisher<io.micronaut.http.HttpResponse<Path>> download(@NonNull io.micronaut.http.HttpRequest<I> request, @NonNull Path target, @NonNull DownloadOptions options) {
+        setupConversionService(request);
+        io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
+        return Flux.defer(() -> {
+            MutableHttpRequest<?> mutableRequest = toMutableRequest(request);
+            long resumeFrom = 0;
+            if (options.isResume()) {
+                try {
+                    resumeFrom = FileDownload.resumableLength(target);
+                } catch (IOException e) {
+                    return Flux.error(customizeException(new HttpClientException("Cannot resume the download of " + target + ": " + e.getMessage(), e)));
+                }
+                mutableRequest.getHeaders().remove(HttpHeaderNames.RANGE);
+                if (resumeFrom > 0) {
+                    mutableRequest.getHeaders().add(HttpHeaderNames.RANGE, "bytes=" + resumeFrom + "-");
+                }
+            }
+            long skipped = resumeFrom;
+            FileDownload download = new FileDownload(target, resumeFrom, options.getProgressListener());
+            return Flux.from(resolveRequestURI(mutableRequest))
+                .flatMap(uri -> buildStreamExchange(parentRequest, mutableRequest, uri, DEFAULT_ERROR_TYPE))
+                .concatMap(response -> {
+                    StreamedHttpResponse streamedResponse = NettyHttpResponseBuilder.toStreamResponse(response);
+                    return download.write(streamedResponse, streamedResponse)
+                        .then(Mono.fromCallable(() -> toDownloadResponse(streamedResponse, target)));
+                })
+                .onErrorResume(HttpClientResponseException.class, e -> {
+                    // the file is already complete
+                    if (skipped > 0 && FileDownload.isComplete(e.getResponse(), skipped)) {
+                        StreamedHttpResponse streamedResponse = NettyHttpResponseBuilder.toStreamResponse(e.getResponse());
+                        return Flux.from(streamedResponse)
+                            .doOnNext(ReferenceCountUtil::release)
+                            .then(Mono.fromCallable(() -> toDownloadResponse(streamedResponse, target)));
+                    }
+                    return Flux.error(e);
+                });
+        });
+    }
+
+    private io.micronaut.http.HttpResponse<Path> toDownloadResponse(StreamedHttpResponse streamedResponse, Path target) {
+        NettyStreamedHttpResponse<Path> response = new NettyStreamedHttpResponse<>(streamedResponse, conversionService);
+        response.setBody(target);
+        return new HttpResponseWrapper<>(response);
+    }
+
     @Override
     public <I, O> Publisher<O> jsonStream(@NonNull io.micronaut.http.HttpRequest<I> request, @NonNull Argument<O> type) {
         return jsonStream(request, type, DEFAULT_ERROR_TYPE);
@@ -784,11 +1012,97 @@ public class DefaultHttpClient implements
     private <I, O, E> Flux<HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType, @Nullable BlockHint blockHint) {
         setupConversionService(request);
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
+        if (isHedged(request)) {
+            return hedgedExchange(request, parentRequest, bodyType, errorType, blockHint);
+        }
         Publisher<URI> uriPublisher = resolveRequestURI(request);
         return Flux.from(uriPublisher)
             .switchMap(uri -> exchangeImpl(uri, parentRequest, toMutableRequest(request), bodyType, errorType, blockHint));
     }
 
+    private boolean isHedged(io.micronaut.http.HttpRequest<?> request) {
+        AnnotationMetadata annotationMetadata = invocationAnnotationMetadata(request);
+        boolean hedged = annotationMetadata.hasAnnotation(Hedged.class)
+            ? annotationMetadata.booleanValue(Hedged.class).orElse(true)
+            : hedgingPolicy.isEnabled();
+        if (!hedged || !io.micronaut.http.HttpMethod.isIdempotent(request.getMethod())) {
+            return false;
+        }
+        // a streamed body cannot be sent twice
+        Optional<?> body = request.getBody();
+        return body.isEmpty() || !Publishers.isConvertibleToPublisher(body.get());
+    }
+
+    private AnnotationMetadata invocationAnnotationMetadata(io.micronaut.http.HttpRequest<?> request) {
+        return request.getAttribute(HttpAttributes.INVOCATION_CONTEXT, AnnotationMetadataProvider.class)
+            .map(AnnotationMetadataProvider::getAnnotationMetadata)
+            .orElse(AnnotationMetadata.EMPTY_METADATA);
+    }
+
+    private <I, O, E> Flux<HttpResponse<O>> hedgedExchange(
+        io.micronaut.http.HttpRequest<I> request,
+        @Nullable io.micronaut.http.HttpRequest<?> parentRequest,
+        Argument<O> bodyType,
+        Argument<E> errorType,
+        @Nullable BlockHint blockHint) {
+        return Flux.defer(() -> {
+            Duration methodDelay = invocationAnnotationMetadata(request).stringValue(Hedged.class, "delay")
+                .filter(StringUtils::isNotEmpty)
+                .map(delay -> conversionService.convertRequired(delay, Duration.class))
+                .orElse(null);
+            Duration delay = hedgingPolicy.onRequest(methodDelay);
+            // copied before the filters of the primary attempt modify the request
+            MutableHttpRequest<Object> hedgeRequest = copyRequest(request);
+            AtomicReference<URI> primaryURI = new AtomicReference<>();
+            Mono<HttpResponse<O>> primary = timed(Flux.from(resolveRequestURI(request))
+                .switchMap(uri -> {
+                    primaryURI.set(uri);
+                    return exchangeImpl(uri, parentRequest, toMutableRequest(request), bodyType, errorType, blockHint);
+                }));
+            if (delay == null) {
+                return primary;
+            }
+            Mono<HttpResponse<O>> hedge = timed(Flux.from(resolveRequestURI(hedgeRequest))
+                // select once more if the load balancer picked the server of the primary attempt
+                .repeat(1)
+                .filter(uri -> !isSameServer(uri, primaryURI.get()))
+                .take(1)
+                .switchMap(uri -> {
+                    hedgingPolicy.onHedgeSent();
+                    return exchangeImpl(uri, parentRequest, hedgeRequest, bodyType, errorType, blockHint);
+                }));
+            return hedgingPolicy.hedge(primary, hedge, delay);
+        });
+    }
+
+    private <O> Mono<HttpResponse<O>> timed(Flux<HttpResponse<O>> attempt) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.next()
+                .doOnNext(response -> hedgingPolicy.recordLatency(System.nanoTime() - start))
+                .doOnError(HttpClientResponseException.class, e -> hedgingPolicy.recordLatency(System.nanoTime() - start));
+        });
+    }
+
+    private static boolean isSameServer(URI uri, @Nullable URI other) {
+        return other != null
+            && Objects.equals(uri.getScheme(), other.getScheme())
+            && Objects.equals(uri.getHost(), other.getHost())
+            && uri.getPort() == other.getPort();
+    }
+
+    private static MutableHttpRequest<Object> copyRequest(io.micronaut.http.HttpRequest<?> request) {
+        MutableHttpRequest<Object> copy = io.micronaut.http.HttpRequest.create(request.getMethod(), request.getUri().toString(), request.getMethodName());
+        request.getHeaders().forEach((name, values) -> {
+            for (String value : values) {
+                copy.header(name, value);
+            }
+        });
+        request.getAttributes().forEach(copy::setAttribute);
+        request.getBody().ifPresent(copy::body);
+        return copy;
+    }
+
     @Override
     public <I, O, E> Publisher<O> retrieve(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType) {
         setupConversionService(request);
@@ -842,6 +1156,9 @@ public class DefaultHttpClient implements
     @Override
     public void close() {
         stop();
+        if (responseCache != null) {
+            responseCache.close();
+        }
     }
 
     private <T> Publisher<T> connectWebSocket(URI uri, MutableHttpRequest<?> request, Class<T> clientEndpointType, WebSocketBean<T> webSocketBean) {
@@ -976,7 +1293,7 @@ public class DefaultHttpClient implements
             @Nullable Argument<?> errorType) {
 
         AtomicReference<MutableHttpRequest<?>> requestWrapper = new AtomicReference<>(request);
-        Flux<MutableHttpResponse<?>> streamResponsePublisher = connectAndStream(parentRequest, request, requestURI, requestWrapper, false, true);
+        Flux<MutableHttpResponse<?>> streamResponsePublisher = connectAndStream(parentRequest, request, requestURI, requestWrapper, false, false, true);
 
         streamResponsePublisher = readBodyOnError(errorType, streamResponsePublisher);
 
@@ -1005,7 +1322,7 @@ public class DefaultHttpClient implements
                     }
 
                     AtomicReference<MutableHttpRequest<?>> requestWrapper = new AtomicReference<>(httpRequest);
-                    Flux<MutableHttpResponse<?>> proxyResponsePublisher = connectAndStream(request, request, requestURI, requestWrapper, true, false);
+                    Flux<MutableHttpResponse<?>> proxyResponsePublisher = connectAndStream(request, request, requestURI, requestWrapper, true, options.isDirectStreaming(), false);
                     // apply filters
                     //noinspection unchecked
                     proxyResponsePublisher = Flux.from(
@@ -1033,6 +1350,7 @@ public class DefaultHttpClient implements
             URI requestURI,
             AtomicReference<MutableHttpRequest<?>> requestWrapper,
             boolean isProxy,
+            boolean directStreaming,
             boolean failOnError
     ) {
         RequestKey requestKey;
@@ -1041,7 +1359,16 @@ public class DefaultHttpClient implements
         } catch (Exception e) {
             return Flux.error(e);
         }
-        return connectionManager.connect(requestKey, null).flatMapMany(poolHandle -> {
+        EventLoop preferredEventLoop = null;
+        if (directStreaming) {
+            // pin the connection to the event loop of the server connection, so that the bodies
+            // are forwarded without a thread switch
+            Channel inboundChannel = NettyHttpRequestBuilder.findInboundChannel(parentRequest);
+            if (inboundChannel != null) {
+                preferredEventLoop = inboundChannel.eventLoop();
+            }
+        }
+        return connectionManager.connect(requestKey, null, preferredEventLoop).flatMapMany(poolHandle -> {
             request.setAttribute(NettyClientHttpRequest.CHANNEL, poolHandle.channel);
 
             boolean sse = !isProxy && isAcceptEvents(request);
@@ -1081,6 +1408,7 @@ public class DefaultHttpClient implements
                 parentRequest,
                 requestWrapper.get(),
                 poolHandle,
+                directStreaming,
                 failOnError,
                 requestKey.isSecure()
             );
@@ -1106,35 +1434,25 @@ public class DefaultHttpClient implements
             return Flux.error(e);
         }
 
-        Mono<ConnectionManager.PoolHandle> handlePublisher = connectionManager.connect(requestKey, blockHint);
-
-        Flux<io.micronaut.http.HttpResponse<O>> responsePublisher = handlePublisher.flatMapMany(poolHandle -> {
-            poolHandle.channel.pipeline()
-                .addLast(ChannelPipelineCustomizer.HANDLER_HTTP_AGGREGATOR, new HttpObjectAggregator(configuration.getMaxContentLength()) {
-                    @Override
-                    protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
-                        // only set content-length if there's any content
-                        if (!HttpUtil.isContentLengthSet(aggregated) &&
-                            aggregated.content().readableBytes() > 0) {
-                            super.finishAggregation(aggregated);
-                        }
+        // the filters add their headers to the request, so the request for a background
+        // revalidation is copied before they run and is passed through them again
+        MutableHttpRequest<?> revalidationRequest = responseCache != null && request.getMethod() == io.micronaut.http.HttpMethod.GET
+            ? copyForRevalidation(request) : null;
+        Flux<io.micronaut.http.HttpResponse<O>> responsePublisher = Flux.defer(() -> {
+            // the cache is consulted after the filters, so that it sees the final request
+            MutableHttpRequest<?> finalRequest = requestWrapper.get();
+            if (responseCache == null) {
+                return exchangeUncached(requestURI, requestKey, finalRequest, bodyType, errorType, blockHint, null);
+            }
+            return ResponseCacheExchange.begin(responseCache, finalRequest).flatMapMany(cacheExchange -> {
+                if (cacheExchange.isFromCache()) {
+                    HttpResponseCache.Match revalidation = cacheExchange.getBackgroundRevalidation();
+                    if (revalidation != null && revalidationRequest != null) {
+                        revalidateInBackground(requestURI, requestKey, parentRequest, revalidationRequest, revalidation);
                     }
-                })
-                .addLast(ChannelPipelineCustomizer.HANDLER_HTTP_STREAM, new HttpStreamsClientHandler());
-
-            return Flux.create(emitter -> {
-                try {
-                    sendRequestThroughChannel(
-                        requestWrapper.get(),
-                        bodyType,
-                        errorType,
-                        emitter,
-                        requestKey.isSecure(),
-                        poolHandle
-                    );
-                } catch (Exception e) {
-                    emitter.error(e);
+                    return respondFromCache(cacheExchange, finalRequest, bodyType, errorType, requestKey.isSecure());
                 }
+                return exchangeUncached(requestURI, requestKey, finalRequest, bodyType, errorType, blockHint, cacheExchange);
             });
         });
 
@@ -1166,6 +1484,192 @@ public class DefaultHttpClient implements
         return finalReactiveSequence;
     }
 
+    /**
+     * Send a request that cannot be answered from the cache, sharing the response with
+     * identical requests if coalescing is enabled.
+     */
+    private <O, E> Flux<io.micronaut.http.HttpResponse<O>> exchangeUncached(
+        URI requestURI,
+        RequestKey requestKey,
+        MutableHttpRequest<?> request,
+        Argument<O> bodyType,
+        Argument<E> errorType,
+        @Nullable BlockHint blockHint,
+        @Nullable ResponseCacheExchange cacheExchange) {
+        RequestCoalescer.Key coalescingKey = isCoalesced(request) ? requestCoalescer.key(requestKey, request) : null;
+        if (coalescingKey == null) {
+            return send(requestURI, requestKey, request, bodyType, errorType, blockHint, cacheExchange, null);
+        }
+        RequestCoalescer.Flight flight = requestCoalescer.lead(coalescingKey);
+        if (flight == null) {
+            return requestCoalescer.follow(coalescingKey)
+                .flatMapMany(response -> respondShared(response, request, bodyType, errorType, requestKey.isSecure()))
+                .switchIfEmpty(Flux.defer(() -> send(requestURI, requestKey, request, bodyType, errorType, blockHint, cacheExchange, null)));
+        }
+        return send(requestURI, requestKey, request, bodyType, errorType, blockHint, cacheExchange, flight)
+            .doOnError(flight::fail)
+            .doFinally(signal -> flight.abandon());
+    }
+
+    private <O, E> Flux<io.micronaut.http.HttpResponse<O>> send(
+        URI requestURI,
+        RequestKey requestKey,
+        MutableHttpRequest<?> request,
+        Argument<O> bodyType,
+        Argument<E> errorType,
+        @Nullable BlockHint blockHint,
+        @Nullable ResponseCacheExchange cacheExchange,
+        @Nullable RequestCoalescer.Flight flight) {
+        return trackLoad(requestURI, connectionManager.connect(requestKey, blockHint).flatMapMany(poolHandle ->
+            sendRequest(poolHandle, request, bodyType, errorType, requestKey.isSecure(), cacheExchange, flight)));
+    }
+
+    private boolean isCoalesced(io.micronaut.http.HttpRequest<?> request) {
+        AnnotationMetadata annotationMetadata = invocationAnnotationMetadata(request);
+        return annotationMetadata.hasAnnotation(Coalesced.class)
+            ? annotationMetadata.booleanValue(Coalesced.class).orElse(true)
+            : configuration.getCoalescingConfiguration().isEnabled();
+    }
+
+    /**
+     * Report the outstanding requests and their latency to a {@link LoadAwareLoadBalancer}.
+     */
+    private <O> Flux<io.micronaut.http.HttpResponse<O>> trackLoad(URI requestURI, Flux<io.micronaut.http.HttpResponse<O>> response) {
+        if (!(loadBalancer instanceof LoadAwareLoadBalancer loadAware)) {
+            return response;
+        }
+        return Flux.defer(() -> {
+            loadAware.requestStarted(requestURI);
+            long start = System.nanoTime();
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            return response
+                .doOnError(error::set)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        // e.g. a hedged request lost, the elapsed time is no latency sample
+                        loadAware.requestCancelled(requestURI);
+                    } else {
+                        loadAware.requestCompleted(requestURI, System.nanoTime() - start, error.get());
+                    }
+                });
+        });
+    }
+
+    private <O, E> Flux<io.micronaut.http.HttpResponse<O>> sendRequest(
+        ConnectionManager.PoolHandle poolHandle,
+        MutableHttpRequest<?> request,
+        Argument<O> bodyType,
+        Argument<E> errorType,
+        boolean secure,
+        @Nullable ResponseCacheExchange cacheExchange,
+        @Nullable RequestCoalescer.Flight flight) {
+        poolHandle.channel.pipeline()
+            .addLast(ChannelPipelineCustomizer.HANDLER_HTTP_AGGREGATOR, new HttpObjectAggregator(configuration.getMaxContentLength()) {
+                @Override
+                protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
+                    // only set content-length if there's any content
+                    if (!HttpUtil.isContentLengthSet(aggregated) &&
+                        aggregated.content().readableBytes() > 0) {
+                        super.finishAggregation(aggregated);
+                    }
+                }
+            })
+            .addLast(ChannelPipelineCustomizer.HANDLER_HTTP_STREAM, new HttpStreamsClientHandler());
+
+        return Flux.create(emitter -> {
+            try {
+                sendRequestThroughChannel(
+                    request,
+                    bodyType,
+                    errorType,
+                    emitter,
+                    secure,
+                    poolHandle,
+                    cacheExchange,
+                    flight
+                );
+            } catch (Exception e) {
+                emitter.error(e);
+            }
+        });
+    }
+
+    private <O, E> Flux<io.micronaut.http.HttpResponse<O>> respondFromCache(
+        ResponseCacheExchange cacheExchange,
+        io.micronaut.http.HttpRequest<?> request,
+        Argument<O> bodyType,
+        Argument<E> errorType,
+        boolean secure) {
+        if (log.isDebugEnabled()) {
+            log.debug("Serving cached response for {}", request.getUri());
+        }
+        Promise<HttpResponse<O>> responsePromise = ImmediateEventExecutor.INSTANCE.newPromise();
+        new FullHttpResponseHandler<>(responsePromise, null, secure, request, bodyType, errorType, null, null)
+            .buildResponse(responsePromise, cacheExchange.cachedResponse());
+        return Flux.from(new NettyFuturePublisher<>(responsePromise, false));
+    }
+
+    private <O, E> Flux<io.micronaut.http.HttpResponse<O>> respondShared(
+        FullHttpResponse response,
+        io.micronaut.http.HttpRequest<?> request,
+        Argument<O> bodyType,
+        Argument<E> errorType,
+        boolean secure) {
+        if (log.isDebugEnabled()) {
+            log.debug("Serving coalesced response for {}", request.getUri());
+        }
+        Promise<HttpResponse<O>> responsePromise = ImmediateEventExecutor.INSTANCE.newPromise();
+        try {
+            new FullHttpResponseHandler<>(responsePromise, null, secure, request, bodyType, errorType, null, null)
+                .buildResponse(responsePromise, response);
+        } finally {
+            // the body has been decoded, release the duplicate of the leader response
+            response.release();
+        }
+        return Flux.from(new NettyFuturePublisher<>(responsePromise, false));
+    }
+
+    /**
+     * Copy a request before the filters have been applied, for a background revalidation.
+     */
+    private static MutableHttpRequest<Object> copyForRevalidation(io.micronaut.http.HttpRequest<?> request) {
+        MutableHttpRequest<Object> copy = io.micronaut.http.HttpRequest.GET(request.getUri());
+        request.getHeaders().forEach((name, values) -> {
+            for (String value : values) {
+                copy.header(name, value);
+            }
+        });
+        request.getAttributes().forEach(copy::setAttribute);
+        return copy;
+    }
+
+    /**
+     * Revalidate a stale response that has been served, passing the request through the
+     * client filters like any other request.
+     */
+    private void revalidateInBackground(URI requestURI,
+                                        RequestKey requestKey,
+                                        @Nullable io.micronaut.http.HttpRequest<?> parentRequest,
+                                        MutableHttpRequest<?> request,
+                                        HttpResponseCache.Match match) {
+        if (!responseCache.startRevalidation(match)) {
+            return;
+        }
+        AtomicReference<MutableHttpRequest<?>> requestWrapper = new AtomicReference<>(request);
+        Flux<io.micronaut.http.HttpResponse<Void>> revalidation = Flux.defer(() -> {
+            MutableHttpRequest<?> finalRequest = requestWrapper.get();
+            ResponseCacheExchange cacheExchange = ResponseCacheExchange.revalidate(responseCache, finalRequest, match);
+            return send(requestURI, requestKey, finalRequest, Argument.VOID, HttpClient.DEFAULT_ERROR_TYPE, null, cacheExchange, null);
+        });
+        Flux.from(applyFilterToResponsePublisher(parentRequest, request, requestURI, requestWrapper, revalidation))
+            .doFinally(signal -> responseCache.endRevalidation(match))
+            .subscribe(response -> { }, error -> {
+                if (log.isDebugEnabled()) {
+                    log.debug("Background revalidation of {} failed: {}", request.getUri(), error.getMessage());
+                }
+            });
+    }
+
     /**
      * @param request The request
      * @param <I>     The input type
@@ -1323,12 +1827,26 @@ public class DefaultHttpClient implements
                 }
             } else if (requestContentType.equals(MediaType.MULTIPART_FORM_DATA_TYPE) && hasBody) {
                 Object bodyValue = body.get();
+                if (bodyValue instanceof MultipartBody.Builder builder) {
+                    bodyValue = builder.build();
+                }
+                FileBodyWriter fileBody = bodyValue instanceof MultipartBody multipartBody ? FileBodyWriter.ofMultipart(multipartBody) : null;
+                if (fileBody != null) {
+                    return fileBodyRequest(request, requestURI, fileBody);
+                }
                 postRequestEncoder = buildMultipartRequest(request, bodyValue);
                 nettyRequest = postRequestEncoder.finalizeRequest();
             } else {
                 ByteBuf bodyContent = null;
                 if (hasBody) {
                     Object bodyValue = body.get();
+                    if (bodyValue instanceof FileBody fileBody) {
+                        try {
+                            return fileBodyRequest(request, requestURI, FileBodyWriter.of(fileBody, (MediaType) request.getContentType().orElse(null)));
+                        } catch (IOException e) {
+                            throw customizeException(new HttpClientException("Cannot send the file of the request body " + fileBody + ": " + e.getMessage(), e));
+                        }
+                    }
                     if (Publishers.isConvertibleToPublisher(bodyValue)) {
                         boolean isSingle = Publishers.isSingle(bodyValue.getClass());
 
@@ -1438,6 +1956,24 @@ public class DefaultHttpClient implements
         return new NettyRequestWriter(nettyRequest, postRequestEncoder);
     }
 
+    private NettyRequestWriter fileBodyRequest(MutableHttpRequest<?> request, URI requestURI, FileBodyWriter fileBody) {
+        Object body = request.getBody().orElse(null);
+        HttpRequest nettyRequest;
+        request.body(null);
+        try {
+            nettyRequest = fileBody.toHttpRequest(NettyHttpRequestBuilder.toHttpRequest(request));
+        } finally {
+            // reset body after encoding request in case of retry
+            request.body(body);
+        }
+        try {
+            nettyRequest.setUri(requestURI.toURL().getFile());
+        } catch (MalformedURLException e) {
+            //should never happen
+        }
+        return new NettyRequestWriter(nettyRequest, null, fileBody);
+    }
+
     private Flux<MutableHttpResponse<?>> readBodyOnError(@Nullable Argument<?> errorType, @NonNull Flux<MutableHttpResponse<?>> publisher) {
         if (errorType != null && errorType != HttpClient.DEFAULT_ERROR_TYPE) {
             return publisher.onErrorResume(clientException -> {
@@ -1510,18 +2046,43 @@ public class DefaultHttpClient implements
                     if (request instanceof MutableHttpRequest && authInfo.isPresent()) {
                         ((MutableHttpRequest) request).getHeaders().auth(authInfo.get());
                     }
-                    return server.resolve(includeContextPath ? prependContextPath(requestURI) : requestURI);
+                    return resolve(server, includeContextPath ? prependContextPath(requestURI) : requestURI);
                 }
         );
     }
 
+    /**
+     * Resolve the request URI against the given instance. If the instance advertises a Unix
+     * domain socket, the URI is rewritten to connect to the socket.
+     */
+    private static URI resolve(ServiceInstance instance, URI requestURI) {
+        URI resolved = instance.resolve(requestURI);
+        Optional<String> socketPath = instance.getUnixSocketPath();
+        if (socketPath.isEmpty() || isDomainSocketScheme(resolved.getScheme())) {
+            return resolved;
+        }
+        StringBuilder uri = new StringBuilder()
+            .append(isSecureScheme(resolved.getScheme()) ? HttpClient.SCHEME_HTTPS_UNIX : HttpClient.SCHEME_HTTP_UNIX)
+            .append("://")
+            .append(URLEncoder.encode(socketPath.get(), StandardCharsets.UTF_8).replace("+", "%20"));
+        if (resolved.getRawPath() != null) {
+            uri.append(resolved.getRawPath());
+        }
+        if (resolved.getRawQuery() != null) {
+            uri.append('?').append(resolved.getRawQuery());
+        }
+        return URI.create(uri.toString());
+    }
+
     private <I, O, E> void sendRequestThroughChannel(
             io.micronaut.http.HttpRequest<I> finalRequest,
             Argument<O> bodyType,
             Argument<E> errorType,
             FluxSink<? super HttpResponse<O>> emitter,
             boolean secure,
-            ConnectionManager.PoolHandle poolHandle) throws HttpPostRequestEncoder.ErrorDataEncoderException {
+            ConnectionManager.PoolHandle poolHandle,
+            @Nullable ResponseCacheExchange cacheExchange,
+            @Nullable RequestCoalescer.Flight flight) throws HttpPostRequestEncoder.ErrorDataEncoderException {
         URI requestURI = finalRequest.getUri();
         MediaType requestContentType = finalRequest
                 .getContentType()
@@ -1551,6 +2112,9 @@ public class DefaultHttpClient implements
             nettyRequest,
             permitsBody
         );
+        if (cacheExchange != null) {
+            cacheExchange.prepareRequest(nettyRequest);
+        }
 
         if (log.isDebugEnabled()) {
             debugRequest(requestURI, nettyRequest);
@@ -1562,7 +2126,7 @@ public class DefaultHttpClient implements
 
         Promise<HttpResponse<O>> responsePromise = poolHandle.channel.eventLoop().newPromise();
         poolHandle.channel.pipeline().addLast(ChannelPipelineCustomizer.HANDLER_MICRONAUT_FULL_HTTP_RESPONSE,
-                new FullHttpResponseHandler<>(responsePromise, poolHandle, secure, finalRequest, bodyType, errorType));
+                new FullHttpResponseHandler<>(responsePromise, poolHandle, secure, finalRequest, bodyType, errorType, cacheExchange, flight));
         poolHandle.notifyRequestPipelineBuilt();
         Publisher<HttpResponse<O>> publisher = new NettyFuturePublisher<>(responsePromise, true);
         publisher.subscribe(new ForwardingSubscriber<>(emitter));
@@ -1574,11 +2138,12 @@ public class DefaultHttpClient implements
             io.micronaut.http.HttpRequest<?> parentRequest,
             MutableHttpRequest<?> request,
             ConnectionManager.PoolHandle poolHandle,
+            boolean directStreaming,
             boolean failOnError,
             boolean secure) {
         return Flux.<MutableHttpResponse<?>>create(sink -> {
             try {
-                streamRequestThroughChannel0(parentRequest, request, sink, poolHandle, secure);
+                streamRequestThroughChannel0(parentRequest, request, sink, poolHandle, directStreaming, secure);
             } catch (HttpPostRequestEncoder.ErrorDataEncoderException e) {
                 sink.error(e);
             }
@@ -1602,6 +2167,7 @@ public class DefaultHttpClient implements
             MutableHttpRequest<?> request,
             FluxSink<? super MutableHttpResponse<?>> emitter,
             ConnectionManager.PoolHandle poolHandle,
+            boolean directStreaming,
             boolean secure) throws HttpPostRequestEncoder.ErrorDataEncoderException {
         URI requestURI = request.getUri();
         boolean permitsBody = io.micronaut.http.HttpMethod.permitsRequestBody(request.getMethod());
@@ -1619,13 +2185,16 @@ public class DefaultHttpClient implements
                 }
             }
         );
+        if (directStreaming && requestWriter.getNettyRequest() instanceof StreamedHttpRequest streamedRequest) {
+            requestWriter = new NettyRequestWriter(DirectStreamedHttpMessage.wrap(streamedRequest), requestWriter.encoder);
+        }
         prepareHttpHeaders(poolHandle, requestURI, request, requestWriter.getNettyRequest(), permitsBody);
 
         HttpRequest nettyRequest = requestWriter.getNettyRequest();
         Promise<MutableHttpResponse<?>> responsePromise = poolHandle.channel.eventLoop().newPromise();
         ChannelPipeline pipeline = poolHandle.channel.pipeline();
         pipeline.addLast(ChannelPipelineCustomizer.HANDLER_MICRONAUT_HTTP_RESPONSE_FULL, new StreamFullHttpResponseHandler(responsePromise, parentRequest, request));
-        pipeline.addLast(ChannelPipelineCustomizer.HANDLER_MICRONAUT_HTTP_RESPONSE_STREAM, new StreamStreamHttpResponseHandler(responsePromise, parentRequest, request));
+        pipeline.addLast(ChannelPipelineCustomizer.HANDLER_MICRONAUT_HTTP_RESPONSE_STREAM, new StreamStreamHttpResponseHandler(responsePromise, parentRequest, request, directStreaming));
         poolHandle.notifyRequestPipelineBuilt();
 
         if (log.isDebugEnabled()) {
@@ -1847,7 +2416,16 @@ public class DefaultHttpClient implements
     }
 
     static boolean isSecureScheme(String scheme) {
-        return io.micronaut.http.HttpRequest.SCHEME_HTTPS.equalsIgnoreCase(scheme) || SCHEME_WSS.equalsIgnoreCase(scheme);
+        return io.micronaut.http.HttpRequest.SCHEME_HTTPS.equalsIgnoreCase(scheme) || SCHEME_WSS.equalsIgnoreCase(scheme)
+            || HttpClient.SCHEME_HTTPS_UNIX.equalsIgnoreCase(scheme);
+    }
+
+    /**
+     * @param scheme The scheme of a request URI
+     * @return Whether the request is sent over a Unix domain socket
+     */
+    static boolean isDomainSocketScheme(String scheme) {
+        return HttpClient.SCHEME_HTTP_UNIX.equalsIgnoreCase(scheme) || HttpClient.SCHEME_HTTPS_UNIX.equalsIgnoreCase(scheme);
     }
 
     private <E extends HttpClientException> E customizeException(E exc) {
@@ -1875,6 +2453,8 @@ public class DefaultHttpClient implements
         private final String host;
         private final int port;
         private final boolean secure;
+        @Nullable
+        private final String socketPath;
 
         /**
          * @param ctx The HTTP client that created this request key. Only used for exception
@@ -1883,6 +2463,18 @@ public class DefaultHttpClient implements
          */
         public RequestKey(DefaultHttpClient ctx, URI requestURI) {
             this.secure = isSecureScheme(requestURI.getScheme());
+            if (isDomainSocketScheme(requestURI.getScheme())) {
+                // the authority is the percent-encoded socket path
+                String socketPath = requestURI.getAuthority();
+                if (StringUtils.isEmpty(socketPath)) {
+                    throw ctx.customizeException(new NoHostException("URI specifies no socket path to connect to"));
+                }
+                this.socketPath = socketPath;
+                this.host = "localhost";
+                this.port = -1;
+                return;
+            }
+            this.socketPath = null;
             String host = requestURI.getHost();
             int port;
             if (host == null) {
@@ -1927,6 +2519,14 @@ public class DefaultHttpClient implements
             return port;
         }
 
+        /**
+         * @return The path of the Unix domain socket to connect to, or {@code null} for TCP
+         */
+        @Nullable
+        public String getSocketPath() {
+            return socketPath;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -1938,12 +2538,13 @@ public class DefaultHttpClient implements
             RequestKey that = (RequestKey) o;
             return port == that.port &&
                     secure == that.secure &&
-                    Objects.equals(host, that.host);
+                    Objects.equals(host, that.host) &&
+                    Objects.equals(socketPath, that.socketPath);
         }
 
         @Override
         public int hashCode() {
-            return ObjectUtils.hash(host, port, secure);
+            return 31 * ObjectUtils.hash(host, port, secure) + Objects.hashCode(socketPath);
         }
     }
 
@@ -1954,14 +2555,25 @@ public class DefaultHttpClient implements
 
         private final HttpRequest nettyRequest;
         private final HttpPostRequestEncoder encoder;
+        private final FileBodyWriter fileBody;
 
         /**
          * @param nettyRequest           The Netty request
          * @param encoder                The encoder
          */
         NettyRequestWriter(HttpRequest nettyRequest, HttpPostRequestEncoder encoder) {
+            this(nettyRequest, encoder, null);
+        }
+
+        /**
+         * @param nettyRequest           The Netty request
+         * @param encoder                The encoder
+         * @param fileBody               The writer of a body that is sent from files
+         */
+        NettyRequestWriter(HttpRequest nettyRequest, HttpPostRequestEncoder encoder, FileBodyWriter fileBody) {
             this.nettyRequest = nettyRequest;
             this.encoder = encoder;
+            this.fileBody = fileBody;
         }
 
         /**
@@ -1981,7 +2593,12 @@ public class DefaultHttpClient implements
 
             Channel channel = poolHandle.channel;
             ChannelFuture writeFuture;
-            if (encoder != null && encoder.isChunked()) {
+            if (fileBody != null) {
+                // files are only handed to the socket as they are without TLS and HTTP/2 framing
+                boolean zeroCopy = !isSecure && !poolHandle.http2 && channel.pipeline().get(SslHandler.class) == null;
+                channel.attr(AttributeKey.valueOf(ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK)).set(true);
+                writeFuture = fileBody.write(channel, nettyRequest, zeroCopy);
+            } else if (encoder != null && encoder.isChunked()) {
                 channel.attr(AttributeKey.valueOf(ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK)).set(true);
                 channel.pipeline().addAfter(ChannelPipelineCustomizer.HANDLER_HTTP_STREAM, ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK, new ChunkedWriteHandler());
                 channel.write(nettyRequest);
@@ -1994,6 +2611,7 @@ public class DefaultHttpClient implements
                 try {
                     if (!f.isSuccess()) {
                         poolHandle.taint();
+                        connectionManager.onRequestFailure(channel);
                         if (!emitter.isCancelled()) {
                             emitter.error(f.cause());
                         }
@@ -2005,6 +2623,9 @@ public class DefaultHttpClient implements
                     if (encoder != null) {
                         encoder.cleanFiles();
                     }
+                    if (fileBody != null && channel.pipeline().get(ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK) != null) {
+                        channel.pipeline().remove(ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK);
+                    }
                     channel.attr(AttributeKey.valueOf(ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK)).set(null);
                 }
             });
@@ -2032,12 +2653,17 @@ public class DefaultHttpClient implements
         private final Promise<? super O> responsePromise;
         private final io.micronaut.http.HttpRequest<?> parentRequest;
         private final io.micronaut.http.HttpRequest<?> finalRequest;
+        /**
+         * The handler is added right before the request is written, for the latency metrics.
+         */
+        private final long startNanos;
 
         public BaseHttpResponseHandler(Promise<? super O> responsePromise, io.micronaut.http.HttpRequest<?> parentRequest, io.micronaut.http.HttpRequest<?> finalRequest) {
             super(connectionManager.instrumenter);
             this.responsePromise = responsePromise;
             this.parentRequest = parentRequest;
             this.finalRequest = finalRequest;
+            this.startNanos = connectionManager.isObservingResponses() ? System.nanoTime() : 0;
         }
 
         @Override
@@ -2062,6 +2688,7 @@ public class DefaultHttpClient implements
             } else {
                 result = customizeException(new HttpClientException("Error occurred reading HTTP response: " + message, cause));
             }
+            connectionManager.onRequestFailure(ctx.channel());
             responsePromise.tryFailure(result);
         }
 
@@ -2076,6 +2703,9 @@ public class DefaultHttpClient implements
             }
 
             int code = msg.status().code();
+            if (connectionManager.isObservingResponses()) {
+                connectionManager.onResponse(ctx.channel(), code, System.nanoTime() - startNanos);
+            }
             HttpHeaders headers1 = msg.headers();
             if (code > 300 && code < 400 && configuration.isFollowRedirects() && headers1.contains(HttpHeaderNames.LOCATION)) {
                 String location = headers1.get(HttpHeaderNames.LOCATION);
@@ -2133,6 +2763,10 @@ public class DefaultHttpClient implements
         private final Argument<O> bodyType;
         private final Argument<?> errorType;
         private final ConnectionManager.PoolHandle poolHandle;
+        @Nullable
+        private final ResponseCacheExchange cacheExchange;
+        @Nullable
+        private final RequestCoalescer.Flight flight;
 
         public FullHttpResponseHandler(
                 Promise<HttpResponse<O>> responsePromise,
@@ -2140,12 +2774,16 @@ public class DefaultHttpClient implements
                 boolean secure,
                 io.micronaut.http.HttpRequest<?> request,
                 Argument<O> bodyType,
-                Argument<?> errorType) {
+                Argument<?> errorType,
+                @Nullable ResponseCacheExchange cacheExchange,
+                @Nullable RequestCoalescer.Flight flight) {
             super(responsePromise, request, request);
             this.secure = secure;
             this.bodyType = bodyType;
             this.errorType = errorType;
             this.poolHandle = poolHandle;
+            this.cacheExchange = cacheExchange;
+            this.flight = flight;
         }
 
         @Override
@@ -2191,6 +2829,12 @@ public class DefaultHttpClient implements
         @Override
         protected void buildResponse(Promise<? super HttpResponse<O>> promise, FullHttpResponse msg) {
             try {
+                if (cacheExchange != null) {
+                    msg = cacheExchange.onResponse(msg);
+                }
+                if (flight != null) {
+                    flight.complete(msg);
+                }
                 if (log.isTraceEnabled()) {
                     traceBody("Response", msg.content());
                 }
@@ -2364,12 +3008,16 @@ public class DefaultHttpClient implements
     }
 
     private class StreamStreamHttpResponseHandler extends BaseHttpResponseHandler<StreamedHttpResponse, MutableHttpResponse<?>> {
+        private final boolean directStreaming;
+
         public StreamStreamHttpResponseHandler(
             Promise<? super MutableHttpResponse<?>> responsePromise,
             io.micronaut.http.HttpRequest<?> parentRequest,
-            io.micronaut.http.HttpRequest<?> finalRequest) {
+            io.micronaut.http.HttpRequest<?> finalRequest,
+            boolean directStreaming) {
 
             super(responsePromise, parentRequest, finalRequest);
+            this.directStreaming = directStreaming;
         }
 
         @Override
@@ -2384,6 +3032,9 @@ public class DefaultHttpClient implements
 
         @Override
         protected void buildResponse(Promise<? super MutableHttpResponse<?>> promise, StreamedHttpResponse msg) {
+            if (directStreaming) {
+                msg = DirectStreamedHttpMessage.wrap(msg);
+            }
             promise.trySuccess(new NettyStreamedHttpResponse<>(msg, conversionService));
         }
 
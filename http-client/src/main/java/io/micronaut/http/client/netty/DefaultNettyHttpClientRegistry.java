@@ -44,6 +44,9 @@ import io.micronaut.http.client.StreamingHttpClientRegistry;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.filter.ClientFilterResolutionContext;
+import io.micronaut.http.client.loadbalance.OutlierEjectingLoadBalancer;
+import io.micronaut.http.client.loadbalance.ServiceInstanceEjectedEvent;
+import io.micronaut.http.client.loadbalance.ServiceInstanceReadmittedEvent;
 import io.micronaut.http.client.netty.ssl.NettyClientSslBuilder;
 import io.micronaut.http.client.sse.SseClient;
 import io.micronaut.http.client.sse.SseClientRegistry;
@@ -65,8 +68,10 @@ import io.micronaut.scheduling.instrument.InvocationInstrumenterFactory;
 import io.micronaut.websocket.WebSocketClient;
 import io.micronaut.websocket.WebSocketClientRegistry;
 import io.micronaut.websocket.context.WebSocketBeanRegistry;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -400,8 +405,8 @@ class DefaultNettyHttpClientRegistry implements AutoCloseable,
 
         EventLoopGroup eventLoopGroup = resolveEventLoopGroup(configuration, beanContext);
         ConversionService conversionService = beanContext.getBean(ConversionService.class);
-        return new DefaultHttpClient(
-                loadBalancer,
+        DefaultHttpClient client = new DefaultHttpClient(
+                decorateLoadBalancer(loadBalancer, configuration, beanContext),
                 httpVersion,
                 configuration,
                 contextPath,
@@ -419,15 +424,50 @@ class DefaultNettyHttpClientRegistry implements AutoCloseable,
                 ),
                 eventLoopGroup,
                 resolveSocketChannelFactory(configuration, beanContext),
+                resolveDatagramChannelFactory(configuration, beanContext),
+                resolveDomainSocketChannelFactory(configuration, beanContext),
                 clientCustomizer,
                 invocationInstrumenterFactories,
                 clientId,
-                conversionService
+                conversionService,
+                beanContext.findBean(HttpClientMetrics.class).orElse(null)
+        );
+        configuration.getConnectionPoolConfiguration().getWarmUpTimeout().ifPresent(timeout ->
+                beanContext.findBean(HttpClientWarmUp.class).ifPresent(warmUp -> warmUp.register(client, timeout)));
+        return client;
+    }
+
+    private static LoadBalancer decorateLoadBalancer(LoadBalancer loadBalancer, HttpClientConfiguration configuration, BeanContext beanContext) {
+        HttpClientConfiguration.OutlierEjectionConfiguration outlierEjection = configuration.getOutlierEjectionConfiguration();
+        if (loadBalancer == null || !outlierEjection.isEnabled() || loadBalancer instanceof OutlierEjectingLoadBalancer) {
+            return loadBalancer;
+        }
+        return new OutlierEjectingLoadBalancer(
+                loadBalancer,
+                outlierEjection,
+                beanContext.getEventPublisher(ServiceInstanceEjectedEvent.class),
+                beanContext.getEventPublisher(ServiceInstanceReadmittedEvent.class)
         );
     }
 
+    /**
+     * With event loop affinity, the client runs on the worker event loop group of the HTTP server,
+     * so that requests made by the server can stay on the event loop of the inbound request.
+     *
+     * @param configuration The client configuration
+     * @return The name of the event loop group of the client
+     */
+    private String resolveEventLoopGroupName(HttpClientConfiguration configuration) {
+        if (configuration.isEventLoopAffinity()) {
+            return eventLoopGroupRegistry.getServerWorkerEventLoopGroupConfiguration()
+                    .map(EventLoopGroupConfiguration::getName)
+                    .orElseGet(configuration::getEventLoopGroup);
+        }
+        return configuration.getEventLoopGroup();
+    }
+
     private EventLoopGroup resolveEventLoopGroup(HttpClientConfiguration configuration, BeanContext beanContext) {
-        final String eventLoopGroupName = configuration.getEventLoopGroup();
+        final String eventLoopGroupName = resolveEventLoopGroupName(configuration);
         EventLoopGroup eventLoopGroup;
         if (EventLoopGroupConfiguration.DEFAULT.equals(eventLoopGroupName)) {
             eventLoopGroup = eventLoopGroupRegistry.getDefaultEventLoopGroup();
@@ -462,7 +502,41 @@ class DefaultNettyHttpClientRegistry implements AutoCloseable,
     }
 
     private ChannelFactory resolveSocketChannelFactory(HttpClientConfiguration configuration, BeanContext beanContext) {
-        final String eventLoopGroup = configuration.getEventLoopGroup();
+        final EventLoopGroupConfiguration eventLoopGroupConfiguration = resolveEventLoopGroupConfiguration(configuration, beanContext);
+        return () -> eventLoopGroupFactory.clientSocketChannelInstance(eventLoopGroupConfiguration);
+    }
+
+    @Nullable
+    private ChannelFactory<DatagramChannel> resolveDatagramChannelFactory(HttpClientConfiguration configuration, BeanContext beanContext) {
+        if (!configuration.getDnsResolverConfiguration().isEnabled()) {
+            // only the DNS resolver uses datagram channels
+            return null;
+        }
+        final EventLoopGroupConfiguration eventLoopGroupConfiguration = resolveEventLoopGroupConfiguration(configuration, beanContext);
+        try {
+            eventLoopGroupFactory.clientDatagramChannelClass(eventLoopGroupConfiguration);
+        } catch (UnsupportedOperationException e) {
+            // fail now rather than on the first host name resolution
+            throw new HttpClientException("The DNS resolver is enabled (dns-resolver.enabled), but the event loop group factory " +
+                eventLoopGroupFactory.getClass().getName() + " does not support datagram channels. Disable the DNS resolver or use a transport that supports datagram channels.", e);
+        }
+        return () -> eventLoopGroupFactory.clientDatagramChannelInstance(eventLoopGroupConfiguration);
+    }
+
+    @Nullable
+    private ChannelFactory<Channel> resolveDomainSocketChannelFactory(HttpClientConfiguration configuration, BeanContext beanContext) {
+        final EventLoopGroupConfiguration eventLoopGroupConfiguration = resolveEventLoopGroupConfiguration(configuration, beanContext);
+        try {
+            eventLoopGroupFactory.clientDomainSocketChannelClass(eventLoopGroupConfiguration);
+        } catch (UnsupportedOperationException e) {
+            // requests to domain sockets fail, TCP is unaffected
+            return null;
+        }
+        return () -> eventLoopGroupFactory.clientDomainSocketChannelInstance(eventLoopGroupConfiguration);
+    }
+
+    private EventLoopGroupConfiguration resolveEventLoopGroupConfiguration(HttpClientConfiguration configuration, BeanContext beanContext) {
+        final String eventLoopGroup = resolveEventLoopGroupName(configuration);
 
         final EventLoopGroupConfiguration eventLoopGroupConfiguration = beanContext.findBean(EventLoopGroupConfiguration.class, Qualifiers.byName(eventLoopGroup))
                 .orElseGet(() -> {
@@ -472,8 +546,7 @@ class DefaultNettyHttpClientRegistry implements AutoCloseable,
                         throw new HttpClientException("Specified event loop group is not defined: " + eventLoopGroup);
                     }
                 });
-
-        return () -> eventLoopGroupFactory.clientSocketChannelInstance(eventLoopGroupConfiguration);
+        return eventLoopGroupConfiguration;
     }
 
     private ClientKey getClientKey(AnnotationMetadata metadata) {
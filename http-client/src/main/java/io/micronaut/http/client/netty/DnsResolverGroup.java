@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.client.DnsResolverMetrics;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
+import io.netty.resolver.dns.RoundRobinDnsAddressResolverGroup;
+import io.netty.resolver.dns.SequentialDnsServerAddressStreamProvider;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AddressResolverGroup} that resolves host names asynchronously with the Netty
+ * {@link io.netty.resolver.dns.DnsNameResolver}, caching the results according to the TTL of the
+ * DNS records, and that records the resolution latency.
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class DnsResolverGroup extends AddressResolverGroup<InetSocketAddress> implements DnsResolverMetrics {
+
+    private static final int DNS_PORT = 53;
+
+    private final AddressResolverGroup<InetSocketAddress> delegate;
+    private final LongAdder resolutions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param configuration          The resolver configuration
+     * @param datagramChannelFactory The factory of the UDP channels of the resolver, which must match the transport of the event loops
+     */
+    DnsResolverGroup(HttpClientConfiguration.DnsResolverConfiguration configuration, ChannelFactory<? extends DatagramChannel> datagramChannelFactory) {
+        DnsNameResolverBuilder builder = new DnsNameResolverBuilder()
+            .channelFactory(datagramChannelFactory)
+            .ttl(seconds(configuration.getMinTtl()), configuration.getMaxTtl().map(DnsResolverGroup::seconds).orElse(Integer.MAX_VALUE))
+            .negativeTtl(seconds(configuration.getNegativeTtl()))
+            .queryTimeoutMillis(configuration.getQueryTimeout().toMillis());
+        List<String> nameServers = configuration.getNameServers();
+        if (nameServers.isEmpty()) {
+            builder.nameServerProvider(DnsServerAddressStreamProviders.platformDefault());
+        } else {
+            builder.nameServerProvider(new SequentialDnsServerAddressStreamProvider(
+                nameServers.stream().map(DnsResolverGroup::nameServerAddress).toArray(InetSocketAddress[]::new)
+            ));
+        }
+        this.delegate = configuration.isRoundRobin() ? new RoundRobinDnsAddressResolverGroup(builder) : new DnsAddressResolverGroup(builder);
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new MeteredResolver(delegate.getResolver(executor));
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        delegate.close();
+    }
+
+    @Override
+    public long getResolutions() {
+        return resolutions.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public Duration getTotalResolutionTime() {
+        return Duration.ofNanos(totalNanos.sum());
+    }
+
+    @Override
+    public Duration getMaxResolutionTime() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    private void record(long start, Future<?> future) {
+        long elapsed = System.nanoTime() - start;
+        resolutions.increment();
+        if (!future.isSuccess()) {
+            failures.increment();
+        }
+        totalNanos.add(elapsed);
+        maxNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private static int seconds(Duration duration) {
+        return (int) Math.min(Integer.MAX_VALUE, duration.getSeconds());
+    }
+
+    private static InetSocketAddress nameServerAddress(String nameServer) {
+        int colon = nameServer.lastIndexOf(':');
+        if (colon > 0 && nameServer.indexOf(':') == colon) {
+            return new InetSocketAddress(nameServer.substring(0, colon), Integer.parseInt(nameServer.substring(colon + 1)));
+        }
+        if (nameServer.startsWith("[")) {
+            // [ipv6]:port
+            int end = nameServer.indexOf(']');
+            int port = end + 1 < nameServer.length() ? Integer.parseInt(nameServer.substring(end + 2)) : DNS_PORT;
+            return new InetSocketAddress(nameServer.substring(1, end), port);
+        }
+        return new InetSocketAddress(nameServer, DNS_PORT);
+    }
+
+    /**
+     * Resolver that records the latency of the resolutions of the delegate.
+     */
+    private final class MeteredResolver implements AddressResolver<InetSocketAddress> {
+        private final AddressResolver<InetSocketAddress> delegate;
+
+        MeteredResolver(AddressResolver<InetSocketAddress> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isSupported(SocketAddress address) {
+            return delegate.isSupported(address);
+        }
+
+        @Override
+        public boolean isResolved(SocketAddress address) {
+            return delegate.isResolved(address);
+        }
+
+        @Override
+        public Future<InetSocketAddress> resolve(SocketAddress address) {
+            long start = System.nanoTime();
+            return delegate.resolve(address).addListener(future -> record(start, future));
+        }
+
+        @Override
+        public Future<InetSocketAddress> resolve(SocketAddress address, Promise<InetSocketAddress> promise) {
+            long start = System.nanoTime();
+            return delegate.resolve(address, promise).addListener(future -> record(start, future));
+        }
+
+        @Override
+        public Future<List<InetSocketAddress>> resolveAll(SocketAddress address) {
+            long start = System.nanoTime();
+            return delegate.resolveAll(address).addListener(future -> record(start, future));
+        }
+
+        @Override
+        public Future<List<InetSocketAddress>> resolveAll(SocketAddress address, Promise<List<InetSocketAddress>> promise) {
+            long start = System.nanoTime();
+            return delegate.resolveAll(address, promise).addListener(future -> record(start, future));
+        }
+
+        @Override
+        public void close() {
+            // the resolvers of the delegate group are closed with the group
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.FileBody;
+import io.micronaut.http.client.TransferProgressListener;
+import io.micronaut.http.client.multipart.MultipartBody;
+import io.micronaut.http.client.multipart.MultipartDataFactory;
+import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelProgressiveFuture;
+import io.netty.channel.ChannelProgressiveFutureListener;
+import io.netty.channel.ChannelProgressivePromise;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.stream.ChunkedInput;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.PromiseCombiner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes a request body that consists of files, and of the in-memory parts in between them.
+ * Over a plain HTTP/1.1 connection the files are written as {@link DefaultFileRegion}s, which
+ * the transport sends with {@code sendfile} where available. Otherwise, they are read into
+ * direct buffers in chunks by a {@link ChunkedWriteHandler}.
+ *
+ * @since 4.0.0
+ */
+final class FileBodyWriter {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final String CRLF = "\r\n";
+
+    /**
+     * {@code byte[]}s and {@link FileSegment}s. The in-memory parts are only wrapped in
+     * {@link ByteBuf}s when they are written, so that a body that is never written holds no
+     * buffers that need to be released.
+     */
+    private final List<Object> segments;
+    private final long contentLength;
+    private final String contentType;
+    @Nullable
+    private final TransferProgressListener progressListener;
+
+    private FileBodyWriter(List<Object> segments, String contentType, @Nullable TransferProgressListener progressListener) {
+        this.segments = segments;
+        this.contentType = contentType;
+        this.progressListener = progressListener;
+        long contentLength = 0;
+        for (Object segment : segments) {
+            contentLength += segment instanceof byte[] bytes ? bytes.length : ((FileSegment) segment).length;
+        }
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * @param body The file body
+     * @param contentType The content type set by the request, if any
+     * @return The writer of the body
+     * @throws IOException If the size of the file cannot be read
+     */
+    static FileBodyWriter of(FileBody body, @Nullable MediaType contentType) throws IOException {
+        long length = body.getLength();
+        if (length == -1) {
+            length = Math.max(0, Files.size(body.getPath()) - body.getOffset());
+        }
+        List<Object> segments = new ArrayList<>(1);
+        segments.add(new FileSegment(body.getPath(), body.getOffset(), length));
+        return new FileBodyWriter(
+            segments,
+            contentType == null ? MediaType.APPLICATION_OCTET_STREAM : contentType.toString(),
+            body.getProgressListener()
+        );
+    }
+
+    /**
+     * Encode a multipart body whose file parts are sent from their files. Returns {@code null}
+     * if the body has no file part, or a part whose content is an {@link InputStream}, in which
+     * case the body is left to the Netty multipart encoder.
+     *
+     * @param body The multipart body
+     * @return The writer of the body, or {@code null}
+     */
+    @Nullable
+    static FileBodyWriter ofMultipart(MultipartBody body) {
+        String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong()) + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        MultipartSegments factory = new MultipartSegments();
+        List<MultipartSegments.PartData> parts = body.getData(factory);
+        if (!factory.eligible || !factory.hasFile) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>(parts.size() * 2 + 1);
+        StringBuilder text = new StringBuilder();
+        boolean first = true;
+        for (MultipartSegments.PartData part : parts) {
+            if (!first) {
+                text.append(CRLF);
+            }
+            first = false;
+            text.append("--").append(boundary).append(CRLF);
+            text.append("Content-Disposition: form-data; name=\"").append(quote(part.name)).append('"');
+            if (part.filename != null) {
+                text.append("; filename=\"").append(quote(part.filename)).append('"');
+            }
+            text.append(CRLF);
+            if (part.contentType != null) {
+                text.append("Content-Type: ").append(part.contentType).append(CRLF);
+            }
+            if (part.encoding != null) {
+                text.append("Content-Transfer-Encoding: ").append(part.encoding).append(CRLF);
+            }
+            text.append(CRLF);
+            if (part.content instanceof File file) {
+                segments.add(text.toString().getBytes(StandardCharsets.UTF_8));
+                text.setLength(0);
+                segments.add(new FileSegment(file.toPath(), 0, file.length()));
+            } else if (part.content instanceof byte[] bytes) {
+                segments.add(text.toString().getBytes(StandardCharsets.UTF_8));
+                text.setLength(0);
+                segments.add(bytes);
+            } else if (part.content instanceof String value) {
+                text.append(value);
+            }
+        }
+        text.append(CRLF).append("--").append(boundary).append("--").append(CRLF);
+        segments.add(text.toString().getBytes(StandardCharsets.UTF_8));
+        return new FileBodyWriter(segments, MediaType.MULTIPART_FORM_DATA + "; boundary=" + boundary, null);
+    }
+
+    private static String quote(String value) {
+        return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+    }
+
+    /**
+     * @param request The request built without a body
+     * @return A request with the headers of the given request and of this body, which is not
+     * a {@link io.netty.handler.codec.http.FullHttpRequest}, so that the body can follow it
+     */
+    HttpRequest toHttpRequest(HttpRequest request) {
+        HttpHeaders headers = request.headers().copy();
+        headers.set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        headers.remove(HttpHeaderNames.TRANSFER_ENCODING);
+        headers.set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
+        ReferenceCountUtil.release(request);
+        return new DefaultHttpRequest(request.protocolVersion(), request.method(), request.uri(), headers);
+    }
+
+    /**
+     * Write the request and this body.
+     *
+     * @param channel  The channel, whose {@link io.micronaut.http.netty.stream.HttpStreamsClientHandler}
+     *                 has to be bypassed already
+     * @param request  The request returned by {@link #toHttpRequest(HttpRequest)}
+     * @param zeroCopy Whether the files can be written as {@link DefaultFileRegion}s
+     * @return The future that completes when the body has been written
+     */
+    ChannelFuture write(Channel channel, HttpRequest request, boolean zeroCopy) {
+        if (!zeroCopy && channel.pipeline().get(ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK) == null) {
+            channel.pipeline().addAfter(ChannelPipelineCustomizer.HANDLER_HTTP_STREAM, ChannelPipelineCustomizer.HANDLER_HTTP_CHUNK, new ChunkedWriteHandler());
+        }
+        ChannelPromise result = channel.newPromise();
+        PromiseCombiner combiner = new PromiseCombiner(channel.eventLoop());
+        combiner.add(channel.write(request));
+        long offset = 0;
+        try {
+            for (Object segment : segments) {
+                if (segment instanceof byte[] bytes) {
+                    long length = bytes.length;
+                    combiner.add(channel.write(new DefaultHttpContent(Unpooled.wrappedBuffer(bytes)), promise(channel, offset, length)));
+                    offset += length;
+                } else {
+                    FileSegment file = (FileSegment) segment;
+                    if (file.length == 0) {
+                        continue;
+                    }
+                    Object message;
+                    if (zeroCopy) {
+                        message = new DefaultFileRegion(file.path.toFile(), file.offset, file.length);
+                    } else {
+                        FileChannel fileChannel = FileChannel.open(file.path, StandardOpenOption.READ);
+                        message = new HttpContentChunkedInput(new ChunkedNioFile(fileChannel, file.offset, file.length, CHUNK_SIZE));
+                    }
+                    combiner.add(channel.write(message, promise(channel, offset, file.length)));
+                    offset += file.length;
+                }
+            }
+        } catch (IOException e) {
+            result.setFailure(e);
+            channel.flush();
+            return result;
+        }
+        combiner.add(channel.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT));
+        combiner.finish(result);
+        return result;
+    }
+
+    private ChannelPromise promise(Channel channel, long offset, long length) {
+        TransferProgressListener listener = this.progressListener;
+        if (listener == null) {
+            return channel.newPromise();
+        }
+        ChannelProgressivePromise promise = channel.newProgressivePromise();
+        long total = contentLength;
+        promise.addListener(new ChannelProgressiveFutureListener() {
+            @Override
+            public void operationProgressed(ChannelProgressiveFuture future, long progress, long ignored) {
+                listener.onProgress(offset + progress, total);
+            }
+
+            @Override
+            public void operationComplete(ChannelProgressiveFuture future) {
+                if (future.isSuccess()) {
+                    listener.onProgress(offset + length, total);
+                }
+            }
+        });
+        return promise;
+    }
+
+    private record FileSegment(Path path, long offset, long length) {
+    }
+
+    /**
+     * Collects the data of the parts of a multipart body.
+     */
+    private static final class MultipartSegments implements MultipartDataFactory<MultipartSegments.PartData> {
+        boolean eligible = true;
+        boolean hasFile;
+
+        @NonNull
+        @Override
+        public PartData createFileUpload(@NonNull String name, @NonNull String filename, @NonNull MediaType contentType, @Nullable String encoding, @Nullable Charset charset, long length) {
+            return new PartData(name, filename, contentType, encoding);
+        }
+
+        @NonNull
+        @Override
+        public PartData createAttribute(@NonNull String name, @NonNull String value) {
+            PartData data = new PartData(name, null, null, null);
+            data.content = value;
+            return data;
+        }
+
+        @Override
+        public void setContent(PartData fileUploadObject, Object content) {
+            if (content instanceof File) {
+                hasFile = true;
+            } else if (!(content instanceof byte[])) {
+                eligible = false;
+            }
+            fileUploadObject.content = content;
+        }
+
+        /**
+         * The data of a part.
+         */
+        static final class PartData {
+            final String name;
+            @Nullable
+            final String filename;
+            @Nullable
+            final MediaType contentType;
+            @Nullable
+            final String encoding;
+            Object content;
+
+            PartData(String name, @Nullable String filename, @Nullable MediaType contentType, @Nullable String encoding) {
+                this.name = name;
+                this.filename = filename;
+                this.contentType = contentType;
+                this.encoding = encoding;
+            }
+        }
+    }
+
+    /**
+     * Adapts the chunks of a file to {@link HttpContent}, so that they pass the HTTP/2 codec.
+     */
+    private static final class HttpContentChunkedInput implements ChunkedInput<HttpContent> {
+        private final ChunkedInput<ByteBuf> input;
+
+        HttpContentChunkedInput(ChunkedInput<ByteBuf> input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean isEndOfInput() throws Exception {
+            return input.isEndOfInput();
+        }
+
+        @Override
+        public void close() throws Exception {
+            input.close();
+        }
+
+        @Deprecated
+        @Override
+        public HttpContent readChunk(ChannelHandlerContext ctx) throws Exception {
+            return readChunk(ctx.alloc());
+        }
+
+        @Override
+        public HttpContent readChunk(ByteBufAllocator allocator) throws Exception {
+            ByteBuf chunk = input.readChunk(allocator);
+            return chunk == null ? null : new DefaultHttpContent(chunk);
+        }
+
+        @Override
+        public long length() {
+            return input.length();
+        }
+
+        @Override
+        public long progress() {
+            return input.progress();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.TransferProgressListener;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the body of a response to a file. The buffers of the connection are written to an
+ * {@link AsynchronousFileChannel} as they are, so that a direct buffer is never copied to the
+ * heap and the event loop does not block on the disk. The next buffer is only requested once
+ * the previous one has been written.
+ *
+ * @since 4.0.0
+ */
+final class FileDownload {
+
+    private static final String BYTES_UNIT = "bytes ";
+
+    private final Path target;
+    private final long resumeFrom;
+    @Nullable
+    private final TransferProgressListener progressListener;
+    private AsynchronousFileChannel channel;
+    private long position;
+    private long total;
+
+    /**
+     * @param target           The file
+     * @param resumeFrom       The number of bytes that were requested to be skipped with a range
+     * @param progressListener The progress listener
+     */
+    FileDownload(Path target, long resumeFrom, @Nullable TransferProgressListener progressListener) {
+        this.target = target;
+        this.resumeFrom = resumeFrom;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * @param target The file
+     * @return The number of bytes of the file that can be resumed from
+     * @throws IOException If the size of the file cannot be read
+     */
+    static long resumableLength(Path target) throws IOException {
+        return Files.isRegularFile(target) ? Files.size(target) : 0;
+    }
+
+    /**
+     * @param response The response to a request for a range that is not satisfiable
+     * @param length   The length of the file on disk
+     * @return Whether the response says that the file on disk is complete
+     */
+    static boolean isComplete(io.micronaut.http.HttpResponse<?> response, long length) {
+        if (response.code() != HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.getCode()) {
+            return false;
+        }
+        String contentRange = response.getHeaders().get(HttpHeaderNames.CONTENT_RANGE);
+        return contentRange != null && contentRange.equals(BYTES_UNIT + "*/" + length);
+    }
+
+    /**
+     * Write the body of the response to the file.
+     *
+     * @param response The netty response
+     * @param body     The body of the response
+     * @return A {@link Mono} that completes when the body has been written
+     */
+    Mono<Void> write(io.netty.handler.codec.http.HttpResponse response, Publisher<HttpContent> body) {
+        return Mono.using(
+            () -> open(response),
+            fileChannel -> Flux.from(body)
+                .concatMap(content -> write(content.content()), 0)
+                .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
+                .then(),
+            fileChannel -> {
+                try {
+                    fileChannel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        ).onErrorMap(IOException.class, e -> new HttpClientException("Failed to write the response body to " + target + ": " + e.getMessage(), e));
+    }
+
+    private AsynchronousFileChannel open(io.netty.handler.codec.http.HttpResponse response) throws IOException {
+        long contentLength = HttpUtil.getContentLength(response, -1L);
+        if (response.status().code() == HttpStatus.PARTIAL_CONTENT.getCode() && resumeFrom > 0) {
+            String contentRange = response.headers().get(HttpHeaderNames.CONTENT_RANGE);
+            long[] range = parseContentRange(contentRange);
+            if (range == null || range[0] != resumeFrom) {
+                throw new HttpClientException("Cannot resume the download of " + target + " from byte " + resumeFrom + ", the server responded with the range: " + contentRange);
+            }
+            position = resumeFrom;
+            total = range[1];
+        } else {
+            position = 0;
+            total = contentLength;
+        }
+        channel = AsynchronousFileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(position);
+        if (progressListener != null) {
+            progressListener.onProgress(position, total);
+        }
+        return channel;
+    }
+
+    /**
+     * @param contentRange The value of a {@code Content-Range} header
+     * @return The first byte and the complete length, which is {@code -1} if unknown, or
+     * {@code null} if the value cannot be parsed
+     */
+    @Nullable
+    static long[] parseContentRange(@Nullable String contentRange) {
+        if (contentRange == null || !contentRange.startsWith(BYTES_UNIT)) {
+            return null;
+        }
+        int dash = contentRange.indexOf('-', BYTES_UNIT.length());
+        int slash = contentRange.indexOf('/', BYTES_UNIT.length());
+        if (dash == -1 || slash < dash) {
+            return null;
+        }
+        try {
+            long first = Long.parseLong(contentRange, BYTES_UNIT.length(), dash, 10);
+            String length = contentRange.substring(slash + 1);
+            return new long[] {first, length.equals("*") ? -1 : Long.parseLong(length)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Mono<Void> write(ByteBuf buf) {
+        if (!buf.isReadable()) {
+            buf.release();
+            return Mono.empty();
+        }
+        return Mono.create(sink -> new BufferWriter(buf, sink).next());
+    }
+
+    /**
+     * Writes the NIO buffers of a {@link ByteBuf} one after another.
+     */
+    private final class BufferWriter implements CompletionHandler<Integer, Void> {
+        private final ByteBuf buf;
+        private final ByteBuffer[] buffers;
+        private final MonoSink<Void> sink;
+        private int index;
+
+        BufferWriter(ByteBuf buf, MonoSink<Void> sink) {
+            this.buf = buf;
+            this.buffers = buf.nioBuffers();
+            this.sink = sink;
+        }
+
+        void next() {
+            while (index < buffers.length && !buffers[index].hasRemaining()) {
+                index++;
+            }
+            if (index == buffers.length) {
+                buf.release();
+                sink.success();
+                return;
+            }
+            try {
+                channel.write(buffers[index], position, null, this);
+            } catch (RuntimeException e) {
+                failed(e, null);
+            }
+        }
+
+        @Override
+        public void completed(Integer written, Void attachment) {
+            position += written;
+            if (progressListener != null) {
+                progressListener.onProgress(position, total);
+            }
+            next();
+        }
+
+        @Override
+        public void failed(Throwable exc, Void attachment) {
+            buf.release();
+            sink.error(exc);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.client.HedgingMetrics;
+import io.micronaut.http.client.HttpClientConfiguration;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The state of request hedging of a client: a window of the recently observed latencies from
+ * which the hedge delay is derived, the hedge budget and the metrics.
+ *
+ * <p>The budget is a token bucket. Every hedgeable request deposits the configured budget ratio
+ * of a token, up to {@link #MAXIMUM_TOKENS}, and every hedged attempt withdraws one token.</p>
+ *
+ * @since 4.0.0
+ */
+final class HedgingPolicy implements HedgingMetrics {
+
+    static final int WINDOW_SIZE = 1024;
+    static final int MINIMUM_SAMPLES = 100;
+    private static final int RECOMPUTE_INTERVAL = 64;
+    private static final long TOKEN = 1000;
+    private static final long MAXIMUM_TOKENS = 10 * TOKEN;
+
+    private final HttpClientConfiguration.HedgingConfiguration configuration;
+    private final long deposit;
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+    private volatile long observedDelayNanos = -1;
+
+    private final LongAdder hedgeableRequests = new LongAdder();
+    private final LongAdder hedgedRequests = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    /**
+     * @param configuration The hedging configuration of the client
+     */
+    HedgingPolicy(HttpClientConfiguration.HedgingConfiguration configuration) {
+        this.configuration = configuration;
+        this.deposit = Math.round(Math.max(0, Math.min(1, configuration.getBudget())) * TOKEN);
+    }
+
+    /**
+     * @return Whether requests are hedged unless a method disables it
+     */
+    boolean isEnabled() {
+        return configuration.isEnabled();
+    }
+
+    /**
+     * Register a hedgeable request, which earns its share of the budget.
+     *
+     * @param delay The hedge delay of the method, if any
+     * @return The hedge delay, or {@code null} if the request cannot be hedged yet
+     */
+    @Nullable
+    Duration onRequest(@Nullable Duration delay) {
+        hedgeableRequests.increment();
+        tokens.accumulateAndGet(deposit, (current, d) -> Math.min(MAXIMUM_TOKENS, current + d));
+        if (delay != null) {
+            return delay;
+        }
+        return configuration.getDelay().orElseGet(this::getObservedDelay);
+    }
+
+    /**
+     * Run the primary attempt and, if it has not completed after the delay and the budget
+     * allows it, the hedged attempt. The first successful response wins and the other attempt
+     * is cancelled. If the primary attempt fails before the hedge delay, its error is emitted
+     * right away, otherwise the error of the attempt that failed last is emitted.
+     *
+     * @param primary The primary attempt
+     * @param hedge   The hedged attempt, which completes empty if it cannot be sent
+     * @param delay   The hedge delay
+     * @param <T>     The response type
+     * @return The response of the attempt that succeeded first
+     */
+    <T> Mono<T> hedge(Mono<T> primary, Mono<T> hedge, Duration delay) {
+        return Mono.create(sink -> {
+            Disposable.Composite subscriptions = Disposables.composite();
+            sink.onDispose(subscriptions);
+            AtomicBoolean won = new AtomicBoolean();
+            AtomicInteger pending = new AtomicInteger(1);
+            AtomicReference<Throwable> lastError = new AtomicReference<>();
+            Consumer<Throwable> onEnd = error -> {
+                if (error != null) {
+                    lastError.set(error);
+                }
+                if (pending.decrementAndGet() == 0 && won.compareAndSet(false, true)) {
+                    Throwable t = lastError.get();
+                    if (t != null) {
+                        sink.error(t);
+                    } else {
+                        sink.success();
+                    }
+                }
+            };
+            subscriptions.add(primary.subscribe(
+                response -> {
+                    if (won.compareAndSet(false, true)) {
+                        sink.success(response);
+                    }
+                },
+                onEnd,
+                () -> onEnd.accept(null)
+            ));
+            subscriptions.add(Mono.delay(delay).subscribe(tick -> {
+                if (pending.getAndIncrement() == 0 || won.get()) {
+                    // the primary attempt has already completed
+                    return;
+                }
+                if (!tryWithdraw()) {
+                    onEnd.accept(null);
+                    return;
+                }
+                subscriptions.add(hedge.subscribe(
+                    response -> {
+                        if (won.compareAndSet(false, true)) {
+                            hedgeWins.increment();
+                            sink.success(response);
+                        }
+                    },
+                    onEnd,
+                    () -> onEnd.accept(null)
+                ));
+            }));
+        });
+    }
+
+    /**
+     * Record that a hedged attempt has been sent.
+     */
+    void onHedgeSent() {
+        hedgedRequests.increment();
+    }
+
+    private boolean tryWithdraw() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                budgetExhausted.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Record the latency of a successful attempt.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    void recordLatency(long nanos) {
+        long n = samples.getAndIncrement();
+        latencies.set((int) (n % WINDOW_SIZE), nanos);
+        long count = n + 1;
+        if (count >= MINIMUM_SAMPLES && (count % RECOMPUTE_INTERVAL == 0 || observedDelayNanos < 0)
+            && recomputing.compareAndSet(false, true)) {
+            try {
+                int size = (int) Math.min(count, WINDOW_SIZE);
+                long[] sorted = new long[size];
+                for (int i = 0; i < size; i++) {
+                    sorted[i] = latencies.get(i);
+                }
+                Arrays.sort(sorted);
+                double percentile = Math.max(0, Math.min(100, configuration.getPercentile()));
+                int index = (int) Math.ceil(percentile / 100 * size) - 1;
+                observedDelayNanos = sorted[Math.max(0, Math.min(size - 1, index))];
+            } finally {
+                recomputing.set(false);
+            }
+        }
+    }
+
+    @Override
+    public long getHedgeableRequests() {
+        return hedgeableRequests.sum();
+    }
+
+    @Override
+    public long getHedgedRequests() {
+        return hedgedRequests.sum();
+    }
+
+    @Override
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    @Override
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    @Override
+    @Nullable
+    public Duration getObservedDelay() {
+        long nanos = observedDelayNanos;
+        return nanos < 0 ? null : Duration.ofNanos(nanos);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Receives the metrics of the connection pools of a {@link DefaultHttpClient}, for example to
+ * publish them to a metrics registry. There is one {@link ConnectionPool} per remote host, port
+ * and scheme.
+ * <p>
+ * The current sizes of a pool are available from the {@link ConnectionPool} passed to
+ * {@link #poolCreated(ConnectionPool)}, and should be read as gauges. The other methods report
+ * single events with their duration in nanoseconds, and are called on the event loop of the
+ * connection, so implementations must return quickly and must not block.
+ * <p>
+ * Register a bean of this type to receive the metrics of the clients created by the
+ * {@link DefaultNettyHttpClientRegistry}. The default implementation, {@link #NOOP}, ignores
+ * all metrics.
+ *
+ * @since 4.0.0
+ */
+public interface HttpClientMetrics {
+
+    /**
+     * Metrics implementation that ignores all metrics.
+     */
+    HttpClientMetrics NOOP = new HttpClientMetrics() {
+    };
+
+    /**
+     * Called when the client creates a connection pool for a new remote.
+     *
+     * @param pool The pool
+     */
+    default void poolCreated(@NonNull ConnectionPool pool) {
+    }
+
+    /**
+     * Called when the client shuts down a connection pool.
+     *
+     * @param pool The pool
+     */
+    default void poolClosed(@NonNull ConnectionPool pool) {
+    }
+
+    /**
+     * Called when a request acquired a connection of the pool.
+     *
+     * @param pool      The pool
+     * @param waitNanos The time the request waited for the connection
+     */
+    default void connectionAcquired(@NonNull ConnectionPool pool, long waitNanos) {
+    }
+
+    /**
+     * Called when a request failed to acquire a connection of the pool, for example because
+     * the connection could not be opened or the acquire timeout passed.
+     *
+     * @param pool      The pool
+     * @param waitNanos The time the request waited for the connection
+     */
+    default void acquireFailed(@NonNull ConnectionPool pool, long waitNanos) {
+    }
+
+    /**
+     * Called when a new connection of the pool is established, before the TLS handshake.
+     *
+     * @param pool         The pool
+     * @param connectNanos The time it took to resolve the host and open the connection
+     */
+    default void connected(@NonNull ConnectionPool pool, long connectNanos) {
+    }
+
+    /**
+     * Called when the TLS handshake of a new connection of the pool completes successfully.
+     *
+     * @param pool           The pool
+     * @param handshakeNanos The time the handshake took
+     */
+    default void tlsHandshakeCompleted(@NonNull ConnectionPool pool, long handshakeNanos) {
+    }
+
+    /**
+     * Called when a request opens a stream on an HTTP/2 connection of the pool.
+     *
+     * @param pool    The pool
+     * @param streams The number of streams open on the connection, including the new stream
+     */
+    default void http2StreamOpened(@NonNull ConnectionPool pool, int streams) {
+    }
+
+    /**
+     * Called when the response head of a request sent on a connection of the pool is received.
+     *
+     * @param pool         The pool
+     * @param statusClass  The class of the response status, e.g. {@code 2} for {@code 2xx}
+     * @param latencyNanos The time from sending the request to receiving the response head
+     */
+    default void responseReceived(@NonNull ConnectionPool pool, int statusClass, long latencyNanos) {
+    }
+
+    /**
+     * Called when a request is rejected because the adaptive concurrency limit of the pool is
+     * reached.
+     *
+     * @param pool The pool
+     */
+    default void concurrencyLimitExceeded(@NonNull ConnectionPool pool) {
+    }
+
+    /**
+     * The connection pool of a {@link DefaultHttpClient} for one remote.
+     */
+    interface ConnectionPool {
+
+        /**
+         * @return The host name of the remote
+         */
+        @NonNull
+        String getHost();
+
+        /**
+         * @return The port of the remote
+         */
+        int getPort();
+
+        /**
+         * @return Whether the connections use TLS
+         */
+        boolean isSecure();
+
+        /**
+         * @return The number of open HTTP/1 connections
+         */
+        int getHttp1Connections();
+
+        /**
+         * @return The number of open HTTP/2 connections
+         */
+        int getHttp2Connections();
+
+        /**
+         * @return The number of open connections that can accept a request right away
+         */
+        int getIdleConnections();
+
+        /**
+         * @return The number of open connections that are busy with requests
+         */
+        default int getActiveConnections() {
+            return getHttp1Connections() + getHttp2Connections() - getIdleConnections();
+        }
+
+        /**
+         * @return The number of requests waiting for a connection
+         */
+        int getPendingAcquires();
+
+        /**
+         * @return The number of connections that are being opened
+         */
+        int getPendingConnections();
+
+        /**
+         * @return The current adaptive concurrency limit, or {@code -1} if the concurrency is not
+         * limited
+         */
+        default int getConcurrencyLimit() {
+            return -1;
+        }
+
+        /**
+         * @return The number of requests counted against the adaptive concurrency limit, or
+         * {@code -1} if the concurrency is not limited
+         */
+        default int getInflightRequests() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Internal;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Makes the startup of the application wait for the idle connections of the clients created
+ * while the context starts, up to the {@code pool.warm-up-timeout} of each client. Clients
+ * created after the startup open their idle connections in the background.
+ *
+ * @since 4.0.0
+ */
+@Singleton
+@Internal
+final class HttpClientWarmUp implements ApplicationEventListener<StartupEvent> {
+
+    private final Queue<PendingWarmUp> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean started;
+
+    /**
+     * @param client  The client that is opening its idle connections
+     * @param timeout The maximum time the startup waits for them, from now
+     */
+    void register(DefaultHttpClient client, Duration timeout) {
+        if (!started) {
+            pending.add(new PendingWarmUp(client, System.nanoTime() + timeout.toNanos()));
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        started = true;
+        PendingWarmUp warmUp;
+        while ((warmUp = pending.poll()) != null) {
+            long remaining = warmUp.deadline - System.nanoTime();
+            warmUp.client.awaitWarmUp(Duration.ofNanos(Math.max(0, remaining)));
+        }
+    }
+
+    private record PendingWarmUp(DefaultHttpClient client, long deadline) {
+    }
+}
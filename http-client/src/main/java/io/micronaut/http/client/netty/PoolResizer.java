@@ -19,12 +19,20 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.client.HttpClientConfiguration;
 import io.micronaut.http.client.exceptions.HttpClientException;
+import io.netty.channel.EventLoop;
 import org.slf4j.Logger;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -40,6 +48,11 @@ import java.util.function.Consumer;
  * {@link #dirty()}. The state management logic ensures that {@link #doSomeWork()} is called in a
  * serialized fashion (no concurrency or reentrancy) at least once after each {@link #dirty()}
  * call.
+ * <p>
+ * Besides the connections needed for the pending requests, the pool keeps
+ * {@link HttpClientConfiguration.ConnectionPoolConfiguration#getMinIdleConnections()} idle
+ * connections open. Connections that are closed, e.g. because their TTL expired, are replaced
+ * the next time {@link #doSomeWork()} runs.
  */
 @Internal
 abstract class PoolResizer {
@@ -53,6 +66,27 @@ abstract class PoolResizer {
     private final Deque<PoolSink<ConnectionManager.PoolHandle>> pendingRequests = new ConcurrentLinkedDeque<>();
     private final List<ResizerConnection> http1Connections = new CopyOnWriteArrayList<>();
     private final List<ResizerConnection> http2Connections = new CopyOnWriteArrayList<>();
+    /**
+     * The connections of {@link #http1Connections} and {@link #http2Connections}, partitioned by
+     * the event loop they run on, so that requests with a preferred event loop only visit the
+     * connections of that loop.
+     */
+    private final Map<EventLoop, List<ResizerConnection>> http1ConnectionsByEventLoop = new ConcurrentHashMap<>();
+    private final Map<EventLoop, List<ResizerConnection>> http2ConnectionsByEventLoop = new ConcurrentHashMap<>();
+    /**
+     * The event loops that a new connection is being opened on because a request waits for a
+     * connection on that loop.
+     */
+    private final Set<EventLoop> connectingEventLoops = ConcurrentHashMap.newKeySet();
+    private final Queue<Sinks.Empty<Void>> warmUpWaiters = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed = false;
+    /**
+     * Set when a connection fails while no request is waiting, so that a remote that is down
+     * does not make us reconnect in a loop just to keep the idle connections. Cleared by the next
+     * request or established connection.
+     */
+    private volatile boolean minIdleSuspended = false;
 
     PoolResizer(Logger log, HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration) {
         this.log = log;
@@ -97,12 +131,44 @@ abstract class PoolResizer {
     }
 
     private void doSomeWork() {
+        if (this.pendingConnectionCount.get() == 0) {
+            // a failed connection does not tell us its event loop, so forget them all here
+            connectingEventLoops.clear();
+        }
+        int connectionCapacity = connectionCapacity();
         BlockHint blockedPendingRequests = null;
+        List<PoolSink<ConnectionManager.PoolHandle>> waitingRequests = null;
+        List<EventLoop> eventLoopsToConnect = null;
         while (true) {
             PoolSink<ConnectionManager.PoolHandle> toDispatch = pendingRequests.pollFirst();
             if (toDispatch == null) {
                 break;
             }
+            EventLoop preferred = toDispatch.getPreferredEventLoop();
+            if (preferred != null) {
+                if (dispatchOnEventLoop(http2ConnectionsByEventLoop, toDispatch, preferred) ||
+                    dispatchOnEventLoop(http1ConnectionsByEventLoop, toDispatch, preferred)) {
+                    continue;
+                }
+                boolean connecting = connectingEventLoops.contains(preferred) ||
+                    (eventLoopsToConnect != null && eventLoopsToConnect.contains(preferred));
+                int newEventLoops = eventLoopsToConnect == null ? 0 : eventLoopsToConnect.size();
+                if (connecting || newEventLoops < connectionCapacity) {
+                    // wait for a connection on the preferred event loop instead of using a
+                    // connection of another loop, as long as the pool can still grow
+                    if (waitingRequests == null) {
+                        waitingRequests = new ArrayList<>();
+                        eventLoopsToConnect = new ArrayList<>();
+                    }
+                    if (!connecting) {
+                        eventLoopsToConnect.add(preferred);
+                    }
+                    waitingRequests.add(toDispatch);
+                    blockedPendingRequests =
+                        BlockHint.combine(blockedPendingRequests, toDispatch.getBlockHint());
+                    continue;
+                }
+            }
             boolean dispatched = false;
             for (ResizerConnection c : http2Connections) {
                 if (dispatchSafe(c, toDispatch)) {
@@ -125,33 +191,47 @@ abstract class PoolResizer {
                 break;
             }
         }
+        if (waitingRequests != null) {
+            // put the waiting requests back in front, in their original order
+            for (int i = waitingRequests.size() - 1; i >= 0; i--) {
+                pendingRequests.addFirst(waitingRequests.get(i));
+            }
+        }
 
         // snapshot our fields
         int pendingRequestCount = this.pendingRequests.size();
         int pendingConnectionCount = this.pendingConnectionCount.get();
         int http1ConnectionCount = this.http1Connections.size();
         int http2ConnectionCount = this.http2Connections.size();
+        int missingIdleConnections = missingIdleConnections();
 
-        if (pendingRequestCount == 0) {
-            // if there are no pending requests, there is nothing to do.
+        if (pendingRequestCount == 0 && missingIdleConnections == 0) {
+            // if there are no pending requests and enough idle connections, there is nothing to do.
+            if (pendingConnectionCount == 0) {
+                completeWarmUp();
+            }
             return;
         }
-        int connectionsToOpen = pendingRequestCount - pendingConnectionCount;
-        // make sure we won't exceed our config setting for pending connections
-        connectionsToOpen = Math.min(connectionsToOpen, connectionPoolConfiguration.getMaxPendingConnections() - pendingConnectionCount);
-        // limit the connection count to the protocol-specific settings, but only if that protocol was seen for this pool.
-        if (http1ConnectionCount > 0) {
-            connectionsToOpen = Math.min(connectionsToOpen, connectionPoolConfiguration.getMaxConcurrentHttp1Connections() - http1ConnectionCount);
-        }
-        if (http2ConnectionCount > 0) {
-            connectionsToOpen = Math.min(connectionsToOpen, connectionPoolConfiguration.getMaxConcurrentHttp2Connections() - http2ConnectionCount);
+        int connectionsToOpen = pendingRequestCount + missingIdleConnections - pendingConnectionCount;
+        if (eventLoopsToConnect != null) {
+            // requests waiting for their event loop need a connection there, even if connections
+            // on other loops are already pending
+            connectionsToOpen = Math.max(connectionsToOpen, eventLoopsToConnect.size());
         }
+        // make sure we won't exceed our config settings for pending and concurrent connections
+        connectionsToOpen = Math.min(connectionsToOpen, connectionCapacity(pendingConnectionCount, http1ConnectionCount, http2ConnectionCount));
 
         if (connectionsToOpen > 0) {
             this.pendingConnectionCount.addAndGet(connectionsToOpen);
             for (int i = 0; i < connectionsToOpen; i++) {
                 try {
-                    openNewConnection(blockedPendingRequests);
+                    // the first new connections go to the event loops that requests wait for
+                    EventLoop preferredEventLoop = null;
+                    if (eventLoopsToConnect != null && i < eventLoopsToConnect.size()) {
+                        preferredEventLoop = eventLoopsToConnect.get(i);
+                        connectingEventLoops.add(preferredEventLoop);
+                    }
+                    openNewConnection(blockedPendingRequests, preferredEventLoop);
                 } catch (Exception e) {
                     try {
                         onNewConnectionFailure(e);
@@ -161,9 +241,124 @@ abstract class PoolResizer {
                 }
             }
             dirty();
+        } else if (pendingConnectionCount == 0) {
+            // the limits do not allow any more connections
+            completeWarmUp();
+        }
+    }
+
+    private int connectionCapacity() {
+        return connectionCapacity(pendingConnectionCount.get(), http1Connections.size(), http2Connections.size());
+    }
+
+    /**
+     * @return The number of connections that may be opened without exceeding the pending
+     * connection limit, or the limit of a protocol that was seen for this pool
+     */
+    private int connectionCapacity(int pendingConnectionCount, int http1ConnectionCount, int http2ConnectionCount) {
+        int capacity = connectionPoolConfiguration.getMaxPendingConnections() - pendingConnectionCount;
+        if (http1ConnectionCount > 0) {
+            capacity = Math.min(capacity, connectionPoolConfiguration.getMaxConcurrentHttp1Connections() - http1ConnectionCount);
+        }
+        if (http2ConnectionCount > 0) {
+            capacity = Math.min(capacity, connectionPoolConfiguration.getMaxConcurrentHttp2Connections() - http2ConnectionCount);
+        }
+        return capacity;
+    }
+
+    private int missingIdleConnections() {
+        int minIdleConnections = connectionPoolConfiguration.getMinIdleConnections();
+        if (minIdleConnections <= 0 || closed || minIdleSuspended || !connectionPoolConfiguration.isEnabled()) {
+            return 0;
+        }
+        return Math.max(0, minIdleConnections - getIdleConnections());
+    }
+
+    /**
+     * @return The number of open HTTP/1 connections
+     */
+    public final int getHttp1Connections() {
+        return http1Connections.size();
+    }
+
+    /**
+     * @return The number of open HTTP/2 connections
+     */
+    public final int getHttp2Connections() {
+        return http2Connections.size();
+    }
+
+    /**
+     * @return The number of open connections that can accept a request right away
+     */
+    public final int getIdleConnections() {
+        int idle = 0;
+        for (ResizerConnection c : http2Connections) {
+            if (c.isIdle()) {
+                idle++;
+            }
+        }
+        for (ResizerConnection c : http1Connections) {
+            if (c.isIdle()) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * @return The number of requests waiting for a connection
+     */
+    public final int getPendingAcquires() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * @return The number of connections that are being opened
+     */
+    public final int getPendingConnections() {
+        return pendingConnectionCount.get();
+    }
+
+    private void completeWarmUp() {
+        while (true) {
+            Sinks.Empty<Void> waiter = warmUpWaiters.poll();
+            if (waiter == null) {
+                break;
+            }
+            waiter.tryEmitEmpty();
         }
     }
 
+    private boolean dispatchOnEventLoop(Map<EventLoop, List<ResizerConnection>> connectionsByEventLoop, PoolSink<ConnectionManager.PoolHandle> toDispatch, EventLoop eventLoop) {
+        List<ResizerConnection> connections = connectionsByEventLoop.get(eventLoop);
+        if (connections != null) {
+            for (ResizerConnection c : connections) {
+                if (dispatchSafe(c, toDispatch)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void addToPartition(Map<EventLoop, List<ResizerConnection>> connectionsByEventLoop, ResizerConnection connection) {
+        connectionsByEventLoop.compute(connection.eventLoop(), (eventLoop, connections) -> {
+            if (connections == null) {
+                connections = new CopyOnWriteArrayList<>();
+            }
+            connections.add(connection);
+            return connections;
+        });
+    }
+
+    private static void removeFromPartition(Map<EventLoop, List<ResizerConnection>> connectionsByEventLoop, ResizerConnection connection) {
+        connectionsByEventLoop.computeIfPresent(connection.eventLoop(), (eventLoop, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
     private boolean dispatchSafe(ResizerConnection connection, PoolSink<ConnectionManager.PoolHandle> toDispatch) {
         try {
             return connection.dispatch(toDispatch);
@@ -180,7 +375,15 @@ abstract class PoolResizer {
         }
     }
 
-    abstract void openNewConnection(@Nullable BlockHint blockedPendingRequests) throws Exception;
+    /**
+     * Open a new connection.
+     *
+     * @param blockedPendingRequests The threads blocked by the pending requests
+     * @param preferredEventLoop     The event loop the connection should preferably run on, or
+     *                               {@code null} for any
+     * @throws Exception If the connection cannot be opened
+     */
+    abstract void openNewConnection(@Nullable BlockHint blockedPendingRequests, @Nullable EventLoop preferredEventLoop) throws Exception;
 
     static boolean incrementWithLimit(AtomicInteger variable, int limit) {
         while (true) {
@@ -198,29 +401,40 @@ abstract class PoolResizer {
     void onNewConnectionFailure(@Nullable Throwable error) throws Exception {
         // todo: implement a circuit breaker here? right now, we just fail one connection in the
         //  subclass implementation, but maybe we should do more.
+        if (pendingRequests.isEmpty()) {
+            minIdleSuspended = true;
+        }
         pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
     final void onNewConnectionEstablished1(ResizerConnection connection) {
         http1Connections.add(connection);
+        addToPartition(http1ConnectionsByEventLoop, connection);
+        minIdleSuspended = false;
+        connectingEventLoops.remove(connection.eventLoop());
         pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
     final void onNewConnectionEstablished2(ResizerConnection connection) {
         http2Connections.add(connection);
+        addToPartition(http2ConnectionsByEventLoop, connection);
+        minIdleSuspended = false;
+        connectingEventLoops.remove(connection.eventLoop());
         pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
     final void onConnectionInactive1(ResizerConnection connection) {
         http1Connections.remove(connection);
+        removeFromPartition(http1ConnectionsByEventLoop, connection);
         dirty();
     }
 
     final void onConnectionInactive2(ResizerConnection connection) {
         http2Connections.remove(connection);
+        removeFromPartition(http2ConnectionsByEventLoop, connection);
         dirty();
     }
 
@@ -230,6 +444,38 @@ abstract class PoolResizer {
             return;
         }
         pendingRequests.addLast(sink);
+        minIdleSuspended = false;
+        dirty();
+    }
+
+    /**
+     * Open the {@link HttpClientConfiguration.ConnectionPoolConfiguration#getMinIdleConnections()
+     * minimum idle connections}.
+     *
+     * @return A mono that completes once the idle connections are open, or no more connections
+     * can be opened
+     */
+    final Mono<Void> warmUp() {
+        Sinks.Empty<Void> waiter = Sinks.empty();
+        warmUpWaiters.add(waiter);
+        minIdleSuspended = false;
+        dirty();
+        return waiter.asMono();
+    }
+
+    /**
+     * Stop replacing closed connections, called when the pool shuts down.
+     */
+    final void markClosed() {
+        closed = true;
+        completeWarmUp();
+    }
+
+    /**
+     * Resume keeping the idle connections after {@link #markClosed()}.
+     */
+    final void markOpen() {
+        closed = false;
         dirty();
     }
 
@@ -281,5 +527,15 @@ abstract class PoolResizer {
          * request must be readded), or {@code false} if it fails immediately
          */
         abstract boolean dispatch(PoolSink<ConnectionManager.PoolHandle> sink) throws Exception;
+
+        /**
+         * @return {@code true} if this connection can accept a request right away
+         */
+        abstract boolean isIdle();
+
+        /**
+         * @return The event loop of this connection
+         */
+        abstract EventLoop eventLoop();
     }
 }
@@ -17,6 +17,7 @@ package io.micronaut.http.client.netty;
 
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
+import io.netty.channel.EventLoop;
 import reactor.core.publisher.Sinks;
 
 /**
@@ -30,4 +31,12 @@ import reactor.core.publisher.Sinks;
 interface PoolSink<T> extends Sinks.One<T> {
     @Nullable
     BlockHint getBlockHint();
+
+    /**
+     * @return The event loop the connection should preferably run on, or {@code null} for any
+     */
+    @Nullable
+    default EventLoop getPreferredEventLoop() {
+        return null;
+    }
 }
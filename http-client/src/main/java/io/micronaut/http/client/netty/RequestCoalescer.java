@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.util.ReferenceCountUtil;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces identical concurrent requests of a client. The first request for a key becomes the
+ * leader of a {@link Flight} and is sent to the server, the requests that arrive while it is in
+ * flight wait for its response.
+ *
+ * <p>The leader hands its aggregated response to {@link Flight#complete(FullHttpResponse)},
+ * which gives every waiting request a {@link FullHttpResponse#retainedDuplicate() retained
+ * duplicate}, so the body is received once and shared without copying. Each waiting request
+ * decodes and releases its duplicate. If the leader ends without a response that can be shared,
+ * for example because it followed a redirect or was cancelled, the waiting requests are sent on
+ * their own.</p>
+ *
+ * @since 4.0.0
+ */
+final class RequestCoalescer {
+
+    private final List<String> keyHeaders;
+    private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration The coalescing configuration of the client
+     */
+    RequestCoalescer(HttpClientConfiguration.CoalescingConfiguration configuration) {
+        this.keyHeaders = List.copyOf(configuration.getKeyHeaders());
+    }
+
+    /**
+     * Compute the coalescing key of a request.
+     *
+     * @param requestKey The remote the request is sent to
+     * @param request    The request, after the client filters have been applied
+     * @return The key, or {@code null} if the request cannot be coalesced
+     */
+    @Nullable
+    Key key(DefaultHttpClient.RequestKey requestKey, HttpRequest<?> request) {
+        HttpMethod method = request.getMethod();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return null;
+        }
+        if (request.getBody().isPresent()) {
+            return null;
+        }
+        List<List<String>> headers;
+        if (keyHeaders.isEmpty()) {
+            headers = Collections.emptyList();
+        } else {
+            headers = new ArrayList<>(keyHeaders.size());
+            for (String name : keyHeaders) {
+                headers.add(request.getHeaders().getAll(name));
+            }
+        }
+        return new Key(requestKey, method, request.getUri().toString(), headers);
+    }
+
+    /**
+     * Start a flight for the given key, unless one is in progress.
+     *
+     * @param key The key
+     * @return The new flight that the caller leads, or {@code null} if a flight is in progress
+     */
+    @Nullable
+    Flight lead(Key key) {
+        Flight flight = new Flight(key);
+        return flights.putIfAbsent(key, flight) == null ? flight : null;
+    }
+
+    /**
+     * Wait for the response of the flight in progress for the given key.
+     *
+     * @param key The key
+     * @return A mono that emits a retained duplicate of the response of the leader, errors with
+     * the failure of the leader, or completes empty if the request has to be sent on its own
+     */
+    Mono<FullHttpResponse> follow(Key key) {
+        Flight flight = flights.get(key);
+        if (flight == null) {
+            return Mono.empty();
+        }
+        return flight.await()
+            .doOnDiscard(FullHttpResponse.class, ReferenceCountUtil::release);
+    }
+
+    /**
+     * The coalescing key: the remote, the method, the URI and the values of the key headers.
+     *
+     * @param requestKey The remote
+     * @param method     The method
+     * @param uri        The URI
+     * @param headers    The values of the key headers
+     */
+    record Key(DefaultHttpClient.RequestKey requestKey, HttpMethod method, String uri, List<List<String>> headers) {
+    }
+
+    /**
+     * A request in flight and the requests waiting for its response.
+     */
+    final class Flight {
+        private final Key key;
+        @Nullable
+        private List<MonoSink<FullHttpResponse>> waiters = new ArrayList<>();
+
+        private Flight(Key key) {
+            this.key = key;
+        }
+
+        private Mono<FullHttpResponse> await() {
+            return Mono.create(sink -> {
+                synchronized (this) {
+                    if (waiters != null) {
+                        waiters.add(sink);
+                        sink.onCancel(() -> {
+                            synchronized (this) {
+                                if (waiters != null) {
+                                    waiters.remove(sink);
+                                }
+                            }
+                        });
+                        return;
+                    }
+                }
+                // landed in the meantime
+                sink.success();
+            });
+        }
+
+        /**
+         * Share the response of the leader with the waiting requests. Must be called before the
+         * response is released by the leader.
+         *
+         * @param response The response
+         */
+        void complete(FullHttpResponse response) {
+            for (MonoSink<FullHttpResponse> waiter : land()) {
+                waiter.success(response.retainedDuplicate());
+            }
+        }
+
+        /**
+         * Fail the waiting requests with the failure of the leader.
+         *
+         * @param error The failure
+         */
+        void fail(Throwable error) {
+            for (MonoSink<FullHttpResponse> waiter : land()) {
+                waiter.error(error);
+            }
+        }
+
+        /**
+         * End the flight without a response, the waiting requests are sent on their own. Does
+         * nothing if the flight has already been completed.
+         */
+        void abandon() {
+            for (MonoSink<FullHttpResponse> waiter : land()) {
+                waiter.success();
+            }
+        }
+
+        private List<MonoSink<FullHttpResponse>> land() {
+            flights.remove(key, this);
+            List<MonoSink<FullHttpResponse>> landed;
+            synchronized (this) {
+                landed = waiters;
+                waiters = null;
+            }
+            return landed == null ? Collections.emptyList() : landed;
+        }
+    }
+}
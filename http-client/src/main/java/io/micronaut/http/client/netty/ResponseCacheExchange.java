@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.client.cache.CachedResponse;
+import io.micronaut.http.client.cache.HttpResponseCache;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * The interaction of a single client request with the {@link HttpResponseCache}: whether it can
+ * be answered from the cache, the conditional headers used to revalidate a stale response and
+ * the storage of the received response.
+ *
+ * @since 4.0.0
+ */
+final class ResponseCacheExchange {
+
+    private final HttpResponseCache cache;
+    private final io.micronaut.http.HttpRequest<?> request;
+    private final boolean cacheable;
+    @Nullable
+    private final HttpResponseCache.Match match;
+    private long requestTime;
+
+    private ResponseCacheExchange(HttpResponseCache cache, io.micronaut.http.HttpRequest<?> request, boolean cacheable, @Nullable HttpResponseCache.Match match) {
+        this.cache = cache;
+        this.request = request;
+        this.cacheable = cacheable;
+        this.match = match;
+    }
+
+    /**
+     * Look up the cached response for a request. The exchange is emitted right away unless the
+     * cached response has to be read from disk.
+     *
+     * @param cache   The cache
+     * @param request The request, after the client filters have been applied
+     * @return The exchange
+     */
+    static Mono<ResponseCacheExchange> begin(HttpResponseCache cache, io.micronaut.http.HttpRequest<?> request) {
+        if (!cache.isCacheable(request)) {
+            return Mono.just(new ResponseCacheExchange(cache, request, false, null));
+        }
+        return cache.lookup(request, System.currentTimeMillis())
+            .map(match -> new ResponseCacheExchange(cache, request, true, match))
+            .defaultIfEmpty(new ResponseCacheExchange(cache, request, true, null));
+    }
+
+    /**
+     * Create the exchange that revalidates a stale response in the background.
+     *
+     * @param cache   The cache
+     * @param request The copy of the original request
+     * @param match   The stale response
+     * @return The exchange
+     */
+    static ResponseCacheExchange revalidate(HttpResponseCache cache, io.micronaut.http.HttpRequest<?> request, HttpResponseCache.Match match) {
+        return new ResponseCacheExchange(cache, request, true, new HttpResponseCache.Match(match.key(), match.response(), HttpResponseCache.Freshness.STALE));
+    }
+
+    /**
+     * @return Whether the request can be answered from the cache without contacting the server
+     */
+    boolean isFromCache() {
+        return match != null && match.freshness() != HttpResponseCache.Freshness.STALE;
+    }
+
+    /**
+     * @return The stale response that should be revalidated in the background after it has
+     * been served, if any
+     */
+    @Nullable
+    HttpResponseCache.Match getBackgroundRevalidation() {
+        return match != null && match.freshness() == HttpResponseCache.Freshness.STALE_WHILE_REVALIDATE ? match : null;
+    }
+
+    /**
+     * @return The cached response as a netty response, with an {@code Age} header
+     */
+    FullHttpResponse cachedResponse() {
+        CachedResponse response = match.response();
+        DefaultFullHttpResponse msg = toNettyResponse(response, Unpooled.wrappedBuffer(response.getBody()));
+        msg.headers().set(HttpHeaderNames.AGE, response.getAge(System.currentTimeMillis()) / 1000);
+        return msg;
+    }
+
+    /**
+     * Add the validators of a stale response to the request sent to the server.
+     *
+     * @param nettyRequest The request sent to the server
+     */
+    void prepareRequest(HttpRequest nettyRequest) {
+        requestTime = System.currentTimeMillis();
+        if (match != null && match.freshness() == HttpResponseCache.Freshness.STALE) {
+            CachedResponse response = match.response();
+            String etag = response.getHeader(HttpHeaderNames.ETAG.toString());
+            if (etag != null) {
+                nettyRequest.headers().set(HttpHeaderNames.IF_NONE_MATCH, etag);
+            }
+            String lastModified = response.getHeader(HttpHeaderNames.LAST_MODIFIED.toString());
+            if (lastModified != null) {
+                nettyRequest.headers().set(HttpHeaderNames.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+    }
+
+    /**
+     * Store or invalidate cached responses according to the response of the server.
+     *
+     * @param msg The response of the server
+     * @return The response to return to the caller, which is the validated cached response if
+     * the server responded with {@code 304 Not Modified} to a revalidation
+     */
+    FullHttpResponse onResponse(FullHttpResponse msg) {
+        long responseTime = System.currentTimeMillis();
+        int status = msg.status().code();
+        if (!cacheable) {
+            cache.invalidate(request, status);
+            return msg;
+        }
+        if (status == HttpResponseStatus.NOT_MODIFIED.code() && match != null) {
+            CachedResponse validated = cache.validated(match, headers(msg.headers()), requestTime, responseTime);
+            // the 304 response itself is released by the response handler
+            return toNettyResponse(validated, Unpooled.wrappedBuffer(validated.getBody()));
+        }
+        String[] headers = headers(msg.headers());
+        ByteBuf content = msg.content();
+        if (cache.isStorable(request, status, headers, content.readableBytes())) {
+            byte[] body = new byte[content.readableBytes()];
+            content.getBytes(content.readerIndex(), body);
+            cache.store(request, CachedResponse.create(status, msg.status().reasonPhrase(), headers, ByteBuffer.wrap(body), requestTime, responseTime));
+        }
+        return msg;
+    }
+
+    private static DefaultFullHttpResponse toNettyResponse(CachedResponse response, ByteBuf content) {
+        DefaultFullHttpResponse msg = new DefaultFullHttpResponse(
+            HttpVersion.HTTP_1_1,
+            new HttpResponseStatus(response.getStatus(), response.getReason()),
+            content
+        );
+        String[] headers = response.getHeaders();
+        for (int i = 0; i < headers.length; i += 2) {
+            msg.headers().add(headers[i], headers[i + 1]);
+        }
+        return msg;
+    }
+
+    private static String[] headers(HttpHeaders headers) {
+        String[] result = new String[headers.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> header : headers) {
+            result[i++] = header.getKey();
+            result[i++] = header.getValue();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,175 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.annotation.Property
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.multipart.MultipartBody
+import io.micronaut.http.multipart.CompletedFileUpload
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+@Property(name = 'spec.name', value = 'FileTransferSpec')
+@MicronautTest
+class FileTransferSpec extends Specification {
+
+    static final byte[] DATA = (0..<100_000).collect { (byte) (it * 31) } as byte[]
+
+    @Inject
+    @Client("/")
+    StreamingHttpClient client
+
+    @Inject
+    FileController controller
+
+    @TempDir
+    Path tmp
+
+    void "a response body is written to a file"() {
+        given:
+        def target = tmp.resolve('data.bin')
+        Files.write(target, 'old content'.bytes)
+        def progress = []
+
+        when:
+        HttpResponse<Path> response = Mono.from(client.download(HttpRequest.GET('/files/data'), target, DownloadOptions.builder()
+                .progressListener({ transferred, total -> progress << [transferred, total] })
+                .build())).block()
+
+        then:
+        response.status() == HttpStatus.OK
+        response.body() == target
+        Files.readAllBytes(target) == DATA
+        progress.last() == [DATA.length as long, DATA.length as long]
+    }
+
+    void "a partial download is resumed"() {
+        given:
+        def target = tmp.resolve('partial.bin')
+        Files.write(target, Arrays.copyOf(DATA, 40_000))
+        def progress = []
+
+        when:
+        HttpResponse<Path> response = Mono.from(client.download(HttpRequest.GET('/files/data'), target, DownloadOptions.builder()
+                .resume()
+                .progressListener({ transferred, total -> progress << [transferred, total] })
+                .build())).block()
+
+        then:
+        response.status() == HttpStatus.PARTIAL_CONTENT
+        controller.lastRange == 'bytes=40000-'
+        Files.readAllBytes(target) == DATA
+        progress.first() == [40_000L, DATA.length as long]
+        progress.last() == [DATA.length as long, DATA.length as long]
+    }
+
+    void "resuming a complete download does not change the file"() {
+        given:
+        def target = tmp.resolve('complete.bin')
+        Files.write(target, DATA)
+
+        when:
+        HttpResponse<Path> response = Mono.from(client.download(HttpRequest.GET('/files/data'), target, DownloadOptions.builder().resume().build())).block()
+
+        then:
+        response.status() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE
+        response.body() == target
+        Files.readAllBytes(target) == DATA
+    }
+
+    void "a request body is sent from a file"() {
+        given:
+        def source = tmp.resolve('upload.bin')
+        Files.write(source, DATA)
+        def progress = []
+
+        when:
+        String result = client.toBlocking().retrieve(HttpRequest.POST('/files/upload', FileBody.of(source)
+                .withProgressListener({ transferred, total -> progress << [transferred, total] })))
+
+        then:
+        result == "$DATA.length ${Arrays.hashCode(DATA)} application/octet-stream"
+        progress.last() == [DATA.length as long, DATA.length as long]
+    }
+
+    void "a region of a file is sent as request body"() {
+        given:
+        def source = tmp.resolve('region.bin')
+        Files.write(source, DATA)
+        def region = Arrays.copyOfRange(DATA, 1000, 3000)
+
+        when:
+        String result = client.toBlocking().retrieve(HttpRequest.POST('/files/upload', FileBody.of(source, 1000, 2000))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM_TYPE))
+
+        then:
+        result == "2000 ${Arrays.hashCode(region)} application/octet-stream"
+    }
+
+    void "multipart file parts are sent from their files"() {
+        given:
+        def source = tmp.resolve('part.bin')
+        Files.write(source, DATA)
+        def body = MultipartBody.builder()
+                .addPart('title', 'the title')
+                .addPart('data', 'part.bin', MediaType.APPLICATION_OCTET_STREAM_TYPE, source.toFile())
+                .addPart('small', 'small.txt', MediaType.TEXT_PLAIN_TYPE, 'small'.bytes)
+                .build()
+
+        when:
+        String result = client.toBlocking().retrieve(HttpRequest.POST('/files/multipart', body)
+                .contentType(MediaType.MULTIPART_FORM_DATA_TYPE))
+
+        then:
+        result == "the title part.bin $DATA.length ${Arrays.hashCode(DATA)} small"
+    }
+
+    @Requires(property = 'spec.name', value = 'FileTransferSpec')
+    @Controller('/files')
+    static class FileController {
+        String lastRange
+
+        @Get(value = '/data', produces = MediaType.APPLICATION_OCTET_STREAM)
+        HttpResponse<byte[]> data(@Nullable @Header(HttpHeaders.RANGE) String range) {
+            lastRange = range
+            if (range == null) {
+                return HttpResponse.ok(DATA)
+            }
+            int start = range.substring('bytes='.length(), range.length() - 1) as int
+            if (start >= DATA.length) {
+                return HttpResponse.<byte[]>status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */$DATA.length")
+            }
+            return HttpResponse.<byte[]>status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes $start-${DATA.length - 1}/$DATA.length")
+                    .body(Arrays.copyOfRange(DATA, start, DATA.length))
+        }
+
+        @Post(value = '/upload', consumes = MediaType.APPLICATION_OCTET_STREAM, produces = MediaType.TEXT_PLAIN)
+        String upload(@Body byte[] body, @Header(HttpHeaders.CONTENT_TYPE) String contentType) {
+            return "$body.length ${Arrays.hashCode(body)} $contentType"
+        }
+
+        @Post(value = '/multipart', consumes = MediaType.MULTIPART_FORM_DATA, produces = MediaType.TEXT_PLAIN)
+        String multipart(String title, CompletedFileUpload data, CompletedFileUpload small) {
+            byte[] bytes = data.bytes
+            return "$title $data.filename $bytes.length ${Arrays.hashCode(bytes)} ${new String(small.bytes)}"
+        }
+    }
+}
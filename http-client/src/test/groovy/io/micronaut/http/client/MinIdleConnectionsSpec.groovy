@@ -0,0 +1,149 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Context
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.channel.Channel
+import jakarta.inject.Inject
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class MinIdleConnectionsSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'MinIdleConnectionsSpec'
+    ])
+
+    def "idle connections are opened when the client is created"() {
+        setup:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.min-idle-connections': 2
+        )
+        HttpClient httpClient = clientContext.createBean(HttpClient, embeddedServer.getURL())
+
+        expect:"the connections are opened in the background"
+        new PollingConditions().eventually {
+            getChannels(httpClient).size() == 2
+            getChannels(httpClient).every { it.isOpen() }
+        }
+
+        when:
+        String body = httpClient.toBlocking().retrieve(HttpRequest.GET('/minIdle'), String)
+
+        then:"a connection busy with the request is not idle, so another one is opened"
+        body == 'success'
+        new PollingConditions().eventually {
+            getChannels(httpClient).size() == 3
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    def "idle connections are replaced when their ttl expires"() {
+        setup:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.connect-ttl': '500ms',
+                'micronaut.http.client.pool.min-idle-connections': 1
+        )
+        HttpClient httpClient = clientContext.createBean(HttpClient, embeddedServer.getURL())
+        new PollingConditions().eventually {
+            getChannels(httpClient).size() == 1
+        }
+        Channel first = getChannels(httpClient).get(0)
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            !first.isOpen()
+            getChannels(httpClient).size() == 1
+            getChannels(httpClient).get(0) != first
+            getChannels(httpClient).get(0).isOpen()
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    def "the startup waits for the idle connections of the clients created while the context starts"() {
+        setup:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'spec.name': 'MinIdleConnectionsSpec.startup',
+                'spec.url': embeddedServer.getURL().toString(),
+                'micronaut.http.client.pool.min-idle-connections': 2,
+                'micronaut.http.client.pool.warm-up-timeout': '5s'
+        )
+        HttpClient httpClient = clientContext.getBean(StartupClient).client
+
+        expect:"the connections are open when the context has started"
+        getChannels(httpClient).size() == 2
+        getChannels(httpClient).every { it.isOpen() }
+
+        cleanup:
+        clientContext.close()
+    }
+
+    def "clients created after the startup do not wait for the idle connections"() {
+        setup:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.min-idle-connections': 2,
+                'micronaut.http.client.pool.warm-up-timeout': '5s'
+        )
+        HttpClient httpClient = clientContext.createBean(HttpClient, embeddedServer.getURL())
+
+        expect:
+        new PollingConditions().eventually {
+            getChannels(httpClient).size() == 2
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    def "no connections are opened by default"() {
+        setup:
+        ApplicationContext clientContext = ApplicationContext.run()
+        HttpClient httpClient = clientContext.createBean(HttpClient, embeddedServer.getURL())
+
+        expect:
+        getChannels(httpClient).isEmpty()
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    List<Channel> getChannels(HttpClient client) {
+        return client.connectionManager.channels
+    }
+
+    @Requires(property = 'spec.name', value = 'MinIdleConnectionsSpec.startup')
+    @Context
+    static class StartupClient {
+        @Inject
+        @Client('${spec.url}')
+        HttpClient client
+    }
+
+    @Requires(property = 'spec.name', value = 'MinIdleConnectionsSpec')
+    @Controller('/minIdle')
+    static class MinIdleController {
+
+        @Get(produces = MediaType.TEXT_PLAIN)
+        String get() {
+            return "success"
+        }
+    }
+}
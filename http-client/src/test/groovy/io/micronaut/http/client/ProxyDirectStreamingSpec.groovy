@@ -0,0 +1,109 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.MutableHttpResponse
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.annotation.Produces
+import io.micronaut.http.filter.HttpServerFilter
+import io.micronaut.http.filter.ServerFilterChain
+import io.micronaut.http.uri.UriBuilder
+import io.micronaut.runtime.server.EmbeddedServer
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class ProxyDirectStreamingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'ProxyDirectStreamingSpec'
+    ])
+
+    @Shared
+    @AutoCleanup
+    HttpClient client = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.URL)
+
+    void "the body of a large request and response is forwarded"() {
+        given:
+        byte[] body = new byte[4 * 1024 * 1024]
+        new Random(42).nextBytes(body)
+
+        when:
+        def response = client.toBlocking().exchange(HttpRequest.POST('/proxy/echo', body)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM_TYPE), byte[])
+
+        then:
+        response.body() == body
+        response.header('X-Proxied') == 'true'
+    }
+
+    void "headers can be rewritten without aggregating the body"() {
+        when:
+        def response = client.toBlocking().exchange(HttpRequest.GET('/proxy/header'), String)
+
+        then:
+        response.body() == 'rewritten'
+        response.header('X-Proxied') == 'true'
+    }
+
+    void "direct streaming is part of the options equality"() {
+        expect:
+        ProxyRequestOptions.builder().directStreaming().build() == ProxyRequestOptions.builder().directStreaming(true).build()
+        ProxyRequestOptions.builder().directStreaming().build() != ProxyRequestOptions.getDefault()
+        ProxyRequestOptions.builder().directStreaming().build().hashCode() == ProxyRequestOptions.builder().directStreaming().build().hashCode()
+    }
+
+    @Requires(property = 'spec.name', value = 'ProxyDirectStreamingSpec')
+    @Filter('/proxy/**')
+    static class DirectProxyFilter implements HttpServerFilter {
+        private final ProxyHttpClient proxyHttpClient
+        private final EmbeddedServer embeddedServer
+
+        DirectProxyFilter(ProxyHttpClient proxyHttpClient, EmbeddedServer embeddedServer) {
+            this.proxyHttpClient = proxyHttpClient
+            this.embeddedServer = embeddedServer
+        }
+
+        @Override
+        Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+            def proxied = request.mutate()
+                    .uri(UriBuilder.of(request.uri)
+                            .scheme('http')
+                            .host(embeddedServer.host)
+                            .port(embeddedServer.port)
+                            .replacePath(request.path.replace('/proxy', '/real'))
+                            .build())
+                    .header('X-Rewrite', 'rewritten')
+            return Publishers.map(proxyHttpClient.proxy(proxied, ProxyRequestOptions.builder().directStreaming().build()), { MutableHttpResponse<?> response ->
+                response.header('X-Proxied', 'true')
+            })
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ProxyDirectStreamingSpec')
+    @Controller('/real')
+    static class RealController {
+
+        @Post(uri = '/echo', processes = MediaType.APPLICATION_OCTET_STREAM)
+        byte[] echo(@Body byte[] body) {
+            body
+        }
+
+        @Get('/header')
+        @Produces(MediaType.TEXT_PLAIN)
+        String header(@Header('X-Rewrite') String value) {
+            value
+        }
+    }
+}
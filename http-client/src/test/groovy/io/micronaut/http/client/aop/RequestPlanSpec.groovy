@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.aop
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Introspected
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class RequestPlanSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'RequestPlanSpec'])
+
+    @Shared
+    PlanClient client = embeddedServer.applicationContext.getBean(PlanClient)
+
+    void "test the request plan of a method is reused with the arguments of every invocation"() {
+        expect:
+        client.get("a", "x", null) == "GET /plan/items/a?q=x header=none"
+        client.get("b", null, "h") == "GET /plan/items/b header=h"
+        client.get("c", "z", null) == "GET /plan/items/c?q=z header=none"
+    }
+
+    void "test default values, body arguments and path variables from the body"() {
+        expect:
+        client.paged(null) == "GET /plan/paged?size=10 header=none"
+        client.paged(5) == "GET /plan/paged?size=5 header=none"
+        client.post("a", 1) == 'POST /plan/items {"name":"a","count":1}'
+        client.post("b", null) == 'POST /plan/items {"name":"b"}'
+        client.postTo(new Item(name: "c", count: 2)) == 'POST /plan/items/c {"name":"c","count":2}'
+    }
+
+    @Requires(property = 'spec.name', value = 'RequestPlanSpec')
+    @Client('/plan')
+    static interface PlanClient {
+
+        @Get('/items/{id}{?q}')
+        String get(String id, @Nullable @QueryValue String q, @Nullable @Header('X-Plan') String header)
+
+        @Get('/paged')
+        String paged(@Nullable @QueryValue(defaultValue = '10') Integer size)
+
+        @Post('/items')
+        String post(String name, @Nullable Integer count)
+
+        @Post('/items/{name}')
+        String postTo(@Body Item item)
+    }
+
+    @Requires(property = 'spec.name', value = 'RequestPlanSpec')
+    @Controller('/plan')
+    static class PlanController {
+
+        @Get('/{+path}')
+        String get(HttpRequest<?> request, String path, @Nullable @Header('X-Plan') String header) {
+            return "GET " + request.uri + " header=" + (header ?: "none")
+        }
+
+        @Post('/{+path}')
+        String post(HttpRequest<?> request, String path, @Body String body) {
+            return "POST " + request.uri + " " + body
+        }
+    }
+
+    @Introspected
+    static class Item {
+        String name
+        Integer count
+    }
+}
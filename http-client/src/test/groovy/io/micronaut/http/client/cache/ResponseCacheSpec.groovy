@@ -0,0 +1,319 @@
+package io.micronaut.http.client.cache
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.filter.ClientFilterChain
+import io.micronaut.http.filter.HttpClientFilter
+import io.micronaut.runtime.server.EmbeddedServer
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Path
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResponseCacheSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'ResponseCacheSpec'
+    ])
+
+    @TempDir
+    Path tempDir
+
+    CacheController controller = embeddedServer.applicationContext.getBean(CacheController)
+
+    def setup() {
+        controller.reset()
+    }
+
+    def "fresh responses are served from the cache"() {
+        given:
+        def ctx = ApplicationContext.run('micronaut.http.client.cache.enabled': true)
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        def first = client.exchange('/cache/fresh', String)
+        def second = client.exchange('/cache/fresh', String)
+
+        then:
+        first.body() == 'fresh 1'
+        second.body() == 'fresh 1'
+        second.header('Age') != null
+        controller.hits.get() == 1
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "responses are not cached unless the cache is enabled"() {
+        given:
+        def ctx = ApplicationContext.run()
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        client.retrieve('/cache/fresh')
+        def second = client.retrieve('/cache/fresh')
+
+        then:
+        second == 'fresh 2'
+        controller.hits.get() == 2
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "stale responses are revalidated with the etag"() {
+        given:
+        def ctx = ApplicationContext.run('micronaut.http.client.cache.enabled': true)
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        def first = client.exchange('/cache/etag', String)
+        def second = client.exchange('/cache/etag', String)
+
+        then:
+        first.body() == 'etag'
+        second.status() == HttpStatus.OK
+        second.body() == 'etag'
+        controller.hits.get() == 2
+        controller.notModified.get() == 1
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "unsafe requests invalidate the cached response"() {
+        given:
+        def ctx = ApplicationContext.run('micronaut.http.client.cache.enabled': true)
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        client.retrieve('/cache/fresh')
+        client.exchange(HttpRequest.POST('/cache/fresh', ''), String)
+        def afterPost = client.retrieve('/cache/fresh')
+
+        then:
+        afterPost == 'fresh 2'
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "no-store requests bypass the cache"() {
+        given:
+        def ctx = ApplicationContext.run('micronaut.http.client.cache.enabled': true)
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        client.retrieve('/cache/fresh')
+        def second = client.retrieve(HttpRequest.GET('/cache/fresh').header('Cache-Control', 'no-store'))
+
+        then:
+        second == 'fresh 2'
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "responses evicted from memory are served from disk"() {
+        given:
+        def ctx = ApplicationContext.run(
+                'micronaut.http.client.cache.enabled': true,
+                'micronaut.http.client.cache.maximum-memory-size': '1KB',
+                'micronaut.http.client.cache.disk-path': tempDir.toString()
+        )
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        for (int i = 0; i < 10; i++) {
+            client.retrieve("/cache/large/$i")
+        }
+
+        then:
+        controller.hits.get() == 10
+        new PollingConditions().eventually {
+            // the first evicted response is written first
+            tempDir.resolve('default').toFile().list().any { it.endsWith('.response') }
+        }
+
+        when:
+        def fromDisk = client.retrieve('/cache/large/0')
+
+        then:
+        fromDisk.startsWith('0:')
+        controller.hits.get() == 10
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "background revalidations pass through the client filters"() {
+        given:
+        def ctx = ApplicationContext.run(
+                'micronaut.http.client.cache.enabled': true,
+                'spec.filter': 'ResponseCacheSpec'
+        )
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        def first = client.retrieve('/cache/swr')
+        def second = client.retrieve('/cache/swr')
+
+        then:
+        first == 'swr'
+        second == 'swr'
+        new PollingConditions().eventually {
+            controller.revalidations.size() == 1
+        }
+        controller.revalidations[0] == ['filtered']
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "responses to requests with credentials are not shared between users"() {
+        given:
+        def ctx = ApplicationContext.run('micronaut.http.client.cache.enabled': true)
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        def alice = client.retrieve(HttpRequest.GET('/cache/user').bearerAuth('alice'))
+        def bob = client.retrieve(HttpRequest.GET('/cache/user').bearerAuth('bob'))
+        def aliceAgain = client.retrieve(HttpRequest.GET('/cache/user').bearerAuth('alice'))
+
+        then:
+        alice == 'Bearer alice'
+        bob == 'Bearer bob'
+        aliceAgain == 'Bearer alice'
+        controller.hits.get() == 3
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "public responses to requests with credentials are cached"() {
+        given:
+        def ctx = ApplicationContext.run('micronaut.http.client.cache.enabled': true)
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        def first = client.retrieve(HttpRequest.GET('/cache/public').bearerAuth('alice'))
+        def second = client.retrieve(HttpRequest.GET('/cache/public').bearerAuth('bob'))
+
+        then:
+        first == 'public 1'
+        second == 'public 1'
+
+        cleanup:
+        ctx.close()
+    }
+
+    def "private responses are not cached"() {
+        given:
+        def ctx = ApplicationContext.run('micronaut.http.client.cache.enabled': true)
+        def client = ctx.createBean(HttpClient, embeddedServer.URL).toBlocking()
+
+        when:
+        client.retrieve('/cache/private')
+        def second = client.retrieve('/cache/private')
+
+        then:
+        second == 'private 2'
+
+        cleanup:
+        ctx.close()
+    }
+
+    @Requires(property = 'spec.filter', value = 'ResponseCacheSpec')
+    @Filter('/cache/**')
+    static class MarkingFilter implements HttpClientFilter {
+        @Override
+        Publisher<? extends HttpResponse<?>> doFilter(MutableHttpRequest<?> request, ClientFilterChain chain) {
+            request.header('X-Filter', 'filtered')
+            return chain.proceed(request)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ResponseCacheSpec')
+    @Controller('/cache')
+    static class CacheController {
+        final AtomicInteger hits = new AtomicInteger()
+        final AtomicInteger notModified = new AtomicInteger()
+        final List<List<String>> revalidations = new CopyOnWriteArrayList<>()
+
+        void reset() {
+            hits.set(0)
+            notModified.set(0)
+            revalidations.clear()
+        }
+
+        @Get('/fresh')
+        HttpResponse<String> fresh() {
+            HttpResponse.ok('fresh ' + hits.incrementAndGet()).header('Cache-Control', 'max-age=60')
+        }
+
+        @Post('/fresh')
+        HttpResponse<?> update() {
+            HttpResponse.noContent()
+        }
+
+        @Get('/etag')
+        HttpResponse<String> etag(@Nullable @Header('If-None-Match') String ifNoneMatch) {
+            hits.incrementAndGet()
+            if (ifNoneMatch == '"v1"') {
+                notModified.incrementAndGet()
+                return HttpResponse.notModified()
+            }
+            HttpResponse.ok('etag').header('ETag', '"v1"').header('Cache-Control', 'no-cache')
+        }
+
+        @Get('/swr')
+        HttpResponse<String> swr(HttpRequest<?> request) {
+            if (request.headers.contains('If-None-Match')) {
+                revalidations.add(request.headers.getAll('X-Filter'))
+                return HttpResponse.notModified()
+            }
+            HttpResponse.ok('swr').header('ETag', '"v1"').header('Cache-Control', 'max-age=0, stale-while-revalidate=60')
+        }
+
+        @Get('/user')
+        HttpResponse<String> user(@Header('Authorization') String authorization) {
+            hits.incrementAndGet()
+            HttpResponse.ok(authorization).header('Cache-Control', 'max-age=60')
+        }
+
+        @Get('/public')
+        HttpResponse<String> publicResponse() {
+            HttpResponse.ok('public ' + hits.incrementAndGet()).header('Cache-Control', 'public, max-age=60')
+        }
+
+        @Get('/private')
+        HttpResponse<String> privateResponse() {
+            HttpResponse.ok('private ' + hits.incrementAndGet()).header('Cache-Control', 'private, max-age=60')
+        }
+
+        @Get('/large/{id}')
+        HttpResponse<String> large(int id) {
+            hits.incrementAndGet()
+            HttpResponse.ok(id + ':' + ('x' * 400)).header('Cache-Control', 'max-age=60')
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.micronaut.http.client.coalescing
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.DefaultHttpClientConfiguration
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.annotation.Coalesced
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class RequestCoalescingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'RequestCoalescingSpec'
+    ])
+
+    CoalescingController controller = embeddedServer.applicationContext.getBean(CoalescingController)
+
+    def setup() {
+        controller.requests.set(0)
+    }
+
+    def "identical concurrent requests share one response"() {
+        given:
+        def client = client(true)
+
+        when:
+        List<Map> bodies = Flux.range(0, 20)
+                .flatMap(i -> client.retrieve(HttpRequest.GET('/coalescing/slow'), Map))
+                .collectList()
+                .block()
+
+        then:
+        bodies.size() == 20
+        bodies.every { it == [value: 'response 1'] }
+        controller.requests.get() == 1
+
+        cleanup:
+        client.close()
+    }
+
+    def "requests are not coalesced unless enabled"() {
+        given:
+        def client = client(false)
+
+        when:
+        Flux.range(0, 5)
+                .flatMap(i -> client.retrieve(HttpRequest.GET('/coalescing/slow'), Map))
+                .collectList()
+                .block()
+
+        then:
+        controller.requests.get() == 5
+
+        cleanup:
+        client.close()
+    }
+
+    def "requests with different key headers are not coalesced"() {
+        given:
+        def client = client(true)
+
+        when:
+        List<String> bodies = Flux.range(0, 4)
+                .flatMap(i -> client.retrieve(HttpRequest.GET('/coalescing/user').header('Authorization', 'Bearer ' + (i % 2))))
+                .collectList()
+                .block()
+
+        then:
+        controller.requests.get() == 2
+        bodies.toSet() == ['Bearer 0', 'Bearer 1'] as Set
+
+        cleanup:
+        client.close()
+    }
+
+    def "error responses are shared"() {
+        given:
+        def client = client(true)
+
+        when:
+        List<Throwable> errors = Flux.range(0, 5)
+                .flatMap(i -> Mono.from(client.retrieve(HttpRequest.GET('/coalescing/missing'))).onErrorResume(e -> Mono.just(e)))
+                .collectList()
+                .block()
+
+        then:
+        errors.size() == 5
+        errors.every { it instanceof HttpClientResponseException && it.status.code == 404 }
+        controller.requests.get() == 1
+
+        cleanup:
+        client.close()
+    }
+
+    def "requests with a body are not coalesced"() {
+        given:
+        def client = client(true)
+
+        when:
+        Flux.range(0, 3)
+                .flatMap(i -> client.retrieve(HttpRequest.POST('/coalescing/slow', 'body')))
+                .collectList()
+                .block()
+
+        then:
+        controller.requests.get() == 3
+
+        cleanup:
+        client.close()
+    }
+
+    def "declarative client methods can be coalesced"() {
+        given:
+        def ctx = ApplicationContext.run([
+                'spec.name': 'RequestCoalescingSpec',
+                'micronaut.http.services.coalesced.url': "http://localhost:$embeddedServer.port"
+        ])
+        def client = ctx.getBean(CoalescedClient)
+
+        when:
+        List<Map> bodies = Flux.range(0, 10)
+                .flatMap(i -> Mono.from(client.slow()))
+                .collectList()
+                .block()
+
+        then:
+        bodies.every { it == [value: 'response 1'] }
+        controller.requests.get() == 1
+
+        cleanup:
+        ctx.close()
+    }
+
+    private DefaultHttpClient client(boolean enabled) {
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.coalescingConfiguration.enabled = enabled
+        return new DefaultHttpClient(LoadBalancer.fixed(URI.create("http://localhost:$embeddedServer.port")), configuration, [])
+    }
+
+    @Requires(property = 'spec.name', value = 'RequestCoalescingSpec')
+    @Client(id = 'coalesced')
+    static interface CoalescedClient {
+        @Coalesced
+        @Get('/coalescing/slow')
+        Mono<Map> slow()
+    }
+
+    @Requires(property = 'spec.name', value = 'RequestCoalescingSpec')
+    @Controller('/coalescing')
+    static class CoalescingController {
+        final AtomicInteger requests = new AtomicInteger()
+
+        @Get('/slow')
+        Mono<Map<String, String>> slow() {
+            return Mono.just([value: 'response ' + requests.incrementAndGet()])
+                    .delayElement(Duration.ofMillis(500))
+        }
+
+        @Post('/slow')
+        Mono<String> update() {
+            return Mono.just('response ' + requests.incrementAndGet())
+                    .delayElement(Duration.ofMillis(200))
+        }
+
+        @Get('/user')
+        Mono<String> user(@Header('Authorization') String authorization) {
+            requests.incrementAndGet()
+            return Mono.just(authorization).delayElement(Duration.ofMillis(500))
+        }
+
+        @Get('/missing')
+        Mono<String> missing() {
+            requests.incrementAndGet()
+            return Mono.<String>empty().delayElement(Duration.ofMillis(500))
+        }
+    }
+}
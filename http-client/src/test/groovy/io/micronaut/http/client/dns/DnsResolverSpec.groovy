@@ -0,0 +1,280 @@
+package io.micronaut.http.client.dns
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Primary
+import io.micronaut.context.annotation.Replaces
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.http.netty.channel.DefaultEventLoopGroupFactory
+import io.micronaut.http.netty.channel.EventLoopGroupConfiguration
+import io.micronaut.http.netty.channel.EventLoopGroupFactory
+import io.micronaut.http.netty.channel.NioEventLoopGroupFactory
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.bootstrap.Bootstrap
+import io.netty.buffer.Unpooled
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.EventLoopGroup
+import io.netty.channel.SimpleChannelInboundHandler
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.ServerSocketChannel
+import io.netty.channel.socket.SocketChannel
+import io.netty.channel.socket.nio.NioDatagramChannel
+import io.netty.handler.codec.dns.DatagramDnsQuery
+import io.netty.handler.codec.dns.DatagramDnsQueryDecoder
+import io.netty.handler.codec.dns.DatagramDnsResponse
+import io.netty.handler.codec.dns.DatagramDnsResponseEncoder
+import io.netty.handler.codec.dns.DefaultDnsRawRecord
+import io.netty.handler.codec.dns.DnsQuestion
+import io.netty.handler.codec.dns.DnsRecordType
+import io.netty.handler.codec.dns.DnsResponseCode
+import io.netty.handler.codec.dns.DnsSection
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import jakarta.inject.Singleton
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.atomic.AtomicInteger
+
+class DnsResolverSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext serverContext = ApplicationContext.run(['spec.name': 'DnsResolverSpec'])
+
+    @Shared
+    EmbeddedServer server = serverContext.getBean(EmbeddedServer).start()
+
+    @Shared
+    @AutoCleanup('stop')
+    StubDnsServer dns = new StubDnsServer()
+
+    def setup() {
+        dns.reset()
+    }
+
+    void "host names are resolved by the configured name server and cached"() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.dns-resolver.enabled'     : true,
+                'micronaut.http.client.dns-resolver.name-servers': ["127.0.0.1:$dns.port"],
+                'micronaut.http.client.pool.enabled'             : false,
+        ])
+        def client = ctx.createBean(HttpClient, new URL("http://service.micronaut.test:$server.port"))
+
+        when:
+        def first = client.toBlocking().retrieve('/dns')
+        def second = client.toBlocking().retrieve('/dns')
+
+        then:
+        first == 'ok'
+        second == 'ok'
+        dns.aQueries() == 1
+
+        when:
+        def metrics = ((DefaultHttpClient) client).dnsResolverMetrics.get()
+
+        then:
+        metrics.resolutions == 2
+        metrics.failures == 0
+        metrics.maxResolutionTime <= metrics.totalResolutionTime
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    void "unknown host names fail without blocking"() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.dns-resolver.enabled'     : true,
+                'micronaut.http.client.dns-resolver.name-servers': ["127.0.0.1:$dns.port"],
+        ])
+        def client = ctx.createBean(HttpClient, new URL("http://unknown.micronaut.test:$server.port"))
+
+        when:
+        client.toBlocking().retrieve('/dns')
+
+        then:
+        thrown(HttpClientException)
+        ((DefaultHttpClient) client).dnsResolverMetrics.get().failures == 1
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    void "the resolver can be enabled for a single service"() {
+        given:
+        def ctx = ApplicationContext.run([
+                'spec.name'                                           : 'DnsResolverSpec',
+                'micronaut.http.services.dns.url'                     : "http://service.micronaut.test:$server.port",
+                'micronaut.http.services.dns.dns-resolver.enabled'     : true,
+                'micronaut.http.services.dns.dns-resolver.name-servers': ["127.0.0.1:$dns.port"],
+        ])
+
+        def defaultClient = ctx.createBean(HttpClient, server.URL)
+
+        expect:
+        ctx.getBean(DnsClient).index() == 'ok'
+        dns.aQueries() == 1
+        !((DefaultHttpClient) defaultClient).dnsResolverMetrics.present
+
+        cleanup:
+        defaultClient.close()
+        ctx.close()
+    }
+
+    void "a transport without datagram channels fails when the client is created"() {
+        given:
+        def ctx = ApplicationContext.run([
+                'spec.transport'                            : 'no-datagram',
+                'micronaut.http.client.dns-resolver.enabled': true,
+        ])
+
+        when:
+        ctx.createBean(HttpClient, server.URL)
+
+        then:
+        def e = thrown(Exception)
+        def cause = e
+        while (cause != null && !(cause instanceof HttpClientException)) {
+            cause = cause.cause
+        }
+        cause.message.contains('does not support datagram channels')
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "a transport without datagram channels works while the resolver is disabled"() {
+        given:
+        def ctx = ApplicationContext.run(['spec.transport': 'no-datagram'])
+        def client = ctx.createBean(HttpClient, server.URL)
+
+        expect:
+        client.toBlocking().retrieve('/dns') == 'ok'
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    @Requires(property = 'spec.transport', value = 'no-datagram')
+    @Replaces(DefaultEventLoopGroupFactory)
+    @Primary
+    @Singleton
+    static class NoDatagramEventLoopGroupFactory implements EventLoopGroupFactory {
+        private final NioEventLoopGroupFactory delegate
+
+        NoDatagramEventLoopGroupFactory(NioEventLoopGroupFactory delegate) {
+            this.delegate = delegate
+        }
+
+        @Override
+        EventLoopGroup createEventLoopGroup(int threads, Executor executor, @Nullable Integer ioRatio) {
+            return delegate.createEventLoopGroup(threads, executor, ioRatio)
+        }
+
+        @Override
+        EventLoopGroup createEventLoopGroup(int threads, @Nullable ThreadFactory threadFactory, @Nullable Integer ioRatio) {
+            return delegate.createEventLoopGroup(threads, threadFactory, ioRatio)
+        }
+
+        @Override
+        Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+            return delegate.serverSocketChannelClass()
+        }
+
+        @Override
+        Class<? extends SocketChannel> clientSocketChannelClass(@Nullable EventLoopGroupConfiguration configuration) {
+            return delegate.clientSocketChannelClass(configuration)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'DnsResolverSpec')
+    @io.micronaut.http.client.annotation.Client('dns')
+    static interface DnsClient {
+        @Get('/dns')
+        String index()
+    }
+
+    @Requires(property = 'spec.name', value = 'DnsResolverSpec')
+    @Controller('/dns')
+    static class DnsController {
+        @Get
+        String index() {
+            return 'ok'
+        }
+    }
+
+    /**
+     * Answers A queries for service.micronaut.test with 127.0.0.1, and any other query with NXDOMAIN.
+     */
+    static class StubDnsServer {
+        final AtomicInteger aQueries = new AtomicInteger()
+        final NioEventLoopGroup group = new NioEventLoopGroup(1)
+        final Channel channel
+
+        StubDnsServer() {
+            channel = new Bootstrap()
+                    .group(group)
+                    .channel(NioDatagramChannel)
+                    .handler(new io.netty.channel.ChannelInitializer<NioDatagramChannel>() {
+                        @Override
+                        protected void initChannel(NioDatagramChannel ch) {
+                            ch.pipeline().addLast(new DatagramDnsQueryDecoder(), new DatagramDnsResponseEncoder(), new SimpleChannelInboundHandler<DatagramDnsQuery>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, DatagramDnsQuery query) {
+                                    answer(ctx, query)
+                                }
+                            })
+                        }
+                    })
+                    .bind('127.0.0.1', 0)
+                    .sync()
+                    .channel()
+        }
+
+        int getPort() {
+            return ((InetSocketAddress) channel.localAddress()).port
+        }
+
+        int aQueries() {
+            return aQueries.get()
+        }
+
+        void reset() {
+            aQueries.set(0)
+        }
+
+        private void answer(ChannelHandlerContext ctx, DatagramDnsQuery query) {
+            DnsQuestion question = query.recordAt(DnsSection.QUESTION)
+            if (question.type() == DnsRecordType.A) {
+                aQueries.incrementAndGet()
+            }
+            boolean known = question.name().startsWith('service.micronaut.test')
+            def response = new DatagramDnsResponse(query.recipient(), query.sender(), query.id())
+            response.setRecursionAvailable(true)
+            response.addRecord(DnsSection.QUESTION, question)
+            if (!known) {
+                response.setCode(DnsResponseCode.NXDOMAIN)
+            } else if (question.type() == DnsRecordType.A) {
+                response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(question.name(), DnsRecordType.A, 60, Unpooled.wrappedBuffer([127, 0, 0, 1] as byte[])))
+            }
+            ctx.writeAndFlush(response)
+        }
+
+        void stop() {
+            channel.close().sync()
+            group.shutdownGracefully()
+        }
+    }
+}
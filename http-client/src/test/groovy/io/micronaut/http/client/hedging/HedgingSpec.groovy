@@ -0,0 +1,208 @@
+package io.micronaut.http.client.hedging
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.DefaultHttpClientConfiguration
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.annotation.Hedged
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class HedgingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'HedgingSpec'
+    ])
+
+    HedgingController controller = embeddedServer.applicationContext.getBean(HedgingController)
+
+    def setup() {
+        controller.requests.set(0)
+    }
+
+    def "a slow request is hedged to another server"() {
+        given:
+        def client = client(1.0)
+
+        when:
+        long start = System.nanoTime()
+        def body = client.toBlocking().retrieve('/hedging/slow-first')
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis()
+
+        then:
+        body == 'response 2'
+        elapsed < 2000
+        controller.requests.get() == 2
+        client.hedgingMetrics.hedgeableRequests == 1
+        client.hedgingMetrics.hedgedRequests == 1
+        client.hedgingMetrics.hedgeWins == 1
+
+        cleanup:
+        client.close()
+    }
+
+    def "requests are not hedged when the budget is exhausted"() {
+        given:
+        def client = client(0)
+
+        when:
+        def body = client.toBlocking().retrieve('/hedging/slow-first')
+
+        then:
+        body == 'response 1'
+        controller.requests.get() == 1
+        client.hedgingMetrics.hedgedRequests == 0
+        client.hedgingMetrics.budgetExhausted == 1
+
+        cleanup:
+        client.close()
+    }
+
+    def "requests that are not idempotent are not hedged"() {
+        given:
+        def client = client(1.0)
+
+        when:
+        def body = client.toBlocking().retrieve(HttpRequest.POST('/hedging/slow-first', ''))
+
+        then:
+        body == 'response 1'
+        controller.requests.get() == 1
+        client.hedgingMetrics.hedgeableRequests == 0
+
+        cleanup:
+        client.close()
+    }
+
+    def "cancelled hedges do not shrink the concurrency limit"() {
+        given:
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.hedgingConfiguration.enabled = true
+        configuration.hedgingConfiguration.delay = Duration.ofMillis(100)
+        configuration.hedgingConfiguration.budget = 1.0
+        configuration.concurrencyLimitConfiguration.enabled = true
+        configuration.concurrencyLimitConfiguration.initialLimit = 4
+        def client = new DefaultHttpClient(loadBalancer(), configuration, [])
+
+        when:
+        def bodies = (1..10).collect { client.toBlocking().retrieve('/hedging/slow-odd') }
+
+        then:
+        bodies.every { it == 'fast' }
+        client.hedgingMetrics.hedgeWins == 10
+        client.connectionManager.pools.values().every { it.concurrencyLimit >= 4 }
+
+        cleanup:
+        client.close()
+    }
+
+    def "the observed latency percentile is used as the default delay"() {
+        given:
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.hedgingConfiguration.enabled = true
+        def client = new DefaultHttpClient(loadBalancer(), configuration, [])
+
+        when:
+        for (int i = 0; i < 100; i++) {
+            client.toBlocking().retrieve('/hedging/fast')
+        }
+
+        then:
+        client.hedgingMetrics.observedDelay != null
+        client.hedgingMetrics.hedgedRequests == 0
+
+        cleanup:
+        client.close()
+    }
+
+    def "declarative client methods can be hedged"() {
+        given:
+        def ctx = ApplicationContext.run([
+                'spec.name': 'HedgingSpec',
+                'micronaut.http.services.hedged.urls': ["http://localhost:$embeddedServer.port", "http://127.0.0.1:$embeddedServer.port"],
+                'micronaut.http.services.hedged.hedging.budget': 1.0
+        ])
+        def client = ctx.getBean(HedgedClient)
+
+        when:
+        long start = System.nanoTime()
+        def body = client.slowFirst()
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis()
+
+        then:
+        body == 'response 2'
+        elapsed < 2000
+
+        cleanup:
+        ctx.close()
+    }
+
+    private DefaultHttpClient client(double budget) {
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.hedgingConfiguration.enabled = true
+        configuration.hedgingConfiguration.delay = Duration.ofMillis(100)
+        configuration.hedgingConfiguration.budget = budget
+        return new DefaultHttpClient(loadBalancer(), configuration, [])
+    }
+
+    private LoadBalancer loadBalancer() {
+        def servers = [
+                ServiceInstance.of('hedging', URI.create("http://localhost:$embeddedServer.port")),
+                ServiceInstance.of('hedging', URI.create("http://127.0.0.1:$embeddedServer.port"))
+        ]
+        def next = new AtomicInteger()
+        return { discriminator -> Mono.just(servers[next.getAndIncrement() % 2]) } as LoadBalancer
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgingSpec')
+    @Client(id = 'hedged')
+    static interface HedgedClient {
+        @Hedged(delay = '100ms')
+        @Get('/hedging/slow-first')
+        String slowFirst()
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgingSpec')
+    @Controller('/hedging')
+    static class HedgingController {
+        final AtomicInteger requests = new AtomicInteger()
+
+        @Get('/slow-first')
+        Mono<String> slowFirst() {
+            int n = requests.incrementAndGet()
+            def response = Mono.just('response ' + n)
+            return n == 1 ? response.delayElement(Duration.ofSeconds(5)) : response
+        }
+
+        @Get('/slow-odd')
+        Mono<String> slowOdd() {
+            int n = requests.incrementAndGet()
+            return n % 2 == 1 ? Mono.just('slow').delayElement(Duration.ofSeconds(5)) : Mono.just('fast')
+        }
+
+        @Post('/slow-first')
+        String update() {
+            return 'response ' + requests.incrementAndGet()
+        }
+
+        @Get('/fast')
+        String fast() {
+            return 'fast'
+        }
+    }
+}
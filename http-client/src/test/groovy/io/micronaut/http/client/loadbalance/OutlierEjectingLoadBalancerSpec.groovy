@@ -0,0 +1,239 @@
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClientConfiguration
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+class OutlierEjectingLoadBalancerSpec extends Specification {
+
+    long now = 0
+    List<Object> events = []
+
+    void "an instance with consecutive server errors is ejected and readmitted"() {
+        given:
+        def balancer = balancer(['http://a:8080', 'http://b:8080', 'http://c:8080'], 50)
+
+        when:
+        3.times { complete(balancer, 'http://a:8080/foo', 5, new HttpClientResponseException('error', HttpResponse.serverError())) }
+
+        then:
+        balancer.isEjected(URI.create('http://a:8080'))
+        events.size() == 1
+        events[0] instanceof ServiceInstanceEjectedEvent
+        events[0].source.URI == URI.create('http://a:8080')
+        events[0].reason == ServiceInstanceEjectedEvent.Reason.SERVER_ERRORS
+        events[0].ejectionTime == Duration.ofSeconds(10)
+        (1..20).every { select(balancer).URI != URI.create('http://a:8080') }
+
+        when:
+        now += TimeUnit.SECONDS.toNanos(11)
+
+        then:
+        !balancer.isEjected(URI.create('http://a:8080'))
+        (1..3).collect { select(balancer).URI }.contains(URI.create('http://a:8080'))
+        events[1] instanceof ServiceInstanceReadmittedEvent
+
+        when:
+        3.times { complete(balancer, 'http://a:8080/foo', 5, new HttpClientResponseException('error', HttpResponse.serverError())) }
+
+        then:"the ejection time doubles"
+        events[2].ejectionTime == Duration.ofSeconds(20)
+        events[2].ejections == 2
+    }
+
+    void "cancelled requests neither count as failures nor reset them"() {
+        given:
+        def balancer = balancer(['http://a:8080', 'http://b:8080'], 50)
+
+        when:
+        2.times { complete(balancer, 'http://a:8080/foo', 5, new IOException('connection refused')) }
+        5.times {
+            balancer.requestStarted(URI.create('http://a:8080/foo'))
+            balancer.requestCancelled(URI.create('http://a:8080/foo'))
+        }
+
+        then:
+        !balancer.isEjected(URI.create('http://a:8080'))
+
+        when:
+        complete(balancer, 'http://a:8080/foo', 5, new IOException('read timeout'))
+
+        then:
+        balancer.isEjected(URI.create('http://a:8080'))
+        events[0].reason == ServiceInstanceEjectedEvent.Reason.CONNECT_FAILURES
+    }
+
+    void "client errors and successful responses reset the consecutive failures"() {
+        given:
+        def balancer = balancer(['http://a:8080', 'http://b:8080'], 50)
+
+        when:
+        2.times { complete(balancer, 'http://a:8080/foo', 5, new IOException('connection refused')) }
+        complete(balancer, 'http://a:8080/foo', 5, new HttpClientResponseException('not found', HttpResponse.notFound()))
+        2.times { complete(balancer, 'http://a:8080/foo', 5, new IOException('connection refused')) }
+
+        then:
+        !balancer.isEjected(URI.create('http://a:8080'))
+
+        when:
+        complete(balancer, 'http://a:8080/foo', 5, new IOException('connection refused'))
+
+        then:
+        balancer.isEjected(URI.create('http://a:8080'))
+        events[0].reason == ServiceInstanceEjectedEvent.Reason.CONNECT_FAILURES
+    }
+
+    void "an instance with a latency far above the median is ejected"() {
+        given:
+        def balancer = balancer(['http://a:8080', 'http://b:8080', 'http://c:8080'], 50)
+
+        when:
+        5.times {
+            complete(balancer, 'http://a:8080/foo', 10, null)
+            complete(balancer, 'http://b:8080/foo', 10, null)
+            complete(balancer, 'http://c:8080/foo', 200, null)
+        }
+
+        then:
+        !balancer.isEjected(URI.create('http://a:8080'))
+        !balancer.isEjected(URI.create('http://b:8080'))
+        balancer.isEjected(URI.create('http://c:8080'))
+        events[0].reason == ServiceInstanceEjectedEvent.Reason.LATENCY
+    }
+
+    void "no more than the maximum percentage of instances is ejected"() {
+        given:
+        def balancer = balancer(['http://a:8080', 'http://b:8080', 'http://c:8080', 'http://d:8080'], 50)
+
+        when:
+        ['a', 'b', 'c'].each { host ->
+            3.times { complete(balancer, "http://$host:8080/foo", 5, new IOException('connection refused')) }
+        }
+
+        then:
+        balancer.isEjected(URI.create('http://a:8080'))
+        balancer.isEjected(URI.create('http://b:8080'))
+        !balancer.isEjected(URI.create('http://c:8080'))
+        events.size() == 2
+    }
+
+    void "an ejected instance is selected if there is no other"() {
+        given:
+        def balancer = balancer(['http://a:8080', 'http://b:8080'], 100)
+
+        when:
+        ['a', 'b'].each { host ->
+            3.times { complete(balancer, "http://$host:8080/foo", 5, new IOException('connection refused')) }
+        }
+
+        then:
+        balancer.isEjected(URI.create('http://a:8080'))
+        balancer.isEjected(URI.create('http://b:8080'))
+        select(balancer) != null
+    }
+
+    void "the load balancer of a client is decorated when outlier ejection is enabled"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'OutlierEjectingLoadBalancerSpec'])
+        ApplicationContext ctx = ApplicationContext.run([
+                'spec.name'                                                                 : 'OutlierEjectingLoadBalancerSpec',
+                'micronaut.http.services.outlier.urls'                                      : ["http://localhost:$server.port", "http://127.0.0.1:$server.port"],
+                'micronaut.http.services.outlier.outlier-ejection.enabled'                  : true,
+                'micronaut.http.services.outlier.outlier-ejection.consecutive-server-errors': 2,
+        ])
+        OutlierClient client = ctx.getBean(OutlierClient)
+        EjectionListener listener = ctx.getBean(EjectionListener)
+
+        when:
+        4.times {
+            try {
+                client.fail()
+            } catch (HttpClientResponseException ignored) {
+            }
+        }
+
+        then:"the load is reported after the response is emitted"
+        new PollingConditions(timeout: 5).eventually {
+            assert listener.events.size() == 1
+            assert listener.events[0].reason == ServiceInstanceEjectedEvent.Reason.SERVER_ERRORS
+        }
+
+        cleanup:
+        ctx.close()
+        server.close()
+    }
+
+    private OutlierEjectingLoadBalancer balancer(List<String> uris, int maxEjectionPercent) {
+        def configuration = new HttpClientConfiguration.OutlierEjectionConfiguration(
+                enabled: true,
+                consecutiveServerErrors: 3,
+                consecutiveConnectFailures: 3,
+                latencyMinimumRequests: 3,
+                baseEjectionTime: Duration.ofSeconds(10),
+                maxEjectionPercent: maxEjectionPercent
+        )
+        List<ServiceInstance> instances = uris.collect { ServiceInstance.of('test', URI.create(it)) }
+        int next = 0
+        LoadBalancer roundRobin = { discriminator -> Mono.just(instances[next++ % instances.size()]) } as LoadBalancer
+        ApplicationEventPublisher publisher = { event -> events << event } as ApplicationEventPublisher
+        def balancer = new OutlierEjectingLoadBalancer(roundRobin, configuration, publisher, publisher, { -> now })
+        // make the instances known to the load balancer
+        instances.size().times { select(balancer) }
+        return balancer
+    }
+
+    private static ServiceInstance select(OutlierEjectingLoadBalancer balancer) {
+        return Mono.from(balancer.select(null)).block()
+    }
+
+    private static void complete(LoadAwareLoadBalancer balancer, String uri, long millis, Throwable error) {
+        balancer.requestStarted(URI.create(uri))
+        balancer.requestCompleted(URI.create(uri), TimeUnit.MILLISECONDS.toNanos(millis), error)
+    }
+
+    @Requires(property = 'spec.name', value = 'OutlierEjectingLoadBalancerSpec')
+    @Client(id = 'outlier')
+    static interface OutlierClient {
+        @Get('/outlier')
+        String fail()
+    }
+
+    @Requires(property = 'spec.name', value = 'OutlierEjectingLoadBalancerSpec')
+    @Singleton
+    static class EjectionListener implements ApplicationEventListener<ServiceInstanceEjectedEvent> {
+        final List<ServiceInstanceEjectedEvent> events = new CopyOnWriteArrayList<>()
+
+        @Override
+        void onApplicationEvent(ServiceInstanceEjectedEvent event) {
+            events << event
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'OutlierEjectingLoadBalancerSpec')
+    @Controller('/outlier')
+    static class OutlierController {
+        @Get
+        HttpResponse<String> index() {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.convert.value.ConvertibleValues
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClientConfiguration
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+class PowerOfTwoChoicesLoadBalancerSpec extends Specification {
+
+    void "the instance with fewer outstanding requests is selected"() {
+        given:
+        def balancer = new ServiceInstanceListPowerOfTwoChoicesLoadBalancer(instances('http://a:8080', 'http://b:8080'))
+        balancer.requestStarted(URI.create('http://a:8080/foo'))
+
+        expect:
+        (1..20).every { select(balancer).URI == URI.create('http://b:8080') }
+    }
+
+    void "the instance with the lower latency is selected"() {
+        given:
+        def balancer = new ServiceInstanceListPowerOfTwoChoicesLoadBalancer(instances('http://a:8080', 'http://b:8080'))
+        complete(balancer, 'http://a:8080/foo', TimeUnit.MILLISECONDS.toNanos(500), null)
+        complete(balancer, 'http://b:8080/foo', TimeUnit.MILLISECONDS.toNanos(5), null)
+
+        expect:
+        (1..20).every { select(balancer).URI == URI.create('http://b:8080') }
+    }
+
+    void "server errors are penalized but client errors are not"() {
+        given:
+        def balancer = new ServiceInstanceListPowerOfTwoChoicesLoadBalancer(instances('http://a:8080', 'http://b:8080'))
+        complete(balancer, 'http://a:8080/foo', TimeUnit.MILLISECONDS.toNanos(5), new HttpClientResponseException('not found', io.micronaut.http.HttpResponse.notFound()))
+        complete(balancer, 'http://b:8080/foo', TimeUnit.MILLISECONDS.toNanos(5), new IOException('connection reset'))
+
+        expect:
+        (1..20).every { select(balancer).URI == URI.create('http://a:8080') }
+    }
+
+    void "the strategy of the load balancer factories is configurable"() {
+        given:
+        def ctx = ApplicationContext.run((LoadBalancerStrategy.PROPERTY): 'power-of-two-choices')
+
+        expect:
+        ctx.getBean(ServiceInstanceListLoadBalancerFactory).create(instances('http://a:8080')) instanceof ServiceInstanceListPowerOfTwoChoicesLoadBalancer
+        ApplicationContext.run().withCloseable {
+            it.getBean(ServiceInstanceListLoadBalancerFactory).create(instances('http://a:8080')) instanceof ServiceInstanceListRoundRobinLoadBalancer
+        }
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "the client reports the load of its requests"() {
+        given:
+        def ctx = ApplicationContext.run(['spec.name': 'PowerOfTwoChoicesLoadBalancerSpec'])
+        def server = ctx.getBean(EmbeddedServer).start()
+        def balancer = new ServiceInstanceListPowerOfTwoChoicesLoadBalancer(instances(server.URI.toString()))
+        def client = new DefaultHttpClient(balancer, new DefaultHttpClientConfiguration(), [])
+
+        when:
+        def response = client.toBlocking().retrieve(HttpRequest.GET('/p2c'))
+
+        then:
+        response == 'ok'
+        balancer.getOutstandingRequests(server.URI) == 0
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    void "cancelled requests are reported without a latency"() {
+        given:
+        def ctx = ApplicationContext.run(['spec.name': 'PowerOfTwoChoicesLoadBalancerSpec'])
+        def server = ctx.getBean(EmbeddedServer).start()
+        def balancer = new RecordingLoadBalancer(ServiceInstance.of('test', server.URI))
+        def client = new DefaultHttpClient(balancer, new DefaultHttpClientConfiguration(), [])
+
+        when:
+        def result = Mono.from(client.retrieve(HttpRequest.GET('/p2c/slow')))
+                .timeout(Duration.ofMillis(100))
+                .onErrorResume(TimeoutException, e -> Mono.just('timeout'))
+                .block()
+
+        then:
+        result == 'timeout'
+        new PollingConditions().eventually {
+            balancer.events == ['started', 'cancelled']
+        }
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    void "cancelled requests only release the outstanding count"() {
+        given:
+        def balancer = new ServiceInstanceListPowerOfTwoChoicesLoadBalancer(instances('http://a:8080', 'http://b:8080'))
+        complete(balancer, 'http://a:8080/foo', TimeUnit.MILLISECONDS.toNanos(500), null)
+        complete(balancer, 'http://b:8080/foo', TimeUnit.MILLISECONDS.toNanos(5), null)
+        balancer.requestStarted(URI.create('http://b:8080/foo'))
+        balancer.requestCancelled(URI.create('http://b:8080/foo'))
+
+        expect:
+        balancer.getOutstandingRequests(URI.create('http://b:8080')) == 0
+        (1..20).every { select(balancer).URI == URI.create('http://b:8080') }
+    }
+
+    void "requests to unix domain socket instances are keyed on the socket path"() {
+        given:
+        def a = socketInstance('/tmp/a.sock')
+        def b = socketInstance('/tmp/b.sock')
+        def balancer = new ServiceInstanceListPowerOfTwoChoicesLoadBalancer(new ServiceInstanceList() {
+            @Override
+            String getID() {
+                return 'test'
+            }
+
+            @Override
+            List<ServiceInstance> getInstances() {
+                return [a, b]
+            }
+        })
+        balancer.requestStarted(URI.create('http+unix://%2Ftmp%2Fa.sock/foo'))
+
+        expect:
+        balancer.getOutstandingRequests(URI.create('http+unix://%2Ftmp%2Fa.sock')) == 1
+        balancer.getOutstandingRequests(URI.create('http+unix://%2Ftmp%2Fb.sock')) == 0
+        (1..20).every { select(balancer).is(b) }
+    }
+
+    private static ServiceInstance select(AbstractPowerOfTwoChoicesLoadBalancer balancer) {
+        return Mono.from(balancer.select(null)).block()
+    }
+
+    private static void complete(LoadAwareLoadBalancer balancer, String uri, long durationNanos, Throwable error) {
+        balancer.requestStarted(URI.create(uri))
+        balancer.requestCompleted(URI.create(uri), durationNanos, error)
+    }
+
+    private static ServiceInstance socketInstance(String socketPath) {
+        return new ServiceInstance() {
+            @Override
+            String getId() {
+                return 'test'
+            }
+
+            @Override
+            URI getURI() {
+                return URI.create('http://test.internal')
+            }
+
+            @Override
+            ConvertibleValues<String> getMetadata() {
+                return ConvertibleValues.of([(ServiceInstance.UNIX_SOCKET_PATH): socketPath])
+            }
+        }
+    }
+
+    private static ServiceInstanceList instances(String... uris) {
+        return new ServiceInstanceList() {
+            @Override
+            String getID() {
+                return 'test'
+            }
+
+            @Override
+            List<ServiceInstance> getInstances() {
+                return uris.collect { ServiceInstance.of('test', URI.create(it)) }
+            }
+        }
+    }
+
+    static class RecordingLoadBalancer implements LoadAwareLoadBalancer {
+        final ServiceInstance instance
+        final List<String> events = new CopyOnWriteArrayList<>()
+
+        RecordingLoadBalancer(ServiceInstance instance) {
+            this.instance = instance
+        }
+
+        @Override
+        Publisher<ServiceInstance> select(Object discriminator) {
+            return Mono.just(instance)
+        }
+
+        @Override
+        void requestStarted(URI uri) {
+            events.add('started')
+        }
+
+        @Override
+        void requestCompleted(URI uri, long durationNanos, Throwable error) {
+            events.add('completed')
+        }
+
+        @Override
+        void requestCancelled(URI uri) {
+            events.add('cancelled')
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'PowerOfTwoChoicesLoadBalancerSpec')
+    @Controller('/p2c')
+    static class P2cController {
+        @Get
+        String index() {
+            return 'ok'
+        }
+
+        @Get('/slow')
+        Mono<String> slow() {
+            return Mono.just('slow').delayElement(Duration.ofSeconds(5))
+        }
+    }
+}
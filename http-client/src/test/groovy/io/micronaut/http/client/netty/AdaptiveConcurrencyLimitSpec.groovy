@@ -0,0 +1,149 @@
+package io.micronaut.http.client.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClientConfiguration
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.HttpClientConfiguration
+import io.micronaut.http.client.exceptions.ConcurrencyLimitExceededException
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+class AdaptiveConcurrencyLimitSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'AdaptiveConcurrencyLimitSpec'
+    ])
+
+    void "requests beyond the limit fail fast"() {
+        given:
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.concurrencyLimitConfiguration.enabled = true
+        configuration.concurrencyLimitConfiguration.initialLimit = 1
+        configuration.concurrencyLimitConfiguration.maxLimit = 1
+        HttpClient client = HttpClient.create(embeddedServer.URL, configuration)
+
+        when:
+        def slow = Mono.from(client.retrieve('/limit/slow')).toFuture()
+        Mono.from(client.retrieve('/limit/slow')).block()
+
+        then:
+        def e = thrown(ConcurrencyLimitExceededException)
+        e.limit == 1
+
+        when:
+        slow.get(10, TimeUnit.SECONDS)
+
+        then:
+        client.toBlocking().retrieve('/limit/slow') == 'slow'
+
+        cleanup:
+        client.close()
+    }
+
+    void "the limit grows while the latency is stable"() {
+        given:
+        def limit = new AdaptiveConcurrencyLimit(configuration(10))
+
+        when:
+        100.times {
+            def permits = (1..limit.limit).collect { limit.tryAcquire() }
+            permits.each {
+                it.onResponse(200, TimeUnit.MILLISECONDS.toNanos(10))
+                it.release()
+            }
+        }
+
+        then:
+        limit.limit > 10
+        limit.inflight == 0
+    }
+
+    void "the limit shrinks when the latency rises or requests fail"() {
+        given:
+        def limit = new AdaptiveConcurrencyLimit(configuration(50))
+        def permits = (1..50).collect { limit.tryAcquire() }
+
+        expect:
+        limit.tryAcquire() == null
+
+        when:
+        permits[0..9].each {
+            it.onResponse(200, TimeUnit.MILLISECONDS.toNanos(10))
+            it.release()
+        }
+        permits[10..29].each {
+            it.onResponse(200, TimeUnit.MILLISECONDS.toNanos(100))
+            it.release()
+        }
+
+        then:
+        limit.limit < 50
+
+        when:
+        int before = limit.limit
+        permits[30..39].each {
+            it.onResponse(503, TimeUnit.MILLISECONDS.toNanos(10))
+            it.release()
+        }
+        permits[40..49].each {
+            it.onFailure()
+            it.release()
+        }
+
+        then:
+        limit.limit < before
+        limit.limit >= 1
+        limit.inflight == 0
+    }
+
+    void "cancelled requests do not change the limit"() {
+        given:
+        def limit = new AdaptiveConcurrencyLimit(configuration(10))
+
+        when:
+        limit.tryAcquire().cancel()
+
+        then:
+        limit.limit == 10
+        limit.inflight == 0
+    }
+
+    void "requests released without a response or failure do not change the limit"() {
+        given:
+        def limit = new AdaptiveConcurrencyLimit(configuration(10))
+
+        when:
+        10.times { limit.tryAcquire().release() }
+
+        then:
+        limit.limit == 10
+        limit.inflight == 0
+    }
+
+    private static HttpClientConfiguration.ConcurrencyLimitConfiguration configuration(int initialLimit) {
+        def configuration = new HttpClientConfiguration.ConcurrencyLimitConfiguration()
+        configuration.enabled = true
+        configuration.initialLimit = initialLimit
+        return configuration
+    }
+
+    @Requires(property = 'spec.name', value = 'AdaptiveConcurrencyLimitSpec')
+    @Controller('/limit')
+    static class LimitController {
+        @Get('/slow')
+        Mono<String> slow() {
+            return Mono.just('slow').delayElement(Duration.ofMillis(500))
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.micronaut.http.client.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.convert.value.ConvertibleValues
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.channel.epoll.Epoll
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+@IgnoreIf({ !Epoll.isAvailable() })
+class DomainSocketSpec extends Specification {
+
+    @Shared
+    Path tmpDir = Files.createTempDirectory(null)
+
+    @Shared
+    String socketPath = tmpDir.resolve('server.sock').toString()
+
+    @Shared
+    String socketURI = 'http+unix://' + URLEncoder.encode(socketPath, 'UTF-8')
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+            'spec.name'                                                  : 'DomainSocketSpec',
+            'micronaut.netty.event-loops.default.prefer-native-transport': true,
+            'micronaut.netty.event-loops.parent.prefer-native-transport' : true,
+            'micronaut.server.netty.listeners.uds.family'                : 'UNIX',
+            'micronaut.server.netty.listeners.uds.path'                  : socketPath,
+            'micronaut.http.services.uds.urls'                           : socketURI,
+    ])
+
+    def cleanupSpec() {
+        Files.deleteIfExists(Path.of(socketPath))
+        Files.deleteIfExists(tmpDir)
+    }
+
+    def 'requests are sent over a unix domain socket'() {
+        given:
+        HttpClient client = server.applicationContext.createBean(HttpClient, LoadBalancer.fixed(URI.create(socketURI)))
+
+        when:
+        def first = client.toBlocking().retrieve('/uds?name=a')
+        def second = client.toBlocking().retrieve('/uds?name=b')
+
+        then:
+        first == 'a localhost'
+        second == 'b localhost'
+
+        cleanup:
+        client.close()
+    }
+
+    def 'a client id can refer to a unix domain socket'() {
+        expect:
+        server.applicationContext.getBean(UdsClient).hello('c') == 'c localhost'
+    }
+
+    def 'a service instance can advertise a unix domain socket'() {
+        given:
+        def instance = new ServiceInstance() {
+            @Override
+            String getId() {
+                return 'uds'
+            }
+
+            @Override
+            URI getURI() {
+                return URI.create('http://uds.internal')
+            }
+
+            @Override
+            ConvertibleValues<String> getMetadata() {
+                return ConvertibleValues.of([(ServiceInstance.UNIX_SOCKET_PATH): socketPath])
+            }
+        }
+        LoadBalancer loadBalancer = { discriminator -> Mono.just(instance) } as LoadBalancer
+        HttpClient client = server.applicationContext.createBean(HttpClient, loadBalancer)
+
+        expect:
+        client.toBlocking().retrieve('/uds?name=d') == 'd localhost'
+
+        cleanup:
+        client.close()
+    }
+
+    def 'domain sockets fail with a clear error without the native transport'() {
+        given:
+        def ctx = ApplicationContext.run()
+        HttpClient client = ctx.createBean(HttpClient, LoadBalancer.fixed(URI.create(socketURI)))
+
+        when:
+        client.toBlocking().retrieve('/uds?name=e')
+
+        then:
+        def e = thrown(HttpClientException)
+        e.message.contains('Unix domain socket')
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'DomainSocketSpec')
+    @Client('uds')
+    static interface UdsClient {
+        @Get('/uds')
+        String hello(@QueryValue String name)
+    }
+
+    @Requires(property = 'spec.name', value = 'DomainSocketSpec')
+    @Controller('/uds')
+    static class UdsController {
+        @Get
+        String index(@QueryValue String name, io.micronaut.http.HttpRequest<?> request) {
+            return name + ' ' + request.headers.get('Host')
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.micronaut.http.client.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.netty.channel.EventLoopGroupRegistry
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Inject
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class EventLoopAffinitySpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+            'spec.name'                                      : 'EventLoopAffinitySpec',
+            'micronaut.http.client.event-loop-affinity'      : true,
+            'micronaut.netty.event-loops.default.num-threads': 4,
+    ])
+
+    def 'requests from a server event loop stay on that event loop'() {
+        given:
+        // every client has its own connection, so the outer requests run on several server loops
+        def clients = (1..8).collect { server.applicationContext.createBean(HttpClient, server.URL) }
+
+        when:
+        def threads = clients.collectMany { client ->
+            (1..3).collect { client.toBlocking().retrieve('/affinity/outer') }
+        }
+
+        then:
+        threads.every {
+            def (outer, response) = it.split(' ')
+            outer == response
+        }
+        threads.collect { it.split(' ')[0] }.toSet().size() > 1
+
+        cleanup:
+        clients*.close()
+    }
+
+    def 'the client uses the worker event loop group of the server'() {
+        given:
+        def registry = server.applicationContext.getBean(EventLoopGroupRegistry)
+
+        expect:
+        registry.getServerWorkerEventLoopGroupConfiguration().isPresent()
+        registry.getServerWorkerEventLoopGroupConfiguration().get().name == 'default'
+    }
+
+    @Requires(property = 'spec.name', value = 'EventLoopAffinitySpec')
+    @Controller('/affinity')
+    static class AffinityController {
+
+        @Inject
+        @Client('/')
+        HttpClient client
+
+        @Get('/outer')
+        Mono<String> outer() {
+            String outer = Thread.currentThread().name
+            return Mono.from(client.retrieve('/affinity/inner'))
+                    .map { outer + ' ' + Thread.currentThread().name }
+        }
+
+        @Get('/inner')
+        String inner() {
+            return 'ok'
+        }
+    }
+}
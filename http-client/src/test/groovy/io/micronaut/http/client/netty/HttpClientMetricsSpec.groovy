@@ -0,0 +1,114 @@
+package io.micronaut.http.client.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class HttpClientMetricsSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'HttpClientMetricsSpec'
+    ])
+
+    void "the metrics of the connection pool are reported"() {
+        given:
+        RecordingMetrics metrics = embeddedServer.applicationContext.getBean(RecordingMetrics)
+        HttpClient client = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.URL)
+
+        when:
+        client.toBlocking().retrieve('/metrics/ok')
+        client.toBlocking().retrieve('/metrics/missing')
+
+        then:
+        thrown(HttpClientResponseException)
+        metrics.pools.size() == 1
+        metrics.pools[0].host == embeddedServer.host
+        metrics.pools[0].port == embeddedServer.port
+        !metrics.pools[0].secure
+        metrics.pools[0].http1Connections == 1
+        metrics.pools[0].pendingAcquires == 0
+        metrics.acquireWaits.size() == 2
+        metrics.connectTimes.size() == 1
+        metrics.responses.collect { it[0] } == [2, 4]
+        metrics.responses.every { it[1] > 0 }
+
+        when:
+        client.close()
+
+        then:
+        metrics.closedPools.size() == 1
+    }
+
+    void "the metrics default to no-op"() {
+        given:
+        def client = new DefaultHttpClient(embeddedServer.URI)
+
+        expect:
+        client.toBlocking().retrieve('/metrics/ok') == 'ok'
+
+        cleanup:
+        client.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'HttpClientMetricsSpec')
+    @Singleton
+    static class RecordingMetrics implements HttpClientMetrics {
+        final List<HttpClientMetrics.ConnectionPool> pools = new CopyOnWriteArrayList<>()
+        final List<HttpClientMetrics.ConnectionPool> closedPools = new CopyOnWriteArrayList<>()
+        final List<Long> acquireWaits = new CopyOnWriteArrayList<>()
+        final List<Long> connectTimes = new CopyOnWriteArrayList<>()
+        final List<List<Long>> responses = new CopyOnWriteArrayList<>()
+
+        @Override
+        void poolCreated(HttpClientMetrics.ConnectionPool pool) {
+            pools.add(pool)
+        }
+
+        @Override
+        void poolClosed(HttpClientMetrics.ConnectionPool pool) {
+            closedPools.add(pool)
+        }
+
+        @Override
+        void connectionAcquired(HttpClientMetrics.ConnectionPool pool, long waitNanos) {
+            acquireWaits.add(waitNanos)
+        }
+
+        @Override
+        void connected(HttpClientMetrics.ConnectionPool pool, long connectNanos) {
+            connectTimes.add(connectNanos)
+        }
+
+        @Override
+        void responseReceived(HttpClientMetrics.ConnectionPool pool, int statusClass, long latencyNanos) {
+            responses.add([(long) statusClass, latencyNanos])
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'HttpClientMetricsSpec')
+    @Controller('/metrics')
+    static class MetricsController {
+        @Get('/ok')
+        String ok() {
+            'ok'
+        }
+
+        @Get('/missing')
+        HttpStatus missing() {
+            HttpStatus.NOT_FOUND
+        }
+    }
+}
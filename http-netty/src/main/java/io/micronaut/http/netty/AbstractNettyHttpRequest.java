@@ -25,6 +25,7 @@ import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpVersion;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.netty.stream.DefaultStreamedHttpRequest;
+import io.micronaut.http.uri.LazyQueryParameters;
 import io.micronaut.http.netty.stream.StreamedHttpRequest;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
@@ -37,6 +38,7 @@ import io.netty.util.DefaultAttributeMap;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Optional;
@@ -251,14 +253,24 @@ public abstract class AbstractNettyHttpRequest<B> extends DefaultAttributeMap im
         return cs != null ? new QueryStringDecoder(uri, cs) : new QueryStringDecoder(uri);
     }
 
+    /**
+     * @param uri The URI
+     * @return The query parameters of the URI, decoded on first access
+     * @since 4.0.0
+     */
+    @SuppressWarnings("ConstantConditions")
+    protected final LazyQueryParameters<CharSequence> createParameters(URI uri) {
+        Charset cs = getCharacterEncoding();
+        return LazyQueryParameters.of(uri.getRawQuery(), cs != null ? cs : StandardCharsets.UTF_8);
+    }
+
     private String decodePath() {
         QueryStringDecoder queryStringDecoder = createDecoder(uri);
         return queryStringDecoder.rawPath();
     }
 
     private NettyHttpParameters decodeParameters() {
-        QueryStringDecoder queryStringDecoder = createDecoder(uri);
-        return new NettyHttpParameters(queryStringDecoder.parameters(), conversionService, null);
+        return new NettyHttpParameters(createParameters(uri), conversionService, null);
     }
 
     @Override
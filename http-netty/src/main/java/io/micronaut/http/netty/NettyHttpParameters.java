@@ -21,6 +21,7 @@ import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.value.ConvertibleMultiValuesMap;
 import io.micronaut.http.MutableHttpParameters;
+import io.micronaut.http.uri.LazyQueryParameters;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -42,7 +43,7 @@ import java.util.stream.Collectors;
 @Internal
 public class NettyHttpParameters implements MutableHttpParameters {
 
-    private final LinkedHashMap<CharSequence, List<String>> valuesMap;
+    private final Map<CharSequence, List<String>> valuesMap;
     private final ConvertibleMultiValuesMap<String> values;
     private final BiConsumer<CharSequence, List<String>> onChange;
 
@@ -62,6 +63,20 @@ public class NettyHttpParameters implements MutableHttpParameters {
         }
     }
 
+    /**
+     * @param parameters        The parameters of the query string, decoded on demand
+     * @param conversionService The conversion service
+     * @param onChange A callback for changes
+     * @since 4.0.0
+     */
+    public NettyHttpParameters(LazyQueryParameters<CharSequence> parameters,
+                               ConversionService conversionService,
+                               @Nullable BiConsumer<CharSequence, List<String>> onChange) {
+        this.valuesMap = parameters;
+        this.values = new ConvertibleMultiValuesMap<>(valuesMap, conversionService);
+        this.onChange = onChange;
+    }
+
     @Override
     public Set<String> names() {
         return values.names();
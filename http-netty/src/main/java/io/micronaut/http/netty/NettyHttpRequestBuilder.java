@@ -16,9 +16,11 @@
 package io.micronaut.http.netty;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpRequestWrapper;
 import io.micronaut.http.netty.stream.StreamedHttpRequest;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
@@ -61,6 +63,34 @@ public interface NettyHttpRequestBuilder {
      */
     boolean isStream();
 
+    /**
+     * @return The channel this request was received on, or {@code null} if this is not a request
+     * received by a server
+     * @since 4.0.0
+     */
+    @Nullable
+    default Channel getInboundChannel() {
+        return null;
+    }
+
+    /**
+     * Find the channel the given request was received on.
+     *
+     * @param request The request
+     * @return The channel, or {@code null} if this is not a request received by a server
+     * @since 4.0.0
+     */
+    static @Nullable Channel findInboundChannel(@NonNull io.micronaut.http.HttpRequest<?> request) {
+        Objects.requireNonNull(request, "The request cannot be null");
+        while (request instanceof HttpRequestWrapper) {
+            request = ((HttpRequestWrapper<?>) request).getDelegate();
+        }
+        if (request instanceof NettyHttpRequestBuilder) {
+            return ((NettyHttpRequestBuilder) request).getInboundChannel();
+        }
+        return null;
+    }
+
     /**
      * Convert the given request to a full http request.
      * @param request The request
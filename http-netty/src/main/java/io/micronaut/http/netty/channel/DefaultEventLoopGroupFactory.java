@@ -21,10 +21,13 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.http.netty.configuration.NettyGlobalConfiguration;
+import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
 import io.netty.channel.unix.ServerDomainSocketChannel;
 import io.netty.util.ResourceLeakDetector;
 import jakarta.inject.Inject;
@@ -147,4 +150,28 @@ public class DefaultEventLoopGroupFactory implements EventLoopGroupFactory {
         return getFactory(configuration).clientSocketChannelInstance(configuration);
     }
 
+    @NonNull
+    @Override
+    public Class<? extends DatagramChannel> clientDatagramChannelClass(@Nullable EventLoopGroupConfiguration configuration) {
+        return getFactory(configuration).clientDatagramChannelClass(configuration);
+    }
+
+    @NonNull
+    @Override
+    public DatagramChannel clientDatagramChannelInstance(@Nullable EventLoopGroupConfiguration configuration) {
+        return getFactory(configuration).clientDatagramChannelInstance(configuration);
+    }
+
+    @NonNull
+    @Override
+    public Class<? extends DomainSocketChannel> clientDomainSocketChannelClass(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        return getFactory(configuration).clientDomainSocketChannelClass(configuration);
+    }
+
+    @NonNull
+    @Override
+    public Channel clientDomainSocketChannelInstance(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        return getFactory(configuration).clientDomainSocketChannelInstance(configuration);
+    }
+
 }
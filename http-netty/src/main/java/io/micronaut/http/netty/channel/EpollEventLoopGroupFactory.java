@@ -20,15 +20,20 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
 import io.netty.channel.unix.ServerDomainSocketChannel;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
@@ -119,6 +124,38 @@ public class EpollEventLoopGroupFactory implements EventLoopGroupFactory {
         return new EpollSocketChannel();
     }
 
+    @NonNull
+    @Override
+    public Class<? extends DatagramChannel> clientDatagramChannelClass(@Nullable EventLoopGroupConfiguration configuration) {
+        return EpollDatagramChannel.class;
+    }
+
+    @NonNull
+    @Override
+    public DatagramChannel clientDatagramChannelInstance(@Nullable EventLoopGroupConfiguration configuration) {
+        return new EpollDatagramChannel();
+    }
+
+    @NonNull
+    @Override
+    public Class<? extends DomainSocketChannel> clientDomainSocketChannelClass(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        try {
+            return EpollDomainSocketChannel.class;
+        } catch (NoClassDefFoundError e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Channel clientDomainSocketChannelInstance(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        try {
+            return new EpollDomainSocketChannel();
+        } catch (NoClassDefFoundError e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
     @Override
     public boolean isNative() {
         return true;
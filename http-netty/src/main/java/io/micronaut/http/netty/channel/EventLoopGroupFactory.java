@@ -18,10 +18,13 @@ package io.micronaut.http.netty.channel;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.ArgumentUtils;
+import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
 import io.netty.channel.unix.ServerDomainSocketChannel;
 
 import java.util.concurrent.Executor;
@@ -193,4 +196,64 @@ public interface EventLoopGroupFactory {
         }
     }
 
+    /**
+     * Returns the client datagram channel class, used for DNS resolution.
+     *
+     * @param configuration The configuration
+     * @return A DatagramChannel class.
+     * @throws UnsupportedOperationException if datagram channels are not supported.
+     * @since 4.0.0
+     */
+    @NonNull
+    default Class<? extends DatagramChannel> clientDatagramChannelClass(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Datagram channels not supported by this transport");
+    }
+
+    /**
+     * Returns the client datagram channel instance, used for DNS resolution.
+     *
+     * @param configuration The configuration
+     * @return A DatagramChannel instance.
+     * @throws UnsupportedOperationException if datagram channels are not supported.
+     * @since 4.0.0
+     */
+    @NonNull
+    default DatagramChannel clientDatagramChannelInstance(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        try {
+            return clientDatagramChannelClass(configuration).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Cannot instantiate datagram channel instance", e);
+        }
+    }
+
+    /**
+     * Returns the client domain socket channel class.
+     *
+     * @param configuration The configuration
+     * @return A DomainSocketChannel class.
+     * @throws UnsupportedOperationException if domain sockets are not supported.
+     * @since 4.0.0
+     */
+    @NonNull
+    default Class<? extends DomainSocketChannel> clientDomainSocketChannelClass(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Domain socket channels not supported by this transport");
+    }
+
+    /**
+     * Returns the client domain socket channel instance.
+     *
+     * @param configuration The configuration
+     * @return A DomainSocketChannel instance.
+     * @throws UnsupportedOperationException if domain sockets are not supported.
+     * @since 4.0.0
+     */
+    @NonNull
+    default Channel clientDomainSocketChannelInstance(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        try {
+            return clientDomainSocketChannelClass(configuration).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Cannot instantiate domain socket channel instance", e);
+        }
+    }
+
 }
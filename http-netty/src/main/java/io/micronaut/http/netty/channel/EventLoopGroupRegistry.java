@@ -28,6 +28,14 @@ import java.util.Optional;
  */
 public interface EventLoopGroupRegistry {
 
+    /**
+     * The name of the {@link EventLoopGroupConfiguration} bean of the worker event loops of the
+     * Netty HTTP server.
+     *
+     * @since 4.0.0
+     */
+    String SERVER_WORKER = "netty-server-worker-event-loop";
+
     /**
      * Obtain a configured Event Loop Group from the registry.
      * @param name The name of the group
@@ -46,4 +54,16 @@ public interface EventLoopGroupRegistry {
      * @return The event loop group if configured
      */
     Optional<EventLoopGroupConfiguration> getEventLoopGroupConfiguration(@NonNull String name);
+
+    /**
+     * Obtain the configuration of the event loop group the Netty HTTP server handles requests
+     * on, if the server is present. Clients can run on this group to share the event loops of the
+     * server.
+     *
+     * @return The configuration of the server worker event loop group, if any
+     * @since 4.0.0
+     */
+    default Optional<EventLoopGroupConfiguration> getServerWorkerEventLoopGroupConfiguration() {
+        return getEventLoopGroupConfiguration(SERVER_WORKER);
+    }
 }
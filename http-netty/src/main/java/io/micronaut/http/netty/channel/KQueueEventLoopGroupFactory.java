@@ -20,15 +20,20 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueDatagramChannel;
+import io.netty.channel.kqueue.KQueueDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueServerDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueServerSocketChannel;
 import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
 import io.netty.channel.unix.ServerDomainSocketChannel;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
@@ -123,6 +128,38 @@ public class KQueueEventLoopGroupFactory implements EventLoopGroupFactory {
         return new KQueueSocketChannel();
     }
 
+    @NonNull
+    @Override
+    public Class<? extends DatagramChannel> clientDatagramChannelClass(@Nullable EventLoopGroupConfiguration configuration) {
+        return KQueueDatagramChannel.class;
+    }
+
+    @NonNull
+    @Override
+    public DatagramChannel clientDatagramChannelInstance(@Nullable EventLoopGroupConfiguration configuration) {
+        return new KQueueDatagramChannel();
+    }
+
+    @NonNull
+    @Override
+    public Class<? extends DomainSocketChannel> clientDomainSocketChannelClass(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        try {
+            return KQueueDomainSocketChannel.class;
+        } catch (NoClassDefFoundError e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Channel clientDomainSocketChannelInstance(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        try {
+            return new KQueueDomainSocketChannel();
+        } catch (NoClassDefFoundError e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
     private static KQueueEventLoopGroup withIoRatio(KQueueEventLoopGroup group, @Nullable Integer ioRatio) {
         if (ioRatio != null) {
             group.setIoRatio(ioRatio);
@@ -21,10 +21,13 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
 import io.netty.channel.unix.ServerDomainSocketChannel;
 import jakarta.inject.Singleton;
 
@@ -82,6 +85,12 @@ public class NioEventLoopGroupFactory implements EventLoopGroupFactory {
         throw new UnsupportedOperationException("UNIX domain sockets are not supported by the NIO implementation right now, please switch to epoll or kqueue");
     }
 
+    @NonNull
+    @Override
+    public Class<? extends DomainSocketChannel> clientDomainSocketChannelClass(@Nullable EventLoopGroupConfiguration configuration) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("UNIX domain sockets are not supported by the NIO implementation right now, please switch to epoll or kqueue");
+    }
+
     @Override
     public NioServerSocketChannel serverSocketChannelInstance(EventLoopGroupConfiguration configuration) {
         return new NioServerSocketChannel();
@@ -98,6 +107,18 @@ public class NioEventLoopGroupFactory implements EventLoopGroupFactory {
         return new NioSocketChannel();
     }
 
+    @NonNull
+    @Override
+    public Class<? extends DatagramChannel> clientDatagramChannelClass(@Nullable EventLoopGroupConfiguration configuration) {
+        return NioDatagramChannel.class;
+    }
+
+    @NonNull
+    @Override
+    public DatagramChannel clientDatagramChannelInstance(@Nullable EventLoopGroupConfiguration configuration) {
+        return new NioDatagramChannel();
+    }
+
     private static NioEventLoopGroup withIoRatio(NioEventLoopGroup group, @Nullable Integer ioRatio) {
         if (ioRatio != null) {
             group.setIoRatio(ioRatio);
@@ -26,6 +26,7 @@ import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -34,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Delegates to {@link Cookie}.
@@ -45,32 +47,36 @@ public class NettyCookies implements Cookies {
 
     private static final Logger LOG = LoggerFactory.getLogger(NettyCookies.class);
 
+    private static final String RFC2965_VERSION = "$Version";
+    // nameStart, nameEnd, pairEnd
+    private static final int FIELDS = 3;
+
     private final ConversionService conversionService;
-    private final Map<CharSequence, Cookie> cookies;
+    private final String header;
+    private final String path;
+    // published through volatile fields since cookies may be read after an executor hop, a
+    // racing lookup at worst decodes the header twice
+    private volatile Map<CharSequence, Cookie> cookies;
+    private volatile Index index;
 
     /**
+     * The {@code Cookie} header is only parsed once a cookie is requested. Looking up a single
+     * cookie by name only decodes the matching cookie, while all other operations decode the
+     * complete header.
+     *
      * @param path              The path
      * @param nettyHeaders      The Netty HTTP headers
      * @param conversionService The conversion service
      */
     public NettyCookies(String path, HttpHeaders nettyHeaders, ConversionService conversionService) {
         this.conversionService = conversionService;
-        String value = nettyHeaders.get(HttpHeaderNames.COOKIE);
-        if (value != null) {
-            cookies = new LinkedHashMap<>();
-            Set<io.netty.handler.codec.http.cookie.Cookie> nettyCookies = ServerCookieDecoder.LAX.decode(value);
-            for (io.netty.handler.codec.http.cookie.Cookie nettyCookie : nettyCookies) {
-                String cookiePath = nettyCookie.path();
-                if (cookiePath != null) {
-                    if (path.startsWith(cookiePath)) {
-                        cookies.put(nettyCookie.name(), new NettyCookie(nettyCookie));
-                    }
-                } else {
-                    cookies.put(nettyCookie.name(), new NettyCookie(nettyCookie));
-                }
-            }
-        } else {
+        this.path = path;
+        this.header = nettyHeaders.get(HttpHeaderNames.COOKIE);
+        if (header == null) {
             cookies = Collections.emptyMap();
+        } else if (header.regionMatches(true, 0, RFC2965_VERSION, 0, RFC2965_VERSION.length())) {
+            // RFC 2965 attributes of the cookies are left to the Netty decoder
+            cookies = decodeAll();
         }
     }
 
@@ -80,6 +86,8 @@ public class NettyCookies implements Cookies {
      */
     public NettyCookies(HttpHeaders nettyHeaders, ConversionService conversionService) {
         this.conversionService = conversionService;
+        this.header = null;
+        this.path = null;
         if (nettyHeaders != null) {
             List<String> values = nettyHeaders.getAll(HttpHeaderNames.SET_COOKIE);
             if (values != null && !values.isEmpty()) {
@@ -104,12 +112,13 @@ public class NettyCookies implements Cookies {
 
     @Override
     public Set<Cookie> getAll() {
-        return new HashSet<>(cookies.values());
+        return new HashSet<>(cookies().values());
     }
 
     @Override
     public Optional<Cookie> findCookie(CharSequence name) {
-        Cookie cookie = cookies.get(name);
+        Map<CharSequence, Cookie> cookies = this.cookies;
+        Cookie cookie = cookies != null ? cookies.get(name) : decodeCookie(name);
         return cookie != null ? Optional.of(cookie) : Optional.empty();
     }
 
@@ -130,11 +139,154 @@ public class NettyCookies implements Cookies {
 
     @Override
     public Collection<Cookie> values() {
-        return Collections.unmodifiableCollection(cookies.values());
+        return Collections.unmodifiableCollection(cookies().values());
     }
 
     @Override
     public ConversionService getConversionService() {
         return conversionService;
     }
+
+    private Map<CharSequence, Cookie> cookies() {
+        Map<CharSequence, Cookie> cookies = this.cookies;
+        if (cookies == null) {
+            cookies = decodeAll();
+            this.cookies = cookies;
+            this.index = null;
+        }
+        return cookies;
+    }
+
+    private Map<CharSequence, Cookie> decodeAll() {
+        Map<CharSequence, Cookie> cookies = new LinkedHashMap<>();
+        Set<io.netty.handler.codec.http.cookie.Cookie> nettyCookies = ServerCookieDecoder.LAX.decode(header);
+        for (io.netty.handler.codec.http.cookie.Cookie nettyCookie : nettyCookies) {
+            if (matchesPath(nettyCookie)) {
+                cookies.put(nettyCookie.name(), new NettyCookie(nettyCookie));
+            }
+        }
+        return cookies;
+    }
+
+    private boolean matchesPath(io.netty.handler.codec.http.cookie.Cookie nettyCookie) {
+        String cookiePath = nettyCookie.path();
+        return cookiePath == null || path.startsWith(cookiePath);
+    }
+
+    /**
+     * Decodes the first cookie of the given name that the Netty decoder accepts, which is the
+     * cookie it keeps when the name is repeated.
+     */
+    private Cookie decodeCookie(CharSequence name) {
+        if (name == null || name.length() > 0 && name.charAt(0) == '$') {
+            // RFC 2965 attribute names need the context of the complete header
+            return cookies().get(name);
+        }
+        Index index = index();
+        for (int c = 0; c < index.count; c++) {
+            int nameStart = index.offsets[c * FIELDS];
+            int nameEnd = index.offsets[c * FIELDS + 1];
+            if (nameEnd - nameStart != name.length() || !header.regionMatches(nameStart, name.toString(), 0, nameEnd - nameStart)) {
+                continue;
+            }
+            Cookie cookie = index.cookies.get(c);
+            if (cookie == null) {
+                Set<io.netty.handler.codec.http.cookie.Cookie> decoded = ServerCookieDecoder.LAX.decode(header.substring(nameStart, index.offsets[c * FIELDS + 2]));
+                if (decoded.isEmpty()) {
+                    continue;
+                }
+                io.netty.handler.codec.http.cookie.Cookie nettyCookie = decoded.iterator().next();
+                if (!matchesPath(nettyCookie)) {
+                    continue;
+                }
+                cookie = new NettyCookie(nettyCookie);
+                if (!index.cookies.compareAndSet(c, null, cookie)) {
+                    cookie = index.cookies.get(c);
+                }
+            }
+            return cookie;
+        }
+        return null;
+    }
+
+    private Index index() {
+        Index index = this.index;
+        if (index == null) {
+            index = Index.build(header);
+            this.index = index;
+        }
+        return index;
+    }
+
+    /**
+     * The offsets of the cookies in the header and the cookies decoded so far.
+     */
+    private static final class Index {
+        final int[] offsets;
+        final int count;
+        final AtomicReferenceArray<Cookie> cookies;
+
+        Index(int[] offsets, int count) {
+            this.offsets = offsets;
+            this.count = count;
+            this.cookies = new AtomicReferenceArray<>(count);
+        }
+
+        /**
+         * Splits the header into cookies the same way as {@link ServerCookieDecoder}.
+         */
+        static Index build(String header) {
+            int headerLen = header.length();
+            int[] offsets = new int[FIELDS * 8];
+            int count = 0;
+            int i = 0;
+            loop:
+            for (;;) {
+                // skip separators
+                for (;;) {
+                    if (i == headerLen) {
+                        break loop;
+                    }
+                    char c = header.charAt(i);
+                    if (c == '\t' || c == '\n' || c == 0x0b || c == '\f' || c == '\r' || c == ' ' || c == ',' || c == ';') {
+                        i++;
+                        continue;
+                    }
+                    break;
+                }
+                int nameStart = i;
+                int nameEnd;
+                for (;;) {
+                    char c = header.charAt(i);
+                    if (c == ';') {
+                        nameEnd = i;
+                        break;
+                    } else if (c == '=') {
+                        nameEnd = i;
+                        i++;
+                        if (i < headerLen) {
+                            int semiPos = header.indexOf(';', i);
+                            i = semiPos > 0 ? semiPos : headerLen;
+                        }
+                        break;
+                    } else {
+                        i++;
+                    }
+                    if (i == headerLen) {
+                        nameEnd = headerLen;
+                        break;
+                    }
+                }
+                int o = count * FIELDS;
+                if (o + FIELDS > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[o] = nameStart;
+                offsets[o + 1] = nameEnd;
+                offsets[o + 2] = i;
+                count++;
+            }
+            return new Index(offsets, count);
+        }
+    }
 }
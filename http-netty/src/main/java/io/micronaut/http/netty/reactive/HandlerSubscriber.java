@@ -42,6 +42,7 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
     protected ChannelFuture lastWriteFuture;
 
     private final EventExecutor executor;
+    private final int batchSize;
     private final AtomicBoolean hasSubscription = new AtomicBoolean();
 
     private volatile Subscription subscription;
@@ -49,6 +50,12 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
 
     private State state = NO_SUBSCRIPTION_OR_CONTEXT;
 
+    /**
+     * The number of messages requested in batch mode that have not been received yet.
+     */
+    private long outstanding;
+    private boolean flushScheduled;
+
     /**
      * Create a new handler subscriber with the default low and high watermarks.
      * <p>
@@ -58,7 +65,27 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
      * @param executor The executor to execute asynchronous events from the publisher on.
      */
     public HandlerSubscriber(EventExecutor executor) {
+        this(executor, 1);
+    }
+
+    /**
+     * Create a new handler subscriber that requests up to {@code batchSize} messages at a time.
+     * <p>
+     * With a batch size greater than one, the messages are written to the channel without
+     * flushing, and the channel is flushed once per event loop task instead. More messages are
+     * only requested once a batch has been received and while the channel is writable, so the
+     * outbound buffer of the channel applies the back pressure.
+     *
+     * @param executor  The executor to execute asynchronous events from the publisher on.
+     * @param batchSize The number of messages to request at a time
+     * @since 4.0.0
+     */
+    public HandlerSubscriber(EventExecutor executor, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
         this.executor = executor;
+        this.batchSize = batchSize;
     }
 
     /**
@@ -178,6 +205,14 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
      * @param promise The promise
      */
     protected void onNext(T t, ChannelPromise promise) {
+        if (batchSize > 1) {
+            if (executor.inEventLoop()) {
+                writeBatched(t, promise);
+            } else {
+                executor.execute(() -> writeBatched(t, promise));
+            }
+            return;
+        }
         // Publish straight to the context.
         lastWriteFuture = ctx.writeAndFlush(t, promise);
         lastWriteFuture.addListener(future ->
@@ -185,6 +220,21 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
         );
     }
 
+    private void writeBatched(T t, ChannelPromise promise) {
+        lastWriteFuture = ctx.write(t, promise);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            executor.execute(() -> {
+                flushScheduled = false;
+                ctx.flush();
+            });
+        }
+        if (outstanding > 0) {
+            outstanding--;
+        }
+        maybeRequestMore();
+    }
+
     @Override
     public void onError(final Throwable error) {
         if (error == null) {
@@ -195,6 +245,11 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
 
     @Override
     public void onComplete() {
+        if (batchSize > 1 && !executor.inEventLoop()) {
+            // the batched writes are still queued on the event loop
+            executor.execute(this::onComplete);
+            return;
+        }
         if (lastWriteFuture == null) {
             complete();
         } else {
@@ -219,7 +274,12 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
 
     private void maybeRequestMore() {
         if (ctx.channel().isWritable() && !(state == COMPLETE || state == CANCELLED)) {
-            subscription.request(1);
+            if (batchSize == 1) {
+                subscription.request(1);
+            } else if (outstanding == 0) {
+                outstanding = batchSize;
+                subscription.request(batchSize);
+            }
         }
     }
 
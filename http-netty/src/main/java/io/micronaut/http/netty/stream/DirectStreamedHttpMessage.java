@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.stream;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * A {@link StreamedHttpMessage} whose {@link io.netty.handler.codec.http.HttpContent} is
+ * forwarded from another channel as is, for example by a proxy.
+ * <p>
+ * {@link HttpStreamsHandler} writes the content of these messages in batches and flushes once
+ * per batch, instead of requesting, writing and flushing one chunk at a time. Demand for more
+ * content only depends on the writability of the channel, and the reference count of the
+ * content is handed over to the channel without copying.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public interface DirectStreamedHttpMessage extends StreamedHttpMessage {
+
+    /**
+     * The number of chunks requested at a time when writing a direct message.
+     */
+    int BATCH_SIZE = 16;
+
+    /**
+     * @param request The request to forward
+     * @return The request, marked for direct streaming
+     */
+    @NonNull
+    static StreamedHttpRequest wrap(@NonNull StreamedHttpRequest request) {
+        if (request instanceof DirectStreamedHttpMessage) {
+            return request;
+        }
+        return new DirectStreamedHttpRequest(request);
+    }
+
+    /**
+     * @param response The response to forward
+     * @return The response, marked for direct streaming
+     */
+    @NonNull
+    static StreamedHttpResponse wrap(@NonNull StreamedHttpResponse response) {
+        if (response instanceof DirectStreamedHttpMessage) {
+            return response;
+        }
+        return new DirectStreamedHttpResponse(response);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.stream;
+
+import io.micronaut.core.annotation.Internal;
+import io.netty.handler.codec.http.HttpContent;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Streamed request that is forwarded with {@link DirectStreamedHttpMessage direct streaming}.
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class DirectStreamedHttpRequest extends DelegateHttpRequest implements StreamedHttpRequest, DirectStreamedHttpMessage {
+
+    private final StreamedHttpRequest stream;
+
+    /**
+     * @param request The streamed request
+     */
+    DirectStreamedHttpRequest(StreamedHttpRequest request) {
+        super(request);
+        this.stream = request;
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return stream.isConsumed();
+    }
+
+    @Override
+    public void closeIfNoSubscriber() {
+        stream.closeIfNoSubscriber();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super HttpContent> subscriber) {
+        stream.subscribe(subscriber);
+    }
+}
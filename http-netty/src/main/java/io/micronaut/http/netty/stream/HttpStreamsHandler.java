@@ -349,7 +349,8 @@ abstract class HttpStreamsHandler<In extends HttpMessage, Out extends HttpMessag
             outgoingInFlight = true;
 
             StreamedHttpMessage streamed = (StreamedHttpMessage) message;
-            HandlerSubscriber<HttpContent> subscriber = new HandlerSubscriber<HttpContent>(ctx.executor()) {
+            HandlerSubscriber<HttpContent> subscriber = streamed instanceof DirectStreamedHttpMessage ?
+                directSubscriber(ctx, message, promise) : new HandlerSubscriber<HttpContent>(ctx.executor()) {
                 AtomicBoolean messageWritten = new AtomicBoolean();
 
                 @Override
@@ -387,17 +388,9 @@ abstract class HttpStreamsHandler<In extends HttpMessage, Out extends HttpMessag
                 @Override
                 protected void complete() {
                     if (messageWritten.compareAndSet(false, true)) {
-                        ctx.writeAndFlush(message).addListener(future -> doOnComplete());
+                        ctx.writeAndFlush(message).addListener(future -> onBodyComplete(ctx, promise));
                     } else {
-                        doOnComplete();
-                    }
-                }
-
-                private void doOnComplete() {
-                    if (ctx.executor().inEventLoop()) {
-                        completeBody(ctx, promise);
-                    } else {
-                        ctx.executor().execute(() -> completeBody(ctx, promise));
+                        onBodyComplete(ctx, promise);
                     }
                 }
             };
@@ -410,6 +403,64 @@ abstract class HttpStreamsHandler<In extends HttpMessage, Out extends HttpMessag
 
     }
 
+    /**
+     * Subscriber for a {@link DirectStreamedHttpMessage}. The message is written together with
+     * the first batch of content, and the content is written without a flush per chunk.
+     */
+    private HandlerSubscriber<HttpContent> directSubscriber(ChannelHandlerContext ctx, Out message, ChannelPromise promise) {
+        return new HandlerSubscriber<HttpContent>(ctx.executor(), DirectStreamedHttpMessage.BATCH_SIZE) {
+            boolean messageWritten;
+
+            @Override
+            protected void onNext(HttpContent httpContent, ChannelPromise contentPromise) {
+                if (ctx.executor().inEventLoop()) {
+                    writeContent(httpContent, contentPromise);
+                } else {
+                    ctx.executor().execute(() -> writeContent(httpContent, contentPromise));
+                }
+            }
+
+            private void writeContent(HttpContent httpContent, ChannelPromise contentPromise) {
+                if (!messageWritten) {
+                    messageWritten = true;
+                    ctx.write(message);
+                }
+                super.onNext(httpContent, contentPromise);
+            }
+
+            @Override
+            protected void error(Throwable error) {
+                // the message may be partially written already, the only way to signal the
+                // failure to the other side is to close the connection
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error occurred forwarding stream: " + error.getMessage(), error);
+                }
+                ctx.executor().execute(() -> {
+                    promise.tryFailure(error);
+                    ctx.close();
+                });
+            }
+
+            @Override
+            protected void complete() {
+                if (!messageWritten) {
+                    messageWritten = true;
+                    ctx.writeAndFlush(message).addListener(future -> onBodyComplete(ctx, promise));
+                } else {
+                    onBodyComplete(ctx, promise);
+                }
+            }
+        };
+    }
+
+    private void onBodyComplete(ChannelHandlerContext ctx, ChannelPromise promise) {
+        if (ctx.executor().inEventLoop()) {
+            completeBody(ctx, promise);
+        } else {
+            ctx.executor().execute(() -> completeBody(ctx, promise));
+        }
+    }
+
     private void completeBody(final ChannelHandlerContext ctx, ChannelPromise promise) {
         removeHandlerIfActive(ctx, ctx.name() + "-body-subscriber");
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.websocket.KeyedWebSocketMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+
+/**
+ * A frame written together with the key of the {@link KeyedWebSocketMessage} it was encoded
+ * from. The {@link WebSocketOutboundQueueHandler} unwraps it, the key is used for coalescing.
+ * It is a {@link ByteBufHolder} so that channel groups duplicate it correctly.
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class KeyedWebSocketFrame implements ByteBufHolder {
+    final WebSocketFrame frame;
+    final Object key;
+
+    private KeyedWebSocketFrame(WebSocketFrame frame, Object key) {
+        this.frame = frame;
+        this.key = key;
+    }
+
+    /**
+     * Attach the key of the message to the frame, if the message has one.
+     *
+     * @param frame   The encoded frame
+     * @param message The message
+     * @return The frame to write
+     */
+    static Object wrap(WebSocketFrame frame, Object message) {
+        if (message instanceof KeyedWebSocketMessage keyed) {
+            Object key = keyed.messageKey();
+            if (key != null) {
+                return new KeyedWebSocketFrame(frame, key);
+            }
+        }
+        return frame;
+    }
+
+    @Override
+    public ByteBuf content() {
+        return frame.content();
+    }
+
+    @Override
+    public KeyedWebSocketFrame copy() {
+        return new KeyedWebSocketFrame(frame.copy(), key);
+    }
+
+    @Override
+    public KeyedWebSocketFrame duplicate() {
+        return new KeyedWebSocketFrame(frame.duplicate(), key);
+    }
+
+    @Override
+    public KeyedWebSocketFrame retainedDuplicate() {
+        return new KeyedWebSocketFrame(frame.retainedDuplicate(), key);
+    }
+
+    @Override
+    public KeyedWebSocketFrame replace(ByteBuf content) {
+        return new KeyedWebSocketFrame(frame.replace(content), key);
+    }
+
+    @Override
+    public int refCnt() {
+        return frame.refCnt();
+    }
+
+    @Override
+    public KeyedWebSocketFrame retain() {
+        frame.retain();
+        return this;
+    }
+
+    @Override
+    public KeyedWebSocketFrame retain(int increment) {
+        frame.retain(increment);
+        return this;
+    }
+
+    @Override
+    public KeyedWebSocketFrame touch() {
+        frame.touch();
+        return this;
+    }
+
+    @Override
+    public KeyedWebSocketFrame touch(Object hint) {
+        frame.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return frame.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return frame.release(decrement);
+    }
+}
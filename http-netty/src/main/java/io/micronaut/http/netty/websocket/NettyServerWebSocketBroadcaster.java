@@ -20,8 +20,12 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.MediaType;
 import io.micronaut.websocket.WebSocketBroadcaster;
 import io.micronaut.websocket.WebSocketSession;
+import io.micronaut.websocket.exceptions.WebSocketMessageDroppedException;
 import io.micronaut.websocket.exceptions.WebSocketSessionException;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
 import io.netty.channel.group.ChannelGroupException;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.util.Attribute;
@@ -31,7 +35,13 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 
 import java.nio.channels.ClosedChannelException;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -62,7 +72,7 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
     public <T> void broadcastSync(T message, MediaType mediaType, Predicate<WebSocketSession> filter) {
         WebSocketFrame frame = webSocketMessageEncoder.encodeMessage(message, mediaType);
         try {
-            webSocketSessionRepository.getChannelGroup().writeAndFlush(frame, ch -> {
+            webSocketSessionRepository.getChannelGroup().writeAndFlush(KeyedWebSocketFrame.wrap(frame, message), ch -> {
                 Attribute<NettyWebSocketSession> attr = ch.attr(NettyWebSocketSession.WEB_SOCKET_SESSION_KEY);
                 NettyWebSocketSession s = attr.get();
                 return s != null && s.isOpen() && filter.test(s);
@@ -78,7 +88,7 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
         return Flux.create(emitter -> {
             try {
                 WebSocketFrame frame = webSocketMessageEncoder.encodeMessage(message, mediaType);
-                webSocketSessionRepository.getChannelGroup().writeAndFlush(frame, ch -> {
+                webSocketSessionRepository.getChannelGroup().writeAndFlush(KeyedWebSocketFrame.wrap(frame, message), ch -> {
                     Attribute<NettyWebSocketSession> attr = ch.attr(NettyWebSocketSession.WEB_SOCKET_SESSION_KEY);
                     NettyWebSocketSession s = attr.get();
                     return s != null && s.isOpen() && filter.test(s);
@@ -99,6 +109,46 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
         }, FluxSink.OverflowStrategy.BUFFER);
     }
 
+    @Override
+    public <T> Publisher<T> broadcastToTopic(T message, MediaType mediaType, String topic) {
+        WebSocketSubscriptionIndex index = webSocketSessionRepository.getSubscriptionIndex();
+        if (index == null) {
+            return WebSocketBroadcaster.super.broadcastToTopic(message, mediaType, topic);
+        }
+        return broadcastIndexed(message, mediaType, consumer -> index.forEachTopicSubscriber(topic, consumer));
+    }
+
+    @Override
+    public <T> Publisher<T> broadcastToUriVariable(T message, MediaType mediaType, String name, Object value) {
+        WebSocketSubscriptionIndex index = webSocketSessionRepository.getSubscriptionIndex();
+        if (index == null) {
+            return WebSocketBroadcaster.super.broadcastToUriVariable(message, mediaType, name, value);
+        }
+        String stringValue = value.toString();
+        return broadcastIndexed(message, mediaType, consumer -> index.forEachUriVariableSubscriber(name, stringValue, consumer));
+    }
+
+    /**
+     * Write the encoded frame to the subscribers found in the index. The frame is retained once
+     * per event loop, and every event loop writes to its own channels in a single task.
+     */
+    private <T> Publisher<T> broadcastIndexed(T message, MediaType mediaType, Consumer<BiConsumer<EventLoop, Collection<Channel>>> subscribers) {
+        return Flux.create(emitter -> {
+            IndexedBroadcast<T> broadcast = new IndexedBroadcast<>(message, emitter);
+            try {
+                WebSocketFrame frame = webSocketMessageEncoder.encodeMessage(message, mediaType);
+                try {
+                    subscribers.accept((eventLoop, channels) -> broadcast.submit(eventLoop, channels, frame));
+                } finally {
+                    frame.release();
+                }
+            } catch (Throwable e) {
+                broadcast.fail(e);
+            }
+            broadcast.complete();
+        }, FluxSink.OverflowStrategy.BUFFER);
+    }
+
     /**
      * Attempt to extract a single failure from a failure of {@link io.netty.channel.group.ChannelGroup#write}
      * exception. {@link io.netty.channel.group.ChannelGroup} aggregates exceptions into a {@link ChannelGroupException}
@@ -108,7 +158,7 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
      * We also need to ignore {@link ClosedChannelException}s.
      */
     @Nullable
-    private Throwable extractBroadcastFailure(Throwable failure) {
+    private static Throwable extractBroadcastFailure(Throwable failure) {
         if (failure instanceof ChannelGroupException) {
             Throwable singleCause = null;
             for (Map.Entry<Channel, Throwable> entry : (ChannelGroupException) failure) {
@@ -122,6 +172,10 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
                 }
             }
             return singleCause;
+        } else if (failure instanceof WebSocketMessageDroppedException) {
+            // the session is too slow and its outbound queue is full, the other sessions must
+            // not be affected
+            return null;
         } else if (failure instanceof ClosedChannelException) {
             // ClosedChannelException can happen when there is a race condition between the call to writeAndFlush and
             // the closing of a channel. session.isOpen will still return true, but when the write is actually
@@ -132,4 +186,81 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
             return failure;
         }
     }
+
+    /**
+     * The state of a broadcast to indexed subscribers. Completes the sink once the submitting
+     * thread, every event loop task and every write have completed.
+     *
+     * @param <T> The message type
+     */
+    private static final class IndexedBroadcast<T> implements ChannelFutureListener {
+        private final T message;
+        private final FluxSink<T> emitter;
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        IndexedBroadcast(T message, FluxSink<T> emitter) {
+            this.message = message;
+            this.emitter = emitter;
+        }
+
+        void submit(EventLoop eventLoop, Collection<Channel> channels, WebSocketFrame frame) {
+            WebSocketFrame loopFrame = frame.retainedDuplicate();
+            pending.incrementAndGet();
+            try {
+                eventLoop.execute(() -> {
+                    try {
+                        for (Channel channel : channels) {
+                            NettyWebSocketSession session = channel.attr(NettyWebSocketSession.WEB_SOCKET_SESSION_KEY).get();
+                            if (session != null && session.isOpen()) {
+                                pending.incrementAndGet();
+                                channel.writeAndFlush(KeyedWebSocketFrame.wrap(loopFrame.retainedDuplicate(), message)).addListener(this);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        fail(e);
+                    } finally {
+                        loopFrame.release();
+                        complete();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the event loop is shutting down, its channels are closing
+                loopFrame.release();
+                complete();
+            }
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            if (!future.isSuccess()) {
+                Throwable cause = extractBroadcastFailure(future.cause());
+                if (cause != null) {
+                    fail(cause);
+                }
+            }
+            complete();
+        }
+
+        void fail(Throwable cause) {
+            if (!failure.compareAndSet(null, cause)) {
+                Throwable first = failure.get();
+                if (first != cause) {
+                    first.addSuppressed(cause);
+                }
+            }
+        }
+
+        void complete() {
+            if (pending.decrementAndGet() == 0) {
+                Throwable cause = failure.get();
+                if (cause != null) {
+                    emitter.error(new WebSocketSessionException("Broadcast Failure: " + cause.getMessage(), cause));
+                } else {
+                    emitter.next(message);
+                    emitter.complete();
+                }
+            }
+        }
+    }
 }
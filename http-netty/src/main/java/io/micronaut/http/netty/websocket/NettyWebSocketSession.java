@@ -67,6 +67,7 @@ public class NettyWebSocketSession implements WebSocketSession {
     private final MediaTypeCodecRegistry codecRegistry;
     private final MutableConvertibleValues<Object> attributes;
     private final WebSocketMessageEncoder messageEncoder;
+    private final boolean outboundQueue;
 
     /**
      * Creates a new netty web socket session.
@@ -93,6 +94,7 @@ public class NettyWebSocketSession implements WebSocketSession {
         this.codecRegistry = codecRegistry;
         this.messageEncoder = new WebSocketMessageEncoder(this.codecRegistry);
         this.attributes = request.getAttribute("micronaut.SESSION", MutableConvertibleValues.class).orElseGet(MutableConvertibleValuesMap::new);
+        this.outboundQueue = channel.pipeline().get(WebSocketOutboundQueueHandler.class) != null;
     }
 
     @Override
@@ -151,7 +153,7 @@ public class NettyWebSocketSession implements WebSocketSession {
                 } else {
                     frame = messageEncoder.encodeMessage(message, mediaType);
                 }
-                channel.writeAndFlush(frame).addListener(f -> {
+                channel.writeAndFlush(outbound(frame, message)).addListener(f -> {
                     if (f.isSuccess()) {
                         future.complete(message);
                     } else {
@@ -178,7 +180,7 @@ public class NettyWebSocketSession implements WebSocketSession {
                     } else {
                         frame = messageEncoder.encodeMessage(message, mediaType);
                     }
-                    channel.writeAndFlush(frame).sync().get();
+                    channel.writeAndFlush(outbound(frame, message)).sync().get();
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     throw new WebSocketSessionException("Send interrupt: " + e.getMessage(), e);
@@ -208,7 +210,7 @@ public class NettyWebSocketSession implements WebSocketSession {
                     frame = messageEncoder.encodeMessage(message, mediaType);
                 }
 
-                ChannelFuture channelFuture = channel.writeAndFlush(frame);
+                ChannelFuture channelFuture = channel.writeAndFlush(outbound(frame, message));
                 channelFuture.addListener(future -> {
                     if (future.isSuccess()) {
                         emitter.next(message);
@@ -255,6 +257,14 @@ public class NettyWebSocketSession implements WebSocketSession {
         }
     }
 
+    /**
+     * Attach the key of a {@link io.micronaut.websocket.KeyedWebSocketMessage} to the frame if
+     * the channel has a {@link WebSocketOutboundQueueHandler} that can coalesce it.
+     */
+    private Object outbound(WebSocketFrame frame, Object message) {
+        return outboundQueue ? KeyedWebSocketFrame.wrap(frame, message) : frame;
+    }
+
     @Override
     public String toString() {
         return "WebSocket Session: " + getId();
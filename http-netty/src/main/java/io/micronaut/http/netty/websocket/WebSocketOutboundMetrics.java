@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the outbound queues of all WebSocket sessions, see {@link WebSocketOutboundQueueHandler}.
+ * Metric binders can read the current values from this bean.
+ *
+ * @since 4.0.0
+ */
+@Singleton
+public final class WebSocketOutboundMetrics {
+
+    private final LongAdder queuedMessages = new LongAdder();
+    private final LongAdder queuedBytes = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder coalescedMessages = new LongAdder();
+    private final LongAdder closedSessions = new LongAdder();
+
+    /**
+     * @return The number of messages currently queued for slow sessions
+     */
+    public long getQueuedMessages() {
+        return queuedMessages.sum();
+    }
+
+    /**
+     * @return The number of bytes currently queued for slow sessions
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.sum();
+    }
+
+    /**
+     * @return The number of messages dropped because an outbound queue was full
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    /**
+     * @return The number of queued messages replaced by a later message with the same key
+     */
+    public long getCoalescedMessages() {
+        return coalescedMessages.sum();
+    }
+
+    /**
+     * @return The number of sessions closed because their outbound queue was full
+     */
+    public long getClosedSessions() {
+        return closedSessions.sum();
+    }
+
+    void queued(int bytes) {
+        queuedMessages.increment();
+        queuedBytes.add(bytes);
+    }
+
+    void dequeued(int bytes) {
+        queuedMessages.decrement();
+        queuedBytes.add(-bytes);
+    }
+
+    void dropped() {
+        droppedMessages.increment();
+    }
+
+    void coalesced() {
+        coalescedMessages.increment();
+    }
+
+    void closed() {
+        closedSessions.increment();
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.websocket.CloseReason;
+import io.micronaut.websocket.exceptions.WebSocketMessageDroppedException;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the messages buffered for a WebSocket session that does not read them fast enough.
+ *
+ * <p>While the channel is writable, frames are passed on unchanged. Once it is not, complete
+ * text and binary messages are held in a queue limited by a number of messages and a number of
+ * bytes, and written when the channel becomes writable again. A message that does not fit is
+ * handled according to the {@link WebSocketSlowConsumerPolicy}. Control frames and fragments are
+ * queued behind the messages but never dropped or counted.</p>
+ *
+ * <p>The futures of dropped messages fail with a {@link WebSocketMessageDroppedException}.</p>
+ *
+ * <p>With the {@link WebSocketSlowConsumerPolicy#CLOSE} policy, the session is sent a close
+ * frame. A consumer that has stopped reading will never receive it, so the channel is closed
+ * regardless once the close frame could not be written within a short grace period, which
+ * releases everything still buffered for it.</p>
+ *
+ * @since 4.0.0
+ */
+public final class WebSocketOutboundQueueHandler extends ChannelDuplexHandler {
+
+    /**
+     * The id of the handler used when adding it to the Netty pipeline.
+     */
+    public static final String ID = "websocket-outbound-queue";
+
+    /**
+     * The time in milliseconds the close frame sent to a slow consumer has to be written, before
+     * the channel is closed without it.
+     */
+    static final long CLOSE_FRAME_TIMEOUT_MILLIS = 1000;
+
+    private final int maxMessages;
+    private final long maxBytes;
+    private final WebSocketSlowConsumerPolicy policy;
+    private final WebSocketOutboundMetrics metrics;
+    private final boolean bounded;
+    private final long closeFrameTimeoutMillis;
+
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private Map<Object, Entry> latestByKey;
+    private int queuedMessages;
+    private long queuedBytes;
+    private boolean closing;
+
+    /**
+     * @param maxMessages The maximum number of queued messages, {@code -1} for no limit
+     * @param maxBytes    The maximum number of queued bytes, {@code -1} for no limit
+     * @param policy      The policy applied when a message does not fit
+     * @param metrics     The metrics to update
+     */
+    public WebSocketOutboundQueueHandler(int maxMessages,
+                                         long maxBytes,
+                                         @NonNull WebSocketSlowConsumerPolicy policy,
+                                         @NonNull WebSocketOutboundMetrics metrics) {
+        this(maxMessages, maxBytes, policy, metrics, CLOSE_FRAME_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param maxMessages             The maximum number of queued messages, {@code -1} for no limit
+     * @param maxBytes                The maximum number of queued bytes, {@code -1} for no limit
+     * @param policy                  The policy applied when a message does not fit
+     * @param metrics                 The metrics to update
+     * @param closeFrameTimeoutMillis The time the close frame sent to a slow consumer has to be written
+     */
+    WebSocketOutboundQueueHandler(int maxMessages,
+                                  long maxBytes,
+                                  WebSocketSlowConsumerPolicy policy,
+                                  WebSocketOutboundMetrics metrics,
+                                  long closeFrameTimeoutMillis) {
+        this.closeFrameTimeoutMillis = closeFrameTimeoutMillis;
+        this.maxMessages = maxMessages < 0 ? Integer.MAX_VALUE : maxMessages;
+        this.maxBytes = maxBytes < 0 ? Long.MAX_VALUE : maxBytes;
+        this.policy = policy;
+        this.metrics = metrics;
+        this.bounded = maxMessages >= 0 || maxBytes >= 0 || policy == WebSocketSlowConsumerPolicy.COALESCE;
+    }
+
+    /**
+     * @return The number of messages currently queued
+     */
+    public int getQueuedMessages() {
+        return queuedMessages;
+    }
+
+    /**
+     * @return The number of bytes currently queued
+     */
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        Object key = null;
+        if (msg instanceof KeyedWebSocketFrame keyedFrame) {
+            key = keyedFrame.key;
+            msg = keyedFrame.frame;
+        }
+        if (closing) {
+            ReferenceCountUtil.release(msg);
+            promise.tryFailure(new ClosedChannelException());
+            return;
+        }
+        if (!bounded || (queue.isEmpty() && ctx.channel().isWritable())) {
+            ctx.write(msg, promise);
+            return;
+        }
+        if (!(msg instanceof WebSocketFrame frame) || !isMessage(frame)) {
+            queue.add(new Entry(msg, promise, null, 0, false));
+            return;
+        }
+        int size = frame.content().readableBytes();
+        if (key != null && policy == WebSocketSlowConsumerPolicy.COALESCE && latestByKey != null) {
+            Entry previous = latestByKey.get(key);
+            if (previous != null) {
+                ReferenceCountUtil.release(previous.msg);
+                previous.promise.tryFailure(new WebSocketMessageDroppedException("Message superseded by a later message with the same key"));
+                metrics.coalesced();
+                metrics.dequeued(previous.size);
+                metrics.queued(size);
+                queuedBytes += size - previous.size;
+                previous.msg = frame;
+                previous.promise = promise;
+                previous.size = size;
+                while (queuedBytes > maxBytes && dropOldest(previous)) {
+                    // make room
+                }
+                return;
+            }
+        }
+        if (isFull(size)) {
+            switch (policy) {
+                case DROP_NEWEST:
+                    drop(frame, promise);
+                    return;
+                case CLOSE:
+                    drop(frame, promise);
+                    closeSlowConsumer(ctx);
+                    return;
+                default:
+                    while (isFull(size) && dropOldest(null)) {
+                        // make room
+                    }
+                    if (isFull(size)) {
+                        drop(frame, promise);
+                        return;
+                    }
+            }
+        }
+        Entry entry = new Entry(frame, promise, key, size, true);
+        queue.add(entry);
+        queuedMessages++;
+        queuedBytes += size;
+        metrics.queued(size);
+        if (key != null && policy == WebSocketSlowConsumerPolicy.COALESCE) {
+            if (latestByKey == null) {
+                latestByKey = new HashMap<>();
+            }
+            latestByKey.put(key, entry);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (!queue.isEmpty()) {
+            drain(ctx);
+        }
+        ctx.flush();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (!queue.isEmpty() && ctx.channel().isWritable()) {
+            drain(ctx);
+            ctx.flush();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        discardQueue(false);
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        discardQueue(false);
+    }
+
+    private void drain(ChannelHandlerContext ctx) {
+        while (!queue.isEmpty() && ctx.channel().isWritable()) {
+            Entry entry = queue.poll();
+            if (entry.message) {
+                dequeued(entry);
+            }
+            ctx.write(entry.msg, entry.promise);
+        }
+    }
+
+    private boolean isFull(int size) {
+        return queuedMessages + 1 > maxMessages || queuedBytes + size > maxBytes;
+    }
+
+    /**
+     * Drop the oldest queued message, other than the given entry.
+     *
+     * @return Whether a message was dropped
+     */
+    private boolean dropOldest(Entry keep) {
+        for (Iterator<Entry> iterator = queue.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (entry.message && entry != keep) {
+                iterator.remove();
+                dequeued(entry);
+                drop(entry.msg, entry.promise);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void dequeued(Entry entry) {
+        queuedMessages--;
+        queuedBytes -= entry.size;
+        metrics.dequeued(entry.size);
+        if (entry.key != null && latestByKey != null) {
+            latestByKey.remove(entry.key, entry);
+        }
+    }
+
+    private void drop(Object msg, ChannelPromise promise) {
+        ReferenceCountUtil.release(msg);
+        promise.tryFailure(new WebSocketMessageDroppedException("Message dropped, the outbound queue of the session is full"));
+        metrics.dropped();
+    }
+
+    private void closeSlowConsumer(ChannelHandlerContext ctx) {
+        closing = true;
+        discardQueue(true);
+        metrics.closed();
+        CloseReason reason = CloseReason.POLICY_VIOLATION;
+        ChannelFuture closeFrame = ctx.writeAndFlush(new CloseWebSocketFrame(reason.getCode(), reason.getReason()));
+        if (closeFrame.isDone()) {
+            ctx.close();
+            return;
+        }
+        // the close frame sits behind everything netty buffered for a consumer that may have
+        // stopped reading, so do not wait for it forever
+        ScheduledFuture<?> timeout = ctx.executor().schedule(() -> {
+            ctx.close();
+        }, closeFrameTimeoutMillis, TimeUnit.MILLISECONDS);
+        closeFrame.addListener(future -> {
+            timeout.cancel(false);
+            ctx.close();
+        });
+    }
+
+    private void discardQueue(boolean dropped) {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            if (entry.message) {
+                dequeued(entry);
+            }
+            if (dropped && entry.message) {
+                drop(entry.msg, entry.promise);
+            } else {
+                ReferenceCountUtil.release(entry.msg);
+                entry.promise.tryFailure(new ClosedChannelException());
+            }
+        }
+    }
+
+    private static boolean isMessage(WebSocketFrame frame) {
+        return (frame instanceof TextWebSocketFrame || frame instanceof BinaryWebSocketFrame) && frame.isFinalFragment();
+    }
+
+    /**
+     * A queued write.
+     */
+    private static final class Entry {
+        Object msg;
+        ChannelPromise promise;
+        final Object key;
+        int size;
+        final boolean message;
+
+        Entry(Object msg, ChannelPromise promise, Object key, int size, boolean message) {
+            this.msg = msg;
+            this.promise = promise;
+            this.key = key;
+            this.size = size;
+            this.message = message;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.micronaut.http.netty.websocket;
 
+import io.micronaut.core.annotation.Nullable;
 import io.netty.channel.Channel;
 import io.netty.channel.group.ChannelGroup;
 
@@ -43,4 +44,16 @@ public interface WebSocketSessionRepository {
      * @return A {@link io.netty.channel.group.ChannelGroup}
      */
     ChannelGroup getChannelGroup();
+
+    /**
+     * Returns the index of the WebSocket channels by topic and URI variable, if the repository maintains one.
+     * The channels must be removed from the index when they are removed from the repository.
+     *
+     * @return The {@link WebSocketSubscriptionIndex} or {@code null}
+     * @since 4.0.0
+     */
+    @Nullable
+    default WebSocketSubscriptionIndex getSubscriptionIndex() {
+        return null;
+    }
 }
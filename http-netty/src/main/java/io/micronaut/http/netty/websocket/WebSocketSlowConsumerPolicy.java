@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+/**
+ * What to do when the outbound queue of a WebSocket session that cannot keep up with the
+ * messages sent to it is full.
+ *
+ * @since 4.0.0
+ */
+public enum WebSocketSlowConsumerPolicy {
+    /**
+     * Drop the oldest queued messages to make room for the new message.
+     */
+    DROP_OLDEST,
+    /**
+     * Drop the new message.
+     */
+    DROP_NEWEST,
+    /**
+     * Replace a queued message with the new message if both have the same
+     * {@link io.micronaut.websocket.KeyedWebSocketMessage#messageKey() key}, and drop the
+     * oldest queued messages if the queue is still full.
+     */
+    COALESCE,
+    /**
+     * Drop all queued messages and close the session with
+     * {@link io.micronaut.websocket.CloseReason#POLICY_VIOLATION}.
+     */
+    CLOSE
+}
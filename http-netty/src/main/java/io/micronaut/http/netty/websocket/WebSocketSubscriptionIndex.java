@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.annotation.NonNull;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.util.AttributeKey;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Index of the WebSocket channels by explicit topic and by URI variable value. The index is
+ * sharded by the {@link EventLoop} of the channels, so that a broadcast to the subscribers of
+ * a key visits only those subscribers, grouped by the event loop that has to write to them.
+ *
+ * @since 4.0.0
+ */
+public final class WebSocketSubscriptionIndex {
+
+    private static final AttributeKey<Set<Object>> KEYS = AttributeKey.newInstance("micronaut.websocket.subscriptions");
+
+    private final Map<EventLoop, Map<Object, Set<Channel>>> shards = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribe a channel to a topic.
+     *
+     * @param channel The channel
+     * @param topic   The topic
+     */
+    public void subscribe(@NonNull Channel channel, @NonNull String topic) {
+        add(channel, new TopicKey(topic));
+    }
+
+    /**
+     * Unsubscribe a channel from a topic.
+     *
+     * @param channel The channel
+     * @param topic   The topic
+     */
+    public void unsubscribe(@NonNull Channel channel, @NonNull String topic) {
+        TopicKey key = new TopicKey(topic);
+        Set<Object> keys = channel.attr(KEYS).get();
+        if (keys != null && keys.remove(key)) {
+            removeFromShard(channel, key);
+        }
+    }
+
+    /**
+     * @param channel The channel
+     * @return The topics the channel is subscribed to
+     */
+    @NonNull
+    public Set<String> getTopics(@NonNull Channel channel) {
+        Set<Object> keys = channel.attr(KEYS).get();
+        if (keys == null) {
+            return Collections.emptySet();
+        }
+        Set<String> topics = new LinkedHashSet<>();
+        for (Object key : keys) {
+            if (key instanceof TopicKey topicKey) {
+                topics.add(topicKey.topic);
+            }
+        }
+        return topics;
+    }
+
+    /**
+     * Index a channel by the values of the URI variables it was opened with.
+     *
+     * @param channel      The channel
+     * @param uriVariables The URI variables
+     */
+    public void addUriVariables(@NonNull Channel channel, @NonNull Map<String, Object> uriVariables) {
+        uriVariables.forEach((name, value) -> {
+            if (value != null) {
+                add(channel, new UriVariableKey(name, value.toString()));
+            }
+        });
+    }
+
+    /**
+     * Remove a channel from the index.
+     *
+     * @param channel The channel
+     */
+    public void remove(@NonNull Channel channel) {
+        Set<Object> keys = channel.attr(KEYS).getAndSet(null);
+        if (keys != null) {
+            for (Object key : keys) {
+                removeFromShard(channel, key);
+            }
+        }
+    }
+
+    /**
+     * Visit the channels subscribed to a topic, once per event loop.
+     *
+     * @param topic    The topic
+     * @param consumer The consumer of the event loop and the subscribed channels of that loop
+     */
+    public void forEachTopicSubscriber(@NonNull String topic, @NonNull BiConsumer<EventLoop, Collection<Channel>> consumer) {
+        forEach(new TopicKey(topic), consumer);
+    }
+
+    /**
+     * Visit the channels whose URI variable has the given value, once per event loop.
+     *
+     * @param name     The name of the URI variable
+     * @param value    The value of the URI variable
+     * @param consumer The consumer of the event loop and the matching channels of that loop
+     */
+    public void forEachUriVariableSubscriber(@NonNull String name, @NonNull String value, @NonNull BiConsumer<EventLoop, Collection<Channel>> consumer) {
+        forEach(new UriVariableKey(name, value), consumer);
+    }
+
+    private void forEach(Object key, BiConsumer<EventLoop, Collection<Channel>> consumer) {
+        shards.forEach((eventLoop, shard) -> {
+            Set<Channel> channels = shard.get(key);
+            if (channels != null && !channels.isEmpty()) {
+                consumer.accept(eventLoop, channels);
+            }
+        });
+    }
+
+    private void add(Channel channel, Object key) {
+        Set<Object> keys = channel.attr(KEYS).get();
+        if (keys == null) {
+            Set<Object> newKeys = ConcurrentHashMap.newKeySet();
+            keys = channel.attr(KEYS).setIfAbsent(newKeys);
+            if (keys == null) {
+                keys = newKeys;
+            }
+        }
+        if (keys.add(key)) {
+            shards.computeIfAbsent(channel.eventLoop(), loop -> new ConcurrentHashMap<>())
+                .compute(key, (k, channels) -> {
+                    if (channels == null) {
+                        channels = ConcurrentHashMap.newKeySet();
+                    }
+                    channels.add(channel);
+                    return channels;
+                });
+            if (!channel.isOpen()) {
+                // raced with the removal of the channel
+                remove(channel);
+            }
+        }
+    }
+
+    private void removeFromShard(Channel channel, Object key) {
+        Map<Object, Set<Channel>> shard = shards.get(channel.eventLoop());
+        if (shard != null) {
+            shard.computeIfPresent(key, (k, channels) -> {
+                channels.remove(channel);
+                return channels.isEmpty() ? null : channels;
+            });
+        }
+    }
+
+    private record TopicKey(String topic) {
+    }
+
+    private record UriVariableKey(String name, String value) {
+    }
+}
@@ -38,4 +38,35 @@ class NettyCookiesSpec extends Specification {
         cookie == null
     }
 
+    void "test request cookies are decoded on lookup"() {
+        given:
+        HttpHeaders httpHeaders = new DefaultHttpHeaders(false)
+                .add(HttpHeaderNames.COOKIE, 'a=1; b="quoted"; a=2; empty=; c=3')
+
+        when:
+        NettyCookies nettyCookies = new NettyCookies("/", httpHeaders, ConversionService.SHARED)
+
+        then:
+        nettyCookies.get("a").value == "1"
+        nettyCookies.get("b").value == "quoted"
+        nettyCookies.get("empty").value == ""
+        nettyCookies.get("c", Integer).get() == 3
+        nettyCookies.get("missing") == null
+        nettyCookies.names() == ["a", "b", "empty", "c"] as Set
+        nettyCookies.get("c").value == "3"
+    }
+
+    void "test request cookies with a version attribute"() {
+        given:
+        HttpHeaders httpHeaders = new DefaultHttpHeaders(false)
+                .add(HttpHeaderNames.COOKIE, '$Version=1; a=1; $Path=/; b=2')
+
+        when:
+        NettyCookies nettyCookies = new NettyCookies("/", httpHeaders, ConversionService.SHARED)
+
+        then:
+        nettyCookies.get("a").value == "1"
+        nettyCookies.get("b").value == "2"
+        nettyCookies.get('$Path') == null
+    }
 }
@@ -0,0 +1,194 @@
+package io.micronaut.http.netty.websocket
+
+import io.micronaut.websocket.KeyedWebSocketMessage
+import io.micronaut.websocket.exceptions.WebSocketMessageDroppedException
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelOutboundHandlerAdapter
+import io.netty.channel.ChannelPromise
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame
+import io.netty.util.ReferenceCountUtil
+import spock.lang.Specification
+
+class WebSocketOutboundQueueHandlerSpec extends Specification {
+
+    WebSocketOutboundMetrics metrics = new WebSocketOutboundMetrics()
+
+    void "frames pass through while the channel is writable"() {
+        given:
+        def channel = channel(1, WebSocketSlowConsumerPolicy.DROP_NEWEST)
+
+        when:
+        channel.writeAndFlush(new TextWebSocketFrame('a'))
+        channel.writeAndFlush(new TextWebSocketFrame('b'))
+
+        then:
+        texts(channel) == ['a', 'b']
+        metrics.queuedMessages == 0
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    void "drop oldest keeps the latest messages of a slow session"() {
+        given:
+        def channel = channel(2, WebSocketSlowConsumerPolicy.DROP_OLDEST)
+        setWritable(channel, false)
+
+        when:
+        def first = channel.writeAndFlush(new TextWebSocketFrame('a'))
+        channel.writeAndFlush(new PingWebSocketFrame())
+        channel.writeAndFlush(new TextWebSocketFrame('b'))
+        channel.writeAndFlush(new TextWebSocketFrame('c'))
+
+        then:
+        channel.outboundMessages().isEmpty()
+        first.cause() instanceof WebSocketMessageDroppedException
+        metrics.queuedMessages == 2
+        metrics.droppedMessages == 1
+
+        when:
+        setWritable(channel, true)
+
+        then:
+        channel.readOutbound() instanceof PingWebSocketFrame
+        texts(channel) == ['b', 'c']
+        metrics.queuedMessages == 0
+        metrics.queuedBytes == 0
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    void "drop newest rejects messages that do not fit"() {
+        given:
+        def channel = channel(1, WebSocketSlowConsumerPolicy.DROP_NEWEST)
+        setWritable(channel, false)
+
+        when:
+        channel.writeAndFlush(new TextWebSocketFrame('a'))
+        def second = channel.writeAndFlush(new TextWebSocketFrame('b'))
+        setWritable(channel, true)
+
+        then:
+        second.cause() instanceof WebSocketMessageDroppedException
+        texts(channel) == ['a']
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    void "coalesce replaces queued messages with the same key"() {
+        given:
+        def channel = channel(10, WebSocketSlowConsumerPolicy.COALESCE)
+        setWritable(channel, false)
+
+        when:
+        def first = channel.writeAndFlush(keyed('AAPL 1', 'AAPL'))
+        channel.writeAndFlush(keyed('MSFT 1', 'MSFT'))
+        channel.writeAndFlush(keyed('AAPL 2', 'AAPL'))
+        channel.writeAndFlush(new TextWebSocketFrame('news'))
+        setWritable(channel, true)
+
+        then:
+        first.cause() instanceof WebSocketMessageDroppedException
+        texts(channel) == ['AAPL 2', 'MSFT 1', 'news']
+        metrics.coalescedMessages == 1
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    void "close terminates a session whose queue is full"() {
+        given:
+        def channel = channel(1, WebSocketSlowConsumerPolicy.CLOSE)
+        setWritable(channel, false)
+
+        when:
+        def first = channel.writeAndFlush(new TextWebSocketFrame('a'))
+        channel.writeAndFlush(new TextWebSocketFrame('b'))
+        CloseWebSocketFrame close = channel.readOutbound()
+
+        then:
+        first.cause() instanceof WebSocketMessageDroppedException
+        close.statusCode() == 1008
+        !channel.isOpen()
+        metrics.closedSessions == 1
+        metrics.queuedMessages == 0
+
+        cleanup:
+        close.release()
+        channel.finishAndReleaseAll()
+    }
+
+    void "close terminates a session that has stopped reading"() {
+        given:
+        def stalled = new StalledConsumer()
+        def channel = new EmbeddedChannel(stalled, new WebSocketOutboundQueueHandler(1, -1, WebSocketSlowConsumerPolicy.CLOSE, metrics, 10))
+        setWritable(channel, false)
+
+        when:
+        channel.writeAndFlush(new TextWebSocketFrame('a'))
+        channel.writeAndFlush(new TextWebSocketFrame('b'))
+
+        then: 'the close frame is stuck behind the unread data'
+        channel.isOpen()
+        stalled.writes.last() instanceof CloseWebSocketFrame
+        metrics.closedSessions == 1
+
+        when:
+        Thread.sleep(50)
+        channel.runScheduledPendingTasks()
+
+        then:
+        !channel.isOpen()
+        stalled.writes.isEmpty()
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    private EmbeddedChannel channel(int maxMessages, WebSocketSlowConsumerPolicy policy) {
+        return new EmbeddedChannel(new WebSocketOutboundQueueHandler(maxMessages, -1, policy, metrics))
+    }
+
+    /**
+     * Holds every write without completing it, like a socket whose peer stopped reading.
+     */
+    private static class StalledConsumer extends ChannelOutboundHandlerAdapter {
+        final List<Object> writes = []
+
+        @Override
+        void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            writes << msg
+        }
+
+        @Override
+        void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+            writes.each { ReferenceCountUtil.release(it) }
+            writes.clear()
+            ctx.close(promise)
+        }
+    }
+
+    private static void setWritable(EmbeddedChannel channel, boolean writable) {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable)
+        channel.runPendingTasks()
+    }
+
+    private static Object keyed(String text, String key) {
+        return KeyedWebSocketFrame.wrap(new TextWebSocketFrame(text), { -> key } as KeyedWebSocketMessage)
+    }
+
+    private static List<String> texts(EmbeddedChannel channel) {
+        def texts = []
+        TextWebSocketFrame frame
+        while ((frame = channel.readOutbound()) != null) {
+            texts << frame.text()
+            frame.release()
+        }
+        return texts
+    }
+}
@@ -60,7 +60,6 @@ import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.EmptyHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaderNames;
-import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.handler.codec.http.cookie.ClientCookieEncoder;
 import io.netty.handler.codec.http.multipart.HttpData;
 import io.netty.handler.codec.http2.DefaultHttp2PushPromiseFrame;
@@ -91,6 +90,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -149,8 +149,17 @@ public class NettyHttpRequest<T> extends AbstractNettyHttpRequest<T> implements
         // we do copy the weight and dependency id
     }
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<NettyHttpRequest> IN_FLIGHT_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(NettyHttpRequest.class, "inFlight");
+    private static final int IN_FLIGHT_NEW = 0;
+    private static final int IN_FLIGHT_STARTED = 1;
+    private static final int IN_FLIGHT_COMPLETED = 2;
+
     boolean destroyed = false;
 
+    private volatile int inFlight = IN_FLIGHT_NEW;
+
     private final NettyHttpHeaders headers;
     private final ChannelHandlerContext channelHandlerContext;
     private final HttpServerConfiguration serverConfiguration;
@@ -225,6 +234,11 @@ public class NettyHttpRequest<T> extends AbstractNettyHttpRequest<T> implements
         return channelHandlerContext;
     }
 
+    @Override
+    public Channel getInboundChannel() {
+        return channelHandlerContext.channel();
+    }
+
     @Override
     public Cookies getCookies() {
         NettyCookies cookies = this.nettyCookies;
@@ -591,6 +605,24 @@ public class NettyHttpRequest<T> extends AbstractNettyHttpRequest<T> implements
         return ct != null && (ct.equals(MediaType.APPLICATION_FORM_URLENCODED_TYPE));
     }
 
+    /**
+     * Mark this request as in flight.
+     *
+     * @return {@code true} if the request was not in flight before
+     */
+    boolean markInFlight() {
+        return IN_FLIGHT_UPDATER.compareAndSet(this, IN_FLIGHT_NEW, IN_FLIGHT_STARTED);
+    }
+
+    /**
+     * Mark this in flight request as completed.
+     *
+     * @return {@code true} if the request was in flight and has not been marked as completed before
+     */
+    boolean markCompleted() {
+        return IN_FLIGHT_UPDATER.compareAndSet(this, IN_FLIGHT_STARTED, IN_FLIGHT_COMPLETED);
+    }
+
     /**
      * Remove the current request from the context.
      *
@@ -698,8 +730,7 @@ public class NettyHttpRequest<T> extends AbstractNettyHttpRequest<T> implements
                 synchronized (this) { // double check
                     httpParameters = this.httpParameters;
                     if (httpParameters == null) {
-                        QueryStringDecoder queryStringDecoder = createDecoder(uri);
-                        httpParameters = new NettyHttpParameters(queryStringDecoder.parameters(), conversionService, null);
+                        httpParameters = new NettyHttpParameters(createParameters(uri), conversionService, null);
                         this.httpParameters = httpParameters;
                     }
                 }
@@ -773,6 +804,11 @@ public class NettyHttpRequest<T> extends AbstractNettyHttpRequest<T> implements
             return NettyHttpRequest.this.nettyRequest instanceof StreamedHttpRequest;
         }
 
+        @Override
+        public Channel getInboundChannel() {
+            return NettyHttpRequest.this.getInboundChannel();
+        }
+
         @Override
         public MutableHttpRequest<T> mutate() {
             return new NettyMutableHttpRequest();
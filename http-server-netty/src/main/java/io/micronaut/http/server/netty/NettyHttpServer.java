@@ -34,6 +34,7 @@ import io.micronaut.http.netty.channel.DefaultEventLoopGroupConfiguration;
 import io.micronaut.http.netty.channel.EventLoopGroupConfiguration;
 import io.micronaut.http.netty.channel.converters.ChannelOptionFactory;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
+import io.micronaut.http.netty.websocket.WebSocketSubscriptionIndex;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.exceptions.ServerStartupException;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
@@ -45,6 +46,7 @@ import io.micronaut.http.ssl.ServerSslConfiguration;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import io.micronaut.runtime.server.event.ServerDrainEvent;
 import io.micronaut.runtime.server.event.ServerShutdownEvent;
 import io.micronaut.runtime.server.event.ServerStartupEvent;
 import io.micronaut.scheduling.TaskExecutors;
@@ -61,6 +63,10 @@ import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.codec.http.multipart.DiskFileUpload;
+import io.netty.handler.codec.http2.DefaultHttp2GoAwayFrame;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.slf4j.Logger;
@@ -74,6 +80,7 @@ import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -120,6 +127,8 @@ public class NettyHttpServer implements NettyEmbeddedServer {
     private final ApplicationContext applicationContext;
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final ChannelGroup webSocketSessions = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final ChannelGroup connections = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final WebSocketSubscriptionIndex webSocketSubscriptions = new WebSocketSubscriptionIndex();
     private final HttpHostResolver hostResolver;
     private boolean shutdownWorker = false;
     private boolean shutdownParent = false;
@@ -592,6 +601,7 @@ public class NettyHttpServer implements NettyEmbeddedServer {
 
     private void stopInternal(boolean stopApplicationContext) {
         try {
+            serverConfiguration.getDrainTimeout().ifPresent(this::drain);
             if (shutdownParent) {
                 EventLoopGroupConfiguration parent = serverConfiguration.getParent();
                 if (parent != null) {
@@ -622,6 +632,44 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         }
     }
 
+    private void drain(Duration timeout) {
+        applicationContext.getEventPublisher(ServerDrainEvent.class).publishEvent(new ServerDrainEvent(this));
+        routingHandler.startDrain();
+        List<Listener> listeners = this.activeListeners;
+        if (listeners != null) {
+            for (Listener listener : listeners) {
+                listener.serverChannel.close();
+            }
+        }
+        for (Channel connection : connections) {
+            if (connection.pipeline().get(Http2FrameCodec.class) != null) {
+                // the codec sets the last stream id to the last stream created by the client
+                connection.writeAndFlush(new DefaultHttp2GoAwayFrame(Http2Error.NO_ERROR));
+            }
+        }
+        if (isEventLoopThread()) {
+            // blocking here would prevent the requests of this event loop from completing
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Server stopped from an event loop thread, not waiting for in flight requests to complete");
+            }
+            connections.close();
+        } else {
+            if (!routingHandler.awaitInFlightRequests(timeout) && LOG.isWarnEnabled()) {
+                LOG.warn("Drain timeout of {} elapsed with {} requests in flight", timeout, routingHandler.getInFlightRequests());
+            }
+            connections.close().awaitUninterruptibly();
+        }
+    }
+
+    private boolean isEventLoopThread() {
+        for (EventExecutor executor : workerGroup) {
+            if (executor.inEventLoop()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private EventLoopGroup newEventLoopGroup(EventLoopGroupConfiguration config) {
         if (config != null) {
             ExecutorService executorService = config.getExecutorName()
@@ -658,6 +706,7 @@ public class NettyHttpServer implements NettyEmbeddedServer {
     @Override
     public void removeChannel(Channel channel) {
         this.webSocketSessions.remove(channel);
+        this.webSocketSubscriptions.remove(channel);
     }
 
     @Override
@@ -665,6 +714,11 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         return this.webSocketSessions;
     }
 
+    @Override
+    public WebSocketSubscriptionIndex getSubscriptionIndex() {
+        return this.webSocketSubscriptions;
+    }
+
     /**
      * @return {@link io.micronaut.http.server.netty.NettyHttpServer} which implements {@link WebSocketSessionRepository}
      */
@@ -773,6 +827,7 @@ public class NettyHttpServer implements NettyEmbeddedServer {
 
         @Override
         protected void initChannel(@NonNull Channel ch) throws Exception {
+            connections.add(ch);
             httpPipelineBuilder.new ConnectionPipeline(ch, config.isSsl()).initChannel();
         }
     }
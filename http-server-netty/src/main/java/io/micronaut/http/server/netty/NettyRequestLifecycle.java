@@ -29,6 +29,7 @@ import io.micronaut.http.annotation.Body;
 import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.http.netty.stream.StreamedHttpRequest;
 import io.micronaut.http.server.RequestLifecycle;
+import io.micronaut.http.server.metrics.RequestMetrics;
 import io.micronaut.http.server.multipart.MultipartBody;
 import io.micronaut.http.server.netty.multipart.NettyStreamingFileUpload;
 import io.micronaut.http.server.netty.types.files.NettyStreamedFileCustomizableResponseType;
@@ -102,7 +103,7 @@ final class NettyRequestLifecycle extends RequestLifecycle {
             result = normalFlow();
         }
 
-        result.onComplete((response, throwable) -> rib.writeResponse(ctx, nettyRequest, response, throwable));
+        result.onComplete((response, throwable) -> rib.writeResponse(ctx, nettyRequest, response, throwable, metrics()));
     }
 
     @Nullable
@@ -149,13 +150,13 @@ final class NettyRequestLifecycle extends RequestLifecycle {
             new FormRouteCompleter(new NettyStreamingFileUpload.Factory(rib.serverConfiguration.getMultipart(), rib.getIoExecutor()), rib.conversionService, nettyRequest, routeMatch) :
             new BaseRouteCompleter(nettyRequest, routeMatch);
         HttpContentProcessor processor = rib.httpContentProcessorResolver.resolve(nettyRequest, routeMatch);
-        StreamingDataSubscriber pr = new StreamingDataSubscriber(completer, processor);
+        StreamingDataSubscriber pr = new StreamingDataSubscriber(completer, processor, metrics());
         ((StreamedHttpRequest) nettyRequest.getNativeRequest()).subscribe(pr);
         return CompletableFutureExecutionFlow.just(pr.completion);
     }
 
     void handleException(Throwable cause) {
-        onError(cause).onComplete((response, throwable) -> rib.writeResponse(ctx, nettyRequest, response, throwable));
+        onError(cause).onComplete((response, throwable) -> rib.writeResponse(ctx, nettyRequest, response, throwable, metrics()));
     }
 
     private boolean shouldReadBody(RouteMatch<?> routeMatch) {
@@ -192,14 +193,17 @@ final class NettyRequestLifecycle extends RequestLifecycle {
         private final List<Object> bufferList = new ArrayList<>(1);
         private final HttpContentProcessor contentProcessor;
         private final BaseRouteCompleter completer;
+        @Nullable
+        private final RequestMetrics metrics;
         private Subscription upstream;
 
         private volatile boolean upstreamRequested = false;
         private boolean downstreamDone = false;
 
-        StreamingDataSubscriber(BaseRouteCompleter completer, HttpContentProcessor contentProcessor) {
+        StreamingDataSubscriber(BaseRouteCompleter completer, HttpContentProcessor contentProcessor, @Nullable RequestMetrics metrics) {
             this.completer = completer;
             this.contentProcessor = contentProcessor;
+            this.metrics = metrics;
         }
 
         private void checkDemand() {
@@ -237,6 +241,9 @@ final class NettyRequestLifecycle extends RequestLifecycle {
                 holder.release();
                 return;
             }
+            if (metrics != null) {
+                metrics.addBytesIn(holder.content().readableBytes());
+            }
             try {
                 bufferList.clear();
                 contentProcessor.add(holder, bufferList);
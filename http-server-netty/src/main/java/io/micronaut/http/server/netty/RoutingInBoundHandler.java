@@ -45,6 +45,8 @@ import io.micronaut.http.netty.stream.StreamedHttpRequest;
 import io.micronaut.http.server.RouteExecutor;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
 import io.micronaut.http.server.exceptions.InternalServerException;
+import io.micronaut.http.server.metrics.RequestMetrics;
+import io.micronaut.http.server.metrics.RouteMetricsRegistry;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandler;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
@@ -82,9 +84,15 @@ import reactor.core.publisher.Flux;
 import javax.net.ssl.SSLException;
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -118,6 +126,9 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
     final ApplicationEventPublisher<HttpRequestTerminatedEvent> terminateEventPublisher;
     final RouteExecutor routeExecutor;
     final ConversionService conversionService;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private volatile boolean draining;
+    private volatile CompletableFuture<Void> drained;
 
     /**
      * @param customizableResponseTypeHandlerRegistry The customizable response type handler registry
@@ -166,11 +177,16 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
     }
 
     private void cleanupIfNecessary(ChannelHandlerContext ctx) {
-        NettyHttpRequest.remove(ctx);
+        NettyHttpRequest<?> request = NettyHttpRequest.remove(ctx);
+        if (request != null) {
+            // the response of the outstanding request can no longer be written
+            requestCompleted(request);
+        }
     }
 
     private void cleanupRequest(ChannelHandlerContext ctx, NettyHttpRequest<?> request) {
         try {
+            requestCompleted(request);
             request.release();
         } finally {
             if (terminateEventPublisher != ApplicationEventPublisher.NO_OP) {
@@ -227,22 +243,81 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
             ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR));
             return;
         }
+        requestStarted(nettyHttpRequest);
         new NettyRequestLifecycle(this, ctx, nettyHttpRequest).handleException(cause);
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, io.micronaut.http.HttpRequest<?> httpRequest) {
-        new NettyRequestLifecycle(this, ctx, (NettyHttpRequest<?>) httpRequest).handleNormal();
+        NettyHttpRequest<?> nettyHttpRequest = (NettyHttpRequest<?>) httpRequest;
+        requestStarted(nettyHttpRequest);
+        new NettyRequestLifecycle(this, ctx, nettyHttpRequest).handleNormal();
+    }
+
+    /**
+     * @return The number of requests that have been received and whose response has not been
+     * completely written yet
+     */
+    int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /**
+     * Start draining: responses to HTTP/1.x requests are sent with {@code Connection: close}
+     * from now on, so that clients do not reuse the connection.
+     */
+    void startDrain() {
+        draining = true;
+    }
+
+    /**
+     * Wait for the in flight requests to complete.
+     *
+     * @param timeout The maximum time to wait
+     * @return Whether all in flight requests completed within the timeout
+     */
+    boolean awaitInFlightRequests(Duration timeout) {
+        CompletableFuture<Void> drained = new CompletableFuture<>();
+        this.drained = drained;
+        if (inFlightRequests.get() == 0) {
+            drained.complete(null);
+        }
+        try {
+            drained.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void requestStarted(NettyHttpRequest<?> request) {
+        if (request.markInFlight()) {
+            inFlightRequests.incrementAndGet();
+        }
+    }
+
+    private void requestCompleted(NettyHttpRequest<?> request) {
+        if (request.markCompleted() && inFlightRequests.decrementAndGet() == 0) {
+            CompletableFuture<Void> drained = this.drained;
+            if (drained != null) {
+                drained.complete(null);
+            }
+        }
     }
 
     void writeResponse(ChannelHandlerContext ctx,
                                NettyHttpRequest<?> nettyHttpRequest,
                                MutableHttpResponse<?> response,
-                               Throwable throwable) {
+                               Throwable throwable,
+                               @Nullable RequestMetrics metrics) {
         if (throwable != null) {
             response = routeExecutor.createDefaultErrorResponse(nettyHttpRequest, throwable);
         }
         if (response == null) {
+            requestCompleted(nettyHttpRequest);
             ctx.read();
         } else {
             try {
@@ -251,7 +326,8 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
                     nettyHttpRequest,
                     response,
                     null,
-                    response.body()
+                    response.body(),
+                    metrics
                 );
             } catch (Throwable e) {
                 response = routeExecutor.createDefaultErrorResponse(nettyHttpRequest, e);
@@ -260,7 +336,8 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
                     nettyHttpRequest,
                     response,
                     null,
-                    response.body()
+                    response.body(),
+                    metrics
                 );
             }
         }
@@ -285,7 +362,8 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
         NettyHttpRequest<?> nettyRequest,
         MutableHttpResponse<?> response,
         @Nullable Argument<Object> bodyType,
-        Object body) {
+        Object body,
+        @Nullable RequestMetrics metrics) {
         boolean isNotHead = nettyRequest.getMethod() != HttpMethod.HEAD;
 
         if (isNotHead) {
@@ -304,14 +382,16 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
                         writeFinalNettyResponse(
                             response,
                             nettyRequest,
-                            context
+                            context,
+                            metrics
                         );
                     } catch (IOException e) {
                         final MutableHttpResponse<?> errorResponse = routeExecutor.createDefaultErrorResponse(nettyRequest, e);
                         writeFinalNettyResponse(
                             errorResponse,
                             nettyRequest,
-                            context
+                            context,
+                            metrics
                         );
                     }
                 });
@@ -319,11 +399,12 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
                 response.body(null);
                 DelegateStreamedHttpResponse streamedResponse = new DelegateStreamedHttpResponse(
                     toNettyResponse(response),
-                    mapToHttpContent(nettyRequest, response, body, context)
+                    mapToHttpContent(nettyRequest, response, body, context, metrics)
                 );
                 context.writeAndFlush(streamedResponse);
                 context.read();
             } else {
+                long encodeStart = metrics == null ? 0 : System.nanoTime();
                 encodeResponseBody(
                     context,
                     nettyRequest,
@@ -331,11 +412,15 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
                     bodyType,
                     body
                 );
+                if (metrics != null) {
+                    metrics.encoded(System.nanoTime() - encodeStart);
+                }
 
                 writeFinalNettyResponse(
                     response,
                     nettyRequest,
-                    context
+                    context,
+                    metrics
                 );
             }
         } else {
@@ -343,7 +428,8 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
             writeFinalNettyResponse(
                 response,
                 nettyRequest,
-                context
+                context,
+                metrics
             );
         }
     }
@@ -351,7 +437,8 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
     private Flux<HttpContent> mapToHttpContent(NettyHttpRequest<?> request,
                                                MutableHttpResponse<?> response,
                                                Object body,
-                                               ChannelHandlerContext context) {
+                                               ChannelHandlerContext context,
+                                               @Nullable RequestMetrics metrics) {
         final RouteInfo<?> routeInfo = response.getAttribute(HttpAttributes.ROUTE_INFO, RouteInfo.class).orElse(null);
         final boolean hasRouteInfo = routeInfo != null;
         MediaType mediaType = response.getContentType().orElse(null);
@@ -414,10 +501,20 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
 
         httpContentPublisher = httpContentPublisher
             .contextWrite(reactorContext -> reactorContext.put(ServerRequestContext.KEY, request))
-            .doOnNext(httpContent ->
+            .doOnNext(httpContent -> {
+                if (metrics != null) {
+                    metrics.addBytesOut(httpContent.content().readableBytes());
+                }
                 // once an http content is written, read the next item if it is available
-                context.read())
-            .doAfterTerminate(() -> cleanupRequest(context, request));
+                context.read();
+            })
+            .doFinally(signalType -> {
+                // also runs when the client disconnects and the publisher is cancelled
+                if (metrics != null) {
+                    recordMetrics(metrics, request, response.code());
+                }
+                cleanupRequest(context, request);
+            });
 
         return httpContentPublisher;
     }
@@ -489,8 +586,14 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
 
     }
 
-    private void writeFinalNettyResponse(MutableHttpResponse<?> message, HttpRequest<?> request, ChannelHandlerContext context) {
+    private void writeFinalNettyResponse(MutableHttpResponse<?> message,
+                                         HttpRequest<?> request,
+                                         ChannelHandlerContext context,
+                                         @Nullable RequestMetrics metrics) {
         int httpStatus = message.code();
+        if (metrics != null && !(message.body() instanceof NettyCustomizableResponseTypeHandlerInvoker)) {
+            metrics.addBytesOut(message.getHeaders().contentLength().orElse(0L));
+        }
 
         final io.micronaut.http.HttpVersion httpVersion = request.getHttpVersion();
         final boolean isHttp2 = httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0;
@@ -515,6 +618,9 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
                     }
                 }
             } finally {
+                if (metrics != null) {
+                    recordMetrics(metrics, request, httpStatus);
+                }
                 if (request instanceof NettyHttpRequest) {
                     cleanupRequest(context, (NettyHttpRequest<?>) request);
                 }
@@ -526,7 +632,9 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
         if (body instanceof NettyCustomizableResponseTypeHandlerInvoker) {
             // default Connection header if not set explicitly
             if (!isHttp2) {
-                if (!message.getHeaders().contains(HttpHeaders.CONNECTION)) {
+                if (draining) {
+                    message.getHeaders().set(HttpHeaders.CONNECTION, HttpHeaderValues.CLOSE);
+                } else if (!message.getHeaders().contains(HttpHeaders.CONNECTION)) {
                     if (!decodeError && (httpStatus < 500 || serverConfiguration.isKeepAliveOnServerError())) {
                         message.getHeaders().set(HttpHeaders.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
                     } else {
@@ -543,7 +651,9 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
 
             // default Connection header if not set explicitly
             if (!isHttp2) {
-                if (!nettyHeaders.contains(HttpHeaderNames.CONNECTION)) {
+                if (draining) {
+                    nettyHeaders.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+                } else if (!nettyHeaders.contains(HttpHeaderNames.CONNECTION)) {
                     boolean expectKeepAlive = nettyResponse.protocolVersion().isKeepAliveDefault() || request.getHeaders().isKeepAlive();
                     if (!decodeError && expectKeepAlive && (httpStatus < 500 || serverConfiguration.isKeepAliveOnServerError())) {
                         nettyHeaders.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
@@ -616,6 +726,17 @@ final class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.microna
         }
     }
 
+    private void recordMetrics(RequestMetrics metrics, HttpRequest<?> request, int status) {
+        RouteMetricsRegistry routeMetricsRegistry = routeExecutor.getRouteMetricsRegistry();
+        if (routeMetricsRegistry != null) {
+            if (metrics.getBytesIn() == 0) {
+                // the body was not streamed through the lifecycle, fall back to the declared length
+                metrics.addBytesIn(Math.max(0, request.getContentLength()));
+            }
+            routeMetricsRegistry.record(metrics, status);
+        }
+    }
+
     @NonNull
     private io.netty.handler.codec.http.HttpResponse toNettyResponse(HttpResponse<?> message) {
         if (message instanceof NettyHttpResponseBuilder builder) {
@@ -27,6 +27,8 @@ import io.micronaut.core.convert.format.ReadableBytes;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.netty.channel.ChannelPipelineListener;
 import io.micronaut.http.netty.channel.EventLoopGroupConfiguration;
+import io.micronaut.http.netty.channel.EventLoopGroupRegistry;
+import io.micronaut.http.netty.websocket.WebSocketSlowConsumerPolicy;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.netty.channel.ChannelOption;
@@ -153,11 +155,13 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private String fallbackProtocol = ApplicationProtocolNames.HTTP_1_1;
     private AccessLogger accessLogger;
     private Http2Settings http2Settings = new Http2Settings();
+    private WebSocketSettings webSocketSettings = new WebSocketSettings();
     private boolean keepAliveOnServerError = DEFAULT_KEEP_ALIVE_ON_SERVER_ERROR;
     private String pcapLoggingPathPattern = null;
     private List<NettyListenerConfiguration> listeners = null;
     private boolean eagerParsing = DEFAULT_EAGER_PARSING;
     private int jsonBufferMaxComponents = DEFAULT_JSON_BUFFER_MAX_COMPONENTS;
+    private Duration drainTimeout;
 
     /**
      * Default empty constructor.
@@ -219,6 +223,28 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         }
     }
 
+    /**
+     * Returns the WebSocket settings.
+     *
+     * @return The WebSocket settings
+     * @since 4.0.0
+     */
+    public WebSocketSettings getWebsocket() {
+        return webSocketSettings;
+    }
+
+    /**
+     * Sets the WebSocket settings.
+     *
+     * @param websocket The WebSocket settings
+     * @since 4.0.0
+     */
+    public void setWebsocket(WebSocketSettings websocket) {
+        if (websocket != null) {
+            this.webSocketSettings = websocket;
+        }
+    }
+
     /**
      * @return The pipeline customizers
      */
@@ -627,6 +653,29 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.jsonBufferMaxComponents = jsonBufferMaxComponents;
     }
 
+    /**
+     * The maximum time to wait for in flight requests to complete when the server stops. If
+     * not set, the server does not drain and closes its connections immediately.
+     *
+     * @return The drain timeout
+     * @since 4.0.0
+     */
+    public Optional<Duration> getDrainTimeout() {
+        return Optional.ofNullable(drainTimeout);
+    }
+
+    /**
+     * The maximum time to wait for in flight requests to complete when the server stops. While
+     * draining, the server stops accepting connections, reports itself as not ready, sends
+     * {@code Connection: close} on HTTP/1.x responses and GOAWAY on HTTP/2 connections.
+     *
+     * @param drainTimeout The drain timeout
+     * @since 4.0.0
+     */
+    public void setDrainTimeout(@Nullable Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
     /**
      * Http2 settings.
      */
@@ -776,6 +825,89 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         }
     }
 
+    /**
+     * Outbound queue settings of WebSocket sessions.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties("websocket")
+    public static class WebSocketSettings {
+        /**
+         * The default maximum number of queued messages, no limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_QUEUED_MESSAGES = -1;
+
+        /**
+         * The default maximum number of queued bytes, no limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAX_QUEUED_BYTES = -1;
+
+        /**
+         * The default slow consumer policy.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final WebSocketSlowConsumerPolicy DEFAULT_SLOW_CONSUMER_POLICY = WebSocketSlowConsumerPolicy.DROP_OLDEST;
+
+        private int maxQueuedMessages = DEFAULT_MAX_QUEUED_MESSAGES;
+        private long maxQueuedBytes = DEFAULT_MAX_QUEUED_BYTES;
+        private WebSocketSlowConsumerPolicy slowConsumerPolicy = DEFAULT_SLOW_CONSUMER_POLICY;
+
+        /**
+         * @return The maximum number of messages queued for a session that cannot keep up, {@code -1} for no limit
+         */
+        public int getMaxQueuedMessages() {
+            return maxQueuedMessages;
+        }
+
+        /**
+         * Sets the maximum number of messages queued for a session once its channel is no longer
+         * writable. Default value ({@value #DEFAULT_MAX_QUEUED_MESSAGES}), no limit.
+         *
+         * @param maxQueuedMessages The maximum number of queued messages
+         */
+        public void setMaxQueuedMessages(int maxQueuedMessages) {
+            this.maxQueuedMessages = maxQueuedMessages;
+        }
+
+        /**
+         * @return The maximum number of bytes queued for a session that cannot keep up, {@code -1} for no limit
+         */
+        public long getMaxQueuedBytes() {
+            return maxQueuedBytes;
+        }
+
+        /**
+         * Sets the maximum number of message bytes queued for a session once its channel is no
+         * longer writable. Default value ({@value #DEFAULT_MAX_QUEUED_BYTES}), no limit.
+         *
+         * @param maxQueuedBytes The maximum number of queued bytes
+         */
+        public void setMaxQueuedBytes(long maxQueuedBytes) {
+            this.maxQueuedBytes = maxQueuedBytes;
+        }
+
+        /**
+         * @return The policy applied when the queue of a session is full
+         */
+        public WebSocketSlowConsumerPolicy getSlowConsumerPolicy() {
+            return slowConsumerPolicy;
+        }
+
+        /**
+         * Sets the policy applied when a message does not fit in the queue of a session.
+         * Default value (DROP_OLDEST).
+         *
+         * @param slowConsumerPolicy The policy
+         */
+        public void setSlowConsumerPolicy(WebSocketSlowConsumerPolicy slowConsumerPolicy) {
+            if (slowConsumerPolicy != null) {
+                this.slowConsumerPolicy = slowConsumerPolicy;
+            }
+        }
+    }
+
     /**
      * Access logger configuration.
      */
@@ -857,7 +989,7 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
      * Configuration for Netty worker.
      */
     @ConfigurationProperties("worker")
-    @Named("netty-server-worker-event-loop")
+    @Named(EventLoopGroupRegistry.SERVER_WORKER)
     public static class Worker extends EventLoopConfig {
         /**
          * Default constructor.
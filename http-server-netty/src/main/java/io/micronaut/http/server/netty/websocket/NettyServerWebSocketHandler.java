@@ -33,6 +33,7 @@ import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.http.netty.websocket.AbstractNettyWebSocketHandler;
 import io.micronaut.http.netty.websocket.NettyWebSocketSession;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
+import io.micronaut.http.netty.websocket.WebSocketSubscriptionIndex;
 import io.micronaut.http.server.CoroutineHelper;
 import io.micronaut.http.server.netty.NettyEmbeddedServices;
 import io.micronaut.inject.ExecutableMethod;
@@ -61,6 +62,7 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.security.Principal;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -270,9 +272,37 @@ public class NettyServerWebSocketHandler extends AbstractNettyWebSocketHandler {
                 return uriVars;
             }
 
+            @Override
+            public void subscribe(String topic) {
+                subscriptionIndex().subscribe(channel, topic);
+            }
+
+            @Override
+            public void unsubscribe(String topic) {
+                subscriptionIndex().unsubscribe(channel, topic);
+            }
+
+            @Override
+            public Set<String> getTopics() {
+                WebSocketSubscriptionIndex index = webSocketSessionRepository.getSubscriptionIndex();
+                return index != null ? index.getTopics(channel) : Collections.emptySet();
+            }
+
+            private WebSocketSubscriptionIndex subscriptionIndex() {
+                WebSocketSubscriptionIndex index = webSocketSessionRepository.getSubscriptionIndex();
+                if (index == null) {
+                    throw new UnsupportedOperationException("Topics not supported by the WebSocket session repository");
+                }
+                return index;
+            }
+
         };
 
         webSocketSessionRepository.addChannel(channel);
+        WebSocketSubscriptionIndex subscriptionIndex = webSocketSessionRepository.getSubscriptionIndex();
+        if (subscriptionIndex != null && !uriVariables.isEmpty()) {
+            subscriptionIndex.addUriVariables(channel, uriVariables);
+        }
 
         return session;
     }
@@ -31,11 +31,14 @@ import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.netty.NettyHttpHeaders;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
+import io.micronaut.http.netty.websocket.WebSocketOutboundMetrics;
+import io.micronaut.http.netty.websocket.WebSocketOutboundQueueHandler;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
 import io.micronaut.http.server.RequestLifecycle;
 import io.micronaut.http.server.RouteExecutor;
 import io.micronaut.http.server.netty.NettyEmbeddedServices;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.web.router.RouteMatch;
 import io.micronaut.web.router.Router;
 import io.micronaut.web.router.UriRouteMatch;
@@ -90,22 +93,44 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
     private final WebSocketSessionRepository webSocketSessionRepository;
     private final RouteExecutor routeExecutor;
     private final NettyEmbeddedServices nettyEmbeddedServices;
+    private final NettyHttpServerConfiguration.WebSocketSettings webSocketSettings;
+    private final WebSocketOutboundMetrics outboundMetrics;
     private WebSocketServerHandshaker handshaker;
     private boolean cancelUpgrade = false;
 
     /**
-     * Default constructor.
+     * Default constructor. The sessions use the default outbound queue settings and report to the
+     * {@link WebSocketOutboundMetrics} bean of the application context.
      *
      * @param embeddedServices The embedded server services
      * @param webSocketSessionRepository The websocket session repository
+     * @deprecated Use {@link #NettyServerWebSocketUpgradeHandler(NettyEmbeddedServices, WebSocketSessionRepository, NettyHttpServerConfiguration.WebSocketSettings, WebSocketOutboundMetrics)} instead
      */
+    @Deprecated
     public NettyServerWebSocketUpgradeHandler(NettyEmbeddedServices embeddedServices,
                                               WebSocketSessionRepository webSocketSessionRepository) {
+        this(embeddedServices, webSocketSessionRepository, new NettyHttpServerConfiguration.WebSocketSettings(),
+            embeddedServices.getApplicationContext().getBean(WebSocketOutboundMetrics.class));
+    }
+
+    /**
+     * @param embeddedServices The embedded server services
+     * @param webSocketSessionRepository The websocket session repository
+     * @param webSocketSettings The outbound queue settings of the sessions
+     * @param outboundMetrics The metrics of the outbound queues
+     * @since 4.0.0
+     */
+    public NettyServerWebSocketUpgradeHandler(NettyEmbeddedServices embeddedServices,
+                                              WebSocketSessionRepository webSocketSessionRepository,
+                                              NettyHttpServerConfiguration.WebSocketSettings webSocketSettings,
+                                              WebSocketOutboundMetrics outboundMetrics) {
         this.router = embeddedServices.getRouter();
         this.webSocketBeanRegistry = WebSocketBeanRegistry.forServer(embeddedServices.getApplicationContext());
         this.webSocketSessionRepository = webSocketSessionRepository;
         this.routeExecutor = embeddedServices.getRouteExecutor();
         this.nettyEmbeddedServices = embeddedServices;
+        this.webSocketSettings = webSocketSettings;
+        this.outboundMetrics = outboundMetrics;
     }
 
     @Override
@@ -157,7 +182,12 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
             ChannelPipeline pipeline = ctx.pipeline();
 
             try {
-                // re-configure the pipeline
+                // re-configure the pipeline, the session looks up the outbound queue when it is created
+                pipeline.addBefore(ctx.name(), WebSocketOutboundQueueHandler.ID, new WebSocketOutboundQueueHandler(
+                    webSocketSettings.getMaxQueuedMessages(),
+                    webSocketSettings.getMaxQueuedBytes(),
+                    webSocketSettings.getSlowConsumerPolicy(),
+                    outboundMetrics));
                 NettyServerWebSocketHandler webSocketHandler = new NettyServerWebSocketHandler(
                     nettyEmbeddedServices,
                     webSocketSessionRepository,
@@ -17,9 +17,12 @@ package io.micronaut.http.server.netty.websocket;
 
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.netty.websocket.WebSocketOutboundMetrics;
 import io.micronaut.http.server.netty.NettyEmbeddedServer;
 import io.micronaut.http.server.netty.NettyEmbeddedServices;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.http.server.netty.NettyHttpServer;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.websocket.context.WebSocketBeanRegistry;
 import io.netty.channel.SimpleChannelInboundHandler;
 import jakarta.inject.Singleton;
@@ -34,6 +37,15 @@ import jakarta.inject.Singleton;
 @Singleton
 @Internal
 public final class WebSocketUpgradeHandlerFactory {
+    private final WebSocketOutboundMetrics outboundMetrics;
+
+    /**
+     * @param outboundMetrics The metrics of the outbound queues of the sessions
+     */
+    public WebSocketUpgradeHandlerFactory(WebSocketOutboundMetrics outboundMetrics) {
+        this.outboundMetrics = outboundMetrics;
+    }
+
     /**
      * Creates the websocket upgrade inbound handler.
      * @param embeddedServer The server
@@ -41,6 +53,9 @@ public final class WebSocketUpgradeHandlerFactory {
      * @return The handler
      */
     public SimpleChannelInboundHandler<NettyHttpRequest<?>> create(NettyEmbeddedServer embeddedServer, NettyEmbeddedServices nettyEmbeddedServices) {
-        return new NettyServerWebSocketUpgradeHandler(nettyEmbeddedServices, embeddedServer);
+        NettyHttpServerConfiguration.WebSocketSettings webSocketSettings = embeddedServer instanceof NettyHttpServer nettyHttpServer
+            ? nettyHttpServer.getServerConfiguration().getWebsocket()
+            : new NettyHttpServerConfiguration.WebSocketSettings();
+        return new NettyServerWebSocketUpgradeHandler(nettyEmbeddedServices, embeddedServer, webSocketSettings, outboundMetrics);
     }
 }
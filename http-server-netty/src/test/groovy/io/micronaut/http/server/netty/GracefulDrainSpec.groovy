@@ -0,0 +1,121 @@
+package io.micronaut.http.server.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.event.annotation.EventListener
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.runtime.server.event.ServerDrainEvent
+import jakarta.inject.Singleton
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class GracefulDrainSpec extends Specification {
+
+    void 'in flight requests complete before the server stops'() {
+        given:
+        NettyEmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name'                           : 'GracefulDrainSpec',
+                'micronaut.server.netty.drain-timeout': '10s'
+        ])
+        def controller = server.applicationContext.getBean(SlowController)
+        def listener = server.applicationContext.getBean(DrainListener)
+        def clientContext = ApplicationContext.run()
+        def client = clientContext.createBean(HttpClient, server.URL)
+
+        when:
+        def response = Mono.from(client.exchange(HttpRequest.GET('/drain/slow'), String)).toFuture()
+        controller.started.await(10, TimeUnit.SECONDS)
+        server.stop()
+
+        then:
+        listener.drained
+        response.get(10, TimeUnit.SECONDS).body() == 'done'
+        response.get().header('Connection') == 'close'
+        !server.running
+
+        cleanup:
+        clientContext.close()
+    }
+
+    void 'a client that disconnects during a streamed response does not hold up the drain'() {
+        given:
+        NettyEmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name'                           : 'GracefulDrainSpec',
+                'micronaut.server.netty.drain-timeout': '10s'
+        ])
+        def controller = server.applicationContext.getBean(SlowController)
+        def socket = new Socket(server.host, server.port)
+
+        when:
+        socket.outputStream.write('GET /drain/stream HTTP/1.1\r\nHost: localhost\r\n\r\n'.getBytes(StandardCharsets.US_ASCII))
+        socket.outputStream.flush()
+        int read = socket.inputStream.read(new byte[64])
+        socket.close()
+
+        then:
+        read > 0
+        controller.cancelled.await(10, TimeUnit.SECONDS)
+
+        when:
+        long start = System.nanoTime()
+        server.stop()
+
+        then:
+        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5
+        !server.running
+    }
+
+    void 'stopping without a drain timeout does not drain'() {
+        given:
+        NettyEmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'GracefulDrainSpec'])
+        def listener = server.applicationContext.getBean(DrainListener)
+
+        when:
+        server.stop()
+
+        then:
+        !listener.drained
+    }
+
+    @Requires(property = 'spec.name', value = 'GracefulDrainSpec')
+    @Controller('/drain')
+    static class SlowController {
+        final CountDownLatch started = new CountDownLatch(1)
+        final CountDownLatch cancelled = new CountDownLatch(1)
+
+        @Get('/slow')
+        Mono<String> slow() {
+            started.countDown()
+            return Mono.delay(Duration.ofMillis(500)).thenReturn('done')
+        }
+
+        @Get(value = '/stream', produces = MediaType.TEXT_PLAIN)
+        Flux<String> stream() {
+            return Flux.interval(Duration.ofMillis(10))
+                    .map { 'tick\n' }
+                    .doOnCancel { cancelled.countDown() }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'GracefulDrainSpec')
+    @Singleton
+    static class DrainListener {
+        volatile boolean drained
+
+        @EventListener
+        void onDrain(ServerDrainEvent event) {
+            drained = true
+        }
+    }
+}
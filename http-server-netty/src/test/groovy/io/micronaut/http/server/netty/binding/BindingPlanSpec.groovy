@@ -0,0 +1,100 @@
+package io.micronaut.http.server.netty.binding
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.bind.ArgumentBinder
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.core.type.Argument
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.bind.DefaultRequestBinderRegistry
+import io.micronaut.http.bind.RequestBinderRegistry
+import io.micronaut.http.bind.binders.RequestArgumentBinder
+import io.micronaut.http.server.binding.RequestArgumentSatisfier
+import io.micronaut.web.router.RouteMatch
+import io.micronaut.web.router.Router
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class BindingPlanSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(['spec.name': 'BindingPlanSpec'])
+
+    void "arguments are bound with the binders of the cached plan"() {
+        given:
+        def registry = new CountingRegistry(context.getBean(ConversionService), context.getBeansOfType(RequestArgumentBinder).toList())
+        def satisfier = new RequestArgumentSatisfier(registry)
+
+        when:
+        def first = execute(satisfier, '/binding-plan/foo?limit=10&active=true', 'abc')
+        int lookups = registry.lookups
+        def second = execute(satisfier, '/binding-plan/bar?limit=20&active=false', 'def')
+
+        then:
+        first == 'foo 10 true abc'
+        second == 'bar 20 false def'
+        lookups > 0
+        registry.lookups == lookups
+    }
+
+    void "arguments are bound through the registry when it is not the default registry"() {
+        given:
+        def delegate = context.getBean(RequestBinderRegistry)
+        int lookups = 0
+        def registry = new RequestBinderRegistry() {
+            @Override
+            <T> Optional<ArgumentBinder<T, HttpRequest<?>>> findArgumentBinder(Argument<T> argument, HttpRequest<?> source) {
+                lookups++
+                return delegate.findArgumentBinder(argument, source)
+            }
+        }
+        def satisfier = new RequestArgumentSatisfier(registry)
+
+        when:
+        def first = execute(satisfier, '/binding-plan/foo?limit=10&active=true', 'abc')
+        int firstLookups = lookups
+        def second = execute(satisfier, '/binding-plan/bar?limit=20&active=false', 'def')
+
+        then:
+        first == 'foo 10 true abc'
+        second == 'bar 20 false def'
+        lookups == firstLookups * 2
+    }
+
+    private String execute(RequestArgumentSatisfier satisfier, String uri, String trace) {
+        def request = HttpRequest.GET(uri).header('X-Trace', trace)
+        def match = context.getBean(Router).find(request.method, request.path, request).findFirst().get()
+        RouteMatch<?> fulfilled = satisfier.fulfillArgumentRequirements(match, request, true)
+        return fulfilled.execute()
+    }
+
+    static class CountingRegistry extends DefaultRequestBinderRegistry {
+        int lookups
+
+        CountingRegistry(ConversionService conversionService, List<RequestArgumentBinder> binders) {
+            super(conversionService, binders)
+        }
+
+        @Override
+        <T> Optional<ArgumentBinder<T, HttpRequest<?>>> findArgumentBinder(Argument<T> argument, HttpRequest<?> source) {
+            lookups++
+            return super.findArgumentBinder(argument, source)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'BindingPlanSpec')
+    @Controller('/binding-plan')
+    static class BindingPlanController {
+
+        @Get('/{name}')
+        String query(String name, @QueryValue int limit, @QueryValue boolean active, @Header('X-Trace') String trace) {
+            return name + ' ' + limit + ' ' + active + ' ' + trace
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.micronaut.http.server.netty.binding
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.convert.ConversionContext
+import io.micronaut.core.convert.TypeConverter
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class ScalarConverterBindingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'ScalarConverterBindingSpec'])
+
+    @Shared
+    @AutoCleanup
+    HttpClient client = server.applicationContext.createBean(HttpClient, server.URL)
+
+    void "a custom enum converter applies to values the enum constants would also match"() {
+        given:
+        def converter = server.applicationContext.getBean(PriorityConverter)
+        converter.conversions = 0
+
+        expect:
+        client.toBlocking().retrieve('/scalar-converter/path/HIGH') == 'HIGH'
+        client.toBlocking().retrieve('/scalar-converter/query?priority=LOW') == 'LOW'
+        client.toBlocking().retrieve('/scalar-converter/query?priority=urgent') == 'HIGH'
+        converter.conversions == 3
+    }
+
+    void "scalars without a custom converter are still bound"() {
+        expect:
+        client.toBlocking().retrieve('/scalar-converter/int?max=20') == '20'
+    }
+
+    static enum Priority {
+        LOW, HIGH
+    }
+
+    @Requires(property = 'spec.name', value = 'ScalarConverterBindingSpec')
+    @Singleton
+    static class PriorityConverter implements TypeConverter<String, Priority> {
+        volatile int conversions
+
+        @Override
+        Optional<Priority> convert(String object, Class<Priority> targetType, ConversionContext context) {
+            conversions++
+            return Optional.of(object == 'urgent' ? Priority.HIGH : Priority.valueOf(object))
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ScalarConverterBindingSpec')
+    @Controller('/scalar-converter')
+    static class PriorityController {
+
+        @Get('/path/{priority}')
+        String path(Priority priority) {
+            return priority.name()
+        }
+
+        @Get('/query')
+        String query(@QueryValue Priority priority) {
+            return priority.name()
+        }
+
+        @Get('/int')
+        String max(@QueryValue int max) {
+            return String.valueOf(max)
+        }
+    }
+}
@@ -28,6 +28,7 @@ import io.micronaut.http.annotation.Post
 import io.micronaut.http.client.exceptions.HttpClientResponseException
 import io.micronaut.http.server.netty.AbstractMicronautSpec
 import io.micronaut.http.server.util.HttpHostResolver
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
 import jakarta.inject.Singleton
 import reactor.core.publisher.Flux
 
@@ -240,6 +241,36 @@ class NettyCorsSpec extends AbstractMicronautSpec {
         !headerNames.contains(ACCESS_CONTROL_ALLOW_CREDENTIALS)
     }
 
+    void "test repeated preflight requests are answered from the cached decision"() {
+        when:
+        List<HttpResponse> responses = []
+        2.times {
+            responses << Flux.from(rxClient.exchange(
+                    HttpRequest.OPTIONS('/test')
+                            .header(ACCESS_CONTROL_REQUEST_METHOD, 'POST')
+                            .header(ORIGIN, 'bar.com')
+                            .header(ACCESS_CONTROL_REQUEST_HEADERS, 'Accept')
+            )).blockFirst()
+        }
+        applicationContext.publishEvent(new RefreshEvent())
+        responses << Flux.from(rxClient.exchange(
+                HttpRequest.OPTIONS('/test')
+                        .header(ACCESS_CONTROL_REQUEST_METHOD, 'POST')
+                        .header(ORIGIN, 'bar.com')
+                        .header(ACCESS_CONTROL_REQUEST_HEADERS, 'Accept')
+        )).blockFirst()
+
+        then:
+        responses.every { HttpResponse response ->
+            response.code() == HttpStatus.OK.code &&
+                    response.header(ACCESS_CONTROL_ALLOW_METHODS) == 'POST' &&
+                    response.headers.getAll(ACCESS_CONTROL_ALLOW_HEADERS) == ['Accept'] &&
+                    response.header(ACCESS_CONTROL_MAX_AGE) == '150' &&
+                    response.header(ACCESS_CONTROL_ALLOW_ORIGIN) == 'bar.com' &&
+                    response.headers.getAll(ACCESS_CONTROL_EXPOSE_HEADERS) == ['x', 'y']
+        }
+    }
+
     void "test preflight request with controlled headers but http method doesn't exists"() {
         given:
         HttpResponse response = Flux.from(rxClient.exchange(
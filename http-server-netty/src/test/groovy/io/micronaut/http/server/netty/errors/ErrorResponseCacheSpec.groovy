@@ -0,0 +1,110 @@
+package io.micronaut.http.server.netty.errors
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.codec.MediaTypeCodecRegistry
+import io.micronaut.http.hateoas.JsonError
+import io.micronaut.http.hateoas.Link
+import io.micronaut.http.server.exceptions.response.ErrorContext
+import io.micronaut.http.server.exceptions.response.Error as ResponseError
+import io.micronaut.http.server.exceptions.response.HateoasErrorResponseProcessor
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class ErrorResponseCacheSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer cachingServer = ApplicationContext.run(EmbeddedServer, [
+            (HateoasErrorResponseProcessor.CACHE_ENABLED): true
+    ])
+    @Shared @AutoCleanup EmbeddedServer server = ApplicationContext.run(EmbeddedServer)
+    @Shared @AutoCleanup HttpClient cachingClient = cachingServer.applicationContext.createBean(HttpClient, cachingServer.URL)
+    @Shared @AutoCleanup HttpClient client = server.applicationContext.createBean(HttpClient, server.URL)
+
+    void "cached error bodies are identical to encoded error bodies"() {
+        when:
+        def cached = errorBody(cachingClient, path)
+        def cachedAgain = errorBody(cachingClient, path)
+        def expected = errorBody(client, path)
+
+        then:
+        cached.status == HttpStatus.NOT_FOUND
+        cached.contentType == MediaType.APPLICATION_JSON
+        cached == expected
+        cachedAgain == expected
+
+        where:
+        path << ['/missing', '/missing/other?q=1', '/missing/%22quoted%22']
+    }
+
+    void "cached error responses have a JsonError body"() {
+        given:
+        def processor = cachingServer.applicationContext.getBean(HateoasErrorResponseProcessor)
+        def codec = cachingServer.applicationContext.getBean(MediaTypeCodecRegistry).findCodec(MediaType.APPLICATION_JSON_TYPE).get()
+        def request = HttpRequest.GET('/missing/body')
+
+        when:
+        def first = processor.processResponse(ErrorContext.builder(request).errorMessage('Not here').build(), HttpResponse.notFound())
+        def second = processor.processResponse(ErrorContext.builder(request).errorMessage('Not here').build(), HttpResponse.notFound())
+        JsonError error = second.getBody(JsonError).get()
+
+        then:
+        first.body() instanceof JsonError
+        error.message == 'Not here'
+        error.links.getFirst(Link.SELF).get().href == '/missing/body'
+        new String(codec.encode(second.body())) == new String(codec.encode(new JsonError('Not here').link(Link.SELF, Link.of('/missing/body'))))
+
+        when:
+        error.logref('abc')
+
+        then:
+        new String(codec.encode(error)).contains('"logref":"abc"')
+    }
+
+    void "the cache holds a bounded number of messages per status and no errors with a path"() {
+        given:
+        def processor = cachingServer.applicationContext.getBean(HateoasErrorResponseProcessor)
+        def request = HttpRequest.GET('/bad')
+
+        when:
+        def responses = (1..50).collect {
+            processor.processResponse(ErrorContext.builder(request).errorMessage("Bad value $it").build(), HttpResponse.badRequest())
+        }
+        def withPath = processor.processResponse(ErrorContext.builder(request).error(new ResponseError() {
+            @Override
+            Optional<String> getPath() {
+                return Optional.of('/name')
+            }
+
+            @Override
+            String getMessage() {
+                return 'Bad name'
+            }
+        }).build(), HttpResponse.unprocessableEntity())
+
+        then:
+        responses.withIndex().every { response, i -> response.getBody(JsonError).get().message == "Bad value ${i + 1}" }
+        processor.encodedBodies[HttpStatus.BAD_REQUEST.code].size() == 16
+        withPath.getBody(JsonError).get().path == '/name'
+        !processor.encodedBodies.containsKey(HttpStatus.UNPROCESSABLE_ENTITY.code)
+    }
+
+    private static Map errorBody(HttpClient client, String path) {
+        try {
+            client.toBlocking().exchange(HttpRequest.GET(path), String)
+            throw new IllegalStateException("Expected an error response")
+        } catch (HttpClientResponseException e) {
+            return [
+                    status     : e.status,
+                    contentType: e.response.header('Content-Type'),
+                    body       : e.response.getBody(String).orElse(null)
+            ]
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.micronaut.http.server.netty.errors
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.convert.exceptions.ConversionErrorException
+import io.micronaut.core.exceptions.StacklessExceptions
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Error
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.exceptions.HttpStatusException
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+class StacklessExceptionsSpec extends Specification {
+
+    void "binding errors are stackless only in the server that enables it"() {
+        given:
+        EmbeddedServer stackless = ApplicationContext.run(EmbeddedServer, ['spec.name': 'StacklessExceptionsSpec', (StacklessExceptions.PROPERTY): true])
+        EmbeddedServer regular = ApplicationContext.run(EmbeddedServer, ['spec.name': 'StacklessExceptionsSpec'])
+
+        expect:
+        stackDepth(stackless, '/stackless/int?max=abc') == 0
+        stackDepth(regular, '/stackless/int?max=abc') > 0
+
+        when:
+        regular.close()
+
+        then:
+        stackDepth(stackless, '/stackless/int?max=abc') == 0
+
+        cleanup:
+        stackless.close()
+        regular.close()
+    }
+
+    void "exceptions thrown by the application keep their stack trace"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'StacklessExceptionsSpec', (StacklessExceptions.PROPERTY): true])
+
+        expect:
+        stackDepth(server, '/stackless/status') > 0
+
+        cleanup:
+        server.close()
+    }
+
+    private static int stackDepth(EmbeddedServer server, String uri) {
+        HttpClient client = server.applicationContext.createBean(HttpClient, server.URL)
+        try {
+            client.toBlocking().retrieve(uri)
+            throw new IllegalStateException('Expected an error response')
+        } catch (HttpClientResponseException e) {
+            return e.response.getBody(String).map(Integer::parseInt).get()
+        } finally {
+            client.close()
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'StacklessExceptionsSpec')
+    @Controller('/stackless')
+    static class StacklessController {
+
+        @Get('/int')
+        String max(@QueryValue int max) {
+            return String.valueOf(max)
+        }
+
+        @Get('/status')
+        String status() {
+            throw new HttpStatusException(HttpStatus.CONFLICT, 'conflict')
+        }
+
+        @Error(ConversionErrorException)
+        HttpResponse<String> conversionError(ConversionErrorException e) {
+            return HttpResponse.badRequest(String.valueOf(e.stackTrace.length))
+        }
+
+        @Error(HttpStatusException)
+        HttpResponse<String> statusError(HttpStatusException e) {
+            return HttpResponse.<String>status(e.status).body(String.valueOf(e.stackTrace.length))
+        }
+    }
+}
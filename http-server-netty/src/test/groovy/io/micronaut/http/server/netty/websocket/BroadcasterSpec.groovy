@@ -5,9 +5,13 @@ import io.micronaut.context.annotation.Requires
 import io.micronaut.context.event.BeanCreatedEvent
 import io.micronaut.context.event.BeanCreatedEventListener
 import io.micronaut.core.annotation.NonNull
+import io.micronaut.http.MediaType
+import io.micronaut.http.netty.websocket.NettyWebSocketSession
+import io.micronaut.http.server.netty.NettyHttpServer
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer
 import io.micronaut.runtime.server.EmbeddedServer
 import io.micronaut.websocket.WebSocketBroadcaster
+import io.micronaut.websocket.WebSocketClient
 import io.micronaut.websocket.annotation.OnClose
 import io.micronaut.websocket.annotation.OnMessage
 import io.micronaut.websocket.annotation.OnOpen
@@ -36,8 +40,11 @@ import jakarta.inject.Inject
 import jakarta.inject.Singleton
 import org.reactivestreams.Subscriber
 import org.reactivestreams.Subscription
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
 import spock.lang.Issue
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
 import java.util.concurrent.Phaser
 import java.util.concurrent.TimeUnit
@@ -117,6 +124,56 @@ class BroadcasterSpec extends Specification {
         ctx.close()
     }
 
+    def 'broadcasts to a topic or URI variable only reach the indexed sessions'() {
+        given:
+        def embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'TopicBroadcasterSpec'])
+        def broadcaster = embeddedServer.applicationContext.getBean(WebSocketBroadcaster)
+        def conditions = new PollingConditions(timeout: 5, delay: 0.1)
+        WebSocketClient wsClient = embeddedServer.applicationContext.createBean(WebSocketClient, embeddedServer.getURI())
+        ChatClientWebSocket fred = Flux.from(wsClient.connect(ChatClientWebSocket, "/chat/stuff/fred")).blockFirst()
+        ChatClientWebSocket bob = Flux.from(wsClient.connect(ChatClientWebSocket, "/chat/other/bob")).blockFirst()
+
+        when: 'broadcasting to the sessions of a URI variable value'
+        Mono.from(broadcaster.broadcastToUriVariable('to stuff', MediaType.TEXT_PLAIN_TYPE, 'topic', 'stuff')).block()
+
+        then:
+        conditions.eventually {
+            fred.replies.contains('to stuff')
+        }
+        !bob.replies.contains('to stuff')
+
+        when: 'a session subscribes to a topic'
+        def bobSession = ((NettyHttpServer) embeddedServer).channelGroup
+                .collect { it.attr(NettyWebSocketSession.WEB_SOCKET_SESSION_KEY).get() }
+                .find { it.uriVariables.get('username', String).orElse(null) == 'bob' }
+        bobSession.subscribe('news')
+        Mono.from(broadcaster.broadcastToTopic('news', MediaType.TEXT_PLAIN_TYPE, 'news')).block()
+
+        then:
+        bobSession.topics == ['news'] as Set
+        conditions.eventually {
+            bob.replies.contains('news')
+        }
+        !fred.replies.contains('news')
+
+        when: 'the session unsubscribes or closes'
+        bobSession.unsubscribe('news')
+        Mono.from(broadcaster.broadcastToTopic('more news', MediaType.TEXT_PLAIN_TYPE, 'news')).block()
+        fred.close()
+        conditions.eventually {
+            ((NettyHttpServer) embeddedServer).channelGroup.size() == 1
+        }
+        Mono.from(broadcaster.broadcastToUriVariable('gone', MediaType.TEXT_PLAIN_TYPE, 'topic', 'stuff')).block()
+
+        then: 'nothing is sent to them any more'
+        bobSession.topics.isEmpty()
+        !bob.replies.contains('more news')
+
+        cleanup:
+        bob?.close()
+        embeddedServer.close()
+    }
+
     @Singleton
     @Requires(property = 'spec.name', value = 'BroadcasterSpec')
     @ServerWebSocket("/ws")
@@ -17,6 +17,7 @@ package io.micronaut.http.server;
 
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.exceptions.ConversionErrorException;
+import io.micronaut.core.exceptions.StacklessExceptions;
 import io.micronaut.core.execution.ExecutionFlow;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.CollectionUtils;
@@ -32,6 +33,8 @@ import io.micronaut.http.filter.FilterRunner;
 import io.micronaut.http.filter.GenericHttpFilter;
 import io.micronaut.http.server.exceptions.ExceptionHandler;
 import io.micronaut.http.server.exceptions.response.ErrorContext;
+import io.micronaut.http.server.metrics.RequestMetrics;
+import io.micronaut.http.server.metrics.RouteMetricsRegistry;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.ExecutableMethod;
@@ -67,6 +70,8 @@ public class RequestLifecycle {
     private static final Logger LOG = LoggerFactory.getLogger(RequestLifecycle.class);
 
     private final RouteExecutor routeExecutor;
+    @Nullable
+    private final RequestMetrics metrics;
     private HttpRequest<?> request;
     private Context context = Context.empty();
     private boolean multipartEnabled = true;
@@ -78,6 +83,8 @@ public class RequestLifecycle {
     protected RequestLifecycle(RouteExecutor routeExecutor, HttpRequest<?> request) {
         this.routeExecutor = Objects.requireNonNull(routeExecutor, "routeExecutor");
         this.request = Objects.requireNonNull(request, "request");
+        RouteMetricsRegistry routeMetricsRegistry = routeExecutor.getRouteMetricsRegistry();
+        this.metrics = routeMetricsRegistry == null ? null : routeMetricsRegistry.start();
     }
 
     /**
@@ -89,6 +96,16 @@ public class RequestLifecycle {
         return request;
     }
 
+    /**
+     * The metrics of this request.
+     *
+     * @return The metrics, or {@code null} if route metrics are disabled
+     */
+    @Nullable
+    protected final RequestMetrics metrics() {
+        return metrics;
+    }
+
     protected final void multipartEnabled(boolean multipartEnabled) {
         this.multipartEnabled = multipartEnabled;
     }
@@ -117,6 +134,13 @@ public class RequestLifecycle {
 
         UriRouteMatch<Object, Object> routeMatch = routeExecutor.findRouteMatch(request);
         if (routeMatch == null) {
+            if (request.getMethod() == HttpMethod.OPTIONS) {
+                // CORS preflight requests are answered without the file lookup and the filters
+                MutableHttpResponse<?> preflightResponse = routeExecutor.handlePreflightRequest(request);
+                if (preflightResponse != null) {
+                    return ExecutionFlow.just(preflightResponse);
+                }
+            }
             //Check if there is a file for the route before returning route not found
             FileCustomizableResponseType fileCustomizableResponseType = findFile();
             if (fileCustomizableResponseType != null) {
@@ -126,6 +150,9 @@ public class RequestLifecycle {
         }
 
         RouteExecutor.setRouteAttributes(request, routeMatch);
+        if (metrics != null) {
+            metrics.routeMatched(routeMatch.getRoute());
+        }
 
         if (LOG.isTraceEnabled()) {
             LOG.trace("Matched route {} - {} to controller {}", request.getMethodName(), request.getUri().getPath(), routeMatch.getDeclaringType());
@@ -137,11 +164,31 @@ public class RequestLifecycle {
                 "Not a WebSocket request");
         }
 
-        return runWithFilters(() ->
-            fulfillArguments(routeMatch)
-                .flatMap(rm -> routeExecutor.callRoute(context, rm, request))
+        return runWithFilters(() -> {
+            if (metrics != null) {
+                metrics.bindingStarted();
+            }
+            return fulfillArguments(routeMatch)
+                .map(this::argumentsBound)
+                .flatMap(rm -> routeExecutor.callRoute(context, rm, request, metrics))
+                .<MutableHttpResponse<?>>map(this::routeExecuted)
                 .flatMap(this::handleStatusException)
-                .onErrorResume(this::onErrorNoFilter));
+                .onErrorResume(this::onErrorNoFilter);
+        });
+    }
+
+    private RouteMatch<?> argumentsBound(RouteMatch<?> routeMatch) {
+        if (metrics != null) {
+            metrics.argumentsBound();
+        }
+        return routeMatch;
+    }
+
+    private MutableHttpResponse<?> routeExecuted(MutableHttpResponse<?> response) {
+        if (metrics != null) {
+            metrics.executionFinished();
+        }
+        return response;
     }
 
     /**
@@ -417,6 +464,12 @@ public class RequestLifecycle {
      */
     protected ExecutionFlow<RouteMatch<?>> fulfillArguments(RouteMatch<?> routeMatch) {
         // try to fulfill the argument requirements of the route
-        return ExecutionFlow.just(routeExecutor.requestArgumentSatisfier.fulfillArgumentRequirements(routeMatch, request(), false));
+        RouteMatch<?> fulfilled;
+        if (routeExecutor.stacklessExceptions) {
+            fulfilled = StacklessExceptions.scoped(() -> routeExecutor.requestArgumentSatisfier.fulfillArgumentRequirements(routeMatch, request(), false));
+        } else {
+            fulfilled = routeExecutor.requestArgumentSatisfier.fulfillArgumentRequirements(routeMatch, request(), false);
+        }
+        return ExecutionFlow.just(fulfilled);
     }
 }
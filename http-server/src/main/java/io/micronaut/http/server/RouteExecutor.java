@@ -22,10 +22,12 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.exceptions.StacklessExceptions;
 import io.micronaut.core.execution.ExecutionFlow;
 import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.type.ReturnType;
+import io.micronaut.core.value.PropertyResolver;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
@@ -43,6 +45,9 @@ import io.micronaut.http.reactive.execution.ReactiveExecutionFlow;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
 import io.micronaut.http.server.exceptions.response.ErrorContext;
 import io.micronaut.http.server.exceptions.response.ErrorResponseProcessor;
+import io.micronaut.http.server.cors.CorsFilter;
+import io.micronaut.http.server.metrics.RequestMetrics;
+import io.micronaut.http.server.metrics.RouteMetricsRegistry;
 import io.micronaut.inject.BeanType;
 import io.micronaut.inject.MethodReference;
 import io.micronaut.scheduling.executor.ExecutorSelector;
@@ -99,9 +104,17 @@ public final class RouteExecutor {
     final RequestArgumentSatisfier requestArgumentSatisfier;
     final HttpServerConfiguration serverConfiguration;
     final ErrorResponseProcessor<?> errorResponseProcessor;
+    /**
+     * Whether the framework exceptions created while binding and executing a route skip their
+     * stack trace, see {@link StacklessExceptions}.
+     */
+    final boolean stacklessExceptions;
     private final ExecutorSelector executorSelector;
     private final Optional<CoroutineHelper> coroutineHelper;
     private final ConversionService conversionService;
+    @Nullable
+    private final RouteMetricsRegistry routeMetricsRegistry;
+    private Optional<CorsFilter> corsFilter;
 
     /**
      * Default constructor.
@@ -127,6 +140,9 @@ public final class RouteExecutor {
         this.executorSelector = executorSelector;
         this.coroutineHelper = beanContext.findBean(CoroutineHelper.class);
         this.conversionService = beanContext.getConversionService();
+        this.routeMetricsRegistry = beanContext.findBean(RouteMetricsRegistry.class).orElse(null);
+        this.stacklessExceptions = beanContext instanceof PropertyResolver propertyResolver
+            && propertyResolver.getProperty(StacklessExceptions.PROPERTY, Boolean.class, false);
     }
 
     /**
@@ -165,6 +181,32 @@ public final class RouteExecutor {
         return coroutineHelper;
     }
 
+    /**
+     * @return The route metrics registry, or {@code null} if route metrics are disabled
+     */
+    @Internal
+    public @Nullable RouteMetricsRegistry getRouteMetricsRegistry() {
+        return routeMetricsRegistry;
+    }
+
+    /**
+     * Answers a CORS preflight request that matched no route, if the {@link CorsFilter} can do so
+     * without proceeding.
+     *
+     * @param httpRequest The request
+     * @return The response, or {@code null} if the request has to be processed normally
+     */
+    @Nullable
+    MutableHttpResponse<?> handlePreflightRequest(HttpRequest<?> httpRequest) {
+        Optional<CorsFilter> corsFilter = this.corsFilter;
+        if (corsFilter == null) {
+            // looked up lazily, the filter depends on beans that may depend on the server
+            corsFilter = beanContext.findBean(CorsFilter.class);
+            this.corsFilter = corsFilter;
+        }
+        return corsFilter.map(filter -> filter.handlePreflightRequest(httpRequest)).orElse(null);
+    }
+
     @Nullable
     UriRouteMatch<Object, Object> findRouteMatch(HttpRequest<?> httpRequest) {
         UriRouteMatch<Object, Object> routeMatch = null;
@@ -427,8 +469,20 @@ public final class RouteExecutor {
     }
 
     ExecutionFlow<MutableHttpResponse<?>> callRoute(ContextView contextFromFilter, RouteMatch<?> routeMatch, HttpRequest<?> request) {
+        return callRoute(contextFromFilter, routeMatch, request, null);
+    }
+
+    ExecutionFlow<MutableHttpResponse<?>> callRoute(ContextView contextFromFilter, RouteMatch<?> routeMatch, HttpRequest<?> request, @Nullable RequestMetrics metrics) {
         ExecutorService executorService = findExecutor(routeMatch);
-        Supplier<ExecutionFlow<MutableHttpResponse<?>>> flowSupplier = () -> executeRouteAndConvertBody(routeMatch, request);
+        Supplier<ExecutionFlow<MutableHttpResponse<?>>> flowSupplier;
+        if (metrics != null) {
+            flowSupplier = () -> {
+                metrics.executionStarted();
+                return executeRouteAndConvertBody(routeMatch, request);
+            };
+        } else {
+            flowSupplier = () -> executeRouteAndConvertBody(routeMatch, request);
+        }
         ExecutionFlow<MutableHttpResponse<?>> executeMethodResponseFlow;
         if (executorService != null) {
             if (routeMatch.isSuspended()) {
@@ -465,6 +519,13 @@ public final class RouteExecutor {
     }
 
     private ExecutionFlow<MutableHttpResponse<?>> executeRouteAndConvertBody(RouteMatch<?> routeMatch, HttpRequest<?> httpRequest) {
+        if (stacklessExceptions) {
+            return StacklessExceptions.scoped(() -> doExecuteRouteAndConvertBody(routeMatch, httpRequest));
+        }
+        return doExecuteRouteAndConvertBody(routeMatch, httpRequest);
+    }
+
+    private ExecutionFlow<MutableHttpResponse<?>> doExecuteRouteAndConvertBody(RouteMatch<?> routeMatch, HttpRequest<?> httpRequest) {
         try {
             final RouteMatch<?> finalRoute;
             // ensure the route requirements are completely satisfied
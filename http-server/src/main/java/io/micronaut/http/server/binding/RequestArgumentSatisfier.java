@@ -16,6 +16,7 @@
 package io.micronaut.http.server.binding;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.bind.ArgumentBinder;
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionContext;
@@ -23,10 +24,13 @@ import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.bind.DefaultRequestBinderRegistry;
 import io.micronaut.http.bind.RequestBinderRegistry;
 import io.micronaut.http.bind.binders.BodyArgumentBinder;
 import io.micronaut.http.bind.binders.NonBlockingBodyArgumentBinder;
 import io.micronaut.http.bind.binders.RequestBeanAnnotationBinder;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.web.router.MethodBasedRouteMatch;
 import io.micronaut.web.router.NullArgument;
 import io.micronaut.web.router.RouteMatch;
 import io.micronaut.web.router.UnresolvedArgument;
@@ -37,6 +41,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class containing methods to aid in satisfying arguments of a {@link io.micronaut.web.router.Route}.
@@ -49,12 +54,19 @@ import java.util.Optional;
 public class RequestArgumentSatisfier {
 
     private final RequestBinderRegistry binderRegistry;
+    /**
+     * Binding plans are only cached if the binder resolution is known to not depend on the
+     * request, which is the case for the {@link DefaultRequestBinderRegistry}.
+     */
+    private final boolean cacheBindingPlans;
+    private final Map<ExecutableMethod<?, ?>, BindingPlan> bindingPlans = new ConcurrentHashMap<>();
 
     /**
      * @param requestBinderRegistry The Request binder registry
      */
     public RequestArgumentSatisfier(RequestBinderRegistry requestBinderRegistry) {
         this.binderRegistry = requestBinderRegistry;
+        this.cacheBindingPlans = requestBinderRegistry instanceof DefaultRequestBinderRegistry;
     }
 
     /**
@@ -81,10 +93,20 @@ public class RequestArgumentSatisfier {
             argumentValues = Collections.emptyMap();
         } else {
             argumentValues = new LinkedHashMap<>(requiredArguments.size());
+            BindingPlan bindingPlan = findBindingPlan(route, request);
+            // the required arguments are the unfulfilled arguments of the method, in method order
+            int position = 0;
             // Begin try fulfilling the argument requirements
             for (Argument<?> argument : requiredArguments) {
-                getValueForArgument(argument, request, satisfyOptionals).ifPresent(value ->
-                    argumentValues.put(argument.getName(), value));
+                Optional<Object> value;
+                int index = bindingPlan == null ? -1 : bindingPlan.indexOf(argument, position);
+                if (index != -1) {
+                    position = index + 1;
+                    value = getValueForArgument(argument, bindingPlan.binders[index], request, satisfyOptionals);
+                } else {
+                    value = getValueForArgument(argument, request, satisfyOptionals);
+                }
+                value.ifPresent(v -> argumentValues.put(argument.getName(), v));
             }
         }
 
@@ -99,11 +121,22 @@ public class RequestArgumentSatisfier {
      * @return An {@link Optional} for the value
      */
     protected Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
-        Object value = null;
         Optional<ArgumentBinder> registeredBinder =
             binderRegistry.findArgumentBinder(argument, request);
-        if (registeredBinder.isPresent()) {
-            ArgumentBinder argumentBinder = registeredBinder.get();
+        return getValueForArgument(argument, registeredBinder.orElse(null), request, satisfyOptionals);
+    }
+
+    /**
+     * @param argument         The argument
+     * @param argumentBinder   The binder resolved for the argument, if any
+     * @param request          The HTTP request
+     * @param satisfyOptionals Whether to satisfy optionals
+     * @return An {@link Optional} for the value
+     * @since 4.0.0
+     */
+    protected Optional<Object> getValueForArgument(Argument argument, @Nullable ArgumentBinder argumentBinder, HttpRequest<?> request, boolean satisfyOptionals) {
+        Object value = null;
+        if (argumentBinder != null) {
             ArgumentConversionContext conversionContext = ConversionContext.of(
                 argument,
                 request.getLocale().orElse(null),
@@ -157,6 +190,38 @@ public class RequestArgumentSatisfier {
         return Optional.ofNullable(value);
     }
 
+    /**
+     * Find the binding plan of the given route, creating it on first use. The plan holds the
+     * binder of every argument of the route method, so binders are resolved once per route
+     * instead of once per argument per request.
+     *
+     * @param route   The route
+     * @param request The request, only used to resolve the binders when the plan is created
+     * @return The plan, or {@code null} if the route has no stable argument binding
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private BindingPlan findBindingPlan(RouteMatch<?> route, HttpRequest<?> request) {
+        if (!cacheBindingPlans || !(route instanceof MethodBasedRouteMatch<?, ?> methodBasedRouteMatch)) {
+            return null;
+        }
+        ExecutableMethod<?, ?> method = methodBasedRouteMatch.getExecutableMethod();
+        BindingPlan bindingPlan = bindingPlans.get(method);
+        if (bindingPlan == null) {
+            Argument<?>[] arguments = methodBasedRouteMatch.getArguments();
+            ArgumentBinder<?, HttpRequest<?>>[] binders = new ArgumentBinder[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                binders[i] = binderRegistry.findArgumentBinder(arguments[i], request).orElse(null);
+            }
+            bindingPlan = new BindingPlan(arguments, binders);
+            BindingPlan existing = bindingPlans.putIfAbsent(method, bindingPlan);
+            if (existing != null) {
+                bindingPlan = existing;
+            }
+        }
+        return bindingPlan;
+    }
+
     /**
      *
      * @param request The request
@@ -167,4 +232,35 @@ public class RequestArgumentSatisfier {
     private <T> UnresolvedArgument<T> getValueForBlockingBodyArgumentBinder(HttpRequest<?> request, ArgumentBinder<T, HttpRequest<?>> argumentBinder, ArgumentConversionContext<T> conversionContext) {
         return () -> argumentBinder.bind(conversionContext, request);
     }
+
+    /**
+     * The resolved binders of the arguments of a route method.
+     */
+    private static final class BindingPlan {
+        private final Argument<?>[] arguments;
+        private final ArgumentBinder<?, HttpRequest<?>>[] binders;
+
+        BindingPlan(Argument<?>[] arguments, ArgumentBinder<?, HttpRequest<?>>[] binders) {
+            this.arguments = arguments;
+            this.binders = binders;
+        }
+
+        /**
+         * Find the position of the argument, starting at the position after the previously bound
+         * argument, so that binding all arguments of a route visits each position once.
+         *
+         * @param argument The argument
+         * @param from     The position to start at
+         * @return The position of the argument or {@code -1}
+         */
+        int indexOf(Argument<?> argument, int from) {
+            // route matches hand out the argument instances of the method, so identity suffices
+            for (int i = from; i < arguments.length; i++) {
+                if (arguments[i] == argument) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -15,6 +15,8 @@
  */
 package io.micronaut.http.server.cors;
 
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.async.publisher.Publishers;
@@ -23,6 +25,7 @@ import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ImmutableArgumentConversionContext;
 import io.micronaut.core.io.socket.SocketUtils;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
@@ -35,6 +38,7 @@ import io.micronaut.http.filter.ServerFilterChain;
 import io.micronaut.http.filter.ServerFilterPhase;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.util.HttpHostResolver;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
 import org.jetbrains.annotations.NotNull;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -43,6 +47,7 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -55,20 +60,31 @@ import static io.micronaut.http.annotation.Filter.MATCH_ALL_PATTERN;
 /**
  * Responsible for handling CORS requests and responses.
  *
+ * <p>The decision for an origin, request method and requested headers, together with the
+ * response headers it produces, is cached and the cache is cleared on a {@link RefreshEvent}.
+ * Preflight requests that can be answered without proceeding are answered by the server
+ * before the filter chain runs, see {@link #handlePreflightRequest(HttpRequest)}.</p>
+ *
  * @author James Kleeh
  * @author Graeme Rocher
  * @since 1.0
  */
 @Filter(MATCH_ALL_PATTERN)
-public class CorsFilter implements HttpServerFilter {
+public class CorsFilter implements HttpServerFilter, ApplicationEventListener<RefreshEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(CorsFilter.class);
     private static final ArgumentConversionContext<HttpMethod> CONVERSION_CONTEXT_HTTP_METHOD = ImmutableArgumentConversionContext.of(HttpMethod.class);
+    private static final int DECISION_CACHE_SIZE = 1000;
+    private static final String[] NO_HEADERS = new String[0];
 
     protected final HttpServerConfiguration.CorsConfiguration corsConfiguration;
 
     @Nullable
     private final HttpHostResolver httpHostResolver;
 
+    private final Map<DecisionKey, CorsDecision> decisions = new ConcurrentLinkedHashMap.Builder<DecisionKey, CorsDecision>()
+        .maximumWeightedCapacity(DECISION_CACHE_SIZE)
+        .build();
+
     /**
      * @param corsConfiguration The {@link CorsOriginConfiguration} instance
      * @param httpHostResolver HTTP Host resolver
@@ -86,19 +102,20 @@ public class CorsFilter implements HttpServerFilter {
             LOG.trace("Http Header " + HttpHeaders.ORIGIN + " not present. Proceeding with the request.");
             return chain.proceed(request);
         }
-        CorsOriginConfiguration corsOriginConfiguration = getConfiguration(origin).orElse(null);
+        CorsDecision decision = decide(request, origin);
+        CorsOriginConfiguration corsOriginConfiguration = decision.config;
         if (corsOriginConfiguration != null) {
-            if (CorsUtil.isPreflightRequest(request)) {
-                return handlePreflightRequest(request, chain, corsOriginConfiguration);
+            if (decision.key.preflight) {
+                return handlePreflightRequest(request, chain, decision);
             }
-            if (!validateMethodToMatch(request, corsOriginConfiguration).isPresent()) {
+            if (!decision.methodAllowed) {
                 return forbidden();
             }
             if (shouldDenyToPreventDriveByLocalhostAttack(corsOriginConfiguration, request)) {
                 LOG.trace("The resolved configuration allows any origin. To prevent drive-by-localhost attacks the request is forbidden");
                 return forbidden();
             }
-            return Publishers.then(chain.proceed(request), resp -> decorateResponseWithHeaders(request, resp, corsOriginConfiguration));
+            return Publishers.then(chain.proceed(request), decision::decorate);
         } else if (shouldDenyToPreventDriveByLocalhostAttack(origin, request)) {
             LOG.trace("the request specifies an origin different than localhost. To prevent drive-by-localhost attacks the request is forbidden");
             return forbidden();
@@ -107,6 +124,37 @@ public class CorsFilter implements HttpServerFilter {
         return chain.proceed(request);
     }
 
+    /**
+     * Answers a CORS preflight request if this filter would answer it without proceeding the
+     * filter chain. The server calls this method for {@code OPTIONS} requests that match no
+     * route before running the filters.
+     *
+     * @param request The request
+     * @return The response, or {@code null} if the request has to go through the filter chain
+     * @since 4.0.0
+     */
+    @Internal
+    @Nullable
+    public MutableHttpResponse<?> handlePreflightRequest(@NonNull HttpRequest<?> request) {
+        if (!corsConfiguration.isEnabled() || !CorsUtil.isPreflightRequest(request)) {
+            return null;
+        }
+        String origin = request.getHeaders().getOrigin().orElse(null);
+        if (origin == null) {
+            return null;
+        }
+        CorsDecision decision = decide(request, origin);
+        if (decision.config == null) {
+            return null;
+        }
+        return preflightResponse(request, decision);
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshEvent event) {
+        decisions.clear();
+    }
+
     /**
      *
      * @param corsOriginConfiguration CORS Origin configuration for request's HTTP Header origin.
@@ -193,16 +241,6 @@ public class CorsFilter implements HttpServerFilter {
         return ServerFilterPhase.METRICS.after();
     }
 
-    @NonNull
-    private Optional<HttpMethod> validateMethodToMatch(@NonNull HttpRequest<?> request,
-                                                       @NonNull CorsOriginConfiguration config) {
-        HttpMethod methodToMatch = methodToMatch(request);
-        if (!methodAllowed(config, methodToMatch)) {
-            return Optional.empty();
-        }
-        return Optional.of(methodToMatch);
-    }
-
     /**
      * @param config   The {@link CorsOriginConfiguration} instance
      * @param response The {@link MutableHttpResponse} object
@@ -317,12 +355,6 @@ public class CorsFilter implements HttpServerFilter {
         return isAnyMethod(allowedMethods) || allowedMethods.stream().anyMatch(method -> method.equals(methodToMatch));
     }
 
-    @NonNull
-    private HttpMethod methodToMatch(@NonNull HttpRequest<?> request) {
-        HttpMethod requestMethod = request.getMethod();
-        return CorsUtil.isPreflightRequest(request) ? request.getHeaders().getFirst(ACCESS_CONTROL_REQUEST_METHOD, CONVERSION_CONTEXT_HTTP_METHOD).orElse(requestMethod) : requestMethod;
-    }
-
     private boolean hasAllowedHeaders(@NonNull HttpRequest<?> request, @NonNull CorsOriginConfiguration config) {
         Optional<List<String>> accessControlHeaders = request.getHeaders().get(ACCESS_CONTROL_REQUEST_HEADERS, ConversionContext.LIST_OF_STRING);
         List<String> allowedHeaders = config.getAllowedHeaders();
@@ -363,42 +395,132 @@ public class CorsFilter implements HttpServerFilter {
     @NonNull
     private Publisher<MutableHttpResponse<?>> handlePreflightRequest(@NonNull HttpRequest<?> request,
                                                                      @NonNull ServerFilterChain chain,
-                                                                     @NonNull CorsOriginConfiguration corsOriginConfiguration) {
-        Optional<HttpStatus> statusOptional = validatePreflightRequest(request, corsOriginConfiguration);
-        if (statusOptional.isPresent()) {
-            HttpStatus status = statusOptional.get();
-            if (status.getCode() >= 400) {
-                return Publishers.just(HttpResponse.status(status));
-            }
-            MutableHttpResponse<?> resp = HttpResponse.status(status);
-            decorateResponseWithHeadersForPreflightRequest(request, resp, corsOriginConfiguration);
-            decorateResponseWithHeaders(request, resp, corsOriginConfiguration);
-            return Publishers.just(resp);
-        }
-        return Publishers.then(chain.proceed(request), resp -> {
-            decorateResponseWithHeadersForPreflightRequest(request, resp, corsOriginConfiguration);
-            decorateResponseWithHeaders(request, resp, corsOriginConfiguration);
-        });
+                                                                     @NonNull CorsDecision decision) {
+        MutableHttpResponse<?> response = preflightResponse(request, decision);
+        if (response != null) {
+            return Publishers.just(response);
+        }
+        return Publishers.then(chain.proceed(request), decision::decorate);
     }
 
-    @NonNull
-    private Optional<HttpStatus> validatePreflightRequest(@NonNull HttpRequest<?> request,
-                                                          @NonNull CorsOriginConfiguration config) {
-        Optional<HttpMethod> methodToMatchOptional = validateMethodToMatch(request, config);
-        if (!methodToMatchOptional.isPresent()) {
-            return Optional.of(HttpStatus.FORBIDDEN);
+    @Nullable
+    private MutableHttpResponse<?> preflightResponse(@NonNull HttpRequest<?> request,
+                                                     @NonNull CorsDecision decision) {
+        HttpStatus status = validatePreflightRequest(request, decision);
+        if (status == null) {
+            return null;
+        }
+        MutableHttpResponse<?> response = HttpResponse.status(status);
+        if (status.getCode() < 400) {
+            decision.decorate(response);
         }
-        HttpMethod methodToMatch = methodToMatchOptional.get();
+        return response;
+    }
 
+    @Nullable
+    private HttpStatus validatePreflightRequest(@NonNull HttpRequest<?> request,
+                                                @NonNull CorsDecision decision) {
+        if (!decision.methodAllowed) {
+            return HttpStatus.FORBIDDEN;
+        }
+        HttpMethod methodToMatch = decision.key.methodToMatch;
         Optional<? extends ArrayList<HttpMethod>> availableHttpMethods = (Optional<? extends ArrayList<HttpMethod>>) request.getAttribute(AVAILABLE_HTTP_METHODS, new ArrayList<HttpMethod>().getClass());
-        if (CorsUtil.isPreflightRequest(request) &&
-            availableHttpMethods.isPresent() &&
+        if (availableHttpMethods.isPresent() &&
             availableHttpMethods.get().stream().anyMatch(method -> method.equals(methodToMatch))) {
-            if (!hasAllowedHeaders(request, config)) {
-                return Optional.of(HttpStatus.FORBIDDEN);
+            if (!decision.headersAllowed) {
+                return HttpStatus.FORBIDDEN;
+            }
+            return HttpStatus.OK;
+        }
+        return null;
+    }
+
+    @NonNull
+    private CorsDecision decide(@NonNull HttpRequest<?> request, @NonNull String origin) {
+        boolean preflight = CorsUtil.isPreflightRequest(request);
+        HttpMethod methodToMatch = request.getMethod();
+        List<String> requestHeaders = null;
+        if (preflight) {
+            HttpHeaders headers = request.getHeaders();
+            methodToMatch = headers.getFirst(ACCESS_CONTROL_REQUEST_METHOD, CONVERSION_CONTEXT_HTTP_METHOD).orElse(methodToMatch);
+            requestHeaders = headers.get(ACCESS_CONTROL_REQUEST_HEADERS, ConversionContext.LIST_OF_STRING).orElse(null);
+        }
+        DecisionKey key = new DecisionKey(origin, preflight, methodToMatch, requestHeaders);
+        CorsDecision decision = decisions.get(key);
+        if (decision == null) {
+            decision = createDecision(request, key);
+            decisions.put(key, decision);
+        }
+        return decision;
+    }
+
+    /**
+     * Evaluates the configuration for the key of the request, and records the response headers
+     * by decorating a template response, so that overridden setters are taken into account.
+     */
+    @NonNull
+    private CorsDecision createDecision(@NonNull HttpRequest<?> request, @NonNull DecisionKey key) {
+        CorsOriginConfiguration config = getConfiguration(key.origin).orElse(null);
+        if (config == null) {
+            return new CorsDecision(key, null, false, false, NO_HEADERS);
+        }
+        boolean methodAllowed = methodAllowed(config, key.methodToMatch);
+        boolean headersAllowed = key.preflight && hasAllowedHeaders(request, config);
+        MutableHttpResponse<?> template = HttpResponse.ok();
+        if (key.preflight) {
+            decorateResponseWithHeadersForPreflightRequest(request, template, config);
+        }
+        decorateResponseWithHeaders(request, template, config);
+        List<String> headers = new ArrayList<>();
+        template.getHeaders().forEachValue((name, value) -> {
+            headers.add(name);
+            headers.add(value);
+        });
+        return new CorsDecision(key, config, methodAllowed, headersAllowed, headers.toArray(NO_HEADERS));
+    }
+
+    /**
+     * The inputs of a CORS decision.
+     *
+     * @param origin         The origin
+     * @param preflight      Whether the request is a preflight request
+     * @param methodToMatch  The method of the request, or the requested method of a preflight request
+     * @param requestHeaders The requested headers of a preflight request
+     */
+    private record DecisionKey(String origin,
+                               boolean preflight,
+                               HttpMethod methodToMatch,
+                               @Nullable List<String> requestHeaders) {
+    }
+
+    /**
+     * A cached CORS decision and the response headers it adds.
+     */
+    private static final class CorsDecision {
+        final DecisionKey key;
+        @Nullable
+        final CorsOriginConfiguration config;
+        final boolean methodAllowed;
+        final boolean headersAllowed;
+        // header name and value pairs
+        final String[] headers;
+
+        CorsDecision(DecisionKey key,
+                     @Nullable CorsOriginConfiguration config,
+                     boolean methodAllowed,
+                     boolean headersAllowed,
+                     String[] headers) {
+            this.key = key;
+            this.config = config;
+            this.methodAllowed = methodAllowed;
+            this.headersAllowed = headersAllowed;
+            this.headers = headers;
+        }
+
+        void decorate(MutableHttpResponse<?> response) {
+            for (int i = 0; i < headers.length; i += 2) {
+                response.header(headers[i], headers[i + 1]);
             }
-            return Optional.of(HttpStatus.OK);
         }
-        return Optional.empty();
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.exceptions.response;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.http.hateoas.Link;
+import io.micronaut.http.hateoas.Resource;
+import io.micronaut.json.codec.EncodedJson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A {@link JsonError} that carries the cached encoding of an error body. Its JSON is written by
+ * the codec as is, unless the error is changed after it was created, for example by a filter.
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class CachedJsonError extends JsonError implements EncodedJson {
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final String self;
+    private volatile boolean modified;
+
+    /**
+     * @param message The message
+     * @param self    The self link, which must be written to JSON without escaping
+     * @param prefix  The encoded JSON before the self link
+     * @param suffix  The encoded JSON after the self link
+     */
+    CachedJsonError(String message, String self, byte[] prefix, byte[] suffix) {
+        super(message);
+        super.link(Link.SELF, Link.of(self));
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.self = self;
+    }
+
+    @Override
+    @Nullable
+    public byte[] toJson() {
+        if (modified) {
+            return null;
+        }
+        byte[] selfBytes = self.getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[prefix.length + selfBytes.length + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(selfBytes, 0, body, prefix.length, selfBytes.length);
+        System.arraycopy(suffix, 0, body, prefix.length + selfBytes.length, suffix.length);
+        return body;
+    }
+
+    @Override
+    public void setMessage(String message) {
+        modified = true;
+        super.setMessage(message);
+    }
+
+    @Override
+    public JsonError path(@Nullable String path) {
+        modified = true;
+        return super.path(path);
+    }
+
+    @Override
+    public JsonError logref(@Nullable String logref) {
+        modified = true;
+        return super.logref(logref);
+    }
+
+    @Override
+    public JsonError link(@Nullable CharSequence ref, @Nullable Link link) {
+        modified = true;
+        return super.link(ref, link);
+    }
+
+    @Override
+    public JsonError link(@Nullable CharSequence ref, @Nullable String link) {
+        modified = true;
+        return super.link(ref, link);
+    }
+
+    @Override
+    public JsonError embedded(CharSequence ref, Resource resource) {
+        modified = true;
+        return super.embedded(ref, resource);
+    }
+
+    @Override
+    public JsonError embedded(CharSequence ref, Resource... resource) {
+        modified = true;
+        return super.embedded(ref, resource);
+    }
+
+    @Override
+    public JsonError embedded(CharSequence ref, List<Resource> resourceList) {
+        modified = true;
+        return super.embedded(ref, resourceList);
+    }
+}
@@ -15,23 +15,39 @@
  */
 package io.micronaut.http.server.exceptions.response;
 
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.context.annotation.Secondary;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.codec.MediaTypeCodecRegistry;
 import io.micronaut.http.hateoas.JsonError;
 import io.micronaut.http.hateoas.Link;
 import io.micronaut.http.hateoas.Resource;
+import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.json.JsonConfiguration;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Creates Hateoas JSON error responses.
  *
+ * <p>If {@value #CACHE_ENABLED} is {@code true}, the encoded bodies of errors with at most one
+ * message and no path are cached by status and message, for a bounded number of messages per
+ * status. The response body is still a {@link JsonError},
+ * but the JSON codec writes its cached encoding, with only the {@code self} link filled in for
+ * every request. A cached error that is changed afterwards is encoded as usual.</p>
+ *
  * @author James Kleeh
  * @since 2.4.0
  */
@@ -39,10 +55,41 @@ import java.util.List;
 @Secondary
 public class HateoasErrorResponseProcessor implements ErrorResponseProcessor<JsonError> {
 
+    /**
+     * The property that enables the cache of encoded error bodies.
+     *
+     * @since 4.0.0
+     */
+    public static final String CACHE_ENABLED = HttpServerConfiguration.PREFIX + ".error-response-cache.enabled";
+
+    private static final int MAX_CACHED_BODIES_PER_STATUS = 16;
+    private static final String SELF_PLACEHOLDER = "micronaut-error-self-link";
+
     private final boolean alwaysSerializeErrorsAsList;
+    @Nullable
+    private final BeanProvider<MediaTypeCodecRegistry> codecRegistryProvider;
+    @Nullable
+    private final Map<Integer, Map<String, EncodedBody>> encodedBodies;
 
     public HateoasErrorResponseProcessor(JsonConfiguration jacksonConfiguration) {
+        this(jacksonConfiguration, null, false);
+    }
+
+    /**
+     * @param jacksonConfiguration  The JSON configuration
+     * @param codecRegistryProvider The codec registry used to encode cached bodies
+     * @param cacheEnabled          Whether encoded bodies are cached
+     * @since 4.0.0
+     */
+    @Inject
+    public HateoasErrorResponseProcessor(JsonConfiguration jacksonConfiguration,
+                                         @Nullable BeanProvider<MediaTypeCodecRegistry> codecRegistryProvider,
+                                         @Property(name = CACHE_ENABLED, defaultValue = "false") boolean cacheEnabled) {
         this.alwaysSerializeErrorsAsList = jacksonConfiguration.isAlwaysSerializeErrorsAsList();
+        this.codecRegistryProvider = codecRegistryProvider;
+        this.encodedBodies = cacheEnabled && codecRegistryProvider != null
+            ? new ConcurrentHashMap<>()
+            : null;
     }
 
     @Override
@@ -51,6 +98,19 @@ public class HateoasErrorResponseProcessor implements ErrorResponseProcessor<Jso
         if (errorContext.getRequest().getMethod() == HttpMethod.HEAD) {
             return (MutableHttpResponse<JsonError>) response;
         }
+        if (encodedBodies != null) {
+            MutableHttpResponse<JsonError> cached = processCached(errorContext, response);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        JsonError error = createError(errorContext, response);
+        error.link(Link.SELF, Link.of(errorContext.getRequest().getUri()));
+
+        return response.body(error).contentType(MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    private JsonError createError(ErrorContext errorContext, MutableHttpResponse<?> response) {
         JsonError error;
         if (!errorContext.hasErrors()) {
             error = new JsonError(response.reason());
@@ -66,8 +126,105 @@ public class HateoasErrorResponseProcessor implements ErrorResponseProcessor<Jso
             }
             error.embedded("errors", errors);
         }
-        error.link(Link.SELF, Link.of(errorContext.getRequest().getUri()));
+        return error;
+    }
 
+    /**
+     * Use the cached body of the error, if the error has at most one message without a path and
+     * the request URI can be written into the JSON without escaping. Messages may be derived from
+     * the request, so only the first {@link #MAX_CACHED_BODIES_PER_STATUS} messages of a status
+     * are cached and never evicted, so that varying messages cannot churn the cache.
+     */
+    @Nullable
+    private MutableHttpResponse<JsonError> processCached(ErrorContext errorContext, MutableHttpResponse<?> response) {
+        String message;
+        if (!errorContext.hasErrors()) {
+            message = response.reason();
+        } else if (errorContext.getErrors().size() == 1 && !alwaysSerializeErrorsAsList) {
+            Error error = errorContext.getErrors().get(0);
+            if (error.getPath().isPresent()) {
+                return null;
+            }
+            message = error.getMessage();
+        } else {
+            return null;
+        }
+        String self = errorContext.getRequest().getUri().toString();
+        if (message == null || !isPlainJsonString(self)) {
+            return null;
+        }
+        Map<String, EncodedBody> statusBodies = encodedBodies.computeIfAbsent(response.code(), status -> new ConcurrentHashMap<>());
+        EncodedBody encodedBody = statusBodies.get(message);
+        if (encodedBody == null) {
+            if (statusBodies.size() >= MAX_CACHED_BODIES_PER_STATUS) {
+                return null;
+            }
+            encodedBody = encode(errorContext, response);
+            if (encodedBody == null) {
+                return null;
+            }
+            statusBodies.putIfAbsent(message, encodedBody);
+        }
+        JsonError error = new CachedJsonError(message, self, encodedBody.prefix(), encodedBody.suffix());
         return response.body(error).contentType(MediaType.APPLICATION_JSON_TYPE);
     }
+
+    @Nullable
+    private EncodedBody encode(ErrorContext errorContext, MutableHttpResponse<?> response) {
+        MediaTypeCodec codec = codecRegistryProvider.get().findCodec(MediaType.APPLICATION_JSON_TYPE).orElse(null);
+        if (codec == null) {
+            return null;
+        }
+        JsonError error = createError(errorContext, response);
+        error.link(Link.SELF, Link.of(SELF_PLACEHOLDER));
+        byte[] json = codec.encode(error);
+        byte[] placeholder = SELF_PLACEHOLDER.getBytes(StandardCharsets.US_ASCII);
+        int index = indexOf(json, placeholder);
+        if (index < 0 || indexOf(json, placeholder, index + 1) >= 0) {
+            // the message contains the placeholder
+            return null;
+        }
+        byte[] prefix = new byte[index];
+        System.arraycopy(json, 0, prefix, 0, index);
+        byte[] suffix = new byte[json.length - index - placeholder.length];
+        System.arraycopy(json, index + placeholder.length, suffix, 0, suffix.length);
+        return new EncodedBody(prefix, suffix);
+    }
+
+    private static int indexOf(byte[] array, byte[] target) {
+        return indexOf(array, target, 0);
+    }
+
+    private static int indexOf(byte[] array, byte[] target, int from) {
+        outer:
+        for (int i = from; i <= array.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (array[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return Whether the value is written to a JSON string as is, as printable ASCII without
+     * quotes or backslashes
+     */
+    private static boolean isPlainJsonString(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7e || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The encoded JSON before and after the {@code self} link.
+     */
+    private record EncodedBody(byte[] prefix, byte[] suffix) {
+    }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.web.router.UriRoute;
+
+/**
+ * Timings of a single request, filled in by the server as the request progresses through the
+ * {@link io.micronaut.http.server.RequestLifecycle}. All times are {@link System#nanoTime()}
+ * values. A phase that was not reached reports a duration of {@code -1}.
+ *
+ * @since 4.0.0
+ */
+public final class RequestMetrics {
+
+    private final long receivedNanos;
+    private UriRoute route;
+    private long routeMatchedNanos;
+    private long bindingStartedNanos;
+    private long argumentsBoundNanos;
+    private long executionStartedNanos;
+    private long executionFinishedNanos;
+    private long encodeNanos = -1;
+    private long bytesIn;
+    private long bytesOut;
+
+    /**
+     * @param receivedNanos The time the request was received
+     */
+    @Internal
+    public RequestMetrics(long receivedNanos) {
+        this.receivedNanos = receivedNanos;
+    }
+
+    /**
+     * @return The matched route, or {@code null} if no route matched
+     */
+    @Nullable
+    public UriRoute getRoute() {
+        return route;
+    }
+
+    /**
+     * @return The time between the start of the argument binding, after the request filters, and
+     * the point at which all arguments (including the body) were bound
+     */
+    public long getDecodeNanos() {
+        return duration(bindingStartedNanos, argumentsBoundNanos);
+    }
+
+    /**
+     * @return The time the bound route spent waiting for an executor thread
+     */
+    public long getQueueNanos() {
+        return duration(argumentsBoundNanos, executionStartedNanos);
+    }
+
+    /**
+     * @return The time between the invocation of the route and the availability of its response
+     */
+    public long getHandlerNanos() {
+        return duration(executionStartedNanos, executionFinishedNanos);
+    }
+
+    /**
+     * @return The time spent encoding the response body
+     */
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    /**
+     * @return The time since the request was received
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - receivedNanos;
+    }
+
+    /**
+     * @return The number of request body bytes received
+     */
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    /**
+     * @return The number of response body bytes written
+     */
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * @param route The matched route
+     */
+    @Internal
+    public void routeMatched(UriRoute route) {
+        this.route = route;
+        this.routeMatchedNanos = System.nanoTime();
+    }
+
+    /**
+     * Mark the start of the argument binding.
+     */
+    @Internal
+    public void bindingStarted() {
+        if (bindingStartedNanos == 0) {
+            bindingStartedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark all arguments of the route as bound.
+     */
+    @Internal
+    public void argumentsBound() {
+        if (argumentsBoundNanos == 0) {
+            argumentsBoundNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark the start of the route execution.
+     */
+    @Internal
+    public void executionStarted() {
+        if (executionStartedNanos == 0) {
+            executionStartedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark the availability of the route response.
+     */
+    @Internal
+    public void executionFinished() {
+        if (executionFinishedNanos == 0) {
+            executionFinishedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * @param encodeNanos The time spent encoding the response body
+     */
+    @Internal
+    public void encoded(long encodeNanos) {
+        this.encodeNanos = encodeNanos;
+    }
+
+    /**
+     * @param bytes The number of request body bytes received
+     */
+    @Internal
+    public void addBytesIn(long bytes) {
+        bytesIn += bytes;
+    }
+
+    /**
+     * @param bytes The number of response body bytes written
+     */
+    @Internal
+    public void addBytesOut(long bytes) {
+        bytesOut += bytes;
+    }
+
+    private static long duration(long start, long end) {
+        if (start == 0 || end == 0) {
+            return -1;
+        }
+        return end - start;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.web.router.UriRoute;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated metrics of a {@link UriRoute} for one class of response status (2xx, 4xx, ...).
+ *
+ * @since 4.0.0
+ */
+public final class RouteMetrics {
+
+    private final UriRoute route;
+    private final int statusClass;
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LatencyHistogram handlerTime = new LatencyHistogram();
+    private final LatencyHistogram decodeTime = new LatencyHistogram();
+    private final LatencyHistogram encodeTime = new LatencyHistogram();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    RouteMetrics(UriRoute route, int statusClass) {
+        this.route = route;
+        this.statusClass = statusClass;
+    }
+
+    /**
+     * @return The route
+     */
+    @NonNull
+    public UriRoute getRoute() {
+        return route;
+    }
+
+    /**
+     * @return The status class, i.e. {@code 2} for 2xx responses
+     */
+    public int getStatusClass() {
+        return statusClass;
+    }
+
+    /**
+     * @return The number of requests
+     */
+    public long getCount() {
+        return handlerTime.getCount();
+    }
+
+    /**
+     * @return The time spent waiting for an executor thread
+     */
+    @NonNull
+    public LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @return The time spent in the route handler
+     */
+    @NonNull
+    public LatencyHistogram getHandlerTime() {
+        return handlerTime;
+    }
+
+    /**
+     * @return The time spent receiving and binding the request body
+     */
+    @NonNull
+    public LatencyHistogram getDecodeTime() {
+        return decodeTime;
+    }
+
+    /**
+     * @return The time spent encoding the response body
+     */
+    @NonNull
+    public LatencyHistogram getEncodeTime() {
+        return encodeTime;
+    }
+
+    /**
+     * @return The total number of request body bytes received
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * @return The total number of response body bytes written
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    void record(RequestMetrics metrics) {
+        queueTime.record(metrics.getQueueNanos());
+        handlerTime.record(Math.max(0, metrics.getHandlerNanos()));
+        decodeTime.record(metrics.getDecodeNanos());
+        encodeTime.record(metrics.getEncodeNanos());
+        bytesIn.add(metrics.getBytesIn());
+        bytesOut.add(metrics.getBytesOut());
+    }
+}
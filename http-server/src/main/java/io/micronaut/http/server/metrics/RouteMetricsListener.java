@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.order.Ordered;
+
+/**
+ * SPI for exporters of route metrics. Every bean of this type is notified by the
+ * {@link RouteMetricsRegistry} once a routed request has completed.
+ *
+ * <p>Listeners are invoked on the event loop and must not block. The {@link RequestMetrics}
+ * instance must not be retained after the call returns.</p>
+ *
+ * @since 4.0.0
+ */
+@FunctionalInterface
+public interface RouteMetricsListener extends Ordered {
+
+    /**
+     * Called when a routed request has completed.
+     *
+     * @param metrics The metrics of the request
+     * @param status  The response status code
+     */
+    void onRequestCompleted(@NonNull RequestMetrics metrics, int status);
+}
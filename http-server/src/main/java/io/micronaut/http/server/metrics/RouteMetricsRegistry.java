@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.order.OrderUtil;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.web.router.UriRoute;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds the {@link RouteMetrics} of every {@link UriRoute} that has served a request, and
+ * notifies the registered {@link RouteMetricsListener}s. The registry is only present if
+ * {@value #ENABLED} is set to {@code true}.
+ *
+ * @since 4.0.0
+ */
+@Singleton
+@Requires(property = RouteMetricsRegistry.ENABLED, value = StringUtils.TRUE)
+public class RouteMetricsRegistry {
+
+    /**
+     * The configuration prefix.
+     */
+    public static final String PREFIX = HttpServerConfiguration.PREFIX + ".route-metrics";
+
+    /**
+     * The property that enables the registry.
+     */
+    public static final String ENABLED = PREFIX + ".enabled";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RouteMetricsRegistry.class);
+    private static final int STATUS_CLASSES = 5;
+
+    private final Map<UriRoute, AtomicReferenceArray<RouteMetrics>> metrics = new ConcurrentHashMap<>();
+    private final RouteMetricsListener[] listeners;
+
+    /**
+     * @param listeners The listeners to notify of completed requests
+     */
+    public RouteMetricsRegistry(List<RouteMetricsListener> listeners) {
+        List<RouteMetricsListener> sorted = new ArrayList<>(listeners);
+        OrderUtil.sort(sorted);
+        this.listeners = sorted.toArray(new RouteMetricsListener[0]);
+    }
+
+    /**
+     * Start tracking a request.
+     *
+     * @return The metrics of the new request
+     */
+    @NonNull
+    public RequestMetrics start() {
+        return new RequestMetrics(System.nanoTime());
+    }
+
+    /**
+     * Record a completed request. Requests that did not match a route are only passed to the
+     * listeners.
+     *
+     * @param requestMetrics The metrics of the request
+     * @param status         The response status code
+     */
+    public void record(@NonNull RequestMetrics requestMetrics, int status) {
+        UriRoute route = requestMetrics.getRoute();
+        if (route != null) {
+            AtomicReferenceArray<RouteMetrics> byStatus = metrics.get(route);
+            if (byStatus == null) {
+                byStatus = metrics.computeIfAbsent(route, r -> new AtomicReferenceArray<>(STATUS_CLASSES));
+            }
+            int statusClass = Math.min(Math.max(status / 100, 1), STATUS_CLASSES);
+            RouteMetrics routeMetrics = byStatus.get(statusClass - 1);
+            if (routeMetrics == null) {
+                byStatus.compareAndSet(statusClass - 1, null, new RouteMetrics(route, statusClass));
+                routeMetrics = byStatus.get(statusClass - 1);
+            }
+            routeMetrics.record(requestMetrics);
+        }
+        for (RouteMetricsListener listener : listeners) {
+            try {
+                listener.onRequestCompleted(requestMetrics, status);
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Route metrics listener [" + listener + "] failed: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The metrics of all routes that have served a request
+     */
+    @NonNull
+    public Collection<RouteMetrics> getRouteMetrics() {
+        List<RouteMetrics> result = new ArrayList<>();
+        for (AtomicReferenceArray<RouteMetrics> byStatus : metrics.values()) {
+            for (int i = 0; i < STATUS_CLASSES; i++) {
+                RouteMetrics routeMetrics = byStatus.get(i);
+                if (routeMetrics != null) {
+                    result.add(routeMetrics);
+                }
+            }
+        }
+        return result;
+    }
+}
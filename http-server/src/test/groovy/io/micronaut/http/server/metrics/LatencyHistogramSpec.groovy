@@ -0,0 +1,51 @@
+package io.micronaut.http.server.metrics
+
+import spock.lang.Specification
+
+class LatencyHistogramSpec extends Specification {
+
+    void "test bucket indexes are contiguous and round trip"() {
+        expect:
+        LatencyHistogram.bucketIndex(value) == index
+        LatencyHistogram.highestEquivalentValue(index) >= value
+
+        where:
+        value | index
+        0     | 0
+        15    | 15
+        16    | 16
+        31    | 31
+        32    | 32
+        33    | 32
+        34    | 33
+    }
+
+    void "test percentiles are within the bucket precision"() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        when:
+        (1..1000).each { histogram.record(it * 1000L) }
+
+        then:
+        histogram.count == 1000
+        histogram.max == 1_000_000L
+        histogram.mean == 500_500d
+        Math.abs(histogram.getValueAtPercentile(50) - 500_000L) < 500_000L * 0.07
+        Math.abs(histogram.getValueAtPercentile(99) - 990_000L) < 990_000L * 0.07
+        histogram.getValueAtPercentile(100) == 1_000_000L
+    }
+
+    void "test negative values are ignored and large values are clamped"() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        when:
+        histogram.record(-1)
+        histogram.record(Long.MAX_VALUE)
+
+        then:
+        histogram.count == 1
+        histogram.max == LatencyHistogram.MAX_TRACKABLE_VALUE
+    }
+}
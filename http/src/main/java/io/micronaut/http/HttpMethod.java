@@ -112,6 +112,23 @@ public enum HttpMethod implements CharSequence {
         );
     }
 
+    /**
+     * Whether the given method is idempotent, see RFC 9110 section 9.2.2.
+     *
+     * @param method The {@link HttpMethod}
+     * @return True if it is
+     * @since 4.0.0
+     */
+    public static boolean isIdempotent(HttpMethod method) {
+        return method != null && (method.equals(GET)
+                || method.equals(HEAD)
+                || method.equals(OPTIONS)
+                || method.equals(TRACE)
+                || method.equals(PUT)
+                || method.equals(DELETE)
+        );
+    }
+
     /**
      *
      * @param httpMethodName Name of the http method (may be nonstandard)
@@ -29,6 +29,7 @@ import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.exceptions.ConversionErrorException;
+import io.micronaut.core.exceptions.StacklessExceptions;
 import io.micronaut.core.naming.Named;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
@@ -123,17 +124,17 @@ public class RequestBeanAnnotationBinder<T> extends AbstractAnnotatedArgumentBin
         Argument<Object> argument = conversionContext.getArgument();
         Optional<ArgumentBinder<Object, HttpRequest<?>>> binder = requestBinderRegistry.findArgumentBinder(argument, source);
         if (!binder.isPresent()) {
-            throw new UnsatisfiedArgumentException(argument);
+            throw StacklessExceptions.create(() -> new UnsatisfiedArgumentException(argument));
         }
         BindingResult<Object> result = binder.get().bind(conversionContext, source);
         if (!result.isSatisfied() || !result.getConversionErrors().isEmpty()) {
             List<ConversionError> errors = result.getConversionErrors();
             if (!errors.isEmpty()) {
-                throw new ConversionErrorException(argument, errors.iterator().next());
+                throw StacklessExceptions.create(() -> new ConversionErrorException(argument, errors.iterator().next()));
             }
         }
         if (!result.isPresentAndSatisfied() && !argument.isNullable() && !argument.getType().isAssignableFrom(Optional.class)) {
-            throw new UnsatisfiedArgumentException(argument);
+            throw StacklessExceptions.create(() -> new UnsatisfiedArgumentException(argument));
         }
         return result.getValue();
     }
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.uri;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static io.micronaut.core.util.StringUtils.EMPTY_STRING;
+
+/**
+ * The parameters of a query string, decoded on demand.
+ *
+ * <p>The raw query string is kept as is. The first lookup builds an index of the offsets of
+ * every name and value, and a lookup only percent-decodes the values of the requested name.
+ * Operations that need all parameters, such as iteration or any modification, decode the
+ * complete query string into a {@link LinkedHashMap} once, after which this map behaves
+ * exactly like the map eagerly built by {@link QueryStringDecoder} used to.</p>
+ *
+ * <p>Lookups accept any {@link CharSequence} key and compare it to the decoded parameter name.
+ * Like the lists of the decoded map, the lists returned by lookups before the map has been
+ * decoded completely are {@link ArrayList}s, but they are copies, so changing them does not
+ * change the parameters. The
+ * decoded parameter names are always strings, so the key type is either {@link String} or
+ * {@link CharSequence}, as chosen by the factory methods.</p>
+ *
+ * <p>Lookups may run concurrently, for example after the request moved to another executor. The
+ * index and the decoded map are published through volatile fields. The index may be built more
+ * than once by racing lookups, which is harmless because it only depends on the query string,
+ * and the complete decoding happens under a lock, so that modifications are never lost.</p>
+ *
+ * @param <K> The key type, {@link String} or {@link CharSequence}
+ * @since 4.0.0
+ */
+@Internal
+public final class LazyQueryParameters<K extends CharSequence> extends AbstractMap<K, List<String>> {
+
+    private static final int DEFAULT_MAX_PARAMS = 1024;
+    // nameStart, nameEnd, valueStart, valueEnd
+    private static final int FIELDS = 4;
+
+    private final String query;
+    private final int from;
+    private final Charset charset;
+    private final int maxParams;
+    private volatile Index index;
+    private volatile Map<K, List<String>> decoded;
+
+    private LazyQueryParameters(String s, int from, Charset charset, int maxParams) {
+        this.query = s;
+        this.from = from;
+        this.charset = charset;
+        this.maxParams = maxParams;
+    }
+
+    /**
+     * Parameters that can be modified with any {@link CharSequence} name, as used for the
+     * parameters of HTTP requests.
+     *
+     * @param rawQuery The raw query string, without the leading {@code ?}
+     * @param charset  The charset of percent-encoded values
+     * @return The parameters
+     */
+    @NonNull
+    public static LazyQueryParameters<CharSequence> of(@Nullable String rawQuery, @NonNull Charset charset) {
+        return new LazyQueryParameters<>(rawQuery == null ? EMPTY_STRING : rawQuery, 0, charset, DEFAULT_MAX_PARAMS);
+    }
+
+    /**
+     * Parameters with {@link String} names, as returned by {@link QueryStringDecoder#parameters()}.
+     *
+     * @param s         The string holding the query string
+     * @param from      The offset of the query string, which may start with {@code ?}
+     * @param charset   The charset of percent-encoded values
+     * @param maxParams The maximum number of parameters
+     * @return The parameters
+     */
+    static LazyQueryParameters<String> of(String s, int from, Charset charset, int maxParams) {
+        return new LazyQueryParameters<>(s, from, charset, maxParams);
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        Map<K, List<String>> decoded = this.decoded;
+        if (decoded != null) {
+            return decoded.get(key);
+        }
+        if (!(key instanceof CharSequence name)) {
+            return null;
+        }
+        Index index = index();
+        List<String> values = null;
+        for (int p = 0; p < index.count; p++) {
+            if (nameEquals(index, p, name)) {
+                if (values == null) {
+                    values = new ArrayList<>(1);
+                }
+                values.add(value(index, p));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        Map<K, List<String>> decoded = this.decoded;
+        return decoded != null ? decoded.isEmpty() : index().count == 0;
+    }
+
+    @Override
+    public int size() {
+        return decoded().size();
+    }
+
+    @Override
+    public Set<Entry<K, List<String>>> entrySet() {
+        return decoded().entrySet();
+    }
+
+    @Override
+    public List<String> put(K key, List<String> value) {
+        return decoded().put(key, value);
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        return decoded().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends List<String>> m) {
+        decoded().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        decoded().clear();
+    }
+
+    @Override
+    public List<String> putIfAbsent(K key, List<String> value) {
+        return decoded().putIfAbsent(key, value);
+    }
+
+    @Override
+    public List<String> computeIfAbsent(K key, Function<? super K, ? extends List<String>> mappingFunction) {
+        return decoded().computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public List<String> computeIfPresent(K key, BiFunction<? super K, ? super List<String>, ? extends List<String>> remappingFunction) {
+        return decoded().computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public List<String> compute(K key, BiFunction<? super K, ? super List<String>, ? extends List<String>> remappingFunction) {
+        return decoded().compute(key, remappingFunction);
+    }
+
+    @Override
+    public List<String> merge(K key, List<String> value, BiFunction<? super List<String>, ? super List<String>, ? extends List<String>> remappingFunction) {
+        return decoded().merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public List<String> replace(K key, List<String> value) {
+        return decoded().replace(key, value);
+    }
+
+    @Override
+    public boolean replace(K key, List<String> oldValue, List<String> newValue) {
+        return decoded().replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super List<String>, ? extends List<String>> function) {
+        decoded().replaceAll(function);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return decoded().remove(key, value);
+    }
+
+    private Map<K, List<String>> decoded() {
+        Map<K, List<String>> decoded = this.decoded;
+        if (decoded == null) {
+            synchronized (this) {
+                decoded = this.decoded;
+                if (decoded == null) {
+                    Index index = index();
+                    decoded = new LinkedHashMap<>();
+                    for (int p = 0; p < index.count; p++) {
+                        decoded.computeIfAbsent(key(name(index, p)), k -> new ArrayList<>(1)).add(value(index, p));
+                    }
+                    this.decoded = decoded;
+                    this.index = null;
+                }
+            }
+        }
+        return decoded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(String name) {
+        // K is String or CharSequence, see the factory methods
+        return (K) name;
+    }
+
+    private Index index() {
+        Index index = this.index;
+        if (index == null) {
+            index = Index.build(query, from, maxParams);
+            this.index = index;
+        }
+        return index;
+    }
+
+    private boolean nameEquals(Index index, int p, CharSequence name) {
+        int start = index.offsets[p * FIELDS];
+        int end = index.offsets[p * FIELDS + 1];
+        for (int i = start; i < end; i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '+') {
+                return name(index, p).contentEquals(name);
+            }
+        }
+        int length = end - start;
+        if (name.length() != length) {
+            return false;
+        }
+        if (name instanceof String string) {
+            return query.regionMatches(start, string, 0, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (query.charAt(start + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // racing lookups may decode the same name or value twice, strings are safe to share racily
+    private String name(Index index, int p) {
+        String name = index.names[p];
+        if (name == null) {
+            name = QueryStringDecoder.decodeComponent(query, index.offsets[p * FIELDS], index.offsets[p * FIELDS + 1], charset, false);
+            index.names[p] = name;
+        }
+        return name;
+    }
+
+    private String value(Index index, int p) {
+        String value = index.values[p];
+        if (value == null) {
+            value = QueryStringDecoder.decodeComponent(query, index.offsets[p * FIELDS + 2], index.offsets[p * FIELDS + 3], charset, false);
+            index.values[p] = value;
+        }
+        return value;
+    }
+
+    /**
+     * The offsets of the parameters and the values decoded so far.
+     */
+    private static final class Index {
+        final int[] offsets;
+        final int count;
+        final String[] names;
+        final String[] values;
+
+        Index(int[] offsets, int count) {
+            this.offsets = offsets;
+            this.count = count;
+            this.names = new String[count];
+            this.values = new String[count];
+        }
+
+        /**
+         * Splits the query string the same way as {@link QueryStringDecoder}.
+         */
+        static Index build(String s, int from, int paramsLimit) {
+            int len = s.length();
+            if (from < len && s.charAt(from) == '?') {
+                from++;
+            }
+            int[] offsets = new int[FIELDS * 8];
+            int count = 0;
+            int nameStart = from;
+            int valueStart = -1;
+            int i;
+            loop:
+            for (i = from; i < len; i++) {
+                switch (s.charAt(i)) {
+                    case '=':
+                        if (nameStart == i) {
+                            nameStart = i + 1;
+                        } else if (valueStart < nameStart) {
+                            valueStart = i + 1;
+                        }
+                        break;
+                    case '&':
+                    case ';':
+                        if (nameStart < i) {
+                            offsets = add(offsets, count++, nameStart, valueStart, i);
+                            paramsLimit--;
+                            if (paramsLimit == 0) {
+                                return new Index(offsets, count);
+                            }
+                        }
+                        nameStart = i + 1;
+                        break;
+                    case '#':
+                        break loop;
+                    default:
+                        // continue
+                }
+            }
+            if (nameStart < i) {
+                offsets = add(offsets, count++, nameStart, valueStart, i);
+            }
+            return new Index(offsets, count);
+        }
+
+        private static int[] add(int[] offsets, int p, int nameStart, int valueStart, int valueEnd) {
+            if (valueStart <= nameStart) {
+                valueStart = valueEnd + 1;
+            }
+            int o = p * FIELDS;
+            if (o + FIELDS > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[o] = nameStart;
+            offsets[o + 1] = valueStart - 1;
+            offsets[o + 2] = valueStart;
+            offsets[o + 3] = valueEnd;
+            return offsets;
+        }
+    }
+}
@@ -194,7 +194,7 @@ final class QueryStringDecoder {
     }
 
     /**
-     * @return Returns the decoded key-value parameter pairs of the URI.
+     * @return Returns the key-value parameter pairs of the URI, decoded on first access.
      */
     public Map<String, List<String>> parameters() {
         if (params == null) {
@@ -226,45 +226,11 @@ final class QueryStringDecoder {
     }
 
     private static Map<String, List<String>> decodeParams(String s, int from, Charset charset, int paramsLimit) {
-        int len = s.length();
-        if (from >= len) {
+        if (from >= s.length()) {
             return Collections.emptyMap();
         }
-        if (s.charAt(from) == '?') {
-            from++;
-        }
-        Map<String, List<String>> params = new LinkedHashMap<>();
-        int nameStart = from;
-        int valueStart = -1;
-        int i;
-        loop:
-        for (i = from; i < len; i++) {
-            switch (s.charAt(i)) {
-                case '=':
-                    if (nameStart == i) {
-                        nameStart = i + 1;
-                    } else if (valueStart < nameStart) {
-                        valueStart = i + 1;
-                    }
-                    break;
-                case '&':
-                case ';':
-                    if (addParam(s, nameStart, valueStart, i, params, charset)) {
-                        paramsLimit--;
-                        if (paramsLimit == 0) {
-                            return params;
-                        }
-                    }
-                    nameStart = i + 1;
-                    break;
-                case '#':
-                    break loop;
-                default:
-                    // continue
-            }
-        }
-        addParam(s, nameStart, valueStart, i, params, charset);
-        return params;
+        // the parameters are decoded on first access
+        return LazyQueryParameters.of(s, from, charset, paramsLimit);
     }
 
     /**
@@ -311,26 +277,7 @@ final class QueryStringDecoder {
         return decodeComponent(s, 0, s.length(), charset, false);
     }
 
-    private static boolean addParam(String s, int nameStart, int valueStart, int valueEnd,
-                                    Map<String, List<String>> params, Charset charset) {
-        if (nameStart >= valueEnd) {
-            return false;
-        }
-        if (valueStart <= nameStart) {
-            valueStart = valueEnd + 1;
-        }
-        String name = decodeComponent(s, nameStart, valueStart - 1, charset, false);
-        String value = decodeComponent(s, valueStart, valueEnd, charset, false);
-        List<String> values = params.get(name);
-        if (values == null) {
-            values = new ArrayList<>(1);  // Often there's only 1 value.
-            params.put(name, values);
-        }
-        values.add(value);
-        return true;
-    }
-
-    private static String decodeComponent(String s, int from, int toExcluded, Charset charset, boolean isPath) {
+    static String decodeComponent(String s, int from, int toExcluded, Charset charset, boolean isPath) {
         int len = toExcluded - from;
         if (len <= 0) {
             return EMPTY_STRING;
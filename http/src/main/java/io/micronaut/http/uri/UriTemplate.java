@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -74,6 +75,7 @@ public class UriTemplate implements Comparable<UriTemplate> {
 
     protected final String templateString;
     final List<PathSegment> segments = new ArrayList<>();
+    private volatile ExpansionPlan expansionPlan;
 
     /**
      * Construct a new URI template for the given template.
@@ -206,6 +208,32 @@ public class UriTemplate implements Comparable<UriTemplate> {
      * @return The expanded URI
      */
     public String expand(Map<String, Object> parameters) {
+        ExpansionPlan plan = getExpansionPlan();
+        if (plan.steps != null) {
+            Object[] values = plan.values(parameters);
+            if (values != null) {
+                return plan.expandScalars(values);
+            }
+        }
+        return expandSegments(parameters);
+    }
+
+    /**
+     * The expansion plan of this template, which is compiled on the first call.
+     *
+     * @return The expansion plan
+     * @since 4.0.0
+     */
+    public ExpansionPlan getExpansionPlan() {
+        ExpansionPlan plan = expansionPlan;
+        if (plan == null) {
+            plan = new ExpansionPlan(this);
+            expansionPlan = plan;
+        }
+        return plan;
+    }
+
+    private String expandSegments(Map<String, Object> parameters) {
         StringBuilder builder = new StringBuilder(templateString.length());
         boolean anyPreviousHasContent = false;
         boolean anyPreviousHasOperator = false;
@@ -536,6 +564,253 @@ public class UriTemplate implements Comparable<UriTemplate> {
         return templateString.charAt(0) != SLASH_OPERATOR;
     }
 
+    /**
+     * A {@link UriTemplate} compiled into literal chunks and variable slots, which expands the
+     * template from positional values in a single pass.
+     *
+     * <p>Templates whose variables have an explode ({@code *}) or prefix ({@code :3}) modifier,
+     * and values that are not scalars, such as collections, maps, arrays and {@link Optional}s,
+     * are expanded by the {@link UriTemplate} itself.</p>
+     *
+     * @since 4.0.0
+     */
+    public static final class ExpansionPlan {
+
+        private static final int ENCODE_NONE = 0;
+        private static final int ENCODE_PATH = 1;
+        private static final int ENCODE_QUERY = 2;
+
+        private final UriTemplate template;
+        private final List<String> variableNames;
+        // literal strings and variable slots, null if the template cannot be compiled
+        private final Object[] steps;
+        private final int literalLength;
+
+        private ExpansionPlan(UriTemplate template) {
+            this.template = template;
+            List<String> variableNames = new ArrayList<>();
+            List<Object> steps = new ArrayList<>(template.segments.size());
+            StringBuilder literal = new StringBuilder();
+            int literalLength = 0;
+            boolean compiled = true;
+            for (PathSegment segment : template.segments) {
+                if (segment instanceof UriTemplateParser.RawPathSegment) {
+                    literal.append(segment);
+                    continue;
+                }
+                if (segment instanceof UriTemplateParser.VariablePathSegment variable && isSimple(variable)) {
+                    if (literal.length() > 0) {
+                        literalLength += literal.length();
+                        steps.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    int slot = variableNames.indexOf(variable.variable);
+                    if (slot == -1) {
+                        slot = variableNames.size();
+                        variableNames.add(variable.variable);
+                    }
+                    int encoding = !variable.encode ? ENCODE_NONE : variable.operator == QUERY_OPERATOR ? ENCODE_QUERY : ENCODE_PATH;
+                    steps.add(new Slot(slot, variable, encoding));
+                } else {
+                    compiled = false;
+                    segment.getVariable().ifPresent(name -> {
+                        if (!variableNames.contains(name)) {
+                            variableNames.add(name);
+                        }
+                    });
+                }
+            }
+            if (literal.length() > 0) {
+                literalLength += literal.length();
+                steps.add(literal.toString());
+            }
+            this.variableNames = Collections.unmodifiableList(variableNames);
+            this.steps = compiled ? steps.toArray() : null;
+            this.literalLength = literalLength;
+        }
+
+        /**
+         * @return The names of the variables, in the order of the values of {@link #expand(Object...)}
+         */
+        public List<String> getVariableNames() {
+            return variableNames;
+        }
+
+        /**
+         * Expand the template with the values of the variables.
+         *
+         * @param values The values, in the order of {@link #getVariableNames()}
+         * @return The expanded URI
+         */
+        public String expand(Object... values) {
+            if (values.length != variableNames.size()) {
+                throw new IllegalArgumentException("Expected " + variableNames.size() + " values for the variables " + variableNames + " but got " + values.length);
+            }
+            if (steps != null && isScalars(values)) {
+                return expandScalars(values);
+            }
+            Map<String, Object> parameters = new HashMap<>(values.length * 2);
+            for (int i = 0; i < values.length; i++) {
+                parameters.put(variableNames.get(i), values[i]);
+            }
+            return template.expandSegments(parameters);
+        }
+
+        /**
+         * @return The values of the variables, or {@code null} if any of them is not a scalar
+         */
+        private Object[] values(Map<String, Object> parameters) {
+            Object[] values = new Object[variableNames.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object value = parameters.get(variableNames.get(i));
+                if (!isScalar(value)) {
+                    return null;
+                }
+                values[i] = value;
+            }
+            return values;
+        }
+
+        /**
+         * Mirrors {@link UriTemplate#expand(Map)} and the expansion of its variable segments for
+         * scalar values.
+         */
+        private String expandScalars(Object[] values) {
+            StringBuilder builder = new StringBuilder(literalLength + 16 * values.length);
+            boolean anyPreviousHasContent = false;
+            boolean anyPreviousHasOperator = false;
+            boolean queryParameter = false;
+            for (Object step : steps) {
+                if (step instanceof String literal) {
+                    builder.append(literal);
+                    continue;
+                }
+                Slot slot = (Slot) step;
+                UriTemplateParser.VariablePathSegment segment = slot.segment;
+                Object value = values[slot.index];
+                if (value == null && segment.operator == SLASH_OPERATOR) {
+                    continue;
+                }
+                int start = builder.length();
+                if (value != null) {
+                    appendVariable(builder, slot, value.toString(), anyPreviousHasContent, anyPreviousHasOperator);
+                }
+                if (segment.isQuerySegment && !queryParameter) {
+                    // reset anyPrevious* when we reach query parameters
+                    queryParameter = true;
+                    anyPreviousHasContent = false;
+                    anyPreviousHasOperator = false;
+                }
+                if (segment.operator != OPERATOR_NONE && contains(builder, start, segment.operator)) {
+                    anyPreviousHasOperator = true;
+                }
+                anyPreviousHasContent = anyPreviousHasContent || builder.length() > start;
+            }
+            return builder.toString();
+        }
+
+        private static void appendVariable(StringBuilder builder, Slot slot, String value, boolean previousHasContent, boolean anyPreviousHasOperator) {
+            UriTemplateParser.VariablePathSegment segment = slot.segment;
+            String prefix = segment.prefix;
+            if (segment.operator == QUERY_OPERATOR && !anyPreviousHasOperator && prefix != null && (prefix.isEmpty() || prefix.charAt(0) != QUERY_OPERATOR)) {
+                prefix = QUERY_OPERATOR + prefix;
+            }
+            if (previousHasContent && segment.previousDelimiter != null) {
+                builder.append(segment.previousDelimiter);
+            }
+            if (value.isEmpty()) {
+                switch (segment.operator) {
+                    case SLASH_OPERATOR:
+                        break;
+                    case ';':
+                        if (prefix != null && prefix.endsWith("=")) {
+                            builder.append(prefix, 0, prefix.length() - 1);
+                            break;
+                        }
+                        // fall through
+                    default:
+                        if (prefix != null) {
+                            builder.append(prefix);
+                        }
+                }
+                return;
+            }
+            if (prefix != null && segment.repeatPrefix) {
+                builder.append(prefix);
+            }
+            switch (slot.encoding) {
+                case ENCODE_NONE -> {
+                    if (needsEscape(value)) {
+                        builder.append(segment.escape(value));
+                    } else {
+                        builder.append(value);
+                    }
+                }
+                case ENCODE_QUERY -> builder.append(needsEncoding(value) ? segment.encode(value, true) : value);
+                default -> builder.append(needsEncoding(value) ? segment.encode(value, false) : value);
+            }
+        }
+
+        private static boolean isSimple(UriTemplateParser.VariablePathSegment segment) {
+            if (segment.modifierChar == OPERATOR_NONE) {
+                return true;
+            }
+            // a regex constraint of a route variable, which does not change the expansion
+            String modifier = segment.modifierStr;
+            return segment.modifierChar == ':' && (modifier == null || modifier.isEmpty() || !Character.isDigit(modifier.charAt(0)));
+        }
+
+        private static boolean isScalars(Object[] values) {
+            for (Object value : values) {
+                if (!isScalar(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isScalar(Object value) {
+            return value == null
+                || !(value instanceof Iterable || value instanceof Map || value instanceof Optional || value.getClass().isArray());
+        }
+
+        private static boolean contains(StringBuilder builder, int from, char c) {
+            for (int i = from; i < builder.length(); i++) {
+                if (builder.charAt(i) == c) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return Whether {@link URLEncoder} changes any character of the value
+         */
+        private static boolean needsEncoding(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '*')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean needsEscape(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '%' || Character.isWhitespace(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private record Slot(int index, UriTemplateParser.VariablePathSegment segment, int encoding) {
+        }
+    }
+
     /**
      * Represents an expandable path segment.
      */
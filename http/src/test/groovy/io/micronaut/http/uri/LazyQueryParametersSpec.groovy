@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class LazyQueryParametersSpec extends Specification {
+
+    @Unroll
+    void "test lookup of #name in #query"() {
+        given:
+        def parameters = LazyQueryParameters.of(query, StandardCharsets.UTF_8)
+
+        expect:
+        parameters.get(name) == expected
+        parameters.containsKey(name) == (expected != null)
+
+        where:
+        query                          | name       | expected
+        "a=1&b=2"                      | "b"        | ["2"]
+        "a=1&b=2&a=3"                  | "a"        | ["1", "3"]
+        "a=1;b=2"                      | "b"        | ["2"]
+        "a"                            | "a"        | [""]
+        "a=&b"                         | "a"        | [""]
+        "=x&a=1"                       | "a"        | ["1"]
+        "q=hello+world%21"             | "q"        | ["hello world!"]
+        "first%20name=Fred"            | "first name" | ["Fred"]
+        "a=1#fragment"                 | "a"        | ["1"]
+        "a=1&b=2"                      | "c"        | null
+        ""                             | "a"        | null
+    }
+
+    void "test lookup by a non string char sequence"() {
+        expect:
+        LazyQueryParameters.of("name=Fred", StandardCharsets.UTF_8).get(new StringBuilder("name")) == ["Fred"]
+    }
+
+    void "test iteration decodes all parameters in order"() {
+        given:
+        def parameters = LazyQueryParameters.of("b=2&a=1&b=3&c=%C3%A9", StandardCharsets.UTF_8)
+
+        expect:
+        parameters.size() == 3
+        parameters.keySet() as List == ["b", "a", "c"]
+        parameters.get("b") == ["2", "3"]
+        parameters.get("c") == ["é"]
+    }
+
+    void "test modification after lookup"() {
+        given:
+        def parameters = LazyQueryParameters.of("a=1", StandardCharsets.UTF_8)
+
+        when:
+        parameters.get("a")
+        parameters.computeIfAbsent("a", { new ArrayList<>() }).add("2")
+        parameters.put("b", ["3"])
+
+        then:
+        parameters.get("a") == ["1", "2"]
+        parameters.get("b") == ["3"]
+    }
+
+    void "test lookups return array lists before and after decoding"() {
+        given:
+        def parameters = LazyQueryParameters.of("a=1&b=2&b=3", StandardCharsets.UTF_8)
+
+        when:
+        def single = parameters.get("a")
+        def multiple = parameters.get("b")
+        single.add("x")
+
+        then:
+        single instanceof ArrayList
+        multiple instanceof ArrayList
+        parameters.get("a") == ["1"]
+
+        when:
+        parameters.size()
+
+        then:
+        parameters.get("a") instanceof ArrayList
+        parameters.get("b") instanceof ArrayList
+    }
+
+    void "test malformed values only fail when requested"() {
+        given:
+        def parameters = LazyQueryParameters.of("a=1&b=%zz", StandardCharsets.UTF_8)
+
+        expect:
+        parameters.get("a") == ["1"]
+
+        when:
+        parameters.get("b")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void "test concurrent lookups and decoding"() {
+        given:
+        def parameters = LazyQueryParameters.of((1..50).collect { "p$it=v$it" }.join('&'), StandardCharsets.UTF_8)
+        def pool = Executors.newFixedThreadPool(8)
+
+        when:
+        def results = (1..50).collect { n ->
+            pool.submit({ n % 10 == 0 ? parameters.size() : parameters.get("p$n".toString()) } as Callable)
+        }*.get()
+
+        then:
+        (1..50).every { n -> results[n - 1] == (n % 10 == 0 ? 50 : ["v$n".toString()]) }
+
+        cleanup:
+        pool.shutdown()
+    }
+}
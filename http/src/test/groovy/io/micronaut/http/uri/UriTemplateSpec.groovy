@@ -608,4 +608,67 @@ class UriTemplateSpec extends Specification {
         'http://example.com:8080/{?keys*}{&keys2*}'   | [keys: [var: null], keys2: [var2: 'bar']]          | 'http://example.com:8080/&var2=bar'
     }
 
+    @Unroll
+    void "Test expansion plan of #template with values #values"() {
+        given:
+        UriTemplate.ExpansionPlan plan = new UriTemplate(template).getExpansionPlan()
+
+        expect:
+        plan.variableNames == names
+        plan.expand(values as Object[]) == result
+
+        where:
+        template                          | values                   | names                  | result
+        '/books/{id}'                     | ['a b']                  | ['id']                 | '/books/a%20b'
+        '/books/{id}/pages/{page}{?q,n}'  | [1, 2, 'x y', null]      | ['id', 'page', 'q', 'n'] | '/books/1/pages/2?q=x+y'
+        '/books/{id}/{id}'                | ['a']                    | ['id']                 | '/books/a/a'
+        '/books{/id}{?q}'                 | [null, 'x']              | ['id', 'q']            | '/books?q=x'
+        '/books{;x,y}'                    | ['', 'b']                | ['x', 'y']             | '/books;x;y=b'
+        '/books/{+path}'                  | ['a/b c%']               | ['path']               | '/books/a/b%20c%25'
+        '/books/{id:[0-9]+}'              | [12]                     | ['id']                 | '/books/12'
+        '/books/{id:2}'                   | ['abc']                  | ['id']                 | '/books/ab'
+        '/books/{?list}'                  | [['a', 'b']]             | ['list']               | '/books/?list=a,b'
+        '/books/{?keys*}'                 | [[a: 'b']]               | ['keys']               | '/books/?a=b'
+        '/books/{?q}{&r}'                 | [Optional.of('x'), 'y']  | ['q', 'r']             | '/books/?q=x&r=y'
+    }
+
+    void "Test expansion plan matches the segment expansion of random templates"() {
+        given:
+        Random random = new Random(42)
+        List<String> prefixes = ['', '/books', 'http://example.com', 'http://example.com:8080/a/']
+        List<String> operators = ['', '+', '#', '.', '/', ';', '?', '&']
+        List<String> literals = ['', '/x', '-', '/x/y']
+        List<Object> values = [null, '', 'v', 'a b', 'a/b', 'é', '100%', 42, 'x,y', '?&=']
+        List<String> mismatches = []
+
+        when:
+        2000.times {
+            StringBuilder template = new StringBuilder(prefixes[random.nextInt(prefixes.size())])
+            (1 + random.nextInt(4)).times {
+                List<String> names = (1..(1 + random.nextInt(3))).collect { ['a', 'b', 'c'][random.nextInt(3)] }
+                template.append('{').append(operators[random.nextInt(operators.size())]).append(names.join(',')).append('}')
+                template.append(literals[random.nextInt(literals.size())])
+            }
+            UriTemplate uriTemplate = new UriTemplate(template.toString())
+            Map<String, Object> parameters = [a: values[random.nextInt(values.size())], b: values[random.nextInt(values.size())], c: values[random.nextInt(values.size())]]
+            Object[] positional = uriTemplate.expansionPlan.variableNames.collect { parameters[it] } as Object[]
+            String expected = uriTemplate.expandSegments(parameters)
+            String planned = uriTemplate.expand(parameters)
+            String plannedPositional = uriTemplate.expansionPlan.expand(positional)
+            if (planned != expected || plannedPositional != expected) {
+                mismatches << "$template with $parameters: expected $expected but got $planned and $plannedPositional".toString()
+            }
+        }
+
+        then:
+        mismatches.isEmpty()
+    }
+
+    void "Test expansion plan requires a value per variable"() {
+        when:
+        new UriTemplate('/books/{id}').getExpansionPlan().expand()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
 }
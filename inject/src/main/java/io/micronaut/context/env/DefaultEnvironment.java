@@ -312,6 +312,11 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
         return mutableConversionService.canConvert(sourceType, targetType);
     }
 
+    @Override
+    public <S, T> boolean isDefaultConverter(Class<S> sourceType, Class<T> targetType) {
+        return mutableConversionService.isDefaultConverter(sourceType, targetType);
+    }
+
     @Override
     public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, TypeConverter<S, T> typeConverter) {
         mutableConversionService.addConverter(sourceType, targetType, typeConverter);
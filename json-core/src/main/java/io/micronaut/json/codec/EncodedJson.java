@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.json.codec;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * A value that holds its own JSON encoding, which {@link MapperMediaTypeCodec} writes as is
+ * instead of serializing the value. The encoding must be identical to the serialized value.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public interface EncodedJson {
+
+    /**
+     * @return The JSON encoding of this value, or {@code null} if the value has to be serialized,
+     * for example because it was modified after it was encoded
+     */
+    @Nullable
+    byte[] toJson();
+}
@@ -207,6 +207,11 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
     @Override
     public <T> void encode(T object, OutputStream outputStream) throws CodecException {
         try {
+            byte[] encoded = encoded(object);
+            if (encoded != null) {
+                outputStream.write(encoded);
+                return;
+            }
             getJsonMapper().writeValue(outputStream, object);
         } catch (IOException e) {
             throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage(), e);
@@ -216,6 +221,11 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
     @Override
     public <T> void encode(Argument<T> type, T object, OutputStream outputStream) throws CodecException {
         try {
+            byte[] encoded = encoded(object);
+            if (encoded != null) {
+                outputStream.write(encoded);
+                return;
+            }
             getJsonMapper().writeValue(outputStream, type, object);
         } catch (IOException e) {
             throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage(), e);
@@ -228,7 +238,8 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
             if (object instanceof byte[]) {
                 return (byte[]) object;
             } else {
-                return getJsonMapper().writeValueAsBytes(object);
+                byte[] encoded = encoded(object);
+                return encoded != null ? encoded : getJsonMapper().writeValueAsBytes(object);
             }
         } catch (IOException e) {
             throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage(), e);
@@ -241,7 +252,8 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
             if (object instanceof byte[]) {
                 return (byte[]) object;
             } else {
-                return getJsonMapper().writeValueAsBytes(type, object);
+                byte[] encoded = encoded(object);
+                return encoded != null ? encoded : getJsonMapper().writeValueAsBytes(type, object);
             }
         } catch (IOException e) {
             throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage(), e);
@@ -253,6 +265,10 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
         if (object instanceof byte[]) {
             return allocator.copiedBuffer((byte[]) object);
         }
+        byte[] encoded = encoded(object);
+        if (encoded != null) {
+            return allocator.copiedBuffer(encoded);
+        }
         ByteBuffer<B> buffer = allocator.buffer();
         try {
             OutputStream outputStream = buffer.toOutputStream();
@@ -271,6 +287,10 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
         if (object instanceof byte[]) {
             return allocator.copiedBuffer((byte[]) object);
         }
+        byte[] encoded = encoded(object);
+        if (encoded != null) {
+            return allocator.copiedBuffer(encoded);
+        }
         ByteBuffer<B> buffer = allocator.buffer();
         try {
             OutputStream outputStream = buffer.toOutputStream();
@@ -283,4 +303,12 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
             throw t;
         }
     }
+
+    /**
+     * @param object The object to encode
+     * @return The JSON the object holds, if it is {@link EncodedJson}
+     */
+    private static byte[] encoded(Object object) {
+        return object instanceof EncodedJson encodedJson ? encodedJson.toJson() : null;
+    }
 }
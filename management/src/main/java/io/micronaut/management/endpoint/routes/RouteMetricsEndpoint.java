@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.routes;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.server.metrics.LatencyHistogram;
+import io.micronaut.http.server.metrics.RouteMetrics;
+import io.micronaut.http.server.metrics.RouteMetricsRegistry;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the latency histograms and byte counts collected by
+ * the {@link RouteMetricsRegistry} for every route and response status class.</p>
+ *
+ * @since 4.0.0
+ */
+@Endpoint("routemetrics")
+@Requires(classes = RouteMetricsRegistry.class)
+@Requires(beans = RouteMetricsRegistry.class)
+public class RouteMetricsEndpoint {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final RouteMetricsRegistry routeMetricsRegistry;
+
+    /**
+     * @param routeMetricsRegistry The {@link RouteMetricsRegistry}
+     */
+    public RouteMetricsEndpoint(RouteMetricsRegistry routeMetricsRegistry) {
+        this.routeMetricsRegistry = routeMetricsRegistry;
+    }
+
+    /**
+     * @return The metrics of every route that has served a request
+     */
+    @Read
+    public List<Map<String, Object>> getRouteMetrics() {
+        return routeMetricsRegistry.getRouteMetrics().stream()
+            .sorted(Comparator
+                .comparing((RouteMetrics m) -> m.getRoute().getUriMatchTemplate().toPathString())
+                .thenComparing(m -> m.getRoute().getHttpMethodName())
+                .thenComparingInt(RouteMetrics::getStatusClass))
+            .map(this::toData)
+            .toList();
+    }
+
+    private Map<String, Object> toData(RouteMetrics metrics) {
+        Map<String, Object> data = new LinkedHashMap<>(10);
+        data.put("method", metrics.getRoute().getHttpMethodName());
+        data.put("uri", metrics.getRoute().getUriMatchTemplate().toString());
+        data.put("status", metrics.getStatusClass() + "xx");
+        data.put("count", metrics.getCount());
+        data.put("queueTime", toData(metrics.getQueueTime()));
+        data.put("decodeTime", toData(metrics.getDecodeTime()));
+        data.put("handlerTime", toData(metrics.getHandlerTime()));
+        data.put("encodeTime", toData(metrics.getEncodeTime()));
+        data.put("bytesIn", metrics.getBytesIn());
+        data.put("bytesOut", metrics.getBytesOut());
+        return data;
+    }
+
+    private Map<String, Object> toData(LatencyHistogram histogram) {
+        Map<String, Object> data = new LinkedHashMap<>(7);
+        data.put("count", histogram.getCount());
+        data.put("mean", histogram.getMean() / NANOS_PER_MILLI);
+        data.put("p50", histogram.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        data.put("p90", histogram.getValueAtPercentile(90) / NANOS_PER_MILLI);
+        data.put("p99", histogram.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        data.put("max", histogram.getMax() / NANOS_PER_MILLI);
+        return data;
+    }
+}
@@ -26,6 +26,7 @@ import io.micronaut.management.health.indicator.HealthResult;
 import io.micronaut.management.health.indicator.annotation.Readiness;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.runtime.server.event.ServerDrainEvent;
 import io.micronaut.runtime.server.event.ServerStartupEvent;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
@@ -46,7 +47,7 @@ public class ServiceReadyHealthIndicator implements HealthIndicator {
     private static final String NAME = "service";
     private final boolean isService;
 
-    private boolean serviceReady = false;
+    private volatile boolean serviceReady = false;
 
     /**
      * Default constructor.
@@ -92,4 +93,13 @@ public class ServiceReadyHealthIndicator implements HealthIndicator {
             serviceReady = true;
         }
     }
+
+    /**
+     * Event listener triggered when the server starts draining before it shuts down.
+     * @param event The event
+     */
+    @EventListener
+    void onServerDrain(ServerDrainEvent event) {
+        serviceReady = false;
+    }
 }
@@ -0,0 +1,161 @@
+package io.micronaut.management.endpoint.routes
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MutableHttpResponse
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.exceptions.HttpStatusException
+import io.micronaut.http.filter.HttpServerFilter
+import io.micronaut.http.filter.ServerFilterChain
+import io.micronaut.http.server.metrics.RequestMetrics
+import io.micronaut.http.server.metrics.RouteMetricsListener
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+class RouteMetricsEndpointSpec extends Specification {
+
+    void "test route metrics endpoint"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': getClass().simpleName,
+                'micronaut.server.route-metrics.enabled': true,
+                'endpoints.routemetrics.sensitive': false
+        ])
+        HttpClient client = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.getURL())
+        TestListener listener = embeddedServer.applicationContext.getBean(TestListener)
+
+        when:
+        client.toBlocking().retrieve("/route-metrics-test")
+        client.toBlocking().retrieve(HttpRequest.POST("/route-metrics-test", "hello"))
+        client.toBlocking().retrieve("/route-metrics-test/missing")
+
+        then:
+        thrown(HttpClientResponseException)
+
+        when:
+        new PollingConditions().eventually {
+            assert listener.count == 3
+        }
+        List<Map> result = client.toBlocking().retrieve("/routemetrics", List)
+        Map get = result.find { it.uri == '/route-metrics-test' && it.method == 'GET' }
+        Map post = result.find { it.uri == '/route-metrics-test' && it.method == 'POST' }
+        Map missing = result.find { it.uri == '/route-metrics-test/missing' }
+
+        then:
+        get.status == '2xx'
+        get.count == 1
+        get.bytesOut == 5
+        get.handlerTime.count == 1
+        post.bytesIn == 5
+        post.bytesOut == 5
+        missing.status == '4xx'
+
+        cleanup:
+        client.close()
+        embeddedServer.close()
+    }
+
+    void "test the decode time does not include the request filters"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': getClass().simpleName,
+                'micronaut.server.route-metrics.enabled': true
+        ])
+        HttpClient client = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.getURL())
+        TestListener listener = embeddedServer.applicationContext.getBean(TestListener)
+
+        when:
+        client.toBlocking().retrieve(HttpRequest.POST("/route-metrics-test/filtered", "hello"))
+        new PollingConditions().eventually {
+            assert listener.filtered != null
+        }
+
+        then:
+        listener.filtered.decodeNanos >= 0
+        listener.filtered.decodeNanos < TimeUnit.MILLISECONDS.toNanos(200)
+        listener.filtered.handlerNanos >= 0
+
+        cleanup:
+        client.close()
+        embeddedServer.close()
+    }
+
+    void "test route metrics endpoint is disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': getClass().simpleName])
+
+        expect:
+        !context.containsBean(RouteMetricsEndpoint)
+
+        cleanup:
+        context.close()
+    }
+
+    @Controller("/route-metrics-test")
+    @Requires(property = 'spec.name', value = 'RouteMetricsEndpointSpec')
+    static class TestController {
+
+        @Get(produces = "text/plain")
+        String index() {
+            "hello"
+        }
+
+        @Post(consumes = "text/plain", produces = "text/plain")
+        String echo(@Body String body) {
+            body
+        }
+
+        @Post(uri = "/filtered", consumes = "text/plain", produces = "text/plain")
+        String filtered(@Body String body) {
+            body
+        }
+
+        @Get("/missing")
+        String missing() {
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "missing")
+        }
+    }
+
+    @Filter("/route-metrics-test/filtered")
+    @Requires(property = 'spec.name', value = 'RouteMetricsEndpointSpec')
+    static class SlowFilter implements HttpServerFilter {
+
+        @Override
+        Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+            return Mono.delay(Duration.ofMillis(300)).flatMap(tick -> Mono.from(chain.proceed(request)))
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'RouteMetricsEndpointSpec')
+    static class TestListener implements RouteMetricsListener {
+        volatile int count
+        volatile RequestMetrics filtered
+
+        @Override
+        void onRequestCompleted(RequestMetrics metrics, int status) {
+            if (metrics.route?.uriMatchTemplate?.toString() == '/route-metrics-test/filtered') {
+                filtered = metrics
+                return
+            }
+            if (metrics.route?.uriMatchTemplate?.toString()?.startsWith('/route-metrics-test')) {
+                count++
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.exceptions.ConversionErrorException;
+import io.micronaut.core.exceptions.StacklessExceptions;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.CollectionUtils;
@@ -256,7 +257,7 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
                 if (bindingResult.isPresentAndSatisfied()) {
                     Object resolved = bindingResult.get();
                     if (resolved instanceof ConversionError conversionError) {
-                        throw new ConversionErrorException(argument, conversionError);
+                        throw StacklessExceptions.create(() -> new ConversionErrorException(argument, conversionError));
                     } else {
                         convertValueAndAddToList(conversionService, argumentList, argument, resolved, argumentType);
                     }
@@ -268,17 +269,17 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
                         if (!conversionErrors.isEmpty()) {
                             // should support multiple errors
                             ConversionError conversionError = conversionErrors.iterator().next();
-                            throw new ConversionErrorException(argument, conversionError);
+                            throw StacklessExceptions.create(() -> new ConversionErrorException(argument, conversionError));
                         }
-                        throw UnsatisfiedRouteException.create(argument);
+                        throw StacklessExceptions.create(() -> UnsatisfiedRouteException.create(argument));
                     }
                 }
             } else if (value instanceof NullArgument) {
                 argumentList.add(null);
             } else if (value instanceof ConversionError conversionError) {
-                throw new ConversionErrorException(argument, conversionError);
+                throw StacklessExceptions.create(() -> new ConversionErrorException(argument, conversionError));
             } else if (value == DefaultRouteBuilder.NO_VALUE) {
-                throw UnsatisfiedRouteException.create(argument);
+                throw StacklessExceptions.create(() -> UnsatisfiedRouteException.create(argument));
             } else {
                 convertValueAndAddToList(conversionService, argumentList, argument, value, argumentType);
             }
@@ -410,9 +411,9 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
             if (lastError.isEmpty() && argument.isDeclaredNullable()) {
                 return null;
             }
-            throw lastError.map(conversionError ->
+            throw StacklessExceptions.create(() -> lastError.map(conversionError ->
                 (RuntimeException) new ConversionErrorException(argument, conversionError)).orElseGet(() -> UnsatisfiedRouteException.create(argument)
-            );
+            ));
         }
         return result.get();
     }
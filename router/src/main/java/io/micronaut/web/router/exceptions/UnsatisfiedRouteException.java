@@ -16,6 +16,7 @@
 package io.micronaut.web.router.exceptions;
 
 import io.micronaut.core.bind.annotation.Bindable;
+import io.micronaut.core.exceptions.StacklessExceptions;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.annotation.*;
 
@@ -82,4 +83,9 @@ public class UnsatisfiedRouteException extends RoutingException {
     public Argument<?> getArgument() {
         return argument;
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return StacklessExceptions.isCreating() ? this : super.fillInStackTrace();
+    }
 }
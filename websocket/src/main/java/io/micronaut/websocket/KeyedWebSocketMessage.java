@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.websocket;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * A WebSocket message that supersedes any earlier message with the same key. When the messages
+ * for a slow session are queued and coalescing is enabled, only the latest queued message of
+ * each key is sent.
+ *
+ * @since 4.0.0
+ */
+@FunctionalInterface
+public interface KeyedWebSocketMessage {
+
+    /**
+     * The key of the message, for example the symbol of a price update. The method is
+     * deliberately not named like a bean property so it is not serialized with the message.
+     *
+     * @return The key or {@code null} if the message must not be coalesced
+     */
+    @Nullable
+    Object messageKey();
+}
@@ -91,6 +91,58 @@ public interface WebSocketBroadcaster {
         return broadcast(message, MediaType.APPLICATION_JSON_TYPE, filter);
     }
 
+    /**
+     * When used on the server this method will broadcast a message to all open WebSocket connections subscribed to the given topic,
+     * see {@link WebSocketSession#subscribe(String)}. Implementations that index the subscriptions only write to the subscribed
+     * connections instead of testing every open connection.
+     * The resulting {@link Publisher} does not start sending until subscribed to.
+     *
+     * @param message The message
+     * @param mediaType The media type of the message. Used to lookup an appropriate codec via the {@link io.micronaut.http.codec.MediaTypeCodecRegistry}.
+     * @param topic The topic
+     * @param <T> The message type
+     * @return A {@link Publisher} that either emits an error or emits the message once it has been published successfully.
+     * @since 4.0.0
+     */
+    default <T> Publisher<T> broadcastToTopic(T message, MediaType mediaType, String topic) {
+        Objects.requireNonNull(topic, "The topic cannot be null");
+        return broadcast(message, mediaType, s -> s.getTopics().contains(topic));
+    }
+
+    /**
+     * When used on the server this method will broadcast a message to all open WebSocket connections subscribed to the given topic.
+     * The resulting {@link Publisher} does not start sending until subscribed to.
+     *
+     * @param message The message
+     * @param topic The topic
+     * @param <T> The message type
+     * @return A {@link Publisher} that either emits an error or emits the message once it has been published successfully.
+     * @since 4.0.0
+     */
+    default <T> Publisher<T> broadcastToTopic(T message, String topic) {
+        return broadcastToTopic(message, MediaType.APPLICATION_JSON_TYPE, topic);
+    }
+
+    /**
+     * When used on the server this method will broadcast a message to all open WebSocket connections whose URI variable of the given
+     * name has the given value, for example all connections to {@code /chat/{room}} with the {@code room} {@code "lobby"}.
+     * Implementations that index the URI variables only write to the matching connections instead of testing every open connection.
+     * The resulting {@link Publisher} does not start sending until subscribed to.
+     *
+     * @param message The message
+     * @param mediaType The media type of the message. Used to lookup an appropriate codec via the {@link io.micronaut.http.codec.MediaTypeCodecRegistry}.
+     * @param name The name of the URI variable
+     * @param value The value of the URI variable
+     * @param <T> The message type
+     * @return A {@link Publisher} that either emits an error or emits the message once it has been published successfully.
+     * @since 4.0.0
+     */
+    default <T> Publisher<T> broadcastToUriVariable(T message, MediaType mediaType, String name, Object value) {
+        Objects.requireNonNull(name, "The name cannot be null");
+        String expected = Objects.requireNonNull(value, "The value cannot be null").toString();
+        return broadcast(message, mediaType, s -> s.getUriVariables().get(name, String.class).map(expected::equals).orElse(false));
+    }
+
     /**
      * When used on the server this method will broadcast a message to all open WebSocket connections.
      *
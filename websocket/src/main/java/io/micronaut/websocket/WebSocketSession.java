@@ -25,6 +25,7 @@ import org.reactivestreams.Publisher;
 
 import java.net.URI;
 import java.security.Principal;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -213,6 +214,42 @@ public interface WebSocketSession extends MutableConvertibleValues<Object>, Auto
         return Optional.empty();
     }
 
+    /**
+     * Subscribe this session to the given topic. Messages can be sent to all subscribers of a
+     * topic with {@link WebSocketBroadcaster#broadcastToTopic(Object, MediaType, String)}.
+     * Topics are supported by server sessions only.
+     *
+     * @param topic The topic
+     * @throws UnsupportedOperationException If this is not a server session
+     * @since 4.0.0
+     */
+    default void subscribe(@NonNull String topic) {
+        throw new UnsupportedOperationException("Topics not supported by this implementation");
+    }
+
+    /**
+     * Unsubscribe this session from the given topic. Topics are supported by server sessions
+     * only.
+     *
+     * @param topic The topic
+     * @throws UnsupportedOperationException If this is not a server session
+     * @since 4.0.0
+     */
+    default void unsubscribe(@NonNull String topic) {
+        throw new UnsupportedOperationException("Topics not supported by this implementation");
+    }
+
+    /**
+     * The topics this session is subscribed to.
+     *
+     * @return The topics
+     * @since 4.0.0
+     */
+    @NonNull
+    default Set<String> getTopics() {
+        return Collections.emptySet();
+    }
+
     @Override
     void close();
 
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2023 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.websocket.exceptions;
+
+/**
+ * Thrown when a message is not sent because the outbound queue of a slow session is full, or
+ * because the message was superseded by a later message with the same key.
+ *
+ * @since 4.0.0
+ */
+public class WebSocketMessageDroppedException extends WebSocketSessionException {
+
+    /**
+     * @param message The message
+     */
+    public WebSocketMessageDroppedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // dropping messages is expected under load, the stack trace carries no information
+        return this;
+    }
+}